@@ -41,6 +41,8 @@ export class Refinery extends GenericRefinery {
       format: OutputFormats.prefault({}),
       scopes: Scope.array().optional(),
       randomSeed: z.number().default(1),
+      numberOfSolutions: z.number().int().positive().optional(),
+      timeout: z.number().int().positive().optional(),
     }),
     z.object({
       json: JsonOutput.optional(),
@@ -48,6 +50,13 @@ export class Refinery extends GenericRefinery {
     }),
     z.object({
       message: z.string(),
+      solution: z
+        .object({
+          number: z.number().int().positive(),
+          json: JsonOutput.optional(),
+          source: z.string().optional(),
+        })
+        .optional(),
     }),
   );
 
@@ -1,5 +1,5 @@
 /*
- * SPDX-FileCopyrightText: 2021-2024 The Refinery Authors <https://refinery.tools/>
+ * SPDX-FileCopyrightText: 2021-2025 The Refinery Authors <https://refinery.tools/>
  *
  * SPDX-License-Identifier: EPL-2.0
  */
@@ -14,6 +14,7 @@ plugins {
 
 frontend {
 	assembleScript.set("run build")
+	checkScript.set("run test:run")
 }
 
 val viteOutputDir = layout.buildDirectory.dir("vite")
@@ -43,6 +44,7 @@ val assembleConfigFiles: FileCollection = installationState + files(
 	"tsconfig.node.json",
 	"tsconfig.shared.json",
 	"vite.config.ts",
+	"vitest.config.ts",
 ) + fileTree("config")
 
 val assembleSources: FileCollection = sourcesWithTypes + fileTree("public") + files("index.html")
@@ -71,6 +73,13 @@ tasks {
 		outputs.dir(productionResources)
 	}
 
+	checkFrontend {
+		dependsOn(rootProject.project("refinery-client-js").tasks.named("assembleFrontend"))
+		inputs.files(sourcesWithTypes)
+		inputs.files(installationState)
+		inputs.file("vitest.config.ts")
+	}
+
 	val typeCheckFrontend by registering(RunYarnTaskType::class) {
 		dependsOn(installFrontend)
 		dependsOn(rootProject.project("refinery-client-js").tasks.named("typeCheckFrontend"))
@@ -0,0 +1,189 @@
+/*
+ * SPDX-FileCopyrightText: 2025 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+
+import { describe, expect, test, vi } from 'vitest';
+
+import type EditorStore from '../editor/EditorStore';
+
+import SemanticsService from './SemanticsService';
+import type UpdateService from './UpdateService';
+import type ValidationService from './ValidationService';
+import type { SemanticsModelResult } from './xtextServiceResults';
+
+// The logger needs a browser environment.
+vi.mock('../utils/getLogger', () => ({
+  default: () => ({
+    trace: vi.fn(),
+    debug: vi.fn(),
+    info: vi.fn(),
+    warn: vi.fn(),
+    error: vi.fn(),
+  }),
+}));
+
+function createService() {
+  const store = {
+    setSemantics: vi.fn(),
+    setSemanticsError: vi.fn(),
+    analysisCompleted: vi.fn(),
+  };
+  const updateService = {
+    resyncSemantics: vi.fn(() => Promise.resolve()),
+  };
+  const validationService = {
+    setSemanticsIssues: vi.fn(),
+  };
+  const service = new SemanticsService(
+    store as unknown as EditorStore,
+    updateService as unknown as UpdateService,
+    validationService as unknown as ValidationService,
+  );
+  return { store, updateService, service };
+}
+
+function fullPush(partialInterpretation: Record<string, unknown[]>) {
+  return {
+    result: 'success',
+    value: {
+      issues: [],
+      json: { nodes: [], relations: [], partialInterpretation },
+    },
+  };
+}
+
+function deltaPush(
+  base: string,
+  relations: Record<string, unknown>,
+  removedRelations: string[] = [],
+) {
+  return {
+    result: 'success',
+    value: {
+      issues: [],
+      delta: {
+        base,
+        nodes: [],
+        relations: [],
+        partialInterpretation: { relations, removedRelations },
+      },
+    },
+  };
+}
+
+describe('delta based on the current semantics', () => {
+  test('applies the changes', () => {
+    const { store, updateService, service } = createService();
+    service.onPush('s1', fullPush({ friend: [[0, 1, 'true']] }));
+    service.onPush(
+      's2',
+      deltaPush('s1', {
+        friend: { added: [[1, 0, 'true']], changed: [], removed: [] },
+      }),
+    );
+    expect(store.setSemantics).toHaveBeenCalledTimes(2);
+    expect(store.setSemantics).toHaveBeenLastCalledWith(
+      {
+        nodes: [],
+        relations: [],
+        partialInterpretation: {
+          friend: [
+            [0, 1, 'true'],
+            [1, 0, 'true'],
+          ],
+        },
+      },
+      undefined,
+    );
+    expect(updateService.resyncSemantics).not.toHaveBeenCalled();
+  });
+
+  test('keeps unchanged relations and drops removed ones', () => {
+    const { store, service } = createService();
+    service.onPush(
+      's1',
+      fullPush({ friend: [[0, 1, 'true']], enemy: [[1, 0, 'true']] }),
+    );
+    const previous = store.setSemantics.mock.calls[0]?.[0] as
+      | SemanticsModelResult
+      | undefined;
+    service.onPush(
+      's2',
+      deltaPush('s1', { parent: [[0, 0, 'unknown']] }, ['enemy']),
+    );
+    expect(store.setSemantics).toHaveBeenCalledTimes(2);
+    const current = store.setSemantics.mock.calls[1]?.[0] as
+      | SemanticsModelResult
+      | undefined;
+    expect(current?.partialInterpretation).toEqual({
+      friend: [[0, 1, 'true']],
+      parent: [[0, 0, 'unknown']],
+    });
+    expect(current?.partialInterpretation['friend']).toBe(
+      previous?.partialInterpretation['friend'],
+    );
+  });
+
+  test('can be chained', () => {
+    const { store, updateService, service } = createService();
+    service.onPush('s1', fullPush({ friend: [[0, 1, 'true']] }));
+    service.onPush(
+      's2',
+      deltaPush('s1', {
+        friend: { added: [], changed: [[0, 1, 'false']], removed: [] },
+      }),
+    );
+    service.onPush(
+      's3',
+      deltaPush('s2', {
+        friend: { added: [], changed: [], removed: [[0, 1]] },
+      }),
+    );
+    expect(store.setSemantics).toHaveBeenCalledTimes(3);
+    expect(store.setSemantics).toHaveBeenLastCalledWith(
+      { nodes: [], relations: [], partialInterpretation: { friend: [] } },
+      undefined,
+    );
+    expect(updateService.resyncSemantics).not.toHaveBeenCalled();
+  });
+});
+
+describe('delta based on other semantics', () => {
+  test('requests resync', () => {
+    const { store, updateService, service } = createService();
+    service.onPush('s1', fullPush({ friend: [[0, 1, 'true']] }));
+    service.onPush(
+      's3',
+      deltaPush('s2', {
+        friend: { added: [[1, 0, 'true']], changed: [], removed: [] },
+      }),
+    );
+    expect(store.setSemantics).toHaveBeenCalledTimes(1);
+    expect(updateService.resyncSemantics).toHaveBeenCalledTimes(1);
+    expect(store.analysisCompleted).toHaveBeenCalledTimes(2);
+  });
+
+  test('requests resync without previous semantics', () => {
+    const { store, updateService, service } = createService();
+    service.onPush('s2', deltaPush('s1', {}));
+    expect(store.setSemantics).not.toHaveBeenCalled();
+    expect(updateService.resyncSemantics).toHaveBeenCalledTimes(1);
+  });
+
+  test('forgets previous semantics after resync', () => {
+    const { store, updateService, service } = createService();
+    service.onPush('s1', fullPush({ friend: [[0, 1, 'true']] }));
+    service.onPush('s3', deltaPush('s2', {}));
+    // Deltas based on the semantics we had before the resync are no longer
+    // accepted, because the server has cleared its baseline.
+    service.onPush('s4', deltaPush('s1', {}));
+    expect(store.setSemantics).toHaveBeenCalledTimes(1);
+    expect(updateService.resyncSemantics).toHaveBeenCalledTimes(2);
+    service.onPush('s5', fullPush({ friend: [] }));
+    service.onPush('s6', deltaPush('s5', {}));
+    expect(store.setSemantics).toHaveBeenCalledTimes(3);
+    expect(updateService.resyncSemantics).toHaveBeenCalledTimes(2);
+  });
+});
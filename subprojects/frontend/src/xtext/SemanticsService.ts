@@ -1,5 +1,5 @@
 /*
- * SPDX-FileCopyrightText: 2021-2024 The Refinery Authors <https://refinery.tools/>
+ * SPDX-FileCopyrightText: 2021-2025 The Refinery Authors <https://refinery.tools/>
  *
  * SPDX-License-Identifier: EPL-2.0
  */
@@ -9,18 +9,29 @@ import { runInAction } from 'mobx';
 import type EditorStore from '../editor/EditorStore';
 import getLogger from '../utils/getLogger';
 
+import type UpdateService from './UpdateService';
 import type ValidationService from './ValidationService';
-import { SemanticsResult } from './xtextServiceResults';
+import applyRelationDelta from './applyRelationDelta';
+import {
+  type SemanticsModelDelta,
+  type SemanticsModelResult,
+  SemanticsResult,
+} from './xtextServiceResults';
 
 const log = getLogger('xtext.SemanticsService');
 
 export default class SemanticsService {
+  private semantics: SemanticsModelResult | undefined;
+
+  private semanticsStateId: string | undefined;
+
   constructor(
     private readonly store: EditorStore,
+    private readonly updateService: UpdateService,
     private readonly validationService: ValidationService,
   ) {}
 
-  onPush(push: unknown): void {
+  onPush(stateId: string, push: unknown): void {
     let result: SemanticsResult;
     try {
       result = SemanticsResult.parse(push);
@@ -36,11 +47,20 @@ export default class SemanticsService {
       if (result.result === 'success') {
         const { value } = result;
         this.validationService.setSemanticsIssues(value.issues);
-        if (value.json === undefined) {
+        if ('delta' in value) {
+          const semantics = this.applyDelta(value.delta);
+          if (semantics === undefined) {
+            this.resync();
+          } else {
+            this.setSemantics(stateId, semantics, value.source);
+          }
+        } else if (value.json === undefined) {
+          // The server will send the next semantics in full.
+          this.semantics = undefined;
+          this.semanticsStateId = undefined;
           this.store.setSemanticsError('Internal error', true);
         } else {
-          this.store.setSemanticsError(undefined, false);
-          this.store.setSemantics(value.json, value.source);
+          this.setSemantics(stateId, value.json, value.source);
         }
       } else if (result.result === 'invalidProblem') {
         this.validationService.setSemanticsIssues(result.issues);
@@ -56,4 +76,63 @@ export default class SemanticsService {
       this.store.analysisCompleted();
     });
   }
+
+  private setSemantics(
+    stateId: string,
+    semantics: SemanticsModelResult,
+    source: string | undefined,
+  ): void {
+    this.semantics = semantics;
+    this.semanticsStateId = stateId;
+    this.store.setSemanticsError(undefined, false);
+    this.store.setSemantics(semantics, source);
+  }
+
+  private applyDelta(
+    delta: SemanticsModelDelta,
+  ): SemanticsModelResult | undefined {
+    if (
+      this.semantics === undefined ||
+      this.semanticsStateId !== delta.base
+    ) {
+      log.debug(
+        'Cannot apply semantics delta based on %s to %s',
+        delta.base,
+        this.semanticsStateId ?? 'undefined',
+      );
+      return undefined;
+    }
+    const { relations, removedRelations } = delta.partialInterpretation;
+    const removed = new Set(removedRelations);
+    const partialInterpretation: SemanticsModelResult['partialInterpretation'] =
+      {};
+    // Unchanged relations keep their tuple arrays to avoid re-rendering views
+    // that only depend on them.
+    Object.entries(this.semantics.partialInterpretation).forEach(
+      ([name, tuples]) => {
+        if (!removed.has(name)) {
+          partialInterpretation[name] = tuples;
+        }
+      },
+    );
+    Object.entries(relations).forEach(([name, relationDelta]) => {
+      partialInterpretation[name] = applyRelationDelta(
+        partialInterpretation[name],
+        relationDelta,
+      );
+    });
+    return {
+      nodes: delta.nodes,
+      relations: delta.relations,
+      partialInterpretation,
+    };
+  }
+
+  private resync(): void {
+    this.semantics = undefined;
+    this.semanticsStateId = undefined;
+    this.updateService.resyncSemantics().catch((err: unknown) => {
+      log.error({ err }, 'Failed to request semantics resync');
+    });
+  }
 }
@@ -1,5 +1,5 @@
 /*
- * SPDX-FileCopyrightText: 2021-2023 The Refinery Authors <https://refinery.tools/>
+ * SPDX-FileCopyrightText: 2021-2025 The Refinery Authors <https://refinery.tools/>
  *
  * SPDX-License-Identifier: EPL-2.0
  */
@@ -162,7 +162,9 @@ export default class UpdateService {
     return this.tracker.runExclusive(() => this.updateFullTextExclusive());
   }
 
-  private async updateFullTextExclusive(): Promise<void> {
+  private async updateFullTextExclusive(
+    resyncSemantics = false,
+  ): Promise<void> {
     log.debug('Performing full text update');
     this.tracker.prepareFullTextUpdateExclusive();
     this.store.analysisStarted();
@@ -171,6 +173,7 @@ export default class UpdateService {
       serviceType: 'update',
       fullText: this.store.state.doc.sliceString(0),
       concretize: this.store.concretize,
+      ...(resyncSemantics ? { resyncSemantics } : {}),
     });
     const { stateId } = DocumentStateResult.parse(result);
     this.tracker.setStateIdExclusive(stateId);
@@ -180,12 +183,25 @@ export default class UpdateService {
     if (!this.opened) {
       return;
     }
-    await this.tracker.runExclusive(() => this.updateConcretizeExclusive());
+    await this.tracker.runExclusive(() => this.forceUpdateExclusive(false));
   }
 
-  private async updateConcretizeExclusive(): Promise<void> {
+  /**
+   * Asks the server to send the full semantics instead of only its changes.
+   *
+   * Needed when we can't apply the changes sent by the server, e.g., because
+   * we skipped the semantics they were based on.
+   */
+  async resyncSemantics(): Promise<void> {
+    if (!this.opened) {
+      return;
+    }
+    await this.tracker.runExclusive(() => this.forceUpdateExclusive(true));
+  }
+
+  private async forceUpdateExclusive(resyncSemantics: boolean): Promise<void> {
     if (this.xtextStateId === undefined) {
-      await this.updateFullTextExclusive();
+      await this.updateFullTextExclusive(resyncSemantics);
       // We have already sent `this.store.concretize` with the update message.
       return;
     }
@@ -198,8 +214,9 @@ export default class UpdateService {
     const { concretize } = this.store;
     log.trace(
       { delta },
-      'Editor delta with concretize: %s',
+      'Editor delta with concretize: %s resyncSemantics: %s',
       String(concretize),
+      String(resyncSemantics),
     );
     this.store.analysisStarted();
     const result = await this.webSocketClient.send({
@@ -208,6 +225,7 @@ export default class UpdateService {
       requiredStateId: this.xtextStateId,
       ...delta,
       concretize,
+      ...(resyncSemantics ? { resyncSemantics } : {}),
     });
     await this.handleDocumentUpdateResult(result);
   }
@@ -1,5 +1,5 @@
 /*
- * SPDX-FileCopyrightText: 2021-2023 The Refinery Authors <https://refinery.tools/>
+ * SPDX-FileCopyrightText: 2021-2025 The Refinery Authors <https://refinery.tools/>
  *
  * SPDX-License-Identifier: EPL-2.0
  */
@@ -76,7 +76,11 @@ export default class XtextClient {
     this.validationService = new ValidationService(store, this.updateService);
     this.occurrencesService = new OccurrencesService(store, this.updateService);
     this.hoverService = new HoverService(store, this.updateService);
-    this.semanticsService = new SemanticsService(store, this.validationService);
+    this.semanticsService = new SemanticsService(
+      store,
+      this.updateService,
+      this.validationService,
+    );
     this.modelGenerationService = new ModelGenerationService(
       store,
       backendConfig,
@@ -148,7 +152,7 @@ export default class XtextClient {
         this.validationService.onPush(push);
         return;
       case 'semantics':
-        this.semanticsService.onPush(push);
+        this.semanticsService.onPush(stateId, push);
         return;
       default:
         throw new Error('Unknown service');
@@ -0,0 +1,104 @@
+/*
+ * SPDX-FileCopyrightText: 2025 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+
+import { describe, expect, test } from 'vitest';
+
+import applyRelationDelta from './applyRelationDelta';
+import type { Tuple } from './xtextServiceResults';
+
+describe('full relation', () => {
+  test('replaces previous tuples', () => {
+    const tuples: Tuple[] = [[1, 0, 'true']];
+    expect(applyRelationDelta([[0, 1, 'true']], tuples)).toBe(tuples);
+  });
+
+  test('without previous tuples', () => {
+    const tuples: Tuple[] = [[0, 1, 'unknown']];
+    expect(applyRelationDelta(undefined, tuples)).toBe(tuples);
+  });
+});
+
+describe('relation changes', () => {
+  test('merge added, changed, and removed tuples', () => {
+    const previous: Tuple[] = [
+      [0, 1, 'true'],
+      [1, 0, 'unknown'],
+      [1, 2, 'true'],
+      [2, 2, 'false'],
+    ];
+    expect(
+      applyRelationDelta(previous, {
+        added: [
+          [2, 1, 'unknown'],
+          [0, 0, { unknown: '1..5' }],
+        ],
+        changed: [[1, 0, 'true']],
+        removed: [[1, 2]],
+      }),
+    ).toEqual([
+      [0, 0, { unknown: '1..5' }],
+      [0, 1, 'true'],
+      [1, 0, 'true'],
+      [2, 1, 'unknown'],
+      [2, 2, 'false'],
+    ]);
+  });
+
+  test('sort node ids numerically', () => {
+    expect(
+      applyRelationDelta(
+        [
+          [2, 'true'],
+          [9, 'true'],
+        ],
+        { added: [[10, 'true']], changed: [], removed: [] },
+      ),
+    ).toEqual([
+      [2, 'true'],
+      [9, 'true'],
+      [10, 'true'],
+    ]);
+  });
+
+  test('keep unchanged tuples', () => {
+    const unchanged: Tuple = [0, 1, 'true'];
+    const result = applyRelationDelta(
+      [unchanged, [1, 1, 'error']],
+      { added: [], changed: [], removed: [[1, 1]] },
+    );
+    expect(result).toEqual([[0, 1, 'true']]);
+    expect(result[0]).toBe(unchanged);
+  });
+
+  test('without previous tuples', () => {
+    expect(
+      applyRelationDelta(undefined, {
+        added: [
+          [1, 'true'],
+          [0, 'false'],
+        ],
+        changed: [],
+        removed: [],
+      }),
+    ).toEqual([
+      [0, 'false'],
+      [1, 'true'],
+    ]);
+  });
+
+  test('nullary relation', () => {
+    expect(
+      applyRelationDelta([['true']], {
+        added: [],
+        changed: [['error']],
+        removed: [],
+      }),
+    ).toEqual([['error']]);
+    expect(
+      applyRelationDelta([['true']], { added: [], changed: [], removed: [[]] }),
+    ).toEqual([]);
+  });
+});
@@ -0,0 +1,52 @@
+/*
+ * SPDX-FileCopyrightText: 2025 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+
+import type { RelationDelta, Tuple } from './xtextServiceResults';
+
+function getNodesKey(nodes: Tuple | number[], arity: number): string {
+  return nodes.slice(0, arity).join(',');
+}
+
+function compareTuples(a: Tuple, b: Tuple): number {
+  // Tuples of the same relation have the same arity.
+  const arity = a.length - 1;
+  for (let i = 0; i < arity; i += 1) {
+    const difference = (a[i] as number) - (b[i] as number);
+    if (difference !== 0) {
+      return difference;
+    }
+  }
+  return 0;
+}
+
+export default function applyRelationDelta(
+  previous: Tuple[] | undefined,
+  delta: RelationDelta,
+): Tuple[] {
+  if (Array.isArray(delta)) {
+    return delta;
+  }
+  const { added, changed, removed } = delta;
+  const removedKeys = new Set(
+    removed.map((nodes) => getNodesKey(nodes, nodes.length)),
+  );
+  const changedTuples = new Map(
+    changed.map((tuple) => [getNodesKey(tuple, tuple.length - 1), tuple]),
+  );
+  const tuples: Tuple[] = [];
+  previous?.forEach((tuple) => {
+    const key = getNodesKey(tuple, tuple.length - 1);
+    if (!removedKeys.has(key)) {
+      tuples.push(changedTuples.get(key) ?? tuple);
+    }
+  });
+  if (added.length > 0) {
+    tuples.push(...added);
+    // Keep the tuples in the same order as the server would send them.
+    tuples.sort(compareTuples);
+  }
+  return tuples;
+}
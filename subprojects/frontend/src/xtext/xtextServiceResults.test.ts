@@ -0,0 +1,63 @@
+/*
+ * SPDX-FileCopyrightText: 2025 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+
+import { describe, expect, test } from 'vitest';
+
+import { SemanticsResult } from './xtextServiceResults';
+
+describe('SemanticsResult', () => {
+  test('parses semantics deltas', () => {
+    const delta = {
+      base: 's1',
+      nodes: [],
+      relations: [],
+      partialInterpretation: {
+        relations: {
+          friend: { added: [[0, 1, 'true']], changed: [], removed: [[1, 0]] },
+          parent: [[1, 1, { unknown: '1..5' }]],
+        },
+        removedRelations: ['enemy'],
+      },
+    };
+    // Full semantics results have an optional `json` field, so they would also
+    // match deltas (and strip the `delta` field) if they came first in the union.
+    expect(
+      SemanticsResult.parse({
+        result: 'success',
+        value: { issues: [], delta, source: 'pred friend(a, b).' },
+      }),
+    ).toEqual({
+      result: 'success',
+      value: { issues: [], delta, source: 'pred friend(a, b).' },
+    });
+  });
+
+  test('parses full semantics', () => {
+    const json = {
+      nodes: [],
+      relations: [],
+      partialInterpretation: { friend: [[0, 1, 'true']] },
+    };
+    const result = SemanticsResult.parse({
+      result: 'success',
+      value: { issues: [], json },
+    });
+    expect(result).toEqual({ result: 'success', value: { issues: [], json } });
+    expect(result.result === 'success' && 'delta' in result.value).toBe(false);
+  });
+
+  test('parses missing semantics', () => {
+    expect(
+      SemanticsResult.parse({ result: 'success', value: { issues: [] } }),
+    ).toEqual({ result: 'success', value: { issues: [] } });
+  });
+
+  test('parses errors', () => {
+    expect(
+      SemanticsResult.parse({ result: 'timeout', message: 'Timeout' }),
+    ).toEqual({ result: 'timeout', message: 'Timeout' });
+  });
+});
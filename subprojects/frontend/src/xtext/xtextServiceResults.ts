@@ -1,5 +1,5 @@
 /*
- * SPDX-FileCopyrightText: 2021-2024 The Refinery Authors <https://refinery.tools/>
+ * SPDX-FileCopyrightText: 2021-2025 The Refinery Authors <https://refinery.tools/>
  *
  * SPDX-License-Identifier: EPL-2.0
  */
@@ -8,7 +8,10 @@
 
 import {
   ConcretizationSuccessResult,
+  NodeMetadata,
   RefineryResult,
+  RelationMetadata,
+  Tuple,
 } from '@tools.refinery/client';
 import { z } from 'zod/v4';
 
@@ -141,9 +144,50 @@ export {
   JsonOutput as SemanticsModelResult,
   NodeMetadata,
   RelationMetadata,
+  Tuple,
 } from '@tools.refinery/client';
 
+/**
+ * Changes of the tuples of a relation.
+ *
+ * If the relation is new or changed too much, the server sends all of its
+ * tuples instead.
+ */
+export const RelationDelta = z.union([
+  Tuple.array(),
+  z.object({
+    added: Tuple.array(),
+    changed: Tuple.array(),
+    removed: z.number().array().array(),
+  }),
+]);
+
+export type RelationDelta = z.infer<typeof RelationDelta>;
+
+export const SemanticsModelDelta = z.object({
+  base: z.string().min(1),
+  nodes: NodeMetadata.array(),
+  relations: RelationMetadata.array(),
+  partialInterpretation: z.object({
+    relations: z.record(z.string(), RelationDelta),
+    removedRelations: z.string().array(),
+  }),
+});
+
+export type SemanticsModelDelta = z.infer<typeof SemanticsModelDelta>;
+
+export const SemanticsDeltaSuccessResult = z.object({
+  issues: Issue.array(),
+  delta: SemanticsModelDelta,
+  source: z.string().optional(),
+});
+
+export type SemanticsDeltaSuccessResult = z.infer<
+  typeof SemanticsDeltaSuccessResult
+>;
+
 export const SemanticsResult = z.union([
+  RefineryResult.Success(SemanticsDeltaSuccessResult),
   RefineryResult.Success(ConcretizationSuccessResult),
   RefineryResult.Error,
 ]);
@@ -0,0 +1,23 @@
+/*
+ * SPDX-FileCopyrightText: 2025 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+
+import path from 'node:path';
+import { fileURLToPath } from 'node:url';
+
+import { defineConfig } from 'vitest/config';
+
+const thisDir = path.dirname(fileURLToPath(import.meta.url));
+
+// We don't extend `vite.config.ts`, because its plugins are only needed to
+// bundle the application, while our unit tests don't touch the DOM.
+export default defineConfig({
+  root: thisDir,
+  cacheDir: path.join(thisDir, 'build/vite/cache'),
+  test: {
+    include: ['src/**/*.test.ts'],
+    environment: 'node',
+  },
+});
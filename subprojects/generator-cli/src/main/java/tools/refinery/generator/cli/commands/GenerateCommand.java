@@ -1,5 +1,5 @@
 /*
- * SPDX-FileCopyrightText: 2023-2024 The Refinery Authors <https://refinery.tools/>
+ * SPDX-FileCopyrightText: 2023-2025 The Refinery Authors <https://refinery.tools/>
  *
  * SPDX-License-Identifier: EPL-2.0
  */
@@ -30,6 +30,8 @@ public class GenerateCommand implements Command {
 	private List<String> overrideScopes = new ArrayList<>();
 	private long randomSeed = 1;
 	private int count = 1;
+	private int workers = 1;
+	private int runs = 1;
 
 	@Inject
 	public GenerateCommand(CliProblemLoader loader, ModelGeneratorFactory generatorFactory,
@@ -72,24 +74,47 @@ public class GenerateCommand implements Command {
 		this.count = count;
 	}
 
+	@Parameter(names = {"-workers", "-w"}, description = "Number of parallel exploration workers")
+	public void setWorkers(int workers) {
+		if (workers <= 0) {
+			throw new IllegalArgumentException("Number of workers must be positive");
+		}
+		this.workers = workers;
+	}
+
+	@Parameter(names = {"-runs"}, description = "Number of generation runs with consecutive random seeds")
+	public void setRuns(int runs) {
+		if (runs <= 0) {
+			throw new IllegalArgumentException("Number of runs must be positive");
+		}
+		this.runs = runs;
+	}
+
 	@Override
 	public int run() throws IOException {
-		if (count > 1 && CliUtils.isStandardStream(outputPath)) {
-			throw new IllegalArgumentException("Must provide output path if count is larger than 1");
+		boolean multipleOutputs = count > 1 || runs > 1;
+		if (multipleOutputs && CliUtils.isStandardStream(outputPath)) {
+			throw new IllegalArgumentException("Must provide output path if count or runs is larger than 1");
 		}
 		var problem = loader.loadProblem(inputPath, scopes, overrideScopes);
 		generatorFactory.partialInterpretationBasedNeighborhoods(count >= 2);
 		try (var generator = generatorFactory.createGenerator(problem)) {
-			generator.setRandomSeed(randomSeed);
 			generator.setMaxNumberOfSolutions(count);
-			generator.generate();
-			if (count == 1) {
-				serializer.saveModel(generator, outputPath);
-			} else {
+			generator.setNumberOfWorkers(workers);
+			int outputIndex = 0;
+			for (int i = 0; i < runs; i++) {
+				// Every run starts from the initial model of the same generator, so we only prepare it once.
+				generator.setRandomSeed(randomSeed + i);
+				generator.generate();
+				if (!multipleOutputs) {
+					serializer.saveModel(generator, outputPath);
+					continue;
+				}
 				int solutionCount = generator.getSolutionCount();
-				for (int i = 0; i < solutionCount; i++) {
-					generator.loadSolution(i);
-					var pathWithIndex = CliUtils.getFileNameWithIndex(outputPath, i + 1);
+				for (int j = 0; j < solutionCount; j++) {
+					generator.loadSolution(j);
+					outputIndex++;
+					var pathWithIndex = CliUtils.getFileNameWithIndex(outputPath, outputIndex);
 					serializer.saveModel(generator, pathWithIndex, false);
 				}
 			}
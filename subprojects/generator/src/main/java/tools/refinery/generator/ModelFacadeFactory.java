@@ -1,5 +1,5 @@
 /*
- * SPDX-FileCopyrightText: 2024 The Refinery Authors <https://refinery.tools/>
+ * SPDX-FileCopyrightText: 2024-2025 The Refinery Authors <https://refinery.tools/>
  *
  * SPDX-License-Identifier: EPL-2.0
  */
@@ -80,23 +80,33 @@ public abstract sealed class ModelFacadeFactory<T extends ModelFacadeFactory<T>>
 		return diagnostics;
 	}
 
-	protected ModelFacadeImpl.Args createFacadeArgs(ModelInitializer initializer, ModelStoreBuilder storeBuilder) {
-		var trace = initializer.getProblemTrace();
-		ModelStore store;
+	protected ModelStore buildStore(ModelInitializer initializer, ModelStoreBuilder storeBuilder) {
 		try {
-			store = storeBuilder.build();
+			return storeBuilder.build();
 		} catch (TranslationException e) {
-			throw diagnostics.wrapTranslationException(e, trace);
+			throw diagnostics.wrapTranslationException(e, initializer.getProblemTrace());
 		} catch (TracedException e) {
-			throw diagnostics.wrapTracedException(e, trace);
+			throw diagnostics.wrapTracedException(e, initializer.getProblemTrace());
 		}
-		return new ModelFacadeImpl.Args(trace, store, initializer.getModelSeed(), metadataCreatorProvider,
-				diagnostics);
+	}
+
+	protected ModelFacadeImpl.Args createFacadeArgs(ModelInitializer initializer, ModelStoreBuilder storeBuilder) {
+		return createFacadeArgs(initializer, buildStore(initializer, storeBuilder), () -> {
+		});
+	}
+
+	protected ModelFacadeImpl.Args createFacadeArgs(ModelInitializer initializer, ModelStore store,
+													Runnable closeHandler) {
+		return new ModelFacadeImpl.Args(initializer.getProblemTrace(), store, initializer.getModelSeed(),
+				metadataCreatorProvider, diagnostics, closeHandler);
 	}
 
 	protected ConcreteModelFacade.Args createConcreteFacadeArgs(ModelInitializer initializer,
 															ModelStoreBuilder storeBuilder) {
-		return new ConcreteModelFacade.Args(createFacadeArgs(initializer, storeBuilder), solutionSerializerProvider,
-				keepNonExistingObjects);
+		return createConcreteFacadeArgs(createFacadeArgs(initializer, storeBuilder));
+	}
+
+	protected ConcreteModelFacade.Args createConcreteFacadeArgs(ModelFacadeImpl.Args facadeArgs) {
+		return new ConcreteModelFacade.Args(facadeArgs, solutionSerializerProvider, keepNonExistingObjects);
 	}
 }
@@ -1,10 +1,11 @@
 /*
- * SPDX-FileCopyrightText: 2023-2024 The Refinery Authors <https://refinery.tools/>
+ * SPDX-FileCopyrightText: 2023-2025 The Refinery Authors <https://refinery.tools/>
  *
  * SPDX-License-Identifier: EPL-2.0
  */
 package tools.refinery.generator;
 
+import org.jetbrains.annotations.Nullable;
 import tools.refinery.store.dse.transition.statespace.SolutionStore;
 
 import java.util.concurrent.TimeUnit;
@@ -18,6 +19,17 @@ public interface ModelGenerator extends ModelFacade {
 
 	void setMaxNumberOfSolutions(int maxNumberOfSolutions);
 
+	int getNumberOfWorkers();
+
+	void setNumberOfWorkers(int numberOfWorkers);
+
+	/**
+	 * Sets a listener to receive solutions as soon as they are found, before the generation finishes.
+	 *
+	 * @param solutionListener The listener, or {@code null} to remove the current listener.
+	 */
+	void setSolutionListener(@Nullable SolutionListener solutionListener);
+
 	int getSolutionCount();
 
 	void loadSolution(int index);
@@ -32,6 +44,17 @@ public interface ModelGenerator extends ModelFacade {
 		tryGenerate().orThrow();
 	}
 
+	/**
+	 * Generates models until either the requested number of solutions is found or the time runs out.
+	 * <p>
+	 * If the time runs out after at least one solution was found, the generation is considered successful and the
+	 * solutions found so far are kept.
+	 * </p>
+	 *
+	 * @param l        The amount of time to spend generating models.
+	 * @param timeUnit The unit of {@code l}.
+	 * @return The result of the generation.
+	 */
 	GeneratorResult tryGenerateWithTimeout(long l, TimeUnit timeUnit);
 
 	default void generateWithTimeout(long l, TimeUnit timeUnit) {
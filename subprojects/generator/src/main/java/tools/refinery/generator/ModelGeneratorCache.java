@@ -0,0 +1,202 @@
+/*
+ * SPDX-FileCopyrightText: 2025 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.generator;
+
+import com.google.inject.Singleton;
+import org.jetbrains.annotations.Nullable;
+import tools.refinery.generator.impl.LeasedCacheEntry;
+import tools.refinery.store.util.CancellationToken;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Keeps prepared model generators warm to serve repeated generation requests for the same problem.
+ * <p>
+ * Creating a model generator requires initializing the model, building the model store and its queries, and
+ * propagating the initial model. A {@link ModelGeneratorSession} skips all of these steps if a generator for the same
+ * key is already cached. Since the generator always starts exploring from its initial model, only the settings of
+ * the generator, such as its random seed, may differ between sessions sharing a generator.
+ * </p>
+ * <p>
+ * Model generators are not thread safe, so each cached generator may be used by at most one session at a time. The
+ * least recently used generators are closed if there are more than {@code REFINERY_MODEL_GENERATOR_CACHE_SIZE}
+ * (default: 4) of them, or if the heap usage is above {@code REFINERY_MODEL_GENERATOR_CACHE_MEMORY_RATIO} (default:
+ * 0.5) of the maximum heap size after a generator is returned to the cache.
+ * </p>
+ * <p>
+ * The heap usage is measured right after the most recent garbage collection of each heap memory pool, so that
+ * garbage waiting to be collected doesn't cause cached generators to be closed. Before the first garbage collection,
+ * the heap usage is considered to be zero.
+ * </p>
+ */
+@Singleton
+public class ModelGeneratorCache {
+	private static final int DEFAULT_CAPACITY = 4;
+
+	private static final double DEFAULT_MEMORY_RATIO = 0.5;
+
+	private final int capacity;
+
+	private final double memoryRatio;
+
+	private final List<MemoryPoolMXBean> heapPools = ManagementFactory.getMemoryPoolMXBeans().stream()
+			.filter(pool -> pool.getType() == MemoryType.HEAP && pool.isCollectionUsageThresholdSupported())
+			.toList();
+
+	private final Map<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+	public ModelGeneratorCache() {
+		this(Optional.ofNullable(System.getenv("REFINERY_MODEL_GENERATOR_CACHE_SIZE"))
+						.map(Integer::parseUnsignedInt)
+						.orElse(DEFAULT_CAPACITY),
+				Optional.ofNullable(System.getenv("REFINERY_MODEL_GENERATOR_CACHE_MEMORY_RATIO"))
+						.map(Double::parseDouble)
+						.orElse(DEFAULT_MEMORY_RATIO));
+	}
+
+	ModelGeneratorCache(int capacity, double memoryRatio) {
+		if (capacity < 0) {
+			throw new IllegalArgumentException("Capacity must be non-negative, got: " + capacity);
+		}
+		this.capacity = capacity;
+		this.memoryRatio = memoryRatio;
+	}
+
+	public boolean isEnabled() {
+		return capacity > 0;
+	}
+
+	/**
+	 * Opens a session with a prepared model generator.
+	 *
+	 * @param key               A key that identifies the problem and every setting used to create the generator.
+	 * @param cancellationToken The cancellation token for the operations in the session.
+	 * @param loader            Creates a new generator if there is no cached one for the key.
+	 * @return The session, or {@code null} if the loader returned {@code null}.
+	 * @throws IOException If the loader fails to load the problem.
+	 */
+	public @Nullable ModelGeneratorSession open(String key, CancellationToken cancellationToken, Loader loader)
+			throws IOException {
+		var entryKey = LeasedCacheEntry.getKey(key);
+		Entry entry;
+		synchronized (this) {
+			entry = entries.remove(entryKey);
+		}
+		if (entry != null) {
+			entry.lease(cancellationToken);
+			return new ModelGeneratorSession(entry);
+		}
+		entry = new Entry(entryKey, cancellationToken);
+		// Sessions sharing the generator cancel its operations through the entry.
+		var generator = loader.load(entry);
+		if (generator == null) {
+			return null;
+		}
+		entry.generator = generator;
+		return new ModelGeneratorSession(entry);
+	}
+
+	private void release(Entry entry) {
+		var toClose = new ArrayList<ModelGenerator>();
+		if (!isEnabled() || entry.isPoisoned()) {
+			// The generator may be in an inconsistent state if an operation was cancelled.
+			toClose.add(entry.generator);
+		} else {
+			synchronized (this) {
+				var previous = entries.put(entry.getKey(), entry);
+				if (previous != null) {
+					// Another session created a generator for the same key in the meantime.
+					toClose.add(previous.generator);
+				}
+				evict(toClose);
+			}
+		}
+		closeAll(toClose);
+	}
+
+	private void evict(List<ModelGenerator> toClose) {
+		var iterator = entries.values().iterator();
+		while (iterator.hasNext() && (entries.size() > capacity || isMemoryExceeded())) {
+			toClose.add(iterator.next().generator);
+			iterator.remove();
+		}
+	}
+
+	private boolean isMemoryExceeded() {
+		long usedMemory = 0;
+		for (var pool : heapPools) {
+			// Unlike the current usage, the collection usage doesn't include garbage allocated since the last
+			// collection of the pool.
+			var collectionUsage = pool.getCollectionUsage();
+			if (collectionUsage != null) {
+				usedMemory += collectionUsage.getUsed();
+			}
+		}
+		return usedMemory > Runtime.getRuntime().maxMemory() * memoryRatio;
+	}
+
+	private static void closeAll(List<ModelGenerator> generators) {
+		RuntimeException firstException = null;
+		for (var generator : generators) {
+			try {
+				generator.close();
+			} catch (RuntimeException e) {
+				if (firstException == null) {
+					firstException = e;
+				} else {
+					firstException.addSuppressed(e);
+				}
+			}
+		}
+		if (firstException != null) {
+			throw firstException;
+		}
+	}
+
+	@FunctionalInterface
+	public interface Loader {
+		/**
+		 * Creates a new model generator.
+		 *
+		 * @param cancellationToken The cancellation token to pass to the {@link ModelGeneratorFactory}.
+		 * @return The generator, or {@code null} if it can't be created.
+		 * @throws IOException If the problem can't be loaded.
+		 */
+		@Nullable ModelGenerator load(CancellationToken cancellationToken) throws IOException;
+	}
+
+	final class Entry extends LeasedCacheEntry {
+		private ModelGenerator generator;
+
+		private Entry(String key, CancellationToken cancellationToken) {
+			super(key, cancellationToken);
+		}
+
+		ModelGenerator getGenerator() {
+			return generator;
+		}
+
+		/**
+		 * Puts the generator back into the cache, or closes it if it can't be reused.
+		 * <p>
+		 * Calling this method more than once has no effect.
+		 * </p>
+		 */
+		void release() {
+			if (endLease()) {
+				ModelGeneratorCache.this.release(this);
+			}
+		}
+	}
+}
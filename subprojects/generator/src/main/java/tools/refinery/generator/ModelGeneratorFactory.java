@@ -20,6 +20,7 @@ import tools.refinery.store.reasoning.literal.Concreteness;
 import tools.refinery.store.reasoning.translator.TranslationException;
 import tools.refinery.store.statecoding.StateCodeCalculatorFactory;
 import tools.refinery.store.statecoding.StateCoderAdapter;
+import tools.refinery.store.statecoding.neighborhood.IncrementalNeighborhoodCalculator;
 import tools.refinery.store.statecoding.neighborhood.NeighborhoodCalculator;
 import tools.refinery.visualization.ModelVisualizerAdapter;
 import tools.refinery.visualization.internal.FileFormat;
@@ -110,6 +111,6 @@ public final class ModelGeneratorFactory extends ModelFacadeFactory<ModelGenerat
 	private StateCodeCalculatorFactory getStateCodeCalculatorFactory() {
 		return partialInterpretationBasedNeighborhoods ?
 				PartialNeighborhoodCalculator.factory(Concreteness.PARTIAL, stateCoderDepth) :
-				NeighborhoodCalculator.factory(stateCoderDepth);
+				IncrementalNeighborhoodCalculator.factory(stateCoderDepth);
 	}
 }
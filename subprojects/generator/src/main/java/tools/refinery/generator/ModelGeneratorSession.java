@@ -0,0 +1,44 @@
+/*
+ * SPDX-FileCopyrightText: 2025 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.generator;
+
+/**
+ * A lease of a prepared model generator from a {@link ModelGeneratorCache}.
+ * <p>
+ * Closing the session returns the generator to the cache instead of closing it, so callers must not close the
+ * generator themselves.
+ * </p>
+ */
+public final class ModelGeneratorSession implements AutoCloseable {
+	private final ModelGeneratorCache.Entry entry;
+	private boolean closed;
+
+	ModelGeneratorSession(ModelGeneratorCache.Entry entry) {
+		this.entry = entry;
+	}
+
+	public ModelGenerator getGenerator() {
+		if (closed) {
+			throw new IllegalStateException("Model generator session was already closed");
+		}
+		return entry.getGenerator();
+	}
+
+	@Override
+	public void close() {
+		if (closed) {
+			return;
+		}
+		closed = true;
+		// Make sure that the next session doesn't see the settings, the solutions, or the cancellation of this session.
+		var generator = entry.getGenerator();
+		generator.setSolutionListener(null);
+		// Changing the settings also discards the solution store.
+		generator.setMaxNumberOfSolutions(1);
+		generator.setNumberOfWorkers(1);
+		entry.release();
+	}
+}
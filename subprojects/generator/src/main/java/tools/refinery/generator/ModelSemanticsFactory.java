@@ -1,23 +1,30 @@
 /*
- * SPDX-FileCopyrightText: 2023-2024 The Refinery Authors <https://refinery.tools/>
+ * SPDX-FileCopyrightText: 2023-2025 The Refinery Authors <https://refinery.tools/>
  *
  * SPDX-License-Identifier: EPL-2.0
  */
 package tools.refinery.generator;
 
+import com.google.inject.Inject;
 import tools.refinery.generator.impl.ConcreteModelSemantics;
+import tools.refinery.generator.impl.ModelFacadeImpl;
 import tools.refinery.generator.impl.ModelSemanticsImpl;
+import tools.refinery.generator.impl.ModelStoreCache;
 import tools.refinery.language.model.problem.Problem;
+import tools.refinery.language.semantics.ModelInitializer;
 import tools.refinery.language.semantics.TracedException;
 import tools.refinery.store.dse.propagation.PropagationAdapter;
 import tools.refinery.store.dse.transition.DesignSpaceExplorationAdapter;
 import tools.refinery.store.model.ModelStore;
+import tools.refinery.store.model.ModelStoreBuilder;
 import tools.refinery.store.query.interpreter.QueryInterpreterAdapter;
 import tools.refinery.store.reasoning.ReasoningAdapter;
 import tools.refinery.store.reasoning.literal.Concreteness;
 import tools.refinery.store.reasoning.translator.TranslationException;
+import tools.refinery.store.util.CancellationToken;
 
 import java.util.Collection;
+import java.util.Optional;
 import java.util.Set;
 
 // This class is used as a fluent builder, so it's not necessary to use the return value of all of its methods.
@@ -25,6 +32,10 @@ import java.util.Set;
 public final class ModelSemanticsFactory extends ModelFacadeFactory<ModelSemanticsFactory> {
 	private boolean withCandidateInterpretations;
 	private boolean concretize;
+	private boolean cacheModelStores;
+
+	@Inject
+	private ModelStoreCache modelStoreCache;
 
 	@Override
 	protected ModelSemanticsFactory getSelf() {
@@ -41,6 +52,19 @@ public final class ModelSemanticsFactory extends ModelFacadeFactory<ModelSemanti
 		return this;
 	}
 
+	/**
+	 * Reuses the model stores of previous invocations for problems that only differ in their assertions.
+	 * <p>
+	 * Each semantics created with this option must be closed to return its model store to the cache.
+	 *
+	 * @param cacheModelStores Whether to cache model stores.
+	 * @return This factory.
+	 */
+	public ModelSemanticsFactory cacheModelStores(boolean cacheModelStores) {
+		this.cacheModelStores = cacheModelStores;
+		return this;
+	}
+
 	public ModelSemantics createSemantics(Problem problem) {
 		var semantics = tryCreateSemantics(problem);
 		semantics.throwIfInitializationFailed();
@@ -49,14 +73,54 @@ public final class ModelSemanticsFactory extends ModelFacadeFactory<ModelSemanti
 
 	public ModelSemantics tryCreateSemantics(Problem problem) {
 		var initializer = createModelInitializer();
+		readProblem(initializer, problem);
+		checkCancelled();
+		var fingerprint = cacheModelStores && modelStoreCache.isEnabled() ? getStoreFingerprint(initializer) :
+				Optional.<String>empty();
+		if (fingerprint.isEmpty()) {
+			var storeBuilder = createStoreBuilder(initializer, problem, getCancellationToken());
+			return createSemantics(createFacadeArgs(initializer, storeBuilder));
+		}
+		var cachedEntry = modelStoreCache.take(fingerprint.get());
+		if (cachedEntry.isPresent()) {
+			var entry = cachedEntry.get();
+			entry.lease(getCancellationToken());
+			try {
+				// Read the problem again to create a model seed with the partial symbols of the cached store.
+				var reusingInitializer = createModelInitializer();
+				reusingInitializer.setReusableSymbols(entry.getReusableSymbols());
+				readProblem(reusingInitializer, problem);
+				reusingInitializer.reuseStoreConfiguration();
+				return createSemantics(createFacadeArgs(reusingInitializer, entry.getStore(), entry::release));
+			} catch (RuntimeException e) {
+				entry.release();
+				throw e;
+			}
+		}
+		var entry = modelStoreCache.createEntry(fingerprint.get(), getCancellationToken());
+		var storeBuilder = createStoreBuilder(initializer, problem, entry);
+		var store = buildStore(initializer, storeBuilder);
+		entry.setStore(store, initializer.getReusableSymbols());
+		return createSemantics(createFacadeArgs(initializer, store, entry::release));
+	}
+
+	private void readProblem(ModelInitializer initializer, Problem problem) {
 		try {
 			initializer.readProblem(problem);
 		} catch (TracedException e) {
 			throw getDiagnostics().wrapTracedException(e, problem);
 		}
-		checkCancelled();
+	}
+
+	private Optional<String> getStoreFingerprint(ModelInitializer initializer) {
+		return initializer.getStoreFingerprint().map(storeFingerprint -> "%s %s%n%s".formatted(concretize,
+				withCandidateInterpretations, storeFingerprint));
+	}
+
+	private ModelStoreBuilder createStoreBuilder(ModelInitializer initializer, Problem problem,
+												 CancellationToken cancellationToken) {
 		var storeBuilder = ModelStore.builder()
-				.cancellationToken(getCancellationToken())
+				.cancellationToken(cancellationToken)
 				.with(QueryInterpreterAdapter.builder())
 				.with(PropagationAdapter.builder()
 						.throwOnFatalRejection(false))
@@ -70,10 +134,14 @@ public final class ModelSemanticsFactory extends ModelFacadeFactory<ModelSemanti
 		} catch (TracedException e) {
 			throw getDiagnostics().wrapTracedException(e, problem);
 		}
+		return storeBuilder;
+	}
+
+	private ModelSemantics createSemantics(ModelFacadeImpl.Args facadeArgs) {
 		if (concretize) {
-			return new ConcreteModelSemantics(createConcreteFacadeArgs(initializer, storeBuilder));
+			return new ConcreteModelSemantics(createConcreteFacadeArgs(facadeArgs));
 		}
-		return new ModelSemanticsImpl(createFacadeArgs(initializer, storeBuilder));
+		return new ModelSemanticsImpl(facadeArgs);
 	}
 
 	private Collection<Concreteness> getRequiredInterpretations() {
@@ -0,0 +1,24 @@
+/*
+ * SPDX-FileCopyrightText: 2025 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.generator;
+
+/**
+ * Receives the solutions of a {@link ModelGenerator} as soon as they are found.
+ */
+@FunctionalInterface
+public interface SolutionListener {
+	/**
+	 * Called when the model generator accepts a new solution.
+	 * <p>
+	 * The solution is only available while this method runs, and it may not be the best solution once the generation
+	 * finishes. Calls are serialized, but they may come from any thread of the model generator.
+	 * </p>
+	 *
+	 * @param solution       The facade to read the solution from.
+	 * @param solutionNumber The number of solutions found so far, including this one.
+	 */
+	void onSolution(ModelFacade solution, int solutionNumber);
+}
@@ -0,0 +1,93 @@
+/*
+ * SPDX-FileCopyrightText: 2025 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.generator.impl;
+
+import tools.refinery.store.util.CancellationToken;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * An entry of a cache that lends its cached object to at most one user at a time.
+ * <p>
+ * The cached object is created with the entry as its cancellation token, which delegates to the cancellation token of
+ * the current user of the entry. If an operation was cancelled, the entry is marked as poisoned, since the cached
+ * object may have been left in an inconsistent state.
+ * <p>
+ * Entries are created leased by the user that creates the cached object.
+ */
+public abstract class LeasedCacheEntry implements CancellationToken {
+	private final String key;
+	private volatile CancellationToken cancellationToken;
+	private volatile boolean poisoned;
+	private boolean leased = true;
+
+	protected LeasedCacheEntry(String key, CancellationToken cancellationToken) {
+		this.key = key;
+		this.cancellationToken = cancellationToken;
+	}
+
+	/**
+	 * Computes the key of a cache entry.
+	 * <p>
+	 * Only a digest of the fingerprint is stored, since the fingerprint may contain the source text of the whole
+	 * problem.
+	 *
+	 * @param fingerprint The fingerprint of the cached object.
+	 * @return The hex encoded SHA-256 digest of the fingerprint.
+	 */
+	public static String getKey(String fingerprint) {
+		MessageDigest digest;
+		try {
+			digest = MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 is not supported", e);
+		}
+		return HexFormat.of().formatHex(digest.digest(fingerprint.getBytes(StandardCharsets.UTF_8)));
+	}
+
+	public String getKey() {
+		return key;
+	}
+
+	public boolean isPoisoned() {
+		return poisoned;
+	}
+
+	public synchronized void lease(CancellationToken cancellationToken) {
+		if (leased) {
+			throw new IllegalStateException("Cache entry is already in use");
+		}
+		this.cancellationToken = cancellationToken;
+		leased = true;
+	}
+
+	/**
+	 * Ends the current lease and detaches the entry from the cancellation token of its user.
+	 *
+	 * @return {@code true} if the entry was leased, {@code false} if the lease was already ended.
+	 */
+	protected synchronized boolean endLease() {
+		if (!leased) {
+			return false;
+		}
+		cancellationToken = NONE;
+		leased = false;
+		return true;
+	}
+
+	@Override
+	public void checkCancelled() {
+		try {
+			cancellationToken.checkCancelled();
+		} catch (RuntimeException | Error e) {
+			poisoned = true;
+			throw e;
+		}
+	}
+}
@@ -1,5 +1,5 @@
 /*
- * SPDX-FileCopyrightText: 2023-2024 The Refinery Authors <https://refinery.tools/>
+ * SPDX-FileCopyrightText: 2023-2025 The Refinery Authors <https://refinery.tools/>
  *
  * SPDX-License-Identifier: EPL-2.0
  */
@@ -45,12 +45,14 @@ public abstract class ModelFacadeImpl implements ModelFacade {
 	private final ReasoningAdapter reasoningAdapter;
 	private final Provider<MetadataCreator> metadataCreatorProvider;
 	private final RefineryDiagnostics diagnostics;
+	private final Runnable closeHandler;
 
 	protected ModelFacadeImpl(Args args) {
 		problemTrace = args.problemTrace();
 		store = args.store();
 		metadataCreatorProvider = args.metadataCreatorProvider();
 		diagnostics = args.diagnostics();
+		closeHandler = args.closeHandler();
 		var propagatedModel = getPropagatedModel(args);
 		var theModel = propagatedModel.model();
 		try {
@@ -200,9 +202,11 @@ public abstract class ModelFacadeImpl implements ModelFacade {
 	@Override
 	public void close() {
 		model.close();
+		closeHandler.run();
 	}
 
 	public record Args(ProblemTrace problemTrace, ModelStore store, ModelSeed modelSeed,
-					   Provider<MetadataCreator> metadataCreatorProvider, RefineryDiagnostics diagnostics) {
+					   Provider<MetadataCreator> metadataCreatorProvider, RefineryDiagnostics diagnostics,
+					   Runnable closeHandler) {
 	}
 }
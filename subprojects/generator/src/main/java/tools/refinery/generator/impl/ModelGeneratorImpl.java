@@ -1,5 +1,5 @@
 /*
- * SPDX-FileCopyrightText: 2023-2024 The Refinery Authors <https://refinery.tools/>
+ * SPDX-FileCopyrightText: 2023-2025 The Refinery Authors <https://refinery.tools/>
  *
  * SPDX-License-Identifier: EPL-2.0
  */
@@ -8,10 +8,12 @@ package tools.refinery.generator.impl;
 import tools.refinery.generator.GeneratorResult;
 import tools.refinery.generator.GeneratorTimeoutException;
 import tools.refinery.generator.ModelGenerator;
+import tools.refinery.generator.SolutionListener;
 import tools.refinery.language.model.problem.Problem;
 import tools.refinery.logic.AbstractValue;
 import tools.refinery.store.dse.propagation.PropagationRejectedException;
 import tools.refinery.store.dse.strategy.BestFirstStoreManager;
+import tools.refinery.store.dse.transition.VersionWithObjectiveValue;
 import tools.refinery.store.dse.transition.statespace.SolutionStore;
 import tools.refinery.store.map.Version;
 import tools.refinery.store.reasoning.interpretation.PartialInterpretation;
@@ -26,7 +28,12 @@ public class ModelGeneratorImpl extends ConcreteModelFacade implements ModelGene
 	private final CancellableCancellationToken cancellationToken;
 	private long randomSeed = 1;
 	private int maxNumberOfSolutions = 1;
+	private int numberOfWorkers = 1;
 	private SolutionStore solutionStore;
+	private SolutionListener solutionListener;
+	private final Object solutionListenerLock = new Object();
+	private int publishedSolutionCount;
+	private volatile Thread publishingThread;
 
 	public ModelGeneratorImpl(Args args, CancellableCancellationToken cancellationToken) {
 		super(args);
@@ -56,6 +63,25 @@ public class ModelGeneratorImpl extends ConcreteModelFacade implements ModelGene
 		this.solutionStore = null;
 	}
 
+	@Override
+	public int getNumberOfWorkers() {
+		return numberOfWorkers;
+	}
+
+	@Override
+	public void setNumberOfWorkers(int numberOfWorkers) {
+		if (numberOfWorkers < 1) {
+			throw new IllegalArgumentException("Number of workers must be positive, got: " + numberOfWorkers);
+		}
+		this.numberOfWorkers = numberOfWorkers;
+		this.solutionStore = null;
+	}
+
+	@Override
+	public void setSolutionListener(SolutionListener solutionListener) {
+		this.solutionListener = solutionListener;
+	}
+
 	@Override
 	public int getSolutionCount() {
 		if (!isLastGenerationSuccessful()) {
@@ -84,11 +110,23 @@ public class ModelGeneratorImpl extends ConcreteModelFacade implements ModelGene
 		solutionStore = null;
 		randomSeed++;
 		var bestFirst = new BestFirstStoreManager(getModelStore(), maxNumberOfSolutions);
+		var listener = solutionListener;
+		if (listener != null) {
+			publishedSolutionCount = 0;
+			bestFirst.setSolutionListener(solution -> publishSolution(listener, solution));
+		}
 		try {
-			bestFirst.startExploration(initialVersion, randomSeed);
+			bestFirst.startExploration(initialVersion, randomSeed, numberOfWorkers);
 		} catch (PropagationRejectedException e) {
 			// Fatal propagation error.
 			throw getDiagnostics().wrapPropagationRejectedException(e, getProblemTrace());
+		} catch (GeneratorTimeoutException e) {
+			if (bestFirst.getSolutionStore().getSolutions().isEmpty()) {
+				throw e;
+			}
+			// The time ran out, but we may still return the solutions found so far. We have to reset the timeout
+			// first, because restoring the model would check for cancellation again.
+			cancellationToken.reset();
 		}
 		var solutions = bestFirst.getSolutionStore().getSolutions();
 		if (solutions.isEmpty()) {
@@ -102,6 +140,21 @@ public class ModelGeneratorImpl extends ConcreteModelFacade implements ModelGene
 		return GeneratorResult.SUCCESS;
 	}
 
+	private void publishSolution(SolutionListener listener, VersionWithObjectiveValue solution) {
+		// Exploration workers use their own models, so we can use the model of the generator to read the solution.
+		synchronized (solutionListenerLock) {
+			publishedSolutionCount++;
+			getModel().restore(solution.version());
+			// Only let the listener read the solution, but not any other thread that uses the generator concurrently.
+			publishingThread = Thread.currentThread();
+			try {
+				listener.onSolution(this, publishedSolutionCount);
+			} finally {
+				publishingThread = null;
+			}
+		}
+	}
+
 	@Override
 	public GeneratorResult tryGenerateWithTimeout(long l, TimeUnit timeUnit) {
 		try (var executorService = Executors.newSingleThreadScheduledExecutor()) {
@@ -131,7 +184,7 @@ public class ModelGeneratorImpl extends ConcreteModelFacade implements ModelGene
 	}
 
 	private void checkSuccessfulGeneration() {
-		if (!isLastGenerationSuccessful()) {
+		if (!isLastGenerationSuccessful() && publishingThread != Thread.currentThread()) {
 			throw new IllegalStateException("No generated model is available");
 		}
 	}
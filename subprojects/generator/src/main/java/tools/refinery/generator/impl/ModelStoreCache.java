@@ -0,0 +1,95 @@
+/*
+ * SPDX-FileCopyrightText: 2025 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.generator.impl;
+
+import com.google.inject.Singleton;
+import tools.refinery.language.semantics.ReusableSymbols;
+import tools.refinery.store.model.ModelStore;
+import tools.refinery.store.util.CancellationToken;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Keeps the most recently used model stores to avoid compiling the queries of the same problem over and over again.
+ * <p>
+ * Model stores are not thread safe, so each cached store may be used by at most one model at a time. A store is
+ * removed from the cache while it is in use, and it is put back into the cache when its model is closed.
+ */
+@Singleton
+public class ModelStoreCache {
+	private static final int DEFAULT_CAPACITY = 8;
+
+	private final int capacity = Optional.ofNullable(System.getenv("REFINERY_MODEL_STORE_CACHE_SIZE"))
+			.map(Integer::parseUnsignedInt)
+			.orElse(DEFAULT_CAPACITY);
+
+	private final Map<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+	public boolean isEnabled() {
+		return capacity > 0;
+	}
+
+	public synchronized Optional<Entry> take(String fingerprint) {
+		return Optional.ofNullable(entries.remove(LeasedCacheEntry.getKey(fingerprint)));
+	}
+
+	public Entry createEntry(String fingerprint, CancellationToken cancellationToken) {
+		return new Entry(LeasedCacheEntry.getKey(fingerprint), cancellationToken);
+	}
+
+	private synchronized void release(Entry entry) {
+		// If another model created a store for the same problem in the meantime, we keep the most recently used one.
+		entries.put(entry.getKey(), entry);
+		var iterator = entries.values().iterator();
+		while (entries.size() > capacity) {
+			iterator.next();
+			iterator.remove();
+		}
+	}
+
+	/**
+	 * A model store along with the symbols required to create model seeds for it.
+	 * <p>
+	 * The model store is built with the entry as its cancellation token.
+	 */
+	public final class Entry extends LeasedCacheEntry {
+		private ModelStore store;
+		private ReusableSymbols reusableSymbols;
+
+		private Entry(String key, CancellationToken cancellationToken) {
+			super(key, cancellationToken);
+		}
+
+		public ModelStore getStore() {
+			return store;
+		}
+
+		public ReusableSymbols getReusableSymbols() {
+			return reusableSymbols;
+		}
+
+		public void setStore(ModelStore store, ReusableSymbols reusableSymbols) {
+			if (this.store != null) {
+				throw new IllegalStateException("Model store was already set");
+			}
+			this.store = store;
+			this.reusableSymbols = reusableSymbols;
+		}
+
+		/**
+		 * Puts the model store back into the cache after its model was closed.
+		 * <p>
+		 * Calling this method more than once has no effect.
+		 */
+		public void release() {
+			if (store != null && endLease()) {
+				ModelStoreCache.this.release(this);
+			}
+		}
+	}
+}
@@ -0,0 +1,177 @@
+/*
+ * SPDX-FileCopyrightText: 2025 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.generator;
+
+import com.google.inject.Inject;
+import com.google.inject.Provider;
+import org.junit.jupiter.api.Test;
+import tools.refinery.language.tests.InjectWithRefinery;
+import tools.refinery.store.util.CancellationToken;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@InjectWithRefinery
+class ModelGeneratorCacheTest {
+	private static final String PROBLEM = """
+			class Person {
+				Person[] friend
+			}
+
+			scope Person = 5..10.
+			""";
+
+	@Inject
+	private ProblemLoader loader;
+
+	@Inject
+	private Provider<ModelGeneratorFactory> generatorFactoryProvider;
+
+	@Inject
+	private ModelGeneratorCache cache;
+
+	@Test
+	void reuseGeneratorTest() throws IOException {
+		ModelGenerator firstGenerator;
+		try (var session = open(PROBLEM, CancellationToken.NONE)) {
+			firstGenerator = session.getGenerator();
+			firstGenerator.setRandomSeed(1);
+			assertThat(firstGenerator.tryGenerate(), is(GeneratorResult.SUCCESS));
+		}
+		try (var session = open(PROBLEM, CancellationToken.NONE)) {
+			var secondGenerator = session.getGenerator();
+			assertThat(secondGenerator, sameInstance(firstGenerator));
+			secondGenerator.setRandomSeed(2);
+			assertThat(secondGenerator.tryGenerate(), is(GeneratorResult.SUCCESS));
+		}
+	}
+
+	@Test
+	void generatorInUseTest() throws IOException {
+		try (var firstSession = open(PROBLEM, CancellationToken.NONE);
+			 var secondSession = open(PROBLEM, CancellationToken.NONE)) {
+			assertThat(secondSession.getGenerator(), not(sameInstance(firstSession.getGenerator())));
+		}
+	}
+
+	@Test
+	void differentProblemTest() throws IOException {
+		ModelGenerator firstGenerator;
+		try (var session = open(PROBLEM, CancellationToken.NONE)) {
+			firstGenerator = session.getGenerator();
+		}
+		try (var session = open(PROBLEM + "scope Person = 3..5.", CancellationToken.NONE)) {
+			assertThat(session.getGenerator(), not(sameInstance(firstGenerator)));
+		}
+	}
+
+	@Test
+	void cancelledGeneratorTest() throws IOException {
+		ModelGenerator firstGenerator;
+		try (var session = open(PROBLEM, CancellationToken.NONE)) {
+			firstGenerator = session.getGenerator();
+		}
+		var cancelled = new AtomicBoolean(false);
+		try (var session = open(PROBLEM, () -> {
+			if (cancelled.get()) {
+				throw new CancellationException();
+			}
+		})) {
+			var generator = session.getGenerator();
+			assertThat(generator, sameInstance(firstGenerator));
+			cancelled.set(true);
+			assertThrows(CancellationException.class, generator::tryGenerate);
+		}
+		try (var session = open(PROBLEM, CancellationToken.NONE)) {
+			assertThat(session.getGenerator(), not(sameInstance(firstGenerator)));
+		}
+	}
+
+	@Test
+	void sessionSettingsClearedTest() throws IOException {
+		try (var session = open(PROBLEM, CancellationToken.NONE)) {
+			var generator = session.getGenerator();
+			generator.setMaxNumberOfSolutions(2);
+			generator.setNumberOfWorkers(2);
+			assertThat(generator.tryGenerate(), is(GeneratorResult.SUCCESS));
+			assertThat(generator.getSolutionStore(), notNullValue());
+		}
+		try (var session = open(PROBLEM, CancellationToken.NONE)) {
+			var generator = session.getGenerator();
+			assertThat(generator.getMaxNumberOfSolutions(), is(1));
+			assertThat(generator.getNumberOfWorkers(), is(1));
+			assertThat(generator.getSolutionStore(), nullValue());
+			assertThat(generator.isLastGenerationSuccessful(), is(false));
+		}
+	}
+
+	@Test
+	void evictionRespectsCapacityTest() throws IOException {
+		// The heap usage after garbage collection never exceeds the maximum heap size, so only the capacity matters.
+		var smallCache = new ModelGeneratorCache(2, 1);
+		var sources = List.of(PROBLEM, PROBLEM + "scope Person = 3..5.", PROBLEM + "scope Person = 4..6.");
+		var generators = new ArrayList<ModelGenerator>();
+		for (var source : sources) {
+			try (var session = open(smallCache, source, CancellationToken.NONE)) {
+				generators.add(session.getGenerator());
+			}
+		}
+		// The generator of the first problem was evicted when the third one was returned.
+		try (var session = open(smallCache, sources.get(2), CancellationToken.NONE)) {
+			assertThat(session.getGenerator(), sameInstance(generators.get(2)));
+		}
+		// Makes the generator of the third problem the least recently used one.
+		try (var session = open(smallCache, sources.get(1), CancellationToken.NONE)) {
+			assertThat(session.getGenerator(), sameInstance(generators.get(1)));
+		}
+		try (var session = open(smallCache, sources.getFirst(), CancellationToken.NONE)) {
+			assertThat(session.getGenerator(), not(sameInstance(generators.getFirst())));
+		}
+		// Returning the new generator of the first problem evicted the generator of the third one.
+		try (var session = open(smallCache, sources.get(1), CancellationToken.NONE)) {
+			assertThat(session.getGenerator(), sameInstance(generators.get(1)));
+		}
+		try (var session = open(smallCache, sources.get(2), CancellationToken.NONE)) {
+			assertThat(session.getGenerator(), not(sameInstance(generators.get(2))));
+		}
+	}
+
+	@Test
+	void disabledCacheTest() throws IOException {
+		var disabledCache = new ModelGeneratorCache(0, 1);
+		assertThat(disabledCache.isEnabled(), is(false));
+		ModelGenerator firstGenerator;
+		try (var session = open(disabledCache, PROBLEM, CancellationToken.NONE)) {
+			firstGenerator = session.getGenerator();
+		}
+		try (var session = open(disabledCache, PROBLEM, CancellationToken.NONE)) {
+			assertThat(session.getGenerator(), not(sameInstance(firstGenerator)));
+		}
+	}
+
+	private ModelGeneratorSession open(String source, CancellationToken cancellationToken) throws IOException {
+		return open(cache, source, cancellationToken);
+	}
+
+	private ModelGeneratorSession open(ModelGeneratorCache generatorCache, String source,
+									   CancellationToken cancellationToken) throws IOException {
+		var session = generatorCache.open(source, cancellationToken, token -> {
+			var problem = loader.loadString(source);
+			return generatorFactoryProvider.get()
+					.cancellationToken(token)
+					.createGenerator(problem);
+		});
+		assertThat(session, notNullValue());
+		return session;
+	}
+}
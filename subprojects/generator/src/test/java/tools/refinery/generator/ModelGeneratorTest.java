@@ -7,21 +7,28 @@ package tools.refinery.generator;
 
 import com.google.inject.Inject;
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 import tools.refinery.language.model.problem.Problem;
 import tools.refinery.language.tests.InjectWithRefinery;
+import tools.refinery.logic.term.truthvalue.TruthValue;
+import tools.refinery.store.reasoning.ReasoningAdapter;
+import tools.refinery.store.tuple.Tuple;
 
 import java.io.IOException;
 import java.lang.annotation.ElementType;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Stream;
 
 import static org.hamcrest.MatcherAssert.assertThat;
-import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.*;
 
 @InjectWithRefinery
 class ModelGeneratorTest {
@@ -81,6 +88,97 @@ class ModelGeneratorTest {
 		}
 	}
 
+	@GeneratorTest
+	void generateMultipleParallel(boolean keepShadowPredicates, boolean partialInterpretationBasedNeighborhoods) {
+		generatorFactory.keepShadowPredicates(keepShadowPredicates);
+		generatorFactory.partialInterpretationBasedNeighborhoods(partialInterpretationBasedNeighborhoods);
+		try (var generator = generatorFactory.createGenerator(problem)) {
+			generator.setMaxNumberOfSolutions(10);
+			generator.setNumberOfWorkers(4);
+			generator.generate();
+			assertThat(generator.getSolutionCount(), is(10));
+		}
+	}
+
+	@GeneratorTest
+	void generateWithSolutionListener(boolean keepShadowPredicates, boolean partialInterpretationBasedNeighborhoods) {
+		generatorFactory.keepShadowPredicates(keepShadowPredicates);
+		generatorFactory.partialInterpretationBasedNeighborhoods(partialInterpretationBasedNeighborhoods);
+		try (var generator = generatorFactory.createGenerator(problem)) {
+			var solutionNumbers = new ArrayList<Integer>();
+			generator.setMaxNumberOfSolutions(3);
+			int fs = generator.getProblemTrace().getNodeId("fs");
+			generator.setSolutionListener((solution, solutionNumber) -> {
+				// Solutions must be readable before the generation finishes.
+				assertThat(solution.getPartialInterpretation(ReasoningAdapter.EXISTS_SYMBOL).get(Tuple.of(fs)),
+						is(TruthValue.TRUE));
+				solutionNumbers.add(solutionNumber);
+			});
+			generator.generate();
+			assertThat(solutionNumbers, contains(1, 2, 3));
+		}
+	}
+
+	@GeneratorTest
+	void generateWithTimeoutAfterSolution(boolean keepShadowPredicates,
+										  boolean partialInterpretationBasedNeighborhoods) {
+		generatorFactory.keepShadowPredicates(keepShadowPredicates);
+		generatorFactory.partialInterpretationBasedNeighborhoods(partialInterpretationBasedNeighborhoods);
+		try (var generator = generatorFactory.createGenerator(problem)) {
+			generator.setMaxNumberOfSolutions(1000);
+			generator.setSolutionListener((solution, solutionNumber) -> {
+				if (solutionNumber == 1) {
+					// Make sure that the time runs out after finding the first solution.
+					sleep(500);
+				}
+			});
+			var result = generator.tryGenerateWithTimeout(100, TimeUnit.MILLISECONDS);
+			assertThat(result, is(GeneratorResult.SUCCESS));
+			assertThat(generator.getSolutionCount(), is(greaterThanOrEqualTo(1)));
+			int fs = generator.getProblemTrace().getNodeId("fs");
+			assertThat(generator.getPartialInterpretation(ReasoningAdapter.EXISTS_SYMBOL).get(Tuple.of(fs)),
+					is(TruthValue.TRUE));
+		}
+	}
+
+	@Test
+	void solutionNotReadableOutsideListener() {
+		try (var generator = generatorFactory.createGenerator(problem)) {
+			var otherThreadException = new AtomicReference<Throwable>();
+			generator.setSolutionListener((solution, solutionNumber) -> {
+				var thread = new Thread(() -> {
+					try {
+						solution.getPartialInterpretation(ReasoningAdapter.EXISTS_SYMBOL);
+					} catch (Throwable e) {
+						otherThreadException.set(e);
+					}
+				});
+				thread.start();
+				join(thread);
+			});
+			generator.generate();
+			assertThat(otherThreadException.get(), instanceOf(IllegalStateException.class));
+		}
+	}
+
+	private static void sleep(long millis) {
+		try {
+			Thread.sleep(millis);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static void join(Thread thread) {
+		try {
+			thread.join();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException(e);
+		}
+	}
+
 	static Stream<Arguments> parameters() {
 		return Stream.of(
 				Arguments.of(false, false),
@@ -0,0 +1,131 @@
+/*
+ * SPDX-FileCopyrightText: 2025 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.generator;
+
+import com.google.inject.Inject;
+import com.google.inject.Provider;
+import org.junit.jupiter.api.Test;
+import tools.refinery.language.model.problem.Problem;
+import tools.refinery.language.tests.InjectWithRefinery;
+import tools.refinery.logic.term.truthvalue.TruthValue;
+import tools.refinery.store.model.ModelStore;
+import tools.refinery.store.reasoning.representation.PartialRelation;
+import tools.refinery.store.tuple.Tuple;
+
+import java.io.IOException;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@InjectWithRefinery
+class ModelStoreCacheTest {
+	private static final String METAMODEL = """
+			class Person {
+				Person[] friend
+			}
+
+			pred lonely(Person p) <-> !friend(p, _).
+			""";
+
+	@Inject
+	private ProblemLoader loader;
+
+	@Inject
+	private Provider<ModelSemanticsFactory> semanticsFactoryProvider;
+
+	@Test
+	void reuseStoreTest() throws IOException {
+		var firstProblem = loader.loadString(METAMODEL + "friend(a, b).");
+		var secondProblem = loader.loadString(METAMODEL + "!friend(a, b).\nfriend(b, a).");
+		ModelStore firstStore;
+		try (var firstSemantics = createSemantics(firstProblem)) {
+			firstStore = firstSemantics.getModelStore();
+			assertThat(getFriend(firstSemantics, "a", "b"), is(TruthValue.TRUE));
+		}
+		try (var secondSemantics = createSemantics(secondProblem)) {
+			assertThat(secondSemantics.getModelStore(), sameInstance(firstStore));
+			assertThat(getFriend(secondSemantics, "a", "b"), is(TruthValue.FALSE));
+			assertThat(getFriend(secondSemantics, "b", "a"), is(TruthValue.TRUE));
+		}
+	}
+
+	@Test
+	void storeInUseTest() throws IOException {
+		var problem = loader.loadString(METAMODEL + "friend(a, b).");
+		try (var firstSemantics = createSemantics(problem);
+			 var secondSemantics = createSemantics(problem)) {
+			assertThat(secondSemantics.getModelStore(), not(sameInstance(firstSemantics.getModelStore())));
+			assertThat(getFriend(secondSemantics, "a", "b"), is(TruthValue.TRUE));
+		}
+	}
+
+	@Test
+	void differentMetamodelTest() throws IOException {
+		var firstProblem = loader.loadString(METAMODEL + "friend(a, b).");
+		var secondProblem = loader.loadString(METAMODEL + "class Pet.\nfriend(a, b).");
+		var firstSemantics = createSemantics(firstProblem);
+		var firstStore = firstSemantics.getModelStore();
+		firstSemantics.close();
+		try (var secondSemantics = createSemantics(secondProblem)) {
+			assertThat(secondSemantics.getModelStore(), not(sameInstance(firstStore)));
+		}
+	}
+
+	@Test
+	void differentDefaultValueTest() throws IOException {
+		var firstProblem = loader.loadString(METAMODEL + "friend(a, b).");
+		var secondProblem = loader.loadString(METAMODEL + "default !friend(*, *).");
+		var firstSemantics = createSemantics(firstProblem);
+		var firstStore = firstSemantics.getModelStore();
+		firstSemantics.close();
+		try (var secondSemantics = createSemantics(secondProblem)) {
+			assertThat(secondSemantics.getModelStore(), not(sameInstance(firstStore)));
+		}
+	}
+
+	@Test
+	void differentNodesTest() throws IOException {
+		var firstProblem = loader.loadString(METAMODEL + "friend(a, b).");
+		var secondProblem = loader.loadString(METAMODEL + "friend(b, c).");
+		var firstSemantics = createSemantics(firstProblem);
+		var firstStore = firstSemantics.getModelStore();
+		firstSemantics.close();
+		try (var secondSemantics = createSemantics(secondProblem)) {
+			assertThat(secondSemantics.getModelStore(), not(sameInstance(firstStore)));
+		}
+	}
+
+	@Test
+	void differentNodeDeclarationTest() throws IOException {
+		// Reordering atoms changes their node IDs, which are compiled into the query of the predicate.
+		var metamodel = METAMODEL + "pred friendOfA(Person p) <-> friend(a, p).\n";
+		var firstProblem = loader.loadString(metamodel + "atom a, b.\nfriend(a, b).");
+		var secondProblem = loader.loadString(metamodel + "atom b, a.\nfriend(a, b).");
+		var firstSemantics = createSemantics(firstProblem);
+		var firstStore = firstSemantics.getModelStore();
+		firstSemantics.close();
+		try (var secondSemantics = createSemantics(secondProblem)) {
+			assertThat(secondSemantics.getModelStore(), not(sameInstance(firstStore)));
+			var trace = secondSemantics.getProblemTrace();
+			var friendOfA = (PartialRelation) trace.getPartialSymbol("friendOfA");
+			assertThat(secondSemantics.getPartialInterpretation(friendOfA).get(Tuple.of(trace.getNodeId("b"))),
+					is(TruthValue.TRUE));
+		}
+	}
+
+	private ModelSemantics createSemantics(Problem problem) {
+		return semanticsFactoryProvider.get()
+				.cacheModelStores(true)
+				.createSemantics(problem);
+	}
+
+	private static TruthValue getFriend(ModelSemantics semantics, String source, String target) {
+		var trace = semantics.getProblemTrace();
+		var friend = (PartialRelation) trace.getPartialSymbol("Person::friend");
+		return semantics.getPartialInterpretation(friend)
+				.get(Tuple.of(trace.getNodeId(source), trace.getNodeId(target)));
+	}
+}
@@ -1,12 +1,15 @@
 /*
- * SPDX-FileCopyrightText: 2021-2024 The Refinery Authors <https://refinery.tools/>
+ * SPDX-FileCopyrightText: 2021-2025 The Refinery Authors <https://refinery.tools/>
  *
  * SPDX-License-Identifier: EPL-2.0
  */
 package tools.refinery.language.semantics;
 
 import com.google.inject.Inject;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.util.EcoreUtil;
 import org.eclipse.xtext.naming.IQualifiedNameProvider;
+import org.eclipse.xtext.nodemodel.util.NodeModelUtils;
 import tools.refinery.language.expressions.ExprToTerm;
 import tools.refinery.language.library.BuiltinLibrary;
 import tools.refinery.language.model.problem.*;
@@ -39,6 +42,7 @@ import tools.refinery.store.model.ModelStoreBuilder;
 import tools.refinery.store.model.ModelStoreConfiguration;
 import tools.refinery.store.reasoning.ReasoningAdapter;
 import tools.refinery.store.reasoning.literal.ConcretenessSpecification;
+import tools.refinery.store.reasoning.representation.AnyPartialSymbol;
 import tools.refinery.store.reasoning.representation.PartialFunction;
 import tools.refinery.store.reasoning.representation.PartialRelation;
 import tools.refinery.store.reasoning.scope.ScopePropagator;
@@ -142,6 +146,10 @@ public class ModelInitializer {
 
 	private int ruleCount;
 
+	private final Map<String, List<Rule>> compiledRules = new LinkedHashMap<>();
+
+	private ReusableSymbols reusableSymbols;
+
 	public void readProblem(Problem problem) {
 		if (this.problem != null) {
 			throw new IllegalArgumentException("Problem was already set");
@@ -253,6 +261,36 @@ public class ModelInitializer {
 		}
 	}
 
+	/**
+	 * Traces the problem to a model store that was configured by another initializer for the same problem.
+	 * <p>
+	 * Instead of {@link #configureStoreBuilder(ModelStoreBuilder)}, this method takes the compiled rules from the
+	 * {@link ReusableSymbols} passed to {@link #setReusableSymbols(ReusableSymbols)}. The caller is responsible for
+	 * ensuring that the {@link #getStoreFingerprint()} of both initializers match.
+	 */
+	public void reuseStoreConfiguration() {
+		checkProblem();
+		if (reusableSymbols == null) {
+			throw new IllegalStateException("Reusable symbols are not set");
+		}
+		for (var importedProblem : importedProblems) {
+			for (var statement : importedProblem.getStatements()) {
+				if (statement instanceof RuleDefinition ruleDefinition) {
+					var name = getRuleName(ruleDefinition);
+					var rules = reusableSymbols.rules().get(name);
+					if (rules == null) {
+						throw new TracedException(ruleDefinition, "No compiled rules for rule definition: " + name);
+					}
+					problemTrace.putPropagationRuleDefinition(ruleDefinition, rules);
+					compiledRules.put(name, rules);
+				}
+			}
+		}
+		if (!keepShadowPredicates) {
+			problemTrace.removeShadowRelations();
+		}
+	}
+
 	private void checkProblem() {
 		if (problem == null) {
 			throw new IllegalStateException("Problem is not set");
@@ -383,13 +421,21 @@ public class ModelInitializer {
 												TruthValue defaultValue) {
 		return relationInfoMap.computeIfAbsent(relation, key -> {
 			var name = getName(relation);
-			var info = new RelationInfo(name, arity, value, defaultValue);
+			var info = new RelationInfo(createPartialRelation(name, arity), value, defaultValue);
 			partialRelationInfoMap.put(info.partialRelation(), info);
 			problemTrace.putRelation(relation, info.partialRelation());
 			return info;
 		});
 	}
 
+	private PartialRelation createPartialRelation(String name, int arity) {
+		if (reusableSymbols != null && reusableSymbols.partialSymbols().get(name) instanceof
+				PartialRelation partialRelation && partialRelation.arity() == arity) {
+			return partialRelation;
+		}
+		return new PartialRelation(name, arity);
+	}
+
 	private void collectAttribute(DatatypeDeclaration datatypeDeclaration, ReferenceDeclaration referenceDeclaration) {
 		var domain = (AbstractDomain<?, ?>) getAbstractDomain(datatypeDeclaration, referenceDeclaration);
 		createFunctionInfo(domain, referenceDeclaration);
@@ -410,12 +456,25 @@ public class ModelInitializer {
 	private <A extends AbstractValue<A, C>, C> void createFunctionInfo(AbstractDomain<A, C> domain,
 																	   Relation relation) {
 		int arity = signatureProvider.getArity(relation);
-		var partialFunction = new PartialFunction<>(getName(relation), arity, domain);
+		var partialFunction = createPartialFunction(getName(relation), arity, domain);
 		var info = new FunctionInfo<>(partialFunction, domain);
 		problemTrace.putRelation(relation, partialFunction);
 		functionInfoMap.put(relation, info);
 	}
 
+	private <A extends AbstractValue<A, C>, C> PartialFunction<A, C> createPartialFunction(
+			String name, int arity, AbstractDomain<A, C> domain) {
+		if (reusableSymbols != null && reusableSymbols.partialSymbols().get(name) instanceof
+				PartialFunction<?, ?> partialFunction && partialFunction.arity() == arity &&
+				partialFunction.abstractDomain().equals(domain)) {
+			// The abstract domain determines the type arguments of the partial function.
+			@SuppressWarnings("unchecked")
+			var reusedPartialFunction = (PartialFunction<A, C>) partialFunction;
+			return reusedPartialFunction;
+		}
+		return new PartialFunction<>(name, arity, domain);
+	}
+
 	private String getName(Relation relation) {
 		return semanticsUtils.getNameWithoutRootPrefix(relation).orElseGet(() -> "::" + relationInfoMap.size());
 	}
@@ -989,6 +1048,157 @@ public class ModelInitializer {
 		scopePropagator.scope(type, interval);
 	}
 
+	public void setReusableSymbols(ReusableSymbols reusableSymbols) {
+		if (problem != null) {
+			throw new IllegalStateException("Reusable symbols must be set before reading the problem");
+		}
+		this.reusableSymbols = reusableSymbols;
+	}
+
+	public ReusableSymbols getReusableSymbols() {
+		checkProblem();
+		var partialSymbols = new LinkedHashMap<String, AnyPartialSymbol>();
+		for (var info : relationInfoMap.values()) {
+			var partialRelation = info.partialRelation();
+			partialSymbols.put(partialRelation.name(), partialRelation);
+		}
+		for (var info : functionInfoMap.values()) {
+			var partialFunction = info.partialFunction();
+			partialSymbols.put(partialFunction.name(), partialFunction);
+		}
+		return new ReusableSymbols(partialSymbols, compiledRules);
+	}
+
+	/**
+	 * Computes a fingerprint of everything that influences
+	 * {@link #configureStoreBuilder(ModelStoreBuilder)} for the problem.
+	 * <p>
+	 * The fingerprint contains the source text of all statements except assertions, the node assigned to each node
+	 * ID, the names given to partial symbols and rules, and the properties of the model seed that determine default
+	 * values and the mutability of predicates and functions. Thus, two problems that only differ in their assertions
+	 * may share a model store unless the change in assertions affects the nodes or the store configuration.
+	 *
+	 * @return The fingerprint, or {@link Optional#empty()} if the problem has no source text.
+	 */
+	public Optional<String> getStoreFingerprint() {
+		checkProblem();
+		var builder = new StringBuilder();
+		builder.append(keepNonExistingObjects).append(' ').append(keepShadowPredicates).append('\n');
+		var sortedProblems = new ArrayList<Problem>(importedProblems.size());
+		sortedProblems.add(problem);
+		importedProblems.stream()
+				.filter(importedProblem -> importedProblem != problem)
+				.sorted(Comparator.comparing(ModelInitializer::getUriString))
+				.forEachOrdered(sortedProblems::add);
+		for (var importedProblem : sortedProblems) {
+			// The URI of the main problem doesn't affect the store, and it may be different for each editor session.
+			var uri = importedProblem == problem ? "" : getUriString(importedProblem);
+			builder.append("problem ").append(uri).append(' ').append(importedProblem.getKind()).append(' ')
+					.append(importedProblem.getName()).append('\n');
+			for (var statement : importedProblem.getStatements()) {
+				if (!isFingerprinted(statement)) {
+					continue;
+				}
+				var node = NodeModelUtils.findActualNodeFor(statement);
+				if (node == null) {
+					return Optional.empty();
+				}
+				builder.append(NodeModelUtils.getTokenText(node)).append('\n');
+			}
+		}
+		appendNodeFingerprint(builder);
+		for (var entry : relationInfoMap.entrySet()) {
+			var partialRelation = entry.getValue().partialRelation();
+			appendSymbolFingerprint(builder, entry.getKey(), partialRelation.name());
+			if (modelSeed.containsSeed(partialRelation)) {
+				var seed = modelSeed.getSeed(partialRelation);
+				var majorityValue = seed.majorityValue();
+				var defaultValue = majorityValue == TruthValue.FALSE ? TruthValue.FALSE : TruthValue.UNKNOWN;
+				appendSeedFingerprint(builder, majorityValue, seed.getCursor(defaultValue, nodeCount).move());
+			}
+			builder.append('\n');
+		}
+		for (var entry : functionInfoMap.entrySet()) {
+			var partialFunction = entry.getValue().partialFunction();
+			appendSymbolFingerprint(builder, entry.getKey(), partialFunction.name());
+			if (modelSeed.containsSeed(partialFunction)) {
+				var seed = modelSeed.getSeed(partialFunction);
+				var majorityValue = seed.majorityValue();
+				appendSeedFingerprint(builder, majorityValue, seed.getCursor(majorityValue, nodeCount).move());
+			}
+			builder.append('\n');
+		}
+		int ruleIndex = 0;
+		for (var importedProblem : importedProblems) {
+			for (var statement : importedProblem.getStatements()) {
+				if (statement instanceof RuleDefinition ruleDefinition) {
+					var name = semanticsUtils.getNameWithoutRootPrefix(ruleDefinition).orElse("::rule" + ruleIndex);
+					ruleIndex++;
+					appendSymbolFingerprint(builder, ruleDefinition, name);
+					builder.append('\n');
+				}
+			}
+		}
+		return Optional.of(builder.toString());
+	}
+
+	private static boolean isFingerprinted(Statement statement) {
+		return !(statement instanceof Assertion);
+	}
+
+	private void appendNodeFingerprint(StringBuilder builder) {
+		// Compiled queries, rules, and the state coder refer to nodes by their IDs, which depend on the order of node
+		// declarations and on the implicit nodes of the problem.
+		var nodeNames = new String[nodeCount];
+		problemTrace.getNodeTrace().forEachKeyValue((node, nodeId) ->
+				nodeNames[nodeId] = semanticsUtils.getNameWithoutRootPrefix(node).orElse(node.getName()));
+		for (int nodeId = 0; nodeId < nodeCount; nodeId++) {
+			builder.append("node ").append(nodeId).append(' ').append(nodeNames[nodeId]).append('\n');
+		}
+		builder.append("individuals");
+		for (var individual : individuals) {
+			builder.append(' ').append(individual.get(0));
+		}
+		builder.append('\n');
+	}
+
+	private void appendSymbolFingerprint(StringBuilder builder, EObject eObject, String name) {
+		// Anonymous symbols are named in the iteration order of the imported problems, so we also have to record
+		// which relation each name belongs to. We locate relations relative to the fingerprinted statements to
+		// ignore changes in the number of assertions.
+		var statement = eObject;
+		while (statement != null && !(statement.eContainer() instanceof Problem)) {
+			statement = statement.eContainer();
+		}
+		builder.append(name).append(' ');
+		if (statement == null) {
+			return;
+		}
+		var containingProblem = (Problem) statement.eContainer();
+		int index = 0;
+		for (var otherStatement : containingProblem.getStatements()) {
+			if (otherStatement == statement) {
+				break;
+			}
+			if (isFingerprinted(otherStatement)) {
+				index++;
+			}
+		}
+		var uri = containingProblem == problem ? "" : getUriString(containingProblem);
+		builder.append(uri).append('#').append(index).append('/')
+				.append(EcoreUtil.getRelativeURIFragmentPath(statement, eObject));
+	}
+
+	private static void appendSeedFingerprint(StringBuilder builder, AbstractValue<?, ?> majorityValue,
+											  boolean hasOtherValues) {
+		builder.append(' ').append(majorityValue).append(' ').append(hasOtherValues);
+	}
+
+	private static String getUriString(Problem problem) {
+		var resource = problem.eResource();
+		return resource == null ? "" : String.valueOf(resource.getURI());
+	}
+
 	public void setKeepNonExistingObjects(boolean keepNonExistingObjects) {
 		this.keepNonExistingObjects = keepNonExistingObjects;
 	}
@@ -1003,10 +1213,6 @@ public class ModelInitializer {
 
 	private record RelationInfo(PartialRelation partialRelation, MutableSeed<TruthValue> assertions,
 								MutableSeed<TruthValue> defaultAssertions) {
-		public RelationInfo(String name, int arity, TruthValue value, TruthValue defaultValue) {
-			this(new PartialRelation(name, arity), value, defaultValue);
-		}
-
 		public RelationInfo(PartialRelation partialRelation, TruthValue value, TruthValue defaultValue) {
 			this(partialRelation, MutableSeed.of(partialRelation.arity(), value),
 					MutableSeed.of(partialRelation.arity(), defaultValue));
@@ -1055,13 +1261,12 @@ public class ModelInitializer {
 
 	private void collectRule(RuleDefinition ruleDefinition, ModelStoreBuilder storeBuilder) {
 		try {
-			var name = semanticsUtils.getNameWithoutRootPrefix(ruleDefinition)
-					.orElseGet(() -> "::rule" + ruleCount);
-			ruleCount++;
+			var name = getRuleName(ruleDefinition);
 			switch (ruleDefinition.getKind()) {
 			case DECISION -> {
 				var rule = ruleCompiler.toDecisionRule(name, ruleDefinition);
 				problemTrace.putRuleDefinition(ruleDefinition, rule.rule());
+				compiledRules.put(name, List.of(rule.rule()));
 				storeBuilder.tryGetAdapter(DesignSpaceExplorationBuilder.class)
 						.ifPresent(dseBuilder -> dseBuilder.transformation(rule));
 			}
@@ -1073,7 +1278,9 @@ public class ModelInitializer {
 						ConcretenessSpecification.CANDIDATE);
 				rules.addAll(propagationRules);
 				rules.addAll(concretizationRules);
-				problemTrace.putPropagationRuleDefinition(ruleDefinition, List.copyOf(rules));
+				var ruleList = List.copyOf(rules);
+				problemTrace.putPropagationRuleDefinition(ruleDefinition, ruleList);
+				compiledRules.put(name, ruleList);
 				storeBuilder.tryGetAdapter(PropagationBuilder.class).ifPresent(propagationBuilder -> {
 					propagationBuilder.rules(propagationRules);
 					propagationBuilder.concretizationRules(concretizationRules);
@@ -1082,6 +1289,7 @@ public class ModelInitializer {
 			case CONCRETIZATION -> {
 				var rules = ruleCompiler.toPropagationRules(name, ruleDefinition, ConcretenessSpecification.CANDIDATE);
 				problemTrace.putPropagationRuleDefinition(ruleDefinition, rules);
+				compiledRules.put(name, List.copyOf(rules));
 				storeBuilder.tryGetAdapter(PropagationBuilder.class)
 						.ifPresent(propagationBuilder -> propagationBuilder.concretizationRules(rules));
 			}
@@ -1089,6 +1297,7 @@ public class ModelInitializer {
 				// Rules not marked for decision or propagation are not invoked automatically.
 				var rule = ruleCompiler.toRule(name, ruleDefinition);
 				problemTrace.putRuleDefinition(ruleDefinition, rule);
+				compiledRules.put(name, List.of(rule));
 			}
 			}
 		} catch (InvalidClauseException e) {
@@ -1103,4 +1312,11 @@ public class ModelInitializer {
 			throw TracedException.addTrace(ruleDefinition, e);
 		}
 	}
+
+	private String getRuleName(RuleDefinition ruleDefinition) {
+		var name = semanticsUtils.getNameWithoutRootPrefix(ruleDefinition)
+				.orElseGet(() -> "::rule" + ruleCount);
+		ruleCount++;
+		return name;
+	}
 }
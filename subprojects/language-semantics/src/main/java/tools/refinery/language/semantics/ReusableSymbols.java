@@ -0,0 +1,30 @@
+/*
+ * SPDX-FileCopyrightText: 2025 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.language.semantics;
+
+import tools.refinery.store.dse.transition.Rule;
+import tools.refinery.store.reasoning.representation.AnyPartialSymbol;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Partial symbols and rules created by a {@link ModelInitializer} for a problem, indexed by their names.
+ * <p>
+ * Partial symbols are compared by identity, so a {@link tools.refinery.store.model.ModelStore} configured for a
+ * problem can only be used with a {@link tools.refinery.store.reasoning.seed.ModelSeed} that refers to the same
+ * symbol instances. Passing the symbols of a previous initializer to
+ * {@link ModelInitializer#setReusableSymbols(ReusableSymbols)} makes the new initializer produce such a seed.
+ *
+ * @param partialSymbols The partial symbols by name.
+ * @param rules          The rules created from each rule definition by the name of the rule definition.
+ */
+public record ReusableSymbols(Map<String, AnyPartialSymbol> partialSymbols, Map<String, List<Rule>> rules) {
+	public ReusableSymbols {
+		partialSymbols = Map.copyOf(partialSymbols);
+		rules = Map.copyOf(rules);
+	}
+}
@@ -12,6 +12,7 @@ import org.slf4j.LoggerFactory;
 import tools.refinery.generator.*;
 import tools.refinery.language.model.problem.Problem;
 import tools.refinery.language.web.api.dto.GenerateRequest;
+import tools.refinery.language.web.api.dto.GenerateSolution;
 import tools.refinery.language.web.api.dto.GenerateStatus;
 import tools.refinery.language.web.api.dto.GenerateSuccessResult;
 import tools.refinery.language.web.api.dto.RefineryResponse;
@@ -19,11 +20,14 @@ import tools.refinery.language.web.api.sink.ResponseSink;
 import tools.refinery.language.web.api.util.OutputSerializer;
 import tools.refinery.language.web.api.util.TimeoutManager;
 import tools.refinery.language.web.xtext.server.ThreadPoolExecutorServiceProvider;
+import tools.refinery.store.util.CancellationToken;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 public class GenerateWorker extends ScheduledWorker<GenerateRequest> {
 	private static final Logger LOG = LoggerFactory.getLogger(GenerateWorker.class);
@@ -37,6 +41,9 @@ public class GenerateWorker extends ScheduledWorker<GenerateRequest> {
 	@Inject
 	private ModelGeneratorFactory modelGeneratorFactory;
 
+	@Inject
+	private ModelGeneratorCache modelGeneratorCache;
+
 	@Inject
 	private OutputSerializer outputSerializer;
 
@@ -55,20 +62,26 @@ public class GenerateWorker extends ScheduledWorker<GenerateRequest> {
 		super.initialize(request, responseSink);
 		var cancellationToken = getCancellationToken();
 		problemLoader.cancellationToken(cancellationToken);
-		modelGeneratorFactory.cancellationToken(cancellationToken);
 		outputSerializer.setCancellationToken(cancellationToken);
 	}
 
 	@Override
 	protected void run() throws IOException {
 		updateStatusString("Initializing model generator");
-		var problem = loadProblem();
-		if (problem == null) {
+		var session = modelGeneratorCache.open(getSessionKey(), getCancellationToken(), this::createModelGenerator);
+		if (session == null) {
 			return;
 		}
-		try (var generator = createModelGenerator(problem)) {
+		try (session) {
+			var generator = session.getGenerator();
+			configureModelGenerator(generator);
 			updateStatusString("Generating model");
-			generator.generate();
+			var timeout = getRequest().getTimeout();
+			if (timeout == null) {
+				generator.generate();
+			} else {
+				generator.generateWithTimeout(timeout, TimeUnit.SECONDS);
+			}
 			updateStatusString("Saving generated model");
 			saveModel(generator);
 		}
@@ -109,18 +122,57 @@ public class GenerateWorker extends ScheduledWorker<GenerateRequest> {
 		)));
 	}
 
-	private ModelGenerator createModelGenerator(Problem problem) {
-		checkCancelled();
+	private String getSessionKey() {
+		// Requests only share a generator if everything except the settings of the generator is the same.
 		var request = getRequest();
+		var builder = new StringBuilder(request.getInput().getSource());
+		for (var scope : request.getScopes()) {
+			builder.append('\n').append(scope.isOverride() ? "override " : "").append(scope.toScopeConstraint());
+		}
 		var jsonFormat = request.getFormat().getJson();
+		builder.append('\n').append(jsonFormat.getNonExistingObjects().isKeep())
+				.append(',').append(jsonFormat.getShadowPredicates().isKeep());
+		return builder.toString();
+	}
+
+	private @Nullable ModelGenerator createModelGenerator(CancellationToken generatorCancellationToken)
+			throws IOException {
+		var problem = loadProblem();
+		if (problem == null) {
+			return null;
+		}
+		checkCancelled();
+		var jsonFormat = getRequest().getFormat().getJson();
+		modelGeneratorFactory.cancellationToken(generatorCancellationToken);
 		modelGeneratorFactory.keepNonExistingObjects(jsonFormat.getNonExistingObjects().isKeep());
 		modelGeneratorFactory.keepShadowPredicates(jsonFormat.getShadowPredicates().isKeep());
-		var generator = modelGeneratorFactory.createGenerator(problem);
+		return modelGeneratorFactory.createGenerator(problem);
+	}
+
+	private void configureModelGenerator(ModelGenerator generator) {
+		var request = getRequest();
 		generator.setRandomSeed(request.getRandomSeed());
-		generator.setMaxNumberOfSolutions(1);
-		return generator;
+		int numberOfSolutions = request.getNumberOfSolutions();
+		generator.setMaxNumberOfSolutions(numberOfSolutions);
+		if (numberOfSolutions > 1) {
+			// If only one solution is requested, we'll send it as the response as soon as it is found anyway.
+			generator.setSolutionListener(this::publishSolution);
+		}
 	}
 
+	private void publishSolution(ModelFacade solution, int solutionNumber) {
+		var request = getRequest();
+		var json = request.getFormat().getJson().isEnabled() ? outputSerializer.savePartialInterpretation(solution) :
+				null;
+		String source;
+		try {
+			source = request.getFormat().getSource().isEnabled() ? outputSerializer.saveSource(solution) : null;
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		updateStatus(new GenerateStatus("Found solution " + solutionNumber,
+				new GenerateSolution(solutionNumber, json, source)));
+	}
 
 	private void saveModel(ModelGenerator generator) throws IOException {
 		var request = getRequest();
@@ -52,6 +52,8 @@ public class SemanticsWorker extends ScheduledWorker<SemanticsRequest> {
 		problemLoader.cancellationToken(cancellationToken);
 		modelSemanticsFactory.cancellationToken(cancellationToken);
 		modelSemanticsFactory.concretize(false);
+		// Semantics are recomputed on every edit, but most edits only change the assertions of the problem.
+		modelSemanticsFactory.cacheModelStores(true);
 		outputSerializer.setCancellationToken(cancellationToken);
 	}
 
@@ -6,6 +6,7 @@
 package tools.refinery.language.web.api.dto;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
 
 import java.util.List;
@@ -25,6 +26,12 @@ public class GenerateRequest {
 
 	private long randomSeed;
 
+	@Min(1)
+	private int numberOfSolutions = 1;
+
+	@Min(1)
+	private Integer timeout;
+
 	public ProblemInput getInput() {
 		return input;
 	}
@@ -56,4 +63,36 @@ public class GenerateRequest {
 	public void setRandomSeed(long randomSeed) {
 		this.randomSeed = randomSeed;
 	}
+
+	/**
+	 * Gets the number of solutions to generate.
+	 * <p>
+	 * If more than one solution is requested, each solution is sent as a status update as soon as it is found.
+	 * </p>
+	 *
+	 * @return The number of solutions.
+	 */
+	public int getNumberOfSolutions() {
+		return numberOfSolutions;
+	}
+
+	public void setNumberOfSolutions(int numberOfSolutions) {
+		this.numberOfSolutions = numberOfSolutions;
+	}
+
+	/**
+	 * Gets the time limit of the generation in seconds.
+	 * <p>
+	 * If the time runs out after at least one solution was found, the best solution found so far is returned.
+	 * </p>
+	 *
+	 * @return The time limit, or {@code null} to only stop at the timeout of the server.
+	 */
+	public Integer getTimeout() {
+		return timeout;
+	}
+
+	public void setTimeout(Integer timeout) {
+		this.timeout = timeout;
+	}
 }
@@ -0,0 +1,18 @@
+/*
+ * SPDX-FileCopyrightText: 2025 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.language.web.api.dto;
+
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A solution sent before the generation finishes.
+ *
+ * @param number The number of solutions found so far, including this one.
+ * @param json   The solution as JSON if requested.
+ * @param source The solution as source code if requested.
+ */
+public record GenerateSolution(int number, @Nullable JsonOutput json, @Nullable String source) {
+}
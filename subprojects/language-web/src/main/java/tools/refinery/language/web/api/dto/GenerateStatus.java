@@ -5,5 +5,10 @@
  */
 package tools.refinery.language.web.api.dto;
 
-public record GenerateStatus(String message) {
+import org.jetbrains.annotations.Nullable;
+
+public record GenerateStatus(String message, @Nullable GenerateSolution solution) {
+	public GenerateStatus(String message) {
+		this(message, null);
+	}
 }
@@ -5,12 +5,12 @@
  */
 package tools.refinery.language.web.api.dto;
 
-import com.google.gson.JsonObject;
 import tools.refinery.language.semantics.metadata.NodeMetadata;
 import tools.refinery.language.semantics.metadata.RelationMetadata;
+import tools.refinery.language.web.semantics.PartialInterpretationJson;
 
 import java.util.List;
 
 public record JsonOutput(List<NodeMetadata> nodes, List<RelationMetadata> relations,
-						 JsonObject partialInterpretation) {
+						 PartialInterpretationJson partialInterpretation) {
 }
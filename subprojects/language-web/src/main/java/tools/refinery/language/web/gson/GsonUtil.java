@@ -1,5 +1,5 @@
 /*
- * SPDX-FileCopyrightText: 2024 The Refinery Authors <https://refinery.tools/>
+ * SPDX-FileCopyrightText: 2024-2025 The Refinery Authors <https://refinery.tools/>
  *
  * SPDX-License-Identifier: EPL-2.0
  */
@@ -14,6 +14,8 @@ import tools.refinery.language.semantics.metadata.PredicateDetailKind;
 import tools.refinery.language.semantics.metadata.RelationDetail;
 import tools.refinery.language.utils.Visibility;
 import tools.refinery.language.web.api.dto.RefineryResponse;
+import tools.refinery.language.web.semantics.PartialInterpretationDelta;
+import tools.refinery.language.web.semantics.PartialInterpretationJson;
 import tools.refinery.language.web.xtext.servlet.LowercaseTypeAdapter;
 import tools.refinery.language.web.xtext.servlet.RuntimeTypeAdapterFactory;
 
@@ -51,6 +53,10 @@ public class GsonUtil {
 					.registerSubtype(RefineryResponse.Success.class, "success")
 					.registerSubtype(RefineryResponse.Status.class, "status"))
 			.registerTypeAdapter(Visibility.class, new LowercaseTypeAdapter<>(Visibility.class))
+			.registerTypeAdapterFactory(WriteOnlyTypeAdapterFactory.of(PartialInterpretationJson.class,
+					PartialInterpretationJson::write))
+			.registerTypeAdapterFactory(WriteOnlyTypeAdapterFactory.of(PartialInterpretationDelta.class,
+					PartialInterpretationDelta::write))
 			.create();
 
 	private GsonUtil() {
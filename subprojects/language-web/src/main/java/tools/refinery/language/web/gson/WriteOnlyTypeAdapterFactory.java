@@ -0,0 +1,76 @@
+/*
+ * SPDX-FileCopyrightText: 2025 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.language.web.gson;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+/**
+ * Customizes the serialization of a type without customizing its deserialization.
+ * <p>
+ * Unlike a {@link com.google.gson.JsonSerializer}, the {@link Serializer} writes directly to the output without
+ * building a JSON tree first. Reading the type is left to the type adapter that Gson would use without this factory.
+ * </p>
+ *
+ * @param <T> The type to serialize.
+ */
+public final class WriteOnlyTypeAdapterFactory<T> implements TypeAdapterFactory {
+	private final Class<T> type;
+	private final Serializer<T> serializer;
+
+	private WriteOnlyTypeAdapterFactory(Class<T> type, Serializer<T> serializer) {
+		this.type = type;
+		this.serializer = serializer;
+	}
+
+	public static <T> WriteOnlyTypeAdapterFactory<T> of(Class<T> type, Serializer<T> serializer) {
+		return new WriteOnlyTypeAdapterFactory<>(type, serializer);
+	}
+
+	@Override
+	public <R> TypeAdapter<R> create(Gson gson, TypeToken<R> typeToken) {
+		if (typeToken.getRawType() != type) {
+			return null;
+		}
+		// The raw type of {@code typeToken} is {@code T}.
+		@SuppressWarnings("unchecked")
+		var typeSerializer = (Serializer<R>) serializer;
+		var factory = this;
+		return new TypeAdapter<R>() {
+			private TypeAdapter<R> delegate;
+
+			@Override
+			public void write(JsonWriter out, R value) throws IOException {
+				typeSerializer.write(out, value);
+			}
+
+			@Override
+			public R read(JsonReader in) throws IOException {
+				// Only look up the delegate when needed, since most types are only ever written.
+				if (delegate == null) {
+					delegate = gson.getDelegateAdapter(factory, typeToken);
+				}
+				return delegate.read(in);
+			}
+		}.nullSafe();
+	}
+
+	/**
+	 * Writes a non-{@code null} value as JSON.
+	 *
+	 * @param <T> The type of the value.
+	 */
+	@FunctionalInterface
+	public interface Serializer<T> {
+		void write(JsonWriter out, T value) throws IOException;
+	}
+}
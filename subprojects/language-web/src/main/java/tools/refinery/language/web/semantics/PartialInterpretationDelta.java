@@ -0,0 +1,199 @@
+/*
+ * SPDX-FileCopyrightText: 2025 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.language.web.semantics;
+
+import com.google.gson.stream.JsonWriter;
+import tools.refinery.store.tuple.Tuple;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * The changes between two partial interpretations of the same document, ready to be written as JSON.
+ * <p>
+ * Relations without any changes are omitted. If a relation changed so much that sending its changes would take more
+ * space than sending its tuples, we send all of its tuples instead.
+ * </p>
+ */
+public final class PartialInterpretationDelta {
+	private final List<RelationDelta> relations;
+	private final List<String> removedRelations;
+
+	private PartialInterpretationDelta(List<RelationDelta> relations, List<String> removedRelations) {
+		this.relations = relations;
+		this.removedRelations = removedRelations;
+	}
+
+	public List<RelationDelta> getRelations() {
+		return relations;
+	}
+
+	public List<String> getRemovedRelations() {
+		return removedRelations;
+	}
+
+	public static PartialInterpretationDelta of(PartialInterpretationJson previous,
+												PartialInterpretationJson current) {
+		var previousRelations = new HashMap<String, PartialInterpretationJson.RelationTuples>();
+		for (var relation : previous.getRelations()) {
+			previousRelations.put(relation.name(), relation);
+		}
+		var relations = new ArrayList<RelationDelta>();
+		for (var relation : current.getRelations()) {
+			var previousRelation = previousRelations.remove(relation.name());
+			if (previousRelation == null) {
+				relations.add(new Replaced(relation));
+				continue;
+			}
+			var delta = diff(previousRelation, relation);
+			if (delta != null) {
+				relations.add(delta);
+			}
+		}
+		return new PartialInterpretationDelta(List.copyOf(relations), List.copyOf(previousRelations.keySet()));
+	}
+
+	private static RelationDelta diff(PartialInterpretationJson.RelationTuples previous,
+									  PartialInterpretationJson.RelationTuples current) {
+		var previousEntries = previous.entries();
+		var currentEntries = current.entries();
+		int previousSize = previousEntries.size();
+		int currentSize = currentEntries.size();
+		var added = new ArrayList<PartialInterpretationJson.TupleEntry>();
+		var changed = new ArrayList<PartialInterpretationJson.TupleEntry>();
+		var removed = new ArrayList<Tuple>();
+		int i = 0;
+		int j = 0;
+		// Both lists of entries are sorted by tuple, so we can merge them in linear time.
+		while (i < previousSize || j < currentSize) {
+			if (added.size() + changed.size() + removed.size() >= currentSize) {
+				// Sending the changes would be at least as large as sending the whole relation.
+				return new Replaced(current);
+			}
+			if (i >= previousSize) {
+				added.add(currentEntries.get(j));
+				j++;
+				continue;
+			}
+			if (j >= currentSize) {
+				removed.add(previousEntries.get(i).tuple());
+				i++;
+				continue;
+			}
+			var previousEntry = previousEntries.get(i);
+			var currentEntry = currentEntries.get(j);
+			int comparison = previousEntry.compareTo(currentEntry);
+			if (comparison < 0) {
+				removed.add(previousEntry.tuple());
+				i++;
+			} else if (comparison > 0) {
+				added.add(currentEntry);
+				j++;
+			} else {
+				if (!Objects.equals(previousEntry.value(), currentEntry.value())) {
+					changed.add(currentEntry);
+				}
+				i++;
+				j++;
+			}
+		}
+		if (added.isEmpty() && changed.isEmpty() && removed.isEmpty()) {
+			return null;
+		}
+		return new Updated(current.name(), List.copyOf(added), List.copyOf(changed), List.copyOf(removed));
+	}
+
+	public sealed interface RelationDelta {
+		String name();
+	}
+
+	/**
+	 * A relation that is sent with all of its tuples, because it is new or it changed too much.
+	 *
+	 * @param tuples The tuples of the relation.
+	 */
+	public record Replaced(PartialInterpretationJson.RelationTuples tuples) implements RelationDelta {
+		@Override
+		public String name() {
+			return tuples.name();
+		}
+	}
+
+	/**
+	 * The changes of a relation.
+	 *
+	 * @param name    The name of the relation without the root prefix.
+	 * @param added   The tuples that were not present in the previous partial interpretation.
+	 * @param changed The tuples that have a different value than in the previous partial interpretation.
+	 * @param removed The tuples that are no longer present in the partial interpretation.
+	 */
+	public record Updated(String name, List<PartialInterpretationJson.TupleEntry> added,
+						  List<PartialInterpretationJson.TupleEntry> changed,
+						  List<Tuple> removed) implements RelationDelta {
+	}
+
+	/**
+	 * Writes the changed relations without building a JSON tree.
+	 *
+	 * @param out   The writer to write to.
+	 * @param value The changes to write.
+	 * @throws IOException If the underlying writer fails.
+	 */
+	public static void write(JsonWriter out, PartialInterpretationDelta value) throws IOException {
+		out.beginObject();
+		out.name("relations");
+		out.beginObject();
+		for (var relation : value.relations) {
+			out.name(relation.name());
+			switch (relation) {
+				case Replaced replaced -> writeEntries(out, replaced.tuples().entries());
+				case Updated updated -> {
+					out.beginObject();
+					out.name("added");
+					writeEntries(out, updated.added());
+					out.name("changed");
+					writeEntries(out, updated.changed());
+					out.name("removed");
+					out.beginArray();
+					for (var tuple : updated.removed()) {
+						writeNodes(out, tuple);
+					}
+					out.endArray();
+					out.endObject();
+				}
+			}
+		}
+		out.endObject();
+		out.name("removedRelations");
+		out.beginArray();
+		for (var name : value.removedRelations) {
+			out.value(name);
+		}
+		out.endArray();
+		out.endObject();
+	}
+
+	private static void writeEntries(JsonWriter out, List<PartialInterpretationJson.TupleEntry> entries)
+			throws IOException {
+		out.beginArray();
+		for (var entry : entries) {
+			PartialInterpretationJson.writeTuple(out, entry.tuple(), entry.value());
+		}
+		out.endArray();
+	}
+
+	private static void writeNodes(JsonWriter out, Tuple tuple) throws IOException {
+		out.beginArray();
+		int arity = tuple.getSize();
+		for (int i = 0; i < arity; i++) {
+			out.value(tuple.get(i));
+		}
+		out.endArray();
+	}
+}
@@ -0,0 +1,93 @@
+/*
+ * SPDX-FileCopyrightText: 2025 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.language.web.semantics;
+
+import com.google.gson.stream.JsonWriter;
+import tools.refinery.logic.AbstractValue;
+import tools.refinery.store.tuple.Tuple;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * The tuples of a partial interpretation sorted by relation, ready to be written as JSON.
+ * <p>
+ * We copy the tuples out of the model, because the model may be closed before the response is serialized. However,
+ * we don't build a JSON tree from them. Instead, {@link #write(JsonWriter, PartialInterpretationJson)} writes the
+ * tuples directly to the response.
+ * </p>
+ */
+public final class PartialInterpretationJson {
+	private static final String UNKNOWN_STRING = "unknown";
+	private static final String ERROR_STRING = "error";
+
+	private final List<RelationTuples> relations;
+
+	PartialInterpretationJson(Collection<RelationTuples> relations) {
+		this.relations = List.copyOf(relations);
+	}
+
+	public List<RelationTuples> getRelations() {
+		return relations;
+	}
+
+	// We deliberately use {@code ==} to check for the equality of interned strings.
+	@SuppressWarnings({"StringEquality", "squid:S4973"})
+	public static void writeTuple(JsonWriter out, Tuple tuple, AbstractValue<?, ?> value) throws IOException {
+		out.beginArray();
+		int arity = tuple.getSize();
+		for (int i = 0; i < arity; i++) {
+			out.value(tuple.get(i));
+		}
+		var stringValue = value.toString();
+		if (stringValue == UNKNOWN_STRING || stringValue == ERROR_STRING || value.isConcrete()) {
+			out.value(stringValue);
+		} else {
+			out.beginObject();
+			out.name(value.isError() ? ERROR_STRING : UNKNOWN_STRING);
+			out.value(stringValue);
+			out.endObject();
+		}
+		out.endArray();
+	}
+
+	/**
+	 * The tuples of a relation in lexicographic order.
+	 *
+	 * @param name    The name of the relation without the root prefix.
+	 * @param entries The tuples and their values sorted by tuple.
+	 */
+	public record RelationTuples(String name, List<TupleEntry> entries) {
+	}
+
+	public record TupleEntry(Tuple tuple, AbstractValue<?, ?> value) implements Comparable<TupleEntry> {
+		@Override
+		public int compareTo(TupleEntry other) {
+			return tuple.compareTo(other.tuple);
+		}
+	}
+
+	/**
+	 * Writes the tuples of each relation without building a JSON tree.
+	 *
+	 * @param out   The writer to write to.
+	 * @param value The partial interpretation to write.
+	 * @throws IOException If the underlying writer fails.
+	 */
+	public static void write(JsonWriter out, PartialInterpretationJson value) throws IOException {
+		out.beginObject();
+		for (var relation : value.relations) {
+			out.name(relation.name());
+			out.beginArray();
+			for (var entry : relation.entries()) {
+				writeTuple(out, entry.tuple(), entry.value());
+			}
+			out.endArray();
+		}
+		out.endObject();
+	}
+}
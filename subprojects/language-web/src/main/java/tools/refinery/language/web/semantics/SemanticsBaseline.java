@@ -0,0 +1,15 @@
+/*
+ * SPDX-FileCopyrightText: 2025 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.language.web.semantics;
+
+/**
+ * The partial interpretation last pushed to the editor for a document.
+ *
+ * @param stateId               The state id of the document the partial interpretation was computed for.
+ * @param partialInterpretation The partial interpretation.
+ */
+public record SemanticsBaseline(String stateId, PartialInterpretationJson partialInterpretation) {
+}
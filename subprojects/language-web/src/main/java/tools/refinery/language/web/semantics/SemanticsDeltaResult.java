@@ -0,0 +1,38 @@
+/*
+ * SPDX-FileCopyrightText: 2025 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.language.web.semantics;
+
+import org.eclipse.xtext.web.server.validation.ValidationResult;
+import org.jetbrains.annotations.Nullable;
+import tools.refinery.language.semantics.metadata.NodeMetadata;
+import tools.refinery.language.semantics.metadata.RelationMetadata;
+
+import java.util.List;
+
+/**
+ * Semantics result pushed to the editor that only contains the changes since a previously pushed result.
+ *
+ * @param issues The issues found while computing the semantics.
+ * @param delta  The changes of the partial interpretation.
+ * @param source The concretized source code if concretization was requested.
+ */
+public record SemanticsDeltaResult(List<ValidationResult.Issue> issues, JsonOutputDelta delta,
+								   @Nullable String source) {
+	/**
+	 * The metadata of the model along with the changes of its partial interpretation.
+	 * <p>
+	 * The metadata is always sent in full, because it is much smaller than the partial interpretation.
+	 * </p>
+	 *
+	 * @param base                  The state id of the document the changes should be applied to.
+	 * @param nodes                 The metadata of the nodes.
+	 * @param relations             The metadata of the relations.
+	 * @param partialInterpretation The changes of the partial interpretation.
+	 */
+	public record JsonOutputDelta(String base, List<NodeMetadata> nodes, List<RelationMetadata> relations,
+								  PartialInterpretationDelta partialInterpretation) {
+	}
+}
@@ -1,5 +1,5 @@
 /*
- * SPDX-FileCopyrightText: 2023 The Refinery Authors <https://refinery.tools/>
+ * SPDX-FileCopyrightText: 2023-2025 The Refinery Authors <https://refinery.tools/>
  *
  * SPDX-License-Identifier: EPL-2.0
  */
@@ -11,6 +11,7 @@ import com.google.inject.Singleton;
 import org.eclipse.xtext.util.CancelIndicator;
 import org.eclipse.xtext.web.server.model.AbstractCachedService;
 import org.eclipse.xtext.web.server.model.IXtextWebDocument;
+import org.eclipse.xtext.web.server.validation.ValidationResult;
 import org.eclipse.xtext.web.server.validation.ValidationService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -19,6 +20,8 @@ import tools.refinery.language.web.api.SemanticsWorker;
 import tools.refinery.language.web.api.dto.*;
 import tools.refinery.language.web.xtext.server.push.PushWebDocument;
 
+import java.util.List;
+
 @Singleton
 public class SemanticsService extends AbstractCachedService<RefineryResponse> {
 	private static final Logger LOG = LoggerFactory.getLogger(SemanticsService.class);
@@ -46,7 +49,7 @@ public class SemanticsService extends AbstractCachedService<RefineryResponse> {
 			var worker = concretize ? contretizeWorkerProvider.get() : semanticsWorkerProvider.get();
 			var sink = new PrecomputedServiceSink(cancelIndicator);
 			worker.schedule(request, sink);
-			return sink.getResponse(worker);
+			return getDeltaResponse(pushDoc, sink.getResponse(worker));
 		} catch (RuntimeException e) {
 			LOG.error("Failed to compute semantics", e);
 			return null;
@@ -59,6 +62,52 @@ public class SemanticsService extends AbstractCachedService<RefineryResponse> {
 				.anyMatch(issue -> "error".equals(issue.getSeverity()));
 	}
 
+	/**
+	 * Replaces the partial interpretation in a successful response with its changes since the last pushed response.
+	 * <p>
+	 * The editor will request the full partial interpretation with the {@code resyncSemantics} parameter if it
+	 * can't apply the changes, e.g., because it missed a previous response.
+	 * </p>
+	 *
+	 * @param pushDoc  The document the response was computed for.
+	 * @param response The response from the semantics or concretize worker.
+	 * @return The response to push to the editor.
+	 */
+	private static RefineryResponse getDeltaResponse(PushWebDocument pushDoc, RefineryResponse response) {
+		if (!(response instanceof RefineryResponse.Success(var value))) {
+			// Unsuccessful responses don't change the semantics shown in the editor.
+			return response;
+		}
+		List<ValidationResult.Issue> issues;
+		JsonOutput json;
+		String source;
+		if (value instanceof SemanticsSuccessResult(var semanticsIssues, var semanticsJson)) {
+			issues = semanticsIssues;
+			json = semanticsJson;
+			source = null;
+		} else if (value instanceof ConcretizeSuccessResult(var concretizeIssues, var concretizeJson,
+															  var concretizeSource)) {
+			issues = concretizeIssues;
+			json = concretizeJson;
+			source = concretizeSource;
+		} else {
+			throw new IllegalArgumentException("Unexpected semantics result: " + value);
+		}
+		if (json == null) {
+			pushDoc.resyncSemantics();
+			return response;
+		}
+		var partialInterpretation = json.partialInterpretation();
+		var baseline = pushDoc.getAndSetSemanticsBaseline(new SemanticsBaseline(pushDoc.getStateId(),
+				partialInterpretation));
+		if (baseline == null) {
+			return response;
+		}
+		var delta = new SemanticsDeltaResult.JsonOutputDelta(baseline.stateId(), json.nodes(), json.relations(),
+				PartialInterpretationDelta.of(baseline.partialInterpretation(), partialInterpretation));
+		return new RefineryResponse.Success(new SemanticsDeltaResult(issues, delta, source));
+	}
+
 	private static SemanticsRequest getSemanticsRequest(IXtextWebDocument doc, boolean concretize) {
 		var request = new SemanticsRequest();
 		var input = new ProblemInput();
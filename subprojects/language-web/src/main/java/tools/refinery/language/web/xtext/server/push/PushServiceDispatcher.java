@@ -1,6 +1,6 @@
 /*
  * Copyright (c) 2015, 2020 itemis AG (http://www.itemis.eu) and others.
- * Copyright (c) 2021-2024 The Refinery Authors <https://refinery.tools/>
+ * Copyright (c) 2021-2025 The Refinery Authors <https://refinery.tools/>
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License 2.0 which is available at
  * http://www.eclipse.org/legal/epl-2.0.
@@ -68,6 +68,7 @@ public class PushServiceDispatcher extends XtextServiceDispatcher {
 			throw new InvalidRequestException.InvalidParametersException("The parameter 'resource' is required.");
 		}
 		var concretize = PushWebDocumentProvider.getConcretize(context);
+		boolean resyncSemantics = "true".equals(context.getParameter("resyncSemantics"));
 		String fullText = context.getParameter("fullText");
 		XtextWebDocument document = getResourceDocument(resourceId, context);
 		boolean initializedFromFullText = (document == null);
@@ -101,6 +102,9 @@ public class PushServiceDispatcher extends XtextServiceDispatcher {
 			serviceDescriptor.setService(() -> {
 				try {
 					concretize.ifPresent(pushDocument::setConcretize);
+					if (resyncSemantics) {
+						pushDocument.resyncSemantics();
+					}
 					return updateDocumentService.updateDeltaText(documentAccess, deltaText, deltaOffset,
 							deltaReplaceLength);
 				} catch (Throwable throwable) {
@@ -118,6 +122,9 @@ public class PushServiceDispatcher extends XtextServiceDispatcher {
 						return updateDocumentService.getStateId(documentAccess);
 					} else {
 						concretize.ifPresent(pushDocument::setConcretize);
+						if (resyncSemantics) {
+							pushDocument.resyncSemantics();
+						}
 						return updateDocumentService.updateFullText(documentAccess, fullText);
 					}
 				} catch (Throwable throwable) {
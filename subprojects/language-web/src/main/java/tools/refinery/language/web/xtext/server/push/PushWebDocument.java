@@ -1,5 +1,5 @@
 /*
- * SPDX-FileCopyrightText: 2021-2023 The Refinery Authors <https://refinery.tools/>
+ * SPDX-FileCopyrightText: 2021-2025 The Refinery Authors <https://refinery.tools/>
  *
  * SPDX-License-Identifier: EPL-2.0
  */
@@ -13,11 +13,13 @@ import org.eclipse.xtext.web.server.model.DocumentSynchronizer;
 import org.eclipse.xtext.web.server.model.XtextWebDocument;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import tools.refinery.language.web.semantics.SemanticsBaseline;
 import tools.refinery.language.web.xtext.server.ResponseHandlerException;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 
 public class PushWebDocument extends XtextWebDocument {
 	private static final Logger LOG = LoggerFactory.getLogger(PushWebDocument.class);
@@ -28,6 +30,8 @@ public class PushWebDocument extends XtextWebDocument {
 
 	private final AtomicBoolean concretize;
 
+	private final AtomicReference<SemanticsBaseline> semanticsBaseline = new AtomicReference<>();
+
 	public PushWebDocument(String resourceId, DocumentSynchronizer synchronizer, boolean concretize) {
 		super(resourceId, synchronizer);
 		this.synchronizer = synchronizer;
@@ -42,6 +46,21 @@ public class PushWebDocument extends XtextWebDocument {
 		this.concretize.set(concretize);
 	}
 
+	/**
+	 * Replaces the semantics last pushed to the editor.
+	 *
+	 * @param baseline The semantics being pushed to the editor, or {@code null} to send the next semantics in full.
+	 * @return The semantics previously pushed to the editor, or {@code null} if the next semantics must be sent in
+	 * full.
+	 */
+	public SemanticsBaseline getAndSetSemanticsBaseline(SemanticsBaseline baseline) {
+		return semanticsBaseline.getAndSet(baseline);
+	}
+
+	public void resyncSemantics() {
+		semanticsBaseline.set(null);
+	}
+
 	public void addPrecomputationListener(PrecomputationListener listener) {
 		synchronized (precomputationListeners) {
 			if (precomputationListeners.contains(listener)) {
@@ -0,0 +1,171 @@
+/*
+ * SPDX-FileCopyrightText: 2025 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.language.web.xtext.servlet;
+
+import com.google.gson.JsonParseException;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Forwards the members of a JSON object to an object that is already open in another {@link JsonWriter}.
+ * <p>
+ * This lets {@link RuntimeTypeAdapterFactory} add the type field to a serialized object without building a JSON tree
+ * of the whole object first.
+ * </p>
+ */
+class ObjectBodyJsonWriter extends JsonWriter {
+	private static final Writer UNUSED_WRITER = new Writer() {
+		@Override
+		public void write(char[] buffer, int offset, int length) {
+			throw new IllegalStateException("All output must be forwarded");
+		}
+
+		@Override
+		public void flush() {
+			// Nothing to flush.
+		}
+
+		@Override
+		public void close() {
+			// Nothing to close.
+		}
+	};
+
+	private final JsonWriter out;
+	private final String reservedName;
+	private int depth;
+
+	public ObjectBodyJsonWriter(JsonWriter out, String reservedName) {
+		super(UNUSED_WRITER);
+		this.out = out;
+		this.reservedName = reservedName;
+		setSerializeNulls(out.getSerializeNulls());
+	}
+
+	@Override
+	public JsonWriter beginArray() throws IOException {
+		checkInsideObject();
+		depth++;
+		out.beginArray();
+		return this;
+	}
+
+	@Override
+	public JsonWriter endArray() throws IOException {
+		depth--;
+		out.endArray();
+		return this;
+	}
+
+	@Override
+	public JsonWriter beginObject() throws IOException {
+		if (depth > 0) {
+			out.beginObject();
+		}
+		depth++;
+		return this;
+	}
+
+	@Override
+	public JsonWriter endObject() throws IOException {
+		depth--;
+		if (depth > 0) {
+			out.endObject();
+		}
+		return this;
+	}
+
+	@Override
+	public JsonWriter name(String name) throws IOException {
+		if (depth == 1 && reservedName.equals(name)) {
+			throw new JsonParseException("cannot serialize object because it already defines a field named "
+					+ reservedName);
+		}
+		out.name(name);
+		return this;
+	}
+
+	@Override
+	public JsonWriter value(String value) throws IOException {
+		checkInsideObject();
+		out.value(value);
+		return this;
+	}
+
+	@Override
+	public JsonWriter value(boolean value) throws IOException {
+		checkInsideObject();
+		out.value(value);
+		return this;
+	}
+
+	@Override
+	public JsonWriter value(Boolean value) throws IOException {
+		checkInsideObject();
+		out.value(value);
+		return this;
+	}
+
+	@Override
+	public JsonWriter value(float value) throws IOException {
+		checkInsideObject();
+		out.value(value);
+		return this;
+	}
+
+	@Override
+	public JsonWriter value(double value) throws IOException {
+		checkInsideObject();
+		out.value(value);
+		return this;
+	}
+
+	@Override
+	public JsonWriter value(long value) throws IOException {
+		checkInsideObject();
+		out.value(value);
+		return this;
+	}
+
+	@Override
+	public JsonWriter value(Number value) throws IOException {
+		checkInsideObject();
+		out.value(value);
+		return this;
+	}
+
+	@Override
+	public JsonWriter nullValue() throws IOException {
+		checkInsideObject();
+		out.nullValue();
+		return this;
+	}
+
+	@Override
+	public JsonWriter jsonValue(String value) throws IOException {
+		checkInsideObject();
+		out.jsonValue(value);
+		return this;
+	}
+
+	@Override
+	public void flush() throws IOException {
+		out.flush();
+	}
+
+	@Override
+	public void close() {
+		// The enclosing object is closed by the caller.
+	}
+
+	private void checkInsideObject() {
+		if (depth == 0) {
+			throw new JsonParseException("cannot serialize non-object value with a type field");
+		}
+	}
+}
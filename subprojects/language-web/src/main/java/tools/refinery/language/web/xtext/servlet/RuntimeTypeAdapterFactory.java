@@ -1,6 +1,6 @@
 /*
  * Copyright (C) 2011 Google Inc.
- * Copyright (C) 2023 The Refinery Authors <https://refinery.tools/>
+ * Copyright (C) 2023-2025 The Refinery Authors <https://refinery.tools/>
  *
  * SPDX-License-Identifier: Apache-2.0
  *
@@ -26,9 +26,7 @@ package tools.refinery.language.web.xtext.servlet;
 import com.google.errorprone.annotations.CanIgnoreReturnValue;
 import com.google.gson.Gson;
 import com.google.gson.JsonElement;
-import com.google.gson.JsonObject;
 import com.google.gson.JsonParseException;
-import com.google.gson.JsonPrimitive;
 import com.google.gson.TypeAdapter;
 import com.google.gson.TypeAdapterFactory;
 import com.google.gson.reflect.TypeToken;
@@ -296,25 +294,18 @@ public final class RuntimeTypeAdapterFactory<T> implements TypeAdapterFactory {
 				throw new JsonParseException("cannot serialize " + srcType.getName()
 						+ "; did you forget to register a subtype?");
 			}
-			JsonObject jsonObject = delegate.toJsonTree(value).getAsJsonObject();
-
 			if (maintainType) {
-				jsonElementAdapter.write(out, jsonObject);
+				delegate.write(out, value);
 				return;
 			}
 
-			JsonObject clone = new JsonObject();
-
-			if (jsonObject.has(typeFieldName)) {
-				throw new JsonParseException("cannot serialize " + srcType.getName()
-						+ " because it already defines a field named " + typeFieldName);
-			}
-			clone.add(typeFieldName, new JsonPrimitive(label));
-
-			for (Map.Entry<String, JsonElement> e : jsonObject.entrySet()) {
-				clone.add(e.getKey(), e.getValue());
-			}
-			jsonElementAdapter.write(out, clone);
+			// Write the fields of the object directly after the type field instead of building a JSON tree of
+			// the object and cloning it, because serialized objects (e.g., model generation results) may be large.
+			out.beginObject();
+			out.name(typeFieldName);
+			out.value(label);
+			delegate.write(new ObjectBodyJsonWriter(out, typeFieldName), value);
+			out.endObject();
 		}
 	}
 }
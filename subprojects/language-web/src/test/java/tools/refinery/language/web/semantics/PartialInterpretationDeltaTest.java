@@ -0,0 +1,78 @@
+/*
+ * SPDX-FileCopyrightText: 2025 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.language.web.semantics;
+
+import org.junit.jupiter.api.Test;
+import tools.refinery.language.web.gson.GsonUtil;
+import tools.refinery.logic.term.truthvalue.TruthValue;
+import tools.refinery.store.tuple.Tuple;
+
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+class PartialInterpretationDeltaTest {
+	@Test
+	void unchangedTest() {
+		var previous = interpretation(relation("friend", entry(Tuple.of(0, 1), TruthValue.TRUE)));
+		var current = interpretation(relation("friend", entry(Tuple.of(0, 1), TruthValue.TRUE)));
+		assertThat(toJson(PartialInterpretationDelta.of(previous, current)),
+				is("{\"relations\":{},\"removedRelations\":[]}"));
+	}
+
+	@Test
+	void updatedTest() {
+		var previous = interpretation(relation("friend",
+				entry(Tuple.of(0, 1), TruthValue.TRUE),
+				entry(Tuple.of(1, 0), TruthValue.UNKNOWN),
+				entry(Tuple.of(1, 2), TruthValue.TRUE),
+				entry(Tuple.of(2, 2), TruthValue.FALSE),
+				entry(Tuple.of(3, 3), TruthValue.FALSE)));
+		var current = interpretation(relation("friend",
+				entry(Tuple.of(0, 1), TruthValue.TRUE),
+				entry(Tuple.of(1, 0), TruthValue.TRUE),
+				entry(Tuple.of(2, 1), TruthValue.UNKNOWN),
+				entry(Tuple.of(2, 2), TruthValue.FALSE),
+				entry(Tuple.of(3, 3), TruthValue.FALSE)));
+		assertThat(toJson(PartialInterpretationDelta.of(previous, current)), is("""
+				{"relations":{"friend":{"added":[[2,1,"unknown"]],"changed":[[1,0,"true"]],"removed":[[1,2]]}},\
+				"removedRelations":[]}"""));
+	}
+
+	@Test
+	void replacedTest() {
+		var previous = interpretation(relation("friend", entry(Tuple.of(0, 1), TruthValue.TRUE)));
+		var current = interpretation(relation("friend", entry(Tuple.of(1, 0), TruthValue.TRUE)));
+		assertThat(toJson(PartialInterpretationDelta.of(previous, current)),
+				is("{\"relations\":{\"friend\":[[1,0,\"true\"]]},\"removedRelations\":[]}"));
+	}
+
+	@Test
+	void addedAndRemovedRelationTest() {
+		var previous = interpretation(relation("friend", entry(Tuple.of(0, 1), TruthValue.TRUE)));
+		var current = interpretation(relation("enemy", entry(Tuple.of(0, 1), TruthValue.UNKNOWN)));
+		assertThat(toJson(PartialInterpretationDelta.of(previous, current)),
+				is("{\"relations\":{\"enemy\":[[0,1,\"unknown\"]]},\"removedRelations\":[\"friend\"]}"));
+	}
+
+	private static PartialInterpretationJson interpretation(PartialInterpretationJson.RelationTuples... relations) {
+		return new PartialInterpretationJson(List.of(relations));
+	}
+
+	private static PartialInterpretationJson.RelationTuples relation(String name,
+																	 PartialInterpretationJson.TupleEntry... entries) {
+		return new PartialInterpretationJson.RelationTuples(name, List.of(entries));
+	}
+
+	private static PartialInterpretationJson.TupleEntry entry(Tuple tuple, TruthValue value) {
+		return new PartialInterpretationJson.TupleEntry(tuple, value);
+	}
+
+	private static String toJson(PartialInterpretationDelta delta) {
+		return GsonUtil.getGson().toJson(delta);
+	}
+}
@@ -0,0 +1,84 @@
+/*
+ * SPDX-FileCopyrightText: 2025 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.language.web.semantics;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import org.junit.jupiter.api.Test;
+import tools.refinery.language.web.api.dto.JsonOutput;
+import tools.refinery.language.web.api.dto.RefineryResponse;
+import tools.refinery.language.web.gson.GsonUtil;
+import tools.refinery.logic.AbstractValue;
+import tools.refinery.logic.term.intinterval.IntInterval;
+import tools.refinery.logic.term.truthvalue.TruthValue;
+import tools.refinery.store.tuple.Tuple;
+
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+class PartialInterpretationJsonTest {
+	private static final PartialInterpretationJson INTERPRETATION = new PartialInterpretationJson(List.of(
+			new PartialInterpretationJson.RelationTuples("friend", List.of(
+					entry(Tuple.of(0, 1), TruthValue.TRUE),
+					entry(Tuple.of(1, 0), TruthValue.UNKNOWN),
+					entry(Tuple.of(1, 1), TruthValue.ERROR))),
+			new PartialInterpretationJson.RelationTuples("Person::age", List.of(
+					entry(Tuple.of(0), IntInterval.of(3)),
+					entry(Tuple.of(1), IntInterval.of(1, 5)),
+					entry(Tuple.of(2), IntInterval.of(5, 1)),
+					entry(Tuple.of(3), IntInterval.UNKNOWN))),
+			new PartialInterpretationJson.RelationTuples("empty", List.of())));
+
+	@Test
+	void goldenOutputTest() {
+		var response = new RefineryResponse.Success(new JsonOutput(List.of(), List.of(), INTERPRETATION));
+		assertThat(GsonUtil.getGson().toJson(response, RefineryResponse.class), is("""
+				{"result":"success","value":{"nodes":[],"relations":[],"partialInterpretation":{\
+				"friend":[[0,1,"true"],[1,0,"unknown"],[1,1,"error"]],\
+				"Person::age":[[0,"3"],[1,{"unknown":"1..5"}],[2,{"error":"5..1"}],[3,"unknown"]],\
+				"empty":[]}}}"""));
+	}
+
+	@Test
+	void treeOutputTest() {
+		var gson = GsonUtil.getGson();
+		assertThat(gson.toJson(INTERPRETATION), is(gson.toJson(toJsonTree(INTERPRETATION))));
+	}
+
+	private static PartialInterpretationJson.TupleEntry entry(Tuple tuple, AbstractValue<?, ?> value) {
+		return new PartialInterpretationJson.TupleEntry(tuple, value);
+	}
+
+	// Builds the JSON tree that we used to send before writing the tuples directly to the response.
+	private static JsonObject toJsonTree(PartialInterpretationJson interpretation) {
+		var json = new JsonObject();
+		for (var relation : interpretation.getRelations()) {
+			var tuples = new JsonArray();
+			for (var entry : relation.entries()) {
+				var tuple = entry.tuple();
+				var value = entry.value();
+				int arity = tuple.getSize();
+				var tupleJson = new JsonArray(arity + 1);
+				for (int i = 0; i < arity; i++) {
+					tupleJson.add(tuple.get(i));
+				}
+				var stringValue = value.toString();
+				if ("unknown".equals(stringValue) || "error".equals(stringValue) || value.isConcrete()) {
+					tupleJson.add(stringValue);
+				} else {
+					var valueJson = new JsonObject();
+					valueJson.addProperty(value.isError() ? "error" : "unknown", stringValue);
+					tupleJson.add(valueJson);
+				}
+				tuples.add(tupleJson);
+			}
+			json.add(relation.name(), tuples);
+		}
+		return json;
+	}
+}
@@ -0,0 +1,118 @@
+/*
+ * SPDX-FileCopyrightText: 2025 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.language.web.xtext.servlet;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ObjectBodyJsonWriterTest {
+	private static final Map<Class<? extends Shape>, String> LABELS = Map.of(
+			Circle.class, "circle",
+			Polygon.class, "polygon",
+			Clash.class, "clash");
+
+	private static final Gson GSON = createGson(new GsonBuilder());
+
+	private static final Gson GSON_WITH_NULLS = createGson(new GsonBuilder().serializeNulls());
+
+	@Test
+	void goldenOutputTest() {
+		var shape = new Polygon(List.of(new Point(0, 0.5), new Point(-1, 2)), tags("color", "red", "filled", true),
+				null);
+		assertThat(GSON.toJson(shape, Shape.class), is("""
+				{"type":"polygon","points":[{"x":0,"y":0.5},{"x":-1,"y":2.0}],\
+				"tags":{"color":"red","filled":true}}"""));
+	}
+
+	@ParameterizedTest
+	@MethodSource
+	void treeOutputTest(Shape shape) {
+		assertThat(GSON.toJson(shape, Shape.class), is(toJsonWithTree(GSON, shape)));
+	}
+
+	@ParameterizedTest
+	@MethodSource("treeOutputTest")
+	void treeOutputWithNullsTest(Shape shape) {
+		assertThat(GSON_WITH_NULLS.toJson(shape, Shape.class), is(toJsonWithTree(GSON_WITH_NULLS, shape)));
+	}
+
+	static Stream<Arguments> treeOutputTest() {
+		return Stream.of(
+				Arguments.of(new Circle(1.5, "unit \"circle\"\n")),
+				Arguments.of(new Circle(0, null)),
+				Arguments.of(new Polygon(List.of(), Map.of(), null)),
+				Arguments.of(new Polygon(List.of(new Point(1, 2), new Point(3, 4)),
+						tags("nested", List.of(tags("a", 1), List.of()), "empty", Map.of()),
+						new Circle(2, "inner")))
+		);
+	}
+
+	@Test
+	void reservedFieldTest() {
+		var shape = new Clash("square");
+		assertThrows(JsonParseException.class, () -> GSON.toJson(shape, Shape.class));
+	}
+
+	private static Gson createGson(GsonBuilder builder) {
+		var factory = RuntimeTypeAdapterFactory.of(Shape.class, "type");
+		LABELS.forEach(factory::registerSubtype);
+		return builder
+				.disableJdkUnsafe()
+				.registerTypeAdapterFactory(factory)
+				.create();
+	}
+
+	private static Map<String, Object> tags(Object... keysAndValues) {
+		var map = new LinkedHashMap<String, Object>();
+		for (int i = 0; i < keysAndValues.length; i += 2) {
+			map.put((String) keysAndValues[i], keysAndValues[i + 1]);
+		}
+		return map;
+	}
+
+	// Serializes the shape like RuntimeTypeAdapterFactory did before it forwarded the fields with
+	// ObjectBodyJsonWriter: builds a JSON tree of the object with the subtype adapter and clones it after the type
+	// field.
+	private static String toJsonWithTree(Gson gson, Shape shape) {
+		var jsonObject = gson.toJsonTree(shape, shape.getClass()).getAsJsonObject();
+		var clone = new JsonObject();
+		clone.addProperty("type", LABELS.get(shape.getClass()));
+		for (var entry : jsonObject.entrySet()) {
+			clone.add(entry.getKey(), entry.getValue());
+		}
+		return gson.toJson(clone);
+	}
+
+	sealed interface Shape {
+	}
+
+	record Circle(double radius, String label) implements Shape {
+	}
+
+	record Point(int x, double y) {
+	}
+
+	record Polygon(List<Point> points, Map<String, Object> tags, Shape inner) implements Shape {
+	}
+
+	record Clash(String type) implements Shape {
+	}
+}
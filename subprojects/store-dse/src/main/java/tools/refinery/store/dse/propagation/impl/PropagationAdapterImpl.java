@@ -9,10 +9,13 @@ import tools.refinery.store.dse.propagation.*;
 import tools.refinery.store.model.Interpretation;
 import tools.refinery.store.model.Model;
 
+import java.util.Arrays;
+
 class PropagationAdapterImpl implements PropagationAdapter {
 	private final Model model;
 	private final PropagationStoreAdapterImpl storeAdapter;
 	private final BoundPropagator[] boundPropagators;
+	private final int[] upToDateAt;
 	private boolean concretizationInProgress;
 
 	public PropagationAdapterImpl(Model model, PropagationStoreAdapterImpl storeAdapter) {
@@ -23,6 +26,7 @@ class PropagationAdapterImpl implements PropagationAdapter {
 		for (int i = 0; i < boundPropagators.length; i++) {
 			boundPropagators[i] = propagators.get(i).bindToModel(model);
 		}
+		upToDateAt = new int[boundPropagators.length];
 	}
 
 	@Override
@@ -64,12 +68,34 @@ class PropagationAdapterImpl implements PropagationAdapter {
 
 	private PropagationResult propagate(PropagationRequest request) {
 		PropagationResult result = PropagationResult.UNCHANGED;
-		PropagationResult lastResult;
-		do {
-			model.checkCancelled();
-			lastResult = propagateOne(request);
-			result = result.andThen(lastResult);
-		} while (lastResult.isChanged());
+		PropagationResult lastResult = PropagationResult.UNCHANGED;
+		// Number of times any propagator has changed the model in this call.
+		int numberOfChanges = 0;
+		// The value of numberOfChanges when each propagator last returned UNCHANGED, or -1 if it has to run again.
+		Arrays.fill(upToDateAt, -1);
+		int numberOfUpToDatePropagators = 0;
+		int i = 0;
+		while (numberOfUpToDatePropagators < boundPropagators.length) {
+			if (upToDateAt[i] != numberOfChanges) {
+				model.checkCancelled();
+				lastResult = boundPropagators[i].propagateOne(request);
+				result = result.andThen(lastResult);
+				if (lastResult.isRejected()) {
+					break;
+				}
+				if (lastResult.isChanged()) {
+					numberOfChanges++;
+					// Every other propagator has to see the change, and the current one may not have reached its
+					// fixed point yet.
+					upToDateAt[i] = -1;
+					numberOfUpToDatePropagators = 0;
+				} else {
+					upToDateAt[i] = numberOfChanges;
+					numberOfUpToDatePropagators++;
+				}
+			}
+			i = (i + 1) % boundPropagators.length;
+		}
 		if (lastResult instanceof PropagationRejectedResult rejectedResult &&
 				rejectedResult.fatal() &&
 				storeAdapter.isThrowOnFatalRejection()) {
@@ -78,22 +104,6 @@ class PropagationAdapterImpl implements PropagationAdapter {
 		return result;
 	}
 
-	private PropagationResult propagateOne(PropagationRequest request) {
-		PropagationResult result = PropagationResult.UNCHANGED;
-		// Use a classic for loop to avoid allocating an iterator.
-		//noinspection ForLoopReplaceableByForEach
-		for (int i = 0; i < boundPropagators.length; i++) {
-			model.checkCancelled();
-			var propagator = boundPropagators[i];
-			var lastResult = propagator.propagateOne(request);
-			result = result.andThen(lastResult);
-			if (result.isRejected()) {
-				break;
-			}
-		}
-		return result;
-	}
-
 	@Override
 	public PropagationResult checkConcretization() {
 		PropagationResult result = PropagationResult.UNCHANGED;
@@ -1,5 +1,5 @@
 /*
- * SPDX-FileCopyrightText: 2023 The Refinery Authors <https://refinery.tools/>
+ * SPDX-FileCopyrightText: 2023-2025 The Refinery Authors <https://refinery.tools/>
  *
  * SPDX-License-Identifier: EPL-2.0
  */
@@ -24,6 +24,7 @@ class BoundPropagationRule {
 	private final ResultSet<Boolean> resultSet;
 	private final BoundAction action;
 	private final Set<Tuple> firedActivations;
+	private boolean changedSinceLastFired = true;
 
 	public BoundPropagationRule(Model model, Rule rule) {
 		this.model = model;
@@ -40,11 +41,14 @@ class BoundPropagationRule {
 			@Override
 			public void afterRestore() {
 				firedActivations.clear();
+				changedSinceLastFired = true;
 			}
 		});
 		resultSet.addListener((key, fromValue, toValue) -> {
-			if (Boolean.FALSE.equals(toValue)) {
-				firedActivations.remove(key);
+			// Fired activations are expected to disappear after firing them, which doesn't require firing the rule
+			// again. Any other change may come from other rules or propagators and may enable new activations.
+			if (!Boolean.FALSE.equals(toValue) || !firedActivations.remove(key)) {
+				changedSinceLastFired = true;
 			}
 		});
 	}
@@ -53,11 +57,25 @@ class BoundPropagationRule {
 		return firedActivations == null;
 	}
 
+	/**
+	 * Determines whether firing this rule again may have any effect.
+	 * <p>
+	 * A static rule only has to be fired again if its precondition result set changed since it was last fired for
+	 * any other reason than its fired activations disappearing, or if some of its activations are still present after
+	 * firing them, in which case firing it again will detect that the rule got stuck.
+	 *
+	 * @return {@code true} if this rule is dynamic or has to be fired again.
+	 */
+	public boolean isPending() {
+		return firedActivations == null || changedSinceLastFired || !firedActivations.isEmpty();
+	}
+
 	public boolean canFire() {
 		return resultSet.size() > 0;
 	}
 
 	public PropagationResult fireAll() {
+		changedSinceLastFired = false;
 		if (firedActivations != null && !firedActivations.isEmpty()) {
 			return new PropagationRejectedResult(rule, "Propagation rule '%s' got stuck.".formatted(rule.getName()),
 					true);
@@ -88,6 +88,10 @@ public class BoundRuleBasedPropagator implements BoundPropagator {
 					// them to detect inconsistency and abort the loop.
 					continue;
 				}
+				if (!boundRule.isPending()) {
+					// Only rules with a changed precondition result set can have any effect in this round.
+					continue;
+				}
 				var lastResult = boundRule.fireAll();
 				roundResult = roundResult.andThen(lastResult);
 				if (roundResult.isRejected()) {
@@ -1,10 +1,11 @@
 /*
- * SPDX-FileCopyrightText: 2023 The Refinery Authors <https://refinery.tools/>
+ * SPDX-FileCopyrightText: 2023-2025 The Refinery Authors <https://refinery.tools/>
  *
  * SPDX-License-Identifier: EPL-2.0
  */
 package tools.refinery.store.dse.strategy;
 
+import tools.refinery.store.dse.transition.VersionWithObjectiveValue;
 import tools.refinery.store.model.Model;
 
 import java.util.Random;
@@ -25,45 +26,71 @@ public class BestFirstExplorer extends BestFirstWorker {
 
 	private boolean shouldRun() {
 		model.checkCancelled();
-		return !hasEnoughSolution();
+		return !storeManager.isStopped() && !hasEnoughSolution();
 	}
 
 	public void explore() {
-		var lastBest = submit().newVersion();
-		while (shouldRun()) {
-			if (lastBest == null) {
-				if (random.nextInt(10) == 0) {
-					lastBest = restoreToRandom(random);
-				} else {
-					lastBest = restoreToBest();
+		explore(submit().newVersion());
+	}
+
+	void explore(VersionWithObjectiveValue initialBest) {
+		var lastBest = initialBest;
+		if (lastBest != null) {
+			storeManager.workerBusy();
+		}
+		try {
+			while (shouldRun()) {
+				if (lastBest == null) {
+					long workSignal = storeManager.getWorkSignal();
+					if (random.nextInt(10) == 0) {
+						lastBest = restoreToRandom(random);
+					} else {
+						lastBest = restoreToBest();
+					}
+					if (lastBest == null) {
+						if (storeManager.isExhausted()) {
+							return;
+						}
+						// Other workers may still submit new states to expand.
+						storeManager.awaitWork(workSignal);
+						continue;
+					}
+					storeManager.workerBusy();
 				}
+				lastBest = exploreFrom(lastBest);
 				if (lastBest == null) {
-					return;
+					storeManager.workerIdle();
 				}
 			}
-			boolean tryActivation = true;
-			while (tryActivation && shouldRun()) {
-				var randomVisitResult = this.visitRandomUnvisited(random);
-				tryActivation = randomVisitResult.shouldRetry();
-				var newSubmit = randomVisitResult.submitResult();
-				if (newSubmit != null) {
-					if (!newSubmit.include()) {
-						restoreToLast();
+		} finally {
+			if (lastBest != null) {
+				storeManager.workerIdle();
+			}
+		}
+	}
+
+	private VersionWithObjectiveValue exploreFrom(VersionWithObjectiveValue lastBest) {
+		boolean tryActivation = true;
+		while (tryActivation && shouldRun()) {
+			var randomVisitResult = this.visitRandomUnvisited(random);
+			tryActivation = randomVisitResult.shouldRetry();
+			var newSubmit = randomVisitResult.submitResult();
+			if (newSubmit != null) {
+				if (!newSubmit.include()) {
+					restoreToLast();
+				} else {
+					var newVisit = newSubmit.newVersion();
+					int compareResult = compare(lastBest, newVisit);
+					if (compareResult >= 0)  {
+						return newVisit;
 					} else {
-						var newVisit = newSubmit.newVersion();
-						int compareResult = compare(lastBest, newVisit);
-						if (compareResult >= 0)  {
-							lastBest = newVisit;
-						} else {
-							lastBest = null;
-						}
-						break;
+						return null;
 					}
-				} else {
-					lastBest = null;
-					break;
 				}
+			} else {
+				return null;
 			}
 		}
+		return lastBest;
 	}
 }
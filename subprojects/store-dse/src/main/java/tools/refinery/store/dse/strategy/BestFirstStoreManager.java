@@ -1,10 +1,11 @@
 /*
- * SPDX-FileCopyrightText: 2023 The Refinery Authors <https://refinery.tools/>
+ * SPDX-FileCopyrightText: 2023-2025 The Refinery Authors <https://refinery.tools/>
  *
  * SPDX-License-Identifier: EPL-2.0
  */
 package tools.refinery.store.dse.strategy;
 
+import org.jetbrains.annotations.Nullable;
 import tools.refinery.store.dse.transition.DesignSpaceExplorationStoreAdapter;
 import tools.refinery.store.dse.transition.VersionWithObjectiveValue;
 import tools.refinery.store.dse.transition.statespace.ActivationStore;
@@ -14,6 +15,7 @@ import tools.refinery.store.dse.transition.statespace.SolutionStore;
 import tools.refinery.store.dse.transition.statespace.internal.ActivationStoreImpl;
 import tools.refinery.store.dse.transition.statespace.internal.FastEquivalenceClassStore;
 import tools.refinery.store.dse.transition.statespace.internal.ObjectivePriorityQueueImpl;
+import tools.refinery.store.dse.transition.statespace.internal.ParetoFrontQueue;
 import tools.refinery.store.dse.transition.statespace.internal.SolutionStoreImpl;
 import tools.refinery.store.map.Version;
 import tools.refinery.store.model.ModelStore;
@@ -21,26 +23,50 @@ import tools.refinery.store.statecoding.StateCoderStoreAdapter;
 import tools.refinery.visualization.statespace.VisualizationStore;
 import tools.refinery.visualization.statespace.internal.VisualizationStoreImpl;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
 
 public class BestFirstStoreManager {
+	// Increment of the {@link java.util.SplittableRandom} seed sequence, used to spread the seeds of the workers.
+	private static final long WORKER_SEED_GAMMA = 0x9e3779b97f4a7c15L;
+
+	// Idle workers wake up periodically even without a signal to check for cancellation.
+	private static final long IDLE_WAIT_MILLIS = 100;
 
 	ModelStore modelStore;
 	ObjectivePriorityQueue objectiveStore;
 	ActivationStore activationStore;
-	SolutionStore solutionStore;
+	SolutionStoreImpl solutionStore;
 	EquivalenceClassStore equivalenceClassStore;
 	VisualizationStore visualizationStore;
+	private final AtomicInteger busyWorkers = new AtomicInteger();
+	private final AtomicLong workSignal = new AtomicLong();
+	private final AtomicInteger waitingWorkers = new AtomicInteger();
+	private final Object idleLock = new Object();
+	private int macroStepSize = 1;
+	private volatile boolean stopped;
 
 	public BestFirstStoreManager(ModelStore modelStore, int maxNumberOfSolutions) {
 		this.modelStore = modelStore;
 		DesignSpaceExplorationStoreAdapter storeAdapter =
 				modelStore.getAdapter(DesignSpaceExplorationStoreAdapter.class);
 
-		objectiveStore = new ObjectivePriorityQueueImpl(storeAdapter.getObjectives());
+		var objectives = storeAdapter.getObjectives();
+		if (objectives.size() > 1) {
+			objectiveStore = new ParetoFrontQueue(objectives.size());
+			solutionStore = new SolutionStoreImpl(maxNumberOfSolutions, ParetoFrontQueue.LEXICOGRAPHIC);
+		} else {
+			objectiveStore = new ObjectivePriorityQueueImpl(objectives);
+			solutionStore = new SolutionStoreImpl(maxNumberOfSolutions);
+		}
 		Consumer<VersionWithObjectiveValue> whenAllActivationsVisited = x -> objectiveStore.remove(x);
 		activationStore = new ActivationStoreImpl(storeAdapter.getTransformations(), whenAllActivationsVisited);
-		solutionStore = new SolutionStoreImpl(maxNumberOfSolutions);
 		equivalenceClassStore = new FastEquivalenceClassStore(modelStore.getAdapter(StateCoderStoreAdapter.class)) {
 			@Override
 			protected void delegate(VersionWithObjectiveValue version, int[] emptyActivations, boolean accept) {
@@ -48,7 +74,6 @@ public class BestFirstStoreManager {
 						"symmetries!");
 			}
 		};
-		visualizationStore = new VisualizationStoreImpl();
 	}
 
 	public ModelStore getModelStore() {
@@ -67,22 +92,219 @@ public class BestFirstStoreManager {
 		return solutionStore;
 	}
 
+	/**
+	 * Sets a listener to be notified as soon as a solution is found, before the exploration finishes.
+	 *
+	 * @param solutionListener The listener, or {@code null} to remove the current listener.
+	 * @see SolutionStoreImpl#setSolutionListener(Consumer)
+	 */
+	public void setSolutionListener(@Nullable Consumer<VersionWithObjectiveValue> solutionListener) {
+		solutionStore.setSolutionListener(solutionListener);
+	}
+
 	EquivalenceClassStore getEquivalenceClassStore() {
 		return equivalenceClassStore;
 	}
 
+	@Nullable
 	public VisualizationStore getVisualizationStore() {
 		return visualizationStore;
 	}
 
+	/**
+	 * Enables or disables recording the explored state space for visualization.
+	 * <p>
+	 * Visualization is disabled by default, because the {@link VisualizationStore} holds every explored
+	 * {@link Version}, which prevents them from being garbage collected even after they are fully explored. Must be
+	 * called before starting the exploration.
+	 *
+	 * @param visualizationEnabled Whether to record the state space.
+	 */
+	public void setVisualizationEnabled(boolean visualizationEnabled) {
+		visualizationStore = visualizationEnabled ? new VisualizationStoreImpl() : null;
+	}
+
+	public int getMacroStepSize() {
+		return macroStepSize;
+	}
+
+	/**
+	 * Sets the maximum number of activations fired in a single exploration step.
+	 * <p>
+	 * If greater than 1, workers fire additional activations that do not share any objects with each other after
+	 * the randomly selected one, and only run propagation, compute the state code and commit the model once for the
+	 * whole bundle. The query engine is still flushed between the activations to re-check their preconditions. This
+	 * amortizes the cost of propagation over several decisions, but the intermediate states are not visited. The
+	 * default is 1, which fires a single activation per step.
+	 *
+	 * @param macroStepSize The maximum number of activations per step.
+	 */
+	public void setMacroStepSize(int macroStepSize) {
+		if (macroStepSize < 1) {
+			throw new IllegalArgumentException("Macro step size must be positive, got: " + macroStepSize);
+		}
+		this.macroStepSize = macroStepSize;
+	}
+
 	public void startExploration(Version initial) {
 		startExploration(initial, 1);
 	}
 
 	public void startExploration(Version initial, long randomSeed) {
+		startExploration(initial, randomSeed, 1);
+	}
+
+	/**
+	 * Explores the state space starting from {@code initial} with {@code numberOfWorkers} parallel workers.
+	 * <p>
+	 * Each worker owns a separate {@link tools.refinery.store.model.Model} created from the shared model store, while
+	 * the objective, activation, equivalence class and solution stores are shared between the workers. The first
+	 * worker runs on the calling thread with {@code randomSeed}, while the other workers get seeds derived
+	 * deterministically from {@code randomSeed}. Due to thread scheduling, the order in which the workers find
+	 * solutions is not deterministic if there is more than one worker.
+	 *
+	 * @param initial         The initial version of the model.
+	 * @param randomSeed      The random seed of the first worker.
+	 * @param numberOfWorkers The number of parallel workers.
+	 */
+	public void startExploration(Version initial, long randomSeed, int numberOfWorkers) {
+		if (numberOfWorkers < 1) {
+			throw new IllegalArgumentException("Number of workers must be positive, got: " + numberOfWorkers);
+		}
+		stopped = false;
+		if (numberOfWorkers == 1) {
+			try (var model = modelStore.createModelForState(initial)) {
+				BestFirstExplorer bestFirstExplorer = new BestFirstExplorer(this, model, randomSeed);
+				bestFirstExplorer.explore();
+			}
+			return;
+		}
+		try (var model = modelStore.createModelForState(initial);
+			 var executorService = Executors.newFixedThreadPool(numberOfWorkers - 1)) {
+			var bestFirstExplorer = new BestFirstExplorer(this, model, randomSeed);
+			// Submit the initial state before starting the other workers so that they do not find an empty objective
+			// store and stop immediately.
+			var initialBest = bestFirstExplorer.submit().newVersion();
+			var futures = new ArrayList<Future<?>>(numberOfWorkers - 1);
+			for (int i = 1; i < numberOfWorkers; i++) {
+				long workerSeed = randomSeed + i * WORKER_SEED_GAMMA;
+				futures.add(executorService.submit(() -> runWorker(initial, workerSeed)));
+			}
+			try {
+				bestFirstExplorer.explore(initialBest);
+			} catch (RuntimeException | Error e) {
+				stop();
+				throw e;
+			}
+			waitForWorkers(futures);
+		}
+	}
+
+	private void runWorker(Version initial, long workerSeed) {
 		try (var model = modelStore.createModelForState(initial)) {
-			BestFirstExplorer bestFirstExplorer = new BestFirstExplorer(this, model, randomSeed);
-			bestFirstExplorer.explore();
+			var bestFirstExplorer = new BestFirstExplorer(this, model, workerSeed);
+			bestFirstExplorer.explore(null);
+		} catch (RuntimeException | Error e) {
+			stop();
+			throw e;
+		}
+	}
+
+	private void waitForWorkers(List<Future<?>> futures) {
+		RuntimeException firstException = null;
+		for (var future : futures) {
+			try {
+				future.get();
+			} catch (InterruptedException e) {
+				stop();
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException("Interrupted while waiting for exploration workers", e);
+			} catch (ExecutionException e) {
+				if (firstException == null) {
+					firstException = e.getCause() instanceof RuntimeException runtimeException ? runtimeException :
+							new IllegalStateException("Exploration worker failed", e.getCause());
+				}
+			}
+		}
+		if (firstException != null) {
+			throw firstException;
 		}
 	}
+
+	boolean isStopped() {
+		return stopped;
+	}
+
+	private void stop() {
+		stopped = true;
+		signalWorkers();
+	}
+
+	void workerBusy() {
+		busyWorkers.incrementAndGet();
+	}
+
+	void workerIdle() {
+		busyWorkers.decrementAndGet();
+		// Idle workers waiting for new states may have to finish the exploration now.
+		signalWorkers();
+	}
+
+	long getWorkSignal() {
+		return workSignal.get();
+	}
+
+	/**
+	 * Wakes up the workers waiting in {@link #awaitWork(long)}.
+	 * <p>
+	 * Must be called whenever a worker submits new states to expand, finds a solution, becomes idle, or the
+	 * exploration stops.
+	 */
+	void signalWorkers() {
+		workSignal.incrementAndGet();
+		if (waitingWorkers.get() > 0) {
+			synchronized (idleLock) {
+				idleLock.notifyAll();
+			}
+		}
+	}
+
+	/**
+	 * Parks an idle worker until {@link #signalWorkers()} is called.
+	 * <p>
+	 * To avoid missing a signal, workers should get the value of {@link #getWorkSignal()} before looking for a state
+	 * to expand, and pass it to this method if they didn't find any. This method returns immediately if there was a
+	 * signal since then.
+	 *
+	 * @param observedSignal The value of {@link #getWorkSignal()} before the worker looked for a state to expand.
+	 */
+	void awaitWork(long observedSignal) {
+		waitingWorkers.incrementAndGet();
+		try {
+			synchronized (idleLock) {
+				if (workSignal.get() == observedSignal && !stopped) {
+					idleLock.wait(IDLE_WAIT_MILLIS);
+				}
+			}
+		} catch (InterruptedException e) {
+			stop();
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while waiting for states to explore", e);
+		} finally {
+			waitingWorkers.decrementAndGet();
+		}
+	}
+
+	/**
+	 * Checks whether the exploration can be finished, because there are no more states to expand.
+	 * <p>
+	 * Workers may only stop if no other worker is expanding a state, because an expansion in progress may still
+	 * submit new states to the objective store. Workers submit their new states before becoming idle, so the
+	 * objective store is checked after the number of busy workers.
+	 *
+	 * @return {@code true} if no worker is busy and there are no states left to expand.
+	 */
+	boolean isExhausted() {
+		return busyWorkers.get() == 0 && objectiveStore.getSize() == 0;
+	}
 }
@@ -1,5 +1,5 @@
 /*
- * SPDX-FileCopyrightText: 2023 The Refinery Authors <https://refinery.tools/>
+ * SPDX-FileCopyrightText: 2023-2025 The Refinery Authors <https://refinery.tools/>
  *
  * SPDX-License-Identifier: EPL-2.0
  */
@@ -71,8 +71,14 @@ public class BestFirstWorker {
 		last = versionWithObjectiveValue;
 		var accepted = explorationAdapter.checkAccept();
 
-		storeManager.getObjectiveStore().submit(last);
-		storeManager.getActivationStore().markNewAsVisited(last, activationStoreWorker.calculateEmptyActivationSize());
+		// Register the activations before publishing the version in the objective store, because other workers may
+		// select it for expansion as soon as it is published.
+		var visitResult = storeManager.getActivationStore().markNewAsVisited(last,
+				activationStoreWorker.calculateEmptyActivationSize());
+		if (visitResult.mayHaveMore()) {
+			storeManager.getObjectiveStore().submit(last);
+			storeManager.signalWorkers();
+		}
 		if (accepted) {
 			versionWithObjectiveValue = concretizeIfNeeded(versionWithObjectiveValue);
 			accepted = versionWithObjectiveValue != null;
@@ -80,6 +86,8 @@ public class BestFirstWorker {
 
 		if (accepted) {
 			storeManager.solutionStore.submit(versionWithObjectiveValue);
+			// Idle workers have to stop if we found enough solutions.
+			storeManager.signalWorkers();
 		}
 
 		if (isVisualizationEnabled) {
@@ -178,6 +186,8 @@ public class BestFirstWorker {
 		if (!visitResult.successfulVisit()) {
 			return new RandomVisitResult(null, visitResult.mayHaveMore());
 		}
+		int additionalActivations = activationStoreWorker.fireIndependentActivations(visitResult,
+				storeManager.getMacroStepSize() - 1, random, queryAdapter);
 
 		if (propagationAdapter != null) {
 			var propagationResult = propagationAdapter.propagate();
@@ -194,8 +204,11 @@ public class BestFirstWorker {
 		var submitResult = submit();
 		if (isVisualizationEnabled && submitResult.newVersion() != null) {
 			var newVersion = submitResult.newVersion().version();
-			visualizationStore.addTransition(oldVersion, newVersion,
-					"fire: " + visitResult.transformation() + ", " + visitResult.activation());
+			var label = "fire: " + visitResult.transformation() + ", " + visitResult.activation();
+			if (additionalActivations > 0) {
+				label += " (+" + additionalActivations + ")";
+			}
+			visualizationStore.addTransition(oldVersion, newVersion, label);
 		}
 		return new RandomVisitResult(submitResult, visitResult.mayHaveMore());
 	}
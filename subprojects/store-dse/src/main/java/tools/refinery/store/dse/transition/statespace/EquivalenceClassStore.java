@@ -14,4 +14,15 @@ public interface EquivalenceClassStore {
 	boolean hasUnresolvedSymmetry();
 	void resolveOneSymmetry();
 	int getNumberOfUnresolvedSymmetries();
+
+	/**
+	 * Gets the number of submitted states that were found to be different from a previously stored state with the same
+	 * primary model code.
+	 * <p>
+	 * This counter lets callers estimate how many states would have been pruned if only the primary 64-bit model codes
+	 * were compared.
+	 *
+	 * @return The number of detected model code collisions.
+	 */
+	long getNumberOfModelCodeCollisions();
 }
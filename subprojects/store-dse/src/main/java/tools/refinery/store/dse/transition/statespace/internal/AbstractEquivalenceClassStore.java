@@ -17,6 +17,7 @@ public abstract class AbstractEquivalenceClassStore implements EquivalenceClassS
 	}
 
 	protected int numberOfUnresolvedSymmetries = 0;
+	private long numberOfModelCodeCollisions = 0;
 
 	protected abstract void delegate(VersionWithObjectiveValue version, int[] emptyActivations, boolean accept);
 	protected abstract boolean tryToAdd(StateCoderResult stateCoderResult, VersionWithObjectiveValue newVersion,
@@ -51,4 +52,13 @@ public abstract class AbstractEquivalenceClassStore implements EquivalenceClassS
 	public int getNumberOfUnresolvedSymmetries() {
 		return numberOfUnresolvedSymmetries;
 	}
+
+	protected synchronized void modelCodeCollisionDetected() {
+		numberOfModelCodeCollisions++;
+	}
+
+	@Override
+	public synchronized long getNumberOfModelCodeCollisions() {
+		return numberOfModelCodeCollisions;
+	}
 }
@@ -9,109 +9,112 @@ import tools.refinery.store.dse.transition.DecisionRule;
 import tools.refinery.store.dse.transition.VersionWithObjectiveValue;
 import tools.refinery.store.dse.transition.statespace.ActivationStore;
 
-import java.util.*;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.function.Consumer;
 
+/**
+ * Keeps track of the visited activations of each version.
+ * <p>
+ * The activations of each version are guarded by their own lock, so parallel workers only contend if they expand the
+ * same version.
+ */
 public class ActivationStoreImpl implements ActivationStore {
+	private static final VisitResult NO_MORE_ACTIVATIONS = new VisitResult(false, false, -1, -1);
+
 	private final List<DecisionRule> transformations;
 	private final Consumer<VersionWithObjectiveValue> actionWhenAllActivationVisited;
-	private final Map<VersionWithObjectiveValue, List<ActivationStoreEntry>> versionToActivations;
+	private final ConcurrentMap<VersionWithObjectiveValue, VersionActivations> versionToActivations;
 
 	public ActivationStoreImpl(List<DecisionRule> transformations,
 							   Consumer<VersionWithObjectiveValue> actionWhenAllActivationVisited) {
 		this.transformations = transformations;
 		this.actionWhenAllActivationVisited = actionWhenAllActivationVisited;
-		versionToActivations = new HashMap<>();
+		versionToActivations = new ConcurrentHashMap<>();
 	}
 
-	public synchronized VisitResult markNewAsVisited(VersionWithObjectiveValue to, int[] emptyEntrySizes) {
+	public VisitResult markNewAsVisited(VersionWithObjectiveValue to, int[] emptyEntrySizes) {
 		boolean[] successful = new boolean[]{false};
-		var entries = versionToActivations.computeIfAbsent(to, x -> {
+		var activations = versionToActivations.computeIfAbsent(to, x -> {
 			successful[0] = true;
-			List<ActivationStoreEntry> result = new ArrayList<>(emptyEntrySizes.length);
-			for (int emptyEntrySize : emptyEntrySizes) {
-				result.add(ActivationStoreEntry.create(emptyEntrySize));
-			}
-			return result;
+			return new VersionActivations(emptyEntrySizes);
 		});
-		boolean hasMore = false;
-		for (var entry : entries) {
-			if (entry.getNumberOfUnvisitedActivations() > 0) {
-				hasMore = true;
-				break;
+		boolean hasMore;
+		synchronized (activations) {
+			hasMore = activations.hasUnvisitedActivation();
+			if (!hasMore) {
+				allActivationsVisited(to, activations);
 			}
 		}
-		if (!hasMore) {
-			actionWhenAllActivationVisited.accept(to);
-		}
 		return new VisitResult(successful[0], hasMore, -1, -1);
 	}
 
-	public synchronized VisitResult visitActivation(VersionWithObjectiveValue from, int transformationIndex,
-													int activationIndex) {
-		var entries = versionToActivations.get(from);
-		var entry = entries.get(transformationIndex);
-		final int unvisited = entry.getNumberOfUnvisitedActivations();
+	public VisitResult visitActivation(VersionWithObjectiveValue from, int transformationIndex,
+									   int activationIndex) {
+		var activations = versionToActivations.get(from);
+		if (activations == null) {
+			return NO_MORE_ACTIVATIONS;
+		}
+		synchronized (activations) {
+			return visitActivation(from, activations, transformationIndex, activationIndex);
+		}
+	}
 
-		final boolean successfulVisit = unvisited > 0;
-		final boolean hasMoreInActivation = unvisited > 1;
-		final boolean hasMore;
+	private VisitResult visitActivation(VersionWithObjectiveValue from, VersionActivations activations,
+										int transformationIndex, int activationIndex) {
+		final boolean successfulVisit = activations.getNumberOfUnvisitedActivations(transformationIndex) > 0;
 		final int transformation;
 		final int activation;
 
 		if (successfulVisit) {
 			transformation = transformationIndex;
-			activation = entry.getAndAddActivationAfter(activationIndex);
-
+			activation = activations.getAndAddActivationAfter(transformationIndex, activationIndex);
 		} else {
 			transformation = -1;
 			activation = -1;
 		}
 
-		if (!hasMoreInActivation) {
-			boolean hasMoreInOtherTransformation = false;
-			for (var e : entries) {
-				if (e != entry && e.getNumberOfUnvisitedActivations() > 0) {
-					hasMoreInOtherTransformation = true;
-					break;
-				}
-			}
-			hasMore = hasMoreInOtherTransformation;
-		} else {
-			hasMore = true;
-		}
-
+		final boolean hasMore = activations.hasUnvisitedActivation();
 		if (!hasMore) {
-			actionWhenAllActivationVisited.accept(from);
+			allActivationsVisited(from, activations);
 		}
 
 		return new VisitResult(successfulVisit, hasMore, transformation, activation);
 	}
 
 	@Override
-	public synchronized boolean hasUnmarkedActivation(VersionWithObjectiveValue version) {
-		var entries = versionToActivations.get(version);
-		boolean hasMore = false;
-		for (var entry : entries) {
-			if (entry.getNumberOfUnvisitedActivations() > 0) {
-				hasMore = true;
-				break;
-			}
+	public boolean hasUnmarkedActivation(VersionWithObjectiveValue version) {
+		var activations = versionToActivations.get(version);
+		if (activations == null) {
+			return false;
+		}
+		synchronized (activations) {
+			return activations.hasUnvisitedActivation();
 		}
-		return hasMore;
 	}
 
 	@Override
-	public synchronized VisitResult getRandomAndMarkAsVisited(VersionWithObjectiveValue version, Random random) {
-		var entries = versionToActivations.get(version);
+	public VisitResult getRandomAndMarkAsVisited(VersionWithObjectiveValue version, Random random) {
+		var activations = versionToActivations.get(version);
+		if (activations == null) {
+			return NO_MORE_ACTIVATIONS;
+		}
+		synchronized (activations) {
+			return getRandomAndMarkAsVisited(version, activations, random);
+		}
+	}
 
-		var weights = new double[entries.size()];
+	private VisitResult getRandomAndMarkAsVisited(VersionWithObjectiveValue version, VersionActivations activations,
+												  Random random) {
+		int numberOfTransformations = activations.getNumberOfTransformations();
+		var weights = new double[numberOfTransformations];
 		double totalWeight = 0;
 		int numberOfAllUnvisitedActivations = 0;
 		for (int i = 0; i < weights.length; i++) {
-			var entry = entries.get(i);
 			var decisionRule = transformations.get(i);
-			int unvisited = entry.getNumberOfUnvisitedActivations();
+			int unvisited = activations.getNumberOfUnvisitedActivations(i);
 			double weight = decisionRule.getWeight(unvisited);
 			weights[i] = weight;
 			totalWeight += weight;
@@ -119,22 +122,34 @@ public class ActivationStoreImpl implements ActivationStore {
 		}
 
 		if (numberOfAllUnvisitedActivations == 0) {
-			this.actionWhenAllActivationVisited.accept(version);
-			return new VisitResult(false, false, -1, -1);
+			allActivationsVisited(version, activations);
+			return NO_MORE_ACTIVATIONS;
 		}
 
 		double offset = random.nextDouble(totalWeight);
 		int transformation = 0;
-		for (; transformation < entries.size(); transformation++) {
+		for (; transformation < numberOfTransformations; transformation++) {
 			double weight = weights[transformation];
 			if (weight > 0 && offset < weight) {
-				var entry = entries.get(transformation);
-				int activation = random.nextInt(entry.getNumberOfActivations());
-				return this.visitActivation(version, transformation, activation);
+				int activation = random.nextInt(activations.getNumberOfActivations(transformation));
+				return visitActivation(version, activations, transformation, activation);
 			}
 			offset -= weight;
 		}
 
 		throw new AssertionError("Unvisited activation %f not found".formatted(offset));
 	}
+
+	private void allActivationsVisited(VersionWithObjectiveValue version, VersionActivations activations) {
+		// Fully explored versions are never expanded again, so we release their activations (and our reference to the
+		// version) to keep memory usage bounded during long explorations. Only the worker that actually removes the
+		// activations notifies the callback.
+		if (versionToActivations.remove(version, activations)) {
+			actionWhenAllActivationVisited.accept(version);
+		}
+	}
+
+	int getNumberOfTrackedVersions() {
+		return versionToActivations.size();
+	}
 }
@@ -1,18 +1,24 @@
 /*
- * SPDX-FileCopyrightText: 2023 The Refinery Authors <https://refinery.tools/>
+ * SPDX-FileCopyrightText: 2023-2025 The Refinery Authors <https://refinery.tools/>
  *
  * SPDX-License-Identifier: EPL-2.0
  */
 package tools.refinery.store.dse.transition.statespace.internal;
 
+import org.eclipse.collections.api.factory.primitive.IntSets;
+import org.eclipse.collections.api.set.primitive.MutableIntSet;
 import tools.refinery.store.dse.transition.Transformation;
 import tools.refinery.store.dse.transition.VersionWithObjectiveValue;
 import tools.refinery.store.dse.transition.statespace.ActivationStore;
+import tools.refinery.store.query.ModelQueryAdapter;
+import tools.refinery.store.tuple.Tuple;
 
 import java.util.List;
 import java.util.Random;
 
 public class ActivationStoreWorker {
+	private static final int ATTEMPTS_PER_INDEPENDENT_ACTIVATION = 4;
+
 	final ActivationStore store;
 	final List<Transformation> transformations;
 
@@ -52,4 +58,102 @@ public class ActivationStoreWorker {
 		}
 		return result;
 	}
+
+	/**
+	 * Fires additional activations after a successful {@link #fireRandomActivation(VersionWithObjectiveValue, Random)}
+	 * without running propagation in between.
+	 * <p>
+	 * We flush the query engine before selecting each additional activation, so every activation is selected from
+	 * the current result sets and its precondition (including negative and global conditions) still holds when it is
+	 * fired. We only fire activations with at least one parameter that do not refer to any object referred to by
+	 * another activation fired in the same step, because propagation may still restrict the objects modified by the
+	 * previous activations. Activations are selected according to the weights of their decision rules. The additional
+	 * activations are not marked as visited, so they may still be fired on their own later.
+	 *
+	 * @param firstResult    The result of the activation that was already fired.
+	 * @param maxActivations The maximum number of additional activations to fire.
+	 * @param random         The random generator to select activations with.
+	 * @param queryAdapter   The query engine of the model to flush between the activations.
+	 * @return The number of additional activations fired.
+	 */
+	public int fireIndependentActivations(ActivationStore.VisitResult firstResult, int maxActivations,
+										  Random random, ModelQueryAdapter queryAdapter) {
+		if (maxActivations <= 0) {
+			return 0;
+		}
+		int firstTransformation = firstResult.transformation();
+		// The query engine wasn't flushed since firing the first activation, so its index is still valid.
+		var firstTuple = transformations.get(firstTransformation).getActivation(firstResult.activation());
+		MutableIntSet usedObjects = IntSets.mutable.empty();
+		addObjects(usedObjects, firstTuple);
+		var weights = new double[transformations.size()];
+		int fired = 0;
+		int attempts = maxActivations * ATTEMPTS_PER_INDEPENDENT_ACTIVATION;
+		for (int attempt = 0; attempt < attempts && fired < maxActivations; attempt++) {
+			if (queryAdapter.hasPendingChanges()) {
+				queryAdapter.flushChanges();
+			}
+			int transformationIndex = selectTransformation(weights, random);
+			if (transformationIndex < 0) {
+				break;
+			}
+			var transformation = transformations.get(transformationIndex);
+			var tuple = transformation.getActivation(random.nextInt(transformation.getActivationCount()));
+			if (tuple.getSize() == 0 || (transformationIndex == firstTransformation && tuple.equals(firstTuple)) ||
+					!isIndependent(usedObjects, tuple)) {
+				continue;
+			}
+			// Reserve the objects even if firing fails, because the action may have partially modified them.
+			addObjects(usedObjects, tuple);
+			if (transformation.fireActivation(tuple)) {
+				fired++;
+			}
+		}
+		return fired;
+	}
+
+	private int selectTransformation(double[] weights, Random random) {
+		double totalWeight = 0;
+		for (int i = 0; i < weights.length; i++) {
+			var transformation = transformations.get(i);
+			double weight = transformation.getDefinition().getWeight(transformation.getActivationCount());
+			weights[i] = weight;
+			totalWeight += weight;
+		}
+		if (totalWeight <= 0) {
+			return -1;
+		}
+		double offset = random.nextDouble(totalWeight);
+		for (int i = 0; i < weights.length; i++) {
+			double weight = weights[i];
+			if (weight > 0 && offset < weight) {
+				return i;
+			}
+			offset -= weight;
+		}
+		// Rounding errors may leave a tiny remaining offset, so we select the last transformation with activations.
+		for (int i = weights.length - 1; i >= 0; i--) {
+			if (weights[i] > 0) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	private static boolean isIndependent(MutableIntSet usedObjects, Tuple tuple) {
+		int size = tuple.getSize();
+		for (int i = 0; i < size; i++) {
+			if (usedObjects.contains(tuple.get(i))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static void addObjects(MutableIntSet usedObjects, Tuple tuple) {
+		int size = tuple.getSize();
+		for (int i = 0; i < size; i++) {
+			usedObjects.add(tuple.get(i));
+		}
+	}
 }
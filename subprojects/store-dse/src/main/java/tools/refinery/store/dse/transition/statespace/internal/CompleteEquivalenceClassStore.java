@@ -5,8 +5,8 @@
  */
 package tools.refinery.store.dse.transition.statespace.internal;
 
-import org.eclipse.collections.api.factory.primitive.IntObjectMaps;
-import org.eclipse.collections.api.map.primitive.MutableIntObjectMap;
+import org.eclipse.collections.api.factory.primitive.LongObjectMaps;
+import org.eclipse.collections.api.map.primitive.MutableLongObjectMap;
 import tools.refinery.store.dse.transition.VersionWithObjectiveValue;
 import tools.refinery.store.dse.transition.statespace.EquivalenceClassStore;
 import tools.refinery.store.statecoding.StateCoderResult;
@@ -28,7 +28,8 @@ public abstract class CompleteEquivalenceClassStore extends AbstractEquivalenceC
 		}
 	}
 
-	private final MutableIntObjectMap<Object> modelCode2Versions = IntObjectMaps.mutable.empty();
+	private final MutableLongObjectMap<Object> modelCode2Versions = LongObjectMaps.mutable.empty();
+	private final ModelCodeSet modelCodes = new ModelCodeSet();
 
 	protected CompleteEquivalenceClassStore(StateCoderStoreAdapter stateCoderStoreAdapter) {
 		super(stateCoderStoreAdapter);
@@ -37,7 +38,17 @@ public abstract class CompleteEquivalenceClassStore extends AbstractEquivalenceC
 	@Override
 	protected boolean tryToAdd(StateCoderResult stateCoderResult, VersionWithObjectiveValue newVersion,
 					   int[] emptyActivations, boolean accept) {
-		int modelCode = stateCoderResult.modelCode();
+		var addResult = modelCodes.add(stateCoderResult);
+		if (addResult == ModelCodeSet.AddResult.COLLISION) {
+			// States with different secondary codes can't be isomorphic, so there is no need to check for symmetry.
+			modelCodeCollisionDetected();
+			return true;
+		}
+		if (addResult == ModelCodeSet.AddResult.DUPLICATE_COLLISION) {
+			// Colliding states are rare, so we don't track their symmetries and explore them again instead.
+			return true;
+		}
+		long modelCode = stateCoderResult.modelCode();
 		Object old = modelCode2Versions.updateValue(
 				modelCode,
 				() -> newVersion,
@@ -68,6 +79,9 @@ public abstract class CompleteEquivalenceClassStore extends AbstractEquivalenceC
 		var outcome = this.stateCoderStoreAdapter.checkEquivalence(unresolvedSimilarity.get(0).version(),
 				unresolvedSimilarity.get(1).version());
 		if (outcome != StateEquivalenceChecker.EquivalenceResult.ISOMORPHIC) {
+			if (outcome == StateEquivalenceChecker.EquivalenceResult.DIFFERENT) {
+				modelCodeCollisionDetected();
+			}
 			delegate(unresolvedSimilarity.get(1), unresolvedSimilarity.activationSizes, unresolvedSimilarity.accept);
 		}
 	}
@@ -80,7 +94,7 @@ public abstract class CompleteEquivalenceClassStore extends AbstractEquivalenceC
 		}
 
 		for (var entry : modelCode2Versions.keyValuesView()) {
-			int hash = entry.getOne();
+			long hash = entry.getOne();
 			var value = entry.getTwo();
 			if (value instanceof SymmetryStoreArray array) {
 				int size = array.size();
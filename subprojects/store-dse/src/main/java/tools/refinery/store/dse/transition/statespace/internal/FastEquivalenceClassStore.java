@@ -5,8 +5,6 @@
  */
 package tools.refinery.store.dse.transition.statespace.internal;
 
-import org.eclipse.collections.api.factory.primitive.IntSets;
-import org.eclipse.collections.api.set.primitive.MutableIntSet;
 import tools.refinery.store.dse.transition.VersionWithObjectiveValue;
 import tools.refinery.store.dse.transition.statespace.EquivalenceClassStore;
 import tools.refinery.store.statecoding.StateCoderResult;
@@ -14,7 +12,7 @@ import tools.refinery.store.statecoding.StateCoderStoreAdapter;
 
 public abstract class FastEquivalenceClassStore extends AbstractEquivalenceClassStore implements EquivalenceClassStore {
 
-	private final MutableIntSet codes = IntSets.mutable.empty();
+	private final ModelCodeSet codes = new ModelCodeSet();
 
 	protected FastEquivalenceClassStore(StateCoderStoreAdapter stateCoderStoreAdapter) {
 		super(stateCoderStoreAdapter);
@@ -23,11 +21,19 @@ public abstract class FastEquivalenceClassStore extends AbstractEquivalenceClass
 	@Override
 	protected synchronized boolean tryToAdd(StateCoderResult stateCoderResult, VersionWithObjectiveValue newVersion,
 								int[] emptyActivations, boolean accept) {
-		return this.codes.add(stateCoderResult.modelCode());
+		return tryToAdd(stateCoderResult);
 	}
 
 	public synchronized boolean tryToAdd(StateCoderResult stateCoderResult) {
-		return this.codes.add(stateCoderResult.modelCode());
+		return switch (codes.add(stateCoderResult)) {
+			case NEW -> true;
+			case DUPLICATE, DUPLICATE_COLLISION -> false;
+			case COLLISION -> {
+				// States with different secondary codes can't be isomorphic.
+				modelCodeCollisionDetected();
+				yield true;
+			}
+		};
 	}
 
 	@Override
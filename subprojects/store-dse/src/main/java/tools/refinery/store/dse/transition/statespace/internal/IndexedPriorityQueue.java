@@ -0,0 +1,121 @@
+/*
+ * SPDX-FileCopyrightText: 2025 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.store.dse.transition.statespace.internal;
+
+import java.util.*;
+
+/**
+ * A binary min-heap that keeps track of the position of each element.
+ * <p>
+ * Unlike {@link PriorityQueue}, removing an arbitrary element takes {@code O(log n)} time instead of a linear scan,
+ * and an element can be selected uniformly at random in {@code O(1)} time by indexing into the heap array.
+ * <p>
+ * Equal elements are stored only once. This class is not thread-safe.
+ *
+ * @param <T> The type of the elements.
+ */
+class IndexedPriorityQueue<T> {
+	private final Comparator<? super T> comparator;
+	private final List<T> heap = new ArrayList<>();
+	private final Map<T, Integer> positions = new HashMap<>();
+
+	IndexedPriorityQueue(Comparator<? super T> comparator) {
+		this.comparator = comparator;
+	}
+
+	boolean add(T element) {
+		if (positions.containsKey(element)) {
+			return false;
+		}
+		int position = heap.size();
+		heap.add(element);
+		positions.put(element, position);
+		siftUp(position);
+		return true;
+	}
+
+	boolean remove(T element) {
+		var position = positions.remove(element);
+		if (position == null) {
+			return false;
+		}
+		int lastPosition = heap.size() - 1;
+		var last = heap.remove(lastPosition);
+		if (position != lastPosition) {
+			set(position, last);
+			// The moved element may have to go either up or down the heap.
+			if (!siftUp(position)) {
+				siftDown(position);
+			}
+		}
+		return true;
+	}
+
+	T peek() {
+		return heap.isEmpty() ? null : heap.getFirst();
+	}
+
+	T get(int index) {
+		return heap.get(index);
+	}
+
+	int size() {
+		return heap.size();
+	}
+
+	private boolean siftUp(int position) {
+		var element = heap.get(position);
+		int current = position;
+		while (current > 0) {
+			int parent = (current - 1) >>> 1;
+			var parentElement = heap.get(parent);
+			if (comparator.compare(element, parentElement) >= 0) {
+				break;
+			}
+			set(current, parentElement);
+			current = parent;
+		}
+		if (current == position) {
+			return false;
+		}
+		set(current, element);
+		return true;
+	}
+
+	private void siftDown(int position) {
+		var element = heap.get(position);
+		int size = heap.size();
+		int current = position;
+		while (true) {
+			int child = 2 * current + 1;
+			if (child >= size) {
+				break;
+			}
+			var childElement = heap.get(child);
+			int right = child + 1;
+			if (right < size) {
+				var rightElement = heap.get(right);
+				if (comparator.compare(rightElement, childElement) < 0) {
+					child = right;
+					childElement = rightElement;
+				}
+			}
+			if (comparator.compare(element, childElement) <= 0) {
+				break;
+			}
+			set(current, childElement);
+			current = child;
+		}
+		if (current != position) {
+			set(current, element);
+		}
+	}
+
+	private void set(int position, T element) {
+		heap.set(position, element);
+		positions.put(element, position);
+	}
+}
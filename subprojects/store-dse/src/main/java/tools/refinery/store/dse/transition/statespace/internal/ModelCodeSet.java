@@ -0,0 +1,61 @@
+/*
+ * SPDX-FileCopyrightText: 2025 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.store.dse.transition.statespace.internal;
+
+import org.eclipse.collections.api.factory.primitive.LongLongMaps;
+import org.eclipse.collections.api.factory.primitive.LongObjectMaps;
+import org.eclipse.collections.api.factory.primitive.LongSets;
+import org.eclipse.collections.api.map.primitive.MutableLongLongMap;
+import org.eclipse.collections.api.map.primitive.MutableLongObjectMap;
+import org.eclipse.collections.api.set.primitive.MutableLongSet;
+import tools.refinery.store.statecoding.StateCoderResult;
+
+/**
+ * A set of 128-bit model codes indexed by their primary 64-bit model code.
+ * <p>
+ * Most primary codes occur with a single secondary code, so we only allocate a set of secondary codes for primary
+ * codes that collide.
+ */
+class ModelCodeSet {
+	enum AddResult {
+		/**
+		 * The primary model code was not seen before.
+		 */
+		NEW,
+
+		/**
+		 * The same 128-bit model code was seen before.
+		 */
+		DUPLICATE,
+
+		/**
+		 * The primary model code was seen before, but with a different secondary code.
+		 */
+		COLLISION,
+
+		/**
+		 * The 128-bit model code was seen before, but it collides with another code.
+		 */
+		DUPLICATE_COLLISION
+	}
+
+	private final MutableLongLongMap checks = LongLongMaps.mutable.empty();
+	private final MutableLongObjectMap<MutableLongSet> collidingChecks = LongObjectMaps.mutable.empty();
+
+	AddResult add(StateCoderResult stateCoderResult) {
+		long modelCode = stateCoderResult.modelCode();
+		long modelCodeCheck = stateCoderResult.modelCodeCheck();
+		if (!checks.containsKey(modelCode)) {
+			checks.put(modelCode, modelCodeCheck);
+			return AddResult.NEW;
+		}
+		if (checks.get(modelCode) == modelCodeCheck) {
+			return AddResult.DUPLICATE;
+		}
+		var otherChecks = collidingChecks.getIfAbsentPut(modelCode, LongSets.mutable::empty);
+		return otherChecks.add(modelCodeCheck) ? AddResult.COLLISION : AddResult.DUPLICATE_COLLISION;
+	}
+}
@@ -1,5 +1,5 @@
 /*
- * SPDX-FileCopyrightText: 2023 The Refinery Authors <https://refinery.tools/>
+ * SPDX-FileCopyrightText: 2023-2025 The Refinery Authors <https://refinery.tools/>
  *
  * SPDX-License-Identifier: EPL-2.0
  */
@@ -12,23 +12,25 @@ import tools.refinery.store.dse.transition.statespace.ObjectivePriorityQueue;
 
 import java.util.Comparator;
 import java.util.List;
-import java.util.PriorityQueue;
 import java.util.Random;
 
+/**
+ * An {@link ObjectivePriorityQueue} for a single minimized objective.
+ * <p>
+ * Use {@link ParetoFrontQueue} for multiple objectives instead.
+ */
 public class ObjectivePriorityQueueImpl implements ObjectivePriorityQueue {
 	public static final Comparator<VersionWithObjectiveValue> c1 = (o1, o2) -> Double.compare(
 			((ObjectiveValues.ObjectiveValue1) o1.objectiveValue()).value0(),
 			((ObjectiveValues.ObjectiveValue1) o2.objectiveValue()).value0());
-	// TODO: support multi objective!
-	final PriorityQueue<VersionWithObjectiveValue> priorityQueue;
+	final IndexedPriorityQueue<VersionWithObjectiveValue> priorityQueue;
 
 	public ObjectivePriorityQueueImpl(List<Objective> objectives) {
-
-		if(objectives.size() == 1) {
-			this.priorityQueue = new PriorityQueue<>(c1);
-		} else {
-			throw new UnsupportedOperationException("Only single objective comparator is implemented currently!");
+		if (objectives.size() != 1) {
+			throw new IllegalArgumentException("Expected a single objective, got %d. Use %s for multiple objectives."
+					.formatted(objectives.size(), ParetoFrontQueue.class.getSimpleName()));
 		}
+		this.priorityQueue = new IndexedPriorityQueue<>(c1);
 	}
 	@Override
 	public Comparator<VersionWithObjectiveValue> getComparator() {
@@ -57,12 +59,10 @@ public class ObjectivePriorityQueueImpl implements ObjectivePriorityQueue {
 
 	@Override
 	public synchronized VersionWithObjectiveValue getRandom(Random random) {
-		int randomPosition = random.nextInt(getSize());
-		for (VersionWithObjectiveValue entry : this.priorityQueue) {
-			if (randomPosition-- == 0) {
-				return entry;
-			}
+		int size = getSize();
+		if (size == 0) {
+			return null;
 		}
-		throw new IllegalStateException("The priority queue is inconsistent!");
+		return priorityQueue.get(random.nextInt(size));
 	}
 }
@@ -0,0 +1,279 @@
+/*
+ * SPDX-FileCopyrightText: 2025 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.store.dse.transition.statespace.internal;
+
+import tools.refinery.store.dse.transition.ObjectiveValue;
+import tools.refinery.store.dse.transition.VersionWithObjectiveValue;
+import tools.refinery.store.dse.transition.statespace.ObjectivePriorityQueue;
+
+import java.util.*;
+
+/**
+ * An {@link ObjectivePriorityQueue} for multiple objectives, all of which are minimized, that keeps an archive of the
+ * non-dominated states.
+ * <p>
+ * The non-dominated front is kept sorted lexicographically by objective values. A state can only be dominated by
+ * states before it and can only dominate states after it in this order, so dominance queries only scan a prefix or
+ * a suffix of the front. Every dominated state is guarded by a state in the front that dominates it. When a state is
+ * removed from the front, only the states it guarded have to be checked for promotion into the front.
+ * <p>
+ * With at most 2 objectives, the front forms a staircase: the second objective is non-increasing in lexicographic
+ * order. Therefore, only the lexicographic predecessor of a state has to be checked for dominance, and the states
+ * dominated by a new state form a contiguous run after it, so both queries take logarithmic time in the size of the
+ * front (plus the number of demoted states). With more objectives, dominance queries fall back to a linear scan of
+ * the prefix or suffix of the front.
+ */
+public class ParetoFrontQueue implements ObjectivePriorityQueue {
+	public static final Comparator<VersionWithObjectiveValue> LEXICOGRAPHIC = (o1, o2) ->
+			compareLexicographically(o1.objectiveValue(), o2.objectiveValue());
+
+	/**
+	 * Compares states by Pareto dominance.
+	 * <p>
+	 * This is not a total order, because states that do not dominate each other are considered equal. Therefore, it
+	 * must not be used for sorting.
+	 */
+	public static final Comparator<VersionWithObjectiveValue> DOMINANCE = (o1, o2) -> {
+		var value1 = o1.objectiveValue();
+		var value2 = o2.objectiveValue();
+		if (dominates(value1, value2)) {
+			return -1;
+		}
+		if (dominates(value2, value1)) {
+			return 1;
+		}
+		return 0;
+	};
+
+	private final int numberOfObjectives;
+	private final boolean staircase;
+	private final Map<VersionWithObjectiveValue, Entry> entries = new HashMap<>();
+	private final List<Entry> entryList = new ArrayList<>();
+	private final NavigableSet<Entry> front = new TreeSet<>();
+	private final IndexedPriorityQueue<Entry> frontBySum = new IndexedPriorityQueue<>(
+			Comparator.comparingDouble(Entry::sum).thenComparing(Comparator.naturalOrder()));
+	private long nextSequenceNumber;
+
+	public ParetoFrontQueue(int numberOfObjectives) {
+		if (numberOfObjectives < 1) {
+			throw new IllegalArgumentException("At least one objective is required, got " + numberOfObjectives);
+		}
+		this.numberOfObjectives = numberOfObjectives;
+		staircase = numberOfObjectives <= 2;
+	}
+
+	@Override
+	public Comparator<VersionWithObjectiveValue> getComparator() {
+		return DOMINANCE;
+	}
+
+	@Override
+	public synchronized void submit(VersionWithObjectiveValue versionWithObjectiveValue) {
+		var objectiveValue = versionWithObjectiveValue.objectiveValue();
+		if (objectiveValue.getSize() != numberOfObjectives) {
+			throw new IllegalArgumentException("Expected %d objective values, got %d"
+					.formatted(numberOfObjectives, objectiveValue.getSize()));
+		}
+		if (entries.containsKey(versionWithObjectiveValue)) {
+			return;
+		}
+		var entry = new Entry(versionWithObjectiveValue, nextSequenceNumber);
+		nextSequenceNumber++;
+		entries.put(versionWithObjectiveValue, entry);
+		entry.index = entryList.size();
+		entryList.add(entry);
+		insert(entry);
+	}
+
+	private void insert(Entry entry) {
+		var dominator = findDominator(entry);
+		if (dominator != null) {
+			dominator.guard(entry);
+			return;
+		}
+		// Demote the states dominated by the new state. Their guarded states are also dominated by the new state.
+		var iterator = front.tailSet(entry, false).iterator();
+		while (iterator.hasNext()) {
+			var other = iterator.next();
+			if (dominates(entry.objectiveValue(), other.objectiveValue())) {
+				iterator.remove();
+				frontBySum.remove(other);
+				if (other.guarded != null) {
+					for (var guarded : other.guarded) {
+						entry.guard(guarded);
+					}
+					other.guarded = null;
+				}
+				entry.guard(other);
+			} else if (staircase &&
+					compareLexicographically(entry.objectiveValue(), other.objectiveValue()) != 0) {
+				// The second objective of the remaining states is smaller than that of the new state.
+				break;
+			}
+		}
+		front.add(entry);
+		frontBySum.add(entry);
+	}
+
+	private Entry findDominator(Entry entry) {
+		var objectiveValue = entry.objectiveValue();
+		if (staircase) {
+			// The predecessor has the smallest second objective among the states before the new state. If it has the
+			// same objective values as the new state, no state before it may dominate the new state, because that
+			// state would also dominate the predecessor.
+			var predecessor = front.lower(entry);
+			return predecessor != null && dominates(predecessor.objectiveValue(), objectiveValue) ? predecessor : null;
+		}
+		for (var other : front.headSet(entry, false).descendingSet()) {
+			if (dominates(other.objectiveValue(), objectiveValue)) {
+				return other;
+			}
+		}
+		return null;
+	}
+
+	@Override
+	public synchronized void remove(VersionWithObjectiveValue versionWithObjectiveValue) {
+		var entry = entries.remove(versionWithObjectiveValue);
+		if (entry == null) {
+			return;
+		}
+		int lastIndex = entryList.size() - 1;
+		var last = entryList.remove(lastIndex);
+		if (entry.index != lastIndex) {
+			entryList.set(entry.index, last);
+			last.index = entry.index;
+		}
+		if (entry.guard != null) {
+			entry.guard.guarded.remove(entry);
+			entry.guard = null;
+			return;
+		}
+		front.remove(entry);
+		frontBySum.remove(entry);
+		if (entry.guarded != null) {
+			// Only the states guarded by the removed state may have become non-dominated. States are inserted in
+			// lexicographic order, so a promoted state can't be dominated by a state promoted after it.
+			var orphans = new ArrayList<>(entry.guarded);
+			entry.guarded = null;
+			orphans.sort(Entry::compareTo);
+			for (var orphan : orphans) {
+				orphan.guard = null;
+				insert(orphan);
+			}
+		}
+	}
+
+	@Override
+	public synchronized int getSize() {
+		return entryList.size();
+	}
+
+	/**
+	 * Gets a non-dominated state with the smallest sum of objective values.
+	 *
+	 * @return The best state, or {@code null} if the queue is empty.
+	 */
+	@Override
+	public synchronized VersionWithObjectiveValue getBest() {
+		var best = frontBySum.peek();
+		return best == null ? null : best.value;
+	}
+
+	@Override
+	public synchronized VersionWithObjectiveValue getRandom(Random random) {
+		int size = entryList.size();
+		if (size == 0) {
+			return null;
+		}
+		return entryList.get(random.nextInt(size)).value;
+	}
+
+	/**
+	 * Gets the states that are not dominated by any other state in the queue.
+	 *
+	 * @return The non-dominated states in lexicographic order of their objective values.
+	 */
+	public synchronized List<VersionWithObjectiveValue> getFront() {
+		var result = new ArrayList<VersionWithObjectiveValue>(front.size());
+		for (var entry : front) {
+			result.add(entry.value);
+		}
+		return result;
+	}
+
+	static boolean dominates(ObjectiveValue value1, ObjectiveValue value2) {
+		boolean strictlyBetter = false;
+		int size = value1.getSize();
+		for (int i = 0; i < size; i++) {
+			int result = Double.compare(value1.get(i), value2.get(i));
+			if (result > 0) {
+				return false;
+			}
+			if (result < 0) {
+				strictlyBetter = true;
+			}
+		}
+		return strictlyBetter;
+	}
+
+	static int compareLexicographically(ObjectiveValue value1, ObjectiveValue value2) {
+		int size = Math.min(value1.getSize(), value2.getSize());
+		for (int i = 0; i < size; i++) {
+			int result = Double.compare(value1.get(i), value2.get(i));
+			if (result != 0) {
+				return result;
+			}
+		}
+		return Integer.compare(value1.getSize(), value2.getSize());
+	}
+
+	private static final class Entry implements Comparable<Entry> {
+		final VersionWithObjectiveValue value;
+		final long sequenceNumber;
+		final double sum;
+		int index;
+		Entry guard;
+		Set<Entry> guarded;
+
+		Entry(VersionWithObjectiveValue value, long sequenceNumber) {
+			this.value = value;
+			this.sequenceNumber = sequenceNumber;
+			var objectiveValue = value.objectiveValue();
+			double total = 0;
+			for (int i = 0; i < objectiveValue.getSize(); i++) {
+				total += objectiveValue.get(i);
+			}
+			sum = total;
+		}
+
+		ObjectiveValue objectiveValue() {
+			return value.objectiveValue();
+		}
+
+		double sum() {
+			return sum;
+		}
+
+		void guard(Entry other) {
+			if (guarded == null) {
+				guarded = new HashSet<>();
+			}
+			guarded.add(other);
+			other.guard = this;
+		}
+
+		@Override
+		public int compareTo(Entry other) {
+			int result = compareLexicographically(objectiveValue(), other.objectiveValue());
+			if (result != 0) {
+				return result;
+			}
+			// States with the same objective values do not dominate each other, so we keep all of them.
+			return Long.compare(sequenceNumber, other.sequenceNumber);
+		}
+	}
+}
@@ -1,48 +1,84 @@
 /*
- * SPDX-FileCopyrightText: 2023 The Refinery Authors <https://refinery.tools/>
+ * SPDX-FileCopyrightText: 2023-2025 The Refinery Authors <https://refinery.tools/>
  *
  * SPDX-License-Identifier: EPL-2.0
  */
 package tools.refinery.store.dse.transition.statespace.internal;
 
+import org.jetbrains.annotations.Nullable;
 import tools.refinery.store.dse.transition.VersionWithObjectiveValue;
 import tools.refinery.store.dse.transition.statespace.SolutionStore;
 
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.PriorityQueue;
+import java.util.function.Consumer;
 
 
 public class SolutionStoreImpl implements SolutionStore {
 	final int maxNumberSolutions;
 	public static final int UNLIMITED = -1;
 	final PriorityQueue<VersionWithObjectiveValue> solutions;
+	private volatile Consumer<VersionWithObjectiveValue> solutionListener;
 
 	public SolutionStoreImpl(int maxNumberSolutions) {
+		this(maxNumberSolutions, ObjectivePriorityQueueImpl.c1);
+	}
+
+	/**
+	 * Creates a solution store that keeps the best solutions according to a comparator.
+	 *
+	 * @param maxNumberSolutions The maximum number of solutions to keep, or {@link #UNLIMITED}.
+	 * @param comparator         A total order of solutions, where better solutions come first.
+	 */
+	public SolutionStoreImpl(int maxNumberSolutions, Comparator<VersionWithObjectiveValue> comparator) {
 		this.maxNumberSolutions = maxNumberSolutions;
-		solutions = new PriorityQueue<>(ObjectivePriorityQueueImpl.c1.reversed());
+		solutions = new PriorityQueue<>(comparator.reversed());
 	}
 
 
+	/**
+	 * Sets a listener to be notified whenever a new solution is accepted into the store.
+	 * <p>
+	 * The listener is called on the thread that submitted the solution, but not while holding the lock of the store.
+	 * Therefore, other exploration workers may continue exploring while the listener processes the solution, and the
+	 * listener may be called concurrently from multiple workers.
+	 * </p>
+	 *
+	 * @param solutionListener The listener, or {@code null} to remove the current listener.
+	 */
+	public void setSolutionListener(@Nullable Consumer<VersionWithObjectiveValue> solutionListener) {
+		this.solutionListener = solutionListener;
+	}
+
 	@Override
-	public synchronized boolean submit(VersionWithObjectiveValue version) {
-		boolean removeLast = hasEnoughSolution();
-		solutions.add(version);
-		if(removeLast) {
-			var last = solutions.poll();
-			return last != version;
-		} else {
-			return true;
+	public boolean submit(VersionWithObjectiveValue version) {
+		boolean accepted;
+		synchronized (this) {
+			boolean removeLast = hasEnoughSolution();
+			solutions.add(version);
+			if (removeLast) {
+				var last = solutions.poll();
+				accepted = last != version;
+			} else {
+				accepted = true;
+			}
+		}
+		var listener = solutionListener;
+		if (accepted && listener != null) {
+			listener.accept(version);
 		}
+		return accepted;
 	}
 
 	@Override
-	public List<VersionWithObjectiveValue> getSolutions() {
+	public synchronized List<VersionWithObjectiveValue> getSolutions() {
 		return new ArrayList<>(solutions);
 	}
 
 	@Override
-	public boolean hasEnoughSolution() {
+	public synchronized boolean hasEnoughSolution() {
 		if (maxNumberSolutions == UNLIMITED) {
 			return false;
 		} else {
@@ -0,0 +1,153 @@
+/*
+ * SPDX-FileCopyrightText: 2025 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.store.dse.transition.statespace.internal;
+
+import java.util.Arrays;
+
+/**
+ * The visited activations of all transformations in a single version.
+ * <p>
+ * Activations of all transformations are numbered consecutively, so the visited ones can be stored in a single array
+ * per version. Like the containers of roaring bitmaps, the array is a sorted list of visited positions while only a
+ * few activations are visited, and is converted to a bitmap once the bitmap becomes smaller. Nothing is allocated for
+ * versions that were never expanded.
+ * <p>
+ * This class is not thread-safe.
+ */
+final class VersionActivations {
+	private static final int INITIAL_SPARSE_CAPACITY = 4;
+	private static final int WORD_SHIFT = 6;
+
+	private final int[] offsets;
+	private int[] visitedCounts;
+	private int totalVisited;
+	private int[] sparse;
+	private long[] dense;
+
+	VersionActivations(int[] numberOfActivations) {
+		offsets = new int[numberOfActivations.length + 1];
+		for (int i = 0; i < numberOfActivations.length; i++) {
+			offsets[i + 1] = offsets[i] + numberOfActivations[i];
+		}
+	}
+
+	int getNumberOfTransformations() {
+		return offsets.length - 1;
+	}
+
+	int getNumberOfActivations(int transformation) {
+		return offsets[transformation + 1] - offsets[transformation];
+	}
+
+	int getNumberOfVisitedActivations(int transformation) {
+		return visitedCounts == null ? 0 : visitedCounts[transformation];
+	}
+
+	int getNumberOfUnvisitedActivations(int transformation) {
+		return getNumberOfActivations(transformation) - getNumberOfVisitedActivations(transformation);
+	}
+
+	boolean hasUnvisitedActivation() {
+		return totalVisited < offsets[offsets.length - 1];
+	}
+
+	/**
+	 * Marks the first unvisited activation of a transformation at or after {@code index} as visited, wrapping around
+	 * to the first activation if needed.
+	 *
+	 * @param transformation The index of the transformation.
+	 * @param index          The index of the activation to start the search at.
+	 * @return The index of the newly visited activation.
+	 * @throws IllegalArgumentException If all activations of the transformation were already visited.
+	 */
+	int getAndAddActivationAfter(int transformation, int index) {
+		int offset = offsets[transformation];
+		int end = offsets[transformation + 1];
+		int start = offset + index;
+		int position = visit(start, end);
+		if (position < 0) {
+			position = visit(offset, start);
+		}
+		if (position < 0) {
+			throw new IllegalArgumentException("There are no unvisited activations!");
+		}
+		if (visitedCounts == null) {
+			visitedCounts = new int[getNumberOfTransformations()];
+		}
+		visitedCounts[transformation]++;
+		totalVisited++;
+		return position - offset;
+	}
+
+	private int visit(int from, int to) {
+		if (from >= to) {
+			return -1;
+		}
+		return dense == null ? visitSparse(from, to) : visitDense(from, to);
+	}
+
+	private int visitSparse(int from, int to) {
+		int size = totalVisited;
+		int index = sparse == null ? -1 : Arrays.binarySearch(sparse, 0, size, from);
+		int position = from;
+		if (index < 0) {
+			index = -index - 1;
+		} else {
+			// Skip the run of visited activations starting at from.
+			while (index < size && sparse[index] == position) {
+				index++;
+				position++;
+			}
+			if (position >= to) {
+				return -1;
+			}
+		}
+		if (sparse == null) {
+			sparse = new int[INITIAL_SPARSE_CAPACITY];
+		} else if (size == sparse.length) {
+			sparse = Arrays.copyOf(sparse, size * 2);
+		}
+		System.arraycopy(sparse, index, sparse, index + 1, size - index);
+		sparse[index] = position;
+		int numberOfWords = getNumberOfWords();
+		if ((long) (size + 1) * Integer.SIZE >= (long) numberOfWords * Long.SIZE) {
+			convertToDense(size + 1, numberOfWords);
+		}
+		return position;
+	}
+
+	private int getNumberOfWords() {
+		return (offsets[offsets.length - 1] + Long.SIZE - 1) >>> WORD_SHIFT;
+	}
+
+	private void convertToDense(int size, int numberOfWords) {
+		dense = new long[numberOfWords];
+		for (int i = 0; i < size; i++) {
+			int position = sparse[i];
+			dense[position >>> WORD_SHIFT] |= 1L << position;
+		}
+		sparse = null;
+	}
+
+	private int visitDense(int from, int to) {
+		int wordIndex = from >>> WORD_SHIFT;
+		// Shifting by from only uses its lowest 6 bits, which masks out the positions before from in the word.
+		long word = ~dense[wordIndex] & (-1L << from);
+		while (word == 0) {
+			wordIndex++;
+			if (wordIndex << WORD_SHIFT >= to) {
+				return -1;
+			}
+			word = ~dense[wordIndex];
+		}
+		int position = (wordIndex << WORD_SHIFT) + Long.numberOfTrailingZeros(word);
+		if (position >= to) {
+			return -1;
+		}
+		dense[wordIndex] |= 1L << position;
+		return position;
+	}
+}
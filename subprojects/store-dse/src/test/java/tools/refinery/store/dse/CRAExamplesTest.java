@@ -1,5 +1,5 @@
 /*
- * SPDX-FileCopyrightText: 2021-2023 The Refinery Authors <https://refinery.tools/>
+ * SPDX-FileCopyrightText: 2021-2025 The Refinery Authors <https://refinery.tools/>
  *
  * SPDX-License-Identifier: EPL-2.0
  */
@@ -203,6 +203,7 @@ class CRAExamplesTest {
 			queryEngine.flushChanges();
 
 			var bestFirst = new BestFirstStoreManager(store, 50);
+			bestFirst.setVisualizationEnabled(true);
 			bestFirst.startExploration(initialVersion);
 			var resultStore = bestFirst.getSolutionStore();
 			System.out.println("states size: " + resultStore.getSolutions().size());
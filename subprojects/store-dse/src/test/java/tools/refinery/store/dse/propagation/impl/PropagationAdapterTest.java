@@ -0,0 +1,56 @@
+/*
+ * SPDX-FileCopyrightText: 2025 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.store.dse.propagation.impl;
+
+import org.junit.jupiter.api.Test;
+import tools.refinery.store.dse.propagation.PropagationAdapter;
+import tools.refinery.store.dse.propagation.PropagationResult;
+import tools.refinery.store.model.ModelStore;
+import tools.refinery.store.representation.Symbol;
+import tools.refinery.store.tuple.Tuple;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PropagationAdapterTest {
+	private static final Symbol<Integer> counter = Symbol.of("counter", 0, Integer.class, 0);
+
+	@Test
+	void skipUpToDatePropagatorsTest() {
+		var incrementCalls = new AtomicInteger();
+		var observerCalls = new AtomicInteger();
+		var store = ModelStore.builder()
+				.symbols(counter)
+				// Propagators are added in reverse order, so the observer runs after the incrementing propagator.
+				.with(PropagationAdapter.builder()
+						.propagator(model -> () -> {
+							observerCalls.incrementAndGet();
+							return PropagationResult.UNCHANGED;
+						})
+						.propagator(model -> {
+							var interpretation = model.getInterpretation(counter);
+							return () -> {
+								incrementCalls.incrementAndGet();
+								int value = interpretation.get(Tuple.of());
+								if (value >= 3) {
+									return PropagationResult.UNCHANGED;
+								}
+								interpretation.put(Tuple.of(), value + 1);
+								return PropagationResult.PROPAGATED;
+							};
+						}))
+				.build();
+		var model = store.createEmptyModel();
+		var result = model.getAdapter(PropagationAdapter.class).propagate();
+		assertTrue(result.isChanged());
+		assertEquals(3, model.getInterpretation(counter).get(Tuple.of()));
+		assertEquals(4, incrementCalls.get());
+		// The observer has already seen the last change before the incrementing propagator reached its fixed point.
+		assertEquals(3, observerCalls.get());
+	}
+}
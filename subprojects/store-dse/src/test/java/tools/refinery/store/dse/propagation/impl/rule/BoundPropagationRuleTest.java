@@ -0,0 +1,94 @@
+/*
+ * SPDX-FileCopyrightText: 2025 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.store.dse.propagation.impl.rule;
+
+import org.junit.jupiter.api.Test;
+import tools.refinery.store.dse.propagation.PropagationAdapter;
+import tools.refinery.store.dse.propagation.PropagationResult;
+import tools.refinery.store.dse.transition.Rule;
+import tools.refinery.store.model.ModelStore;
+import tools.refinery.store.query.ModelQueryAdapter;
+import tools.refinery.store.query.interpreter.QueryInterpreterAdapter;
+import tools.refinery.store.query.view.AnySymbolView;
+import tools.refinery.store.query.view.KeyOnlyView;
+import tools.refinery.store.representation.Symbol;
+import tools.refinery.store.tuple.Tuple;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static tools.refinery.logic.literal.Literals.not;
+import static tools.refinery.store.dse.transition.actions.ActionLiterals.add;
+
+class BoundPropagationRuleTest {
+	private static final Symbol<Boolean> edge = Symbol.of("Edge", 2);
+	private static final Symbol<Boolean> reached = Symbol.of("Reached", 1);
+	private static final Symbol<Boolean> seed = Symbol.of("Seed", 1);
+	private static final Symbol<Boolean> copied = Symbol.of("Copied", 1);
+
+	private static final AnySymbolView edgeView = new KeyOnlyView<>(edge);
+	private static final AnySymbolView reachedView = new KeyOnlyView<>(reached);
+	private static final AnySymbolView seedView = new KeyOnlyView<>(seed);
+	private static final AnySymbolView copiedView = new KeyOnlyView<>(copied);
+
+	private static final Rule reachRule = Rule.of("Reach", (builder, x, y) -> builder
+			.clause(
+					reachedView.call(x),
+					edgeView.call(x, y),
+					not(reachedView.call(y))
+			)
+			.action(
+					add(reached, y)
+			));
+
+	private static final Rule copyRule = Rule.of("Copy", (builder, x) -> builder
+			.clause(
+					seedView.call(x),
+					not(copiedView.call(x))
+			)
+			.action(
+					add(copied, x)
+			));
+
+	@Test
+	void unaffectedRuleNotPendingTest() {
+		var store = ModelStore.builder()
+				.symbols(edge, reached, seed, copied)
+				.with(QueryInterpreterAdapter.builder())
+				.with(PropagationAdapter.builder()
+						.rules(reachRule, copyRule))
+				.build();
+		try (var model = store.createEmptyModel()) {
+			model.getInterpretation(seed).put(Tuple.of(0), true);
+			model.getInterpretation(reached).put(Tuple.of(0), true);
+			var edgeInterpretation = model.getInterpretation(edge);
+			edgeInterpretation.put(Tuple.of(0, 1), true);
+			edgeInterpretation.put(Tuple.of(1, 2), true);
+			var queryEngine = model.getAdapter(ModelQueryAdapter.class);
+			queryEngine.flushChanges();
+
+			var boundReachRule = new BoundPropagationRule(model, reachRule);
+			var boundCopyRule = new BoundPropagationRule(model, copyRule);
+			assertThat(boundReachRule.fireAll(), is(PropagationResult.PROPAGATED));
+			assertThat(boundCopyRule.fireAll(), is(PropagationResult.PROPAGATED));
+			queryEngine.flushChanges();
+
+			// Firing the reach rule enabled a new activation of it, while the copy rule only disabled its own
+			// activation.
+			assertThat(boundReachRule.isPending(), is(true));
+			assertThat(boundCopyRule.isPending(), is(false));
+
+			assertThat(boundReachRule.fireAll(), is(PropagationResult.PROPAGATED));
+			queryEngine.flushChanges();
+			assertThat(boundReachRule.isPending(), is(false));
+			assertThat(boundCopyRule.isPending(), is(false));
+
+			// Changes made by others make the rule pending again.
+			model.getInterpretation(seed).put(Tuple.of(1), true);
+			queryEngine.flushChanges();
+			assertThat(boundCopyRule.isPending(), is(true));
+		}
+	}
+}
@@ -0,0 +1,145 @@
+/*
+ * SPDX-FileCopyrightText: 2025 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.store.dse.strategy;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import tools.refinery.logic.dnf.Query;
+import tools.refinery.logic.dnf.RelationalQuery;
+import tools.refinery.logic.term.Variable;
+import tools.refinery.store.dse.transition.DesignSpaceExplorationAdapter;
+import tools.refinery.store.dse.transition.Rule;
+import tools.refinery.store.dse.transition.VersionWithObjectiveValue;
+import tools.refinery.store.dse.transition.objectives.Criteria;
+import tools.refinery.store.dse.transition.objectives.Objectives;
+import tools.refinery.store.model.Interpretation;
+import tools.refinery.store.model.ModelStore;
+import tools.refinery.store.query.ModelQueryAdapter;
+import tools.refinery.store.query.interpreter.QueryInterpreterAdapter;
+import tools.refinery.store.query.view.AnySymbolView;
+import tools.refinery.store.query.view.KeyOnlyView;
+import tools.refinery.store.representation.Symbol;
+import tools.refinery.store.statecoding.StateCoderAdapter;
+import tools.refinery.store.tuple.Tuple;
+
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static tools.refinery.logic.literal.Literals.not;
+import static tools.refinery.store.dse.transition.actions.ActionLiterals.add;
+
+class BestFirstMacroStepTest {
+	private static final int ITEM_COUNT = 4;
+	private static final int BIN_COUNT = 2;
+
+	private static final Symbol<Boolean> item = Symbol.of("Item", 1);
+	private static final Symbol<Boolean> bin = Symbol.of("Bin", 1);
+	private static final Symbol<Boolean> assigned = Symbol.of("Assigned", 2);
+	private static final Symbol<Boolean> marked = Symbol.of("Marked", 1);
+
+	private static final AnySymbolView itemView = new KeyOnlyView<>(item);
+	private static final AnySymbolView binView = new KeyOnlyView<>(bin);
+	private static final AnySymbolView assignedView = new KeyOnlyView<>(assigned);
+	private static final AnySymbolView markedView = new KeyOnlyView<>(marked);
+
+	private static final RelationalQuery unassignedItem = Query.of("UnassignedItem", (builder, i) -> builder
+			.clause(
+					itemView.call(i),
+					not(assignedView.call(i, Variable.of()))
+			));
+
+	private static final Rule assignRule = Rule.of("Assign", (builder, i, b) -> builder
+			.clause(
+					itemView.call(i),
+					binView.call(b),
+					not(assignedView.call(i, Variable.of()))
+			)
+			.action(
+					add(assigned, i, b)
+			));
+
+	// The precondition of this rule depends on objects not referenced by its activations, so firing any activation
+	// disables all the others.
+	private static final Rule markRule = Rule.of("Mark", (builder, i) -> builder
+			.clause(
+					itemView.call(i),
+					not(markedView.call(Variable.of()))
+			)
+			.action(
+					add(marked, i)
+			));
+
+	@ParameterizedTest
+	@ValueSource(ints = {2, 3, 8})
+	void macroStepSolutionsTest(int macroStepSize) {
+		var store = createStore();
+		int singleStepSolutionCount = explore(store, 1);
+		int macroStepSolutionCount = explore(store, macroStepSize);
+		// Every state reachable with macro steps is also reachable with single steps, and the exploration stays
+		// complete, because the additional activations of a macro step are not marked as visited.
+		assertThat(macroStepSolutionCount, is(singleStepSolutionCount));
+	}
+
+	private static ModelStore createStore() {
+		return ModelStore.builder()
+				.symbols(item, bin, assigned, marked)
+				.with(QueryInterpreterAdapter.builder())
+				.with(StateCoderAdapter.builder())
+				.with(DesignSpaceExplorationAdapter.builder()
+						.transformations(assignRule, markRule)
+						.objectives(Objectives.count(unassignedItem))
+						.accept(Criteria.whenNoMatch(unassignedItem)))
+				.build();
+	}
+
+	private static int explore(ModelStore store, int macroStepSize) {
+		try (var model = store.createEmptyModel()) {
+			var itemInterpretation = model.getInterpretation(item);
+			for (int i = 0; i < ITEM_COUNT; i++) {
+				itemInterpretation.put(Tuple.of(i), true);
+			}
+			var binInterpretation = model.getInterpretation(bin);
+			for (int i = 0; i < BIN_COUNT; i++) {
+				binInterpretation.put(Tuple.of(ITEM_COUNT + i), true);
+			}
+			var initialVersion = model.commit();
+			model.getAdapter(ModelQueryAdapter.class).flushChanges();
+			var bestFirst = new BestFirstStoreManager(store, Integer.MAX_VALUE);
+			bestFirst.setMacroStepSize(macroStepSize);
+			bestFirst.startExploration(initialVersion);
+			return checkSolutions(store, bestFirst.getSolutionStore().getSolutions());
+		}
+	}
+
+	private static int checkSolutions(ModelStore store, List<VersionWithObjectiveValue> solutions) {
+		assertThat(solutions, not(empty()));
+		for (var solution : solutions) {
+			try (var model = store.createModelForState(solution.version())) {
+				for (int i = 0; i < ITEM_COUNT; i++) {
+					int assignmentCount = 0;
+					for (int j = 0; j < BIN_COUNT; j++) {
+						if (model.getInterpretation(assigned).get(Tuple.of(i, ITEM_COUNT + j))) {
+							assignmentCount++;
+						}
+					}
+					assertThat(assignmentCount, is(1));
+				}
+				assertThat(countMarked(model.getInterpretation(marked)), lessThanOrEqualTo(1));
+			}
+		}
+		return solutions.size();
+	}
+
+	private static int countMarked(Interpretation<Boolean> interpretation) {
+		int count = 0;
+		var cursor = interpretation.getAll();
+		while (cursor.move()) {
+			count++;
+		}
+		return count;
+	}
+}
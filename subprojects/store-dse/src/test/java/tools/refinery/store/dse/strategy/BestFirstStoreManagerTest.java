@@ -0,0 +1,159 @@
+/*
+ * SPDX-FileCopyrightText: 2025 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.store.dse.strategy;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import tools.refinery.logic.dnf.Query;
+import tools.refinery.logic.dnf.RelationalQuery;
+import tools.refinery.logic.term.Variable;
+import tools.refinery.store.dse.tests.DummyCriterion;
+import tools.refinery.store.dse.transition.DesignSpaceExplorationAdapter;
+import tools.refinery.store.dse.transition.Rule;
+import tools.refinery.store.dse.transition.objectives.Criteria;
+import tools.refinery.store.dse.transition.objectives.Criterion;
+import tools.refinery.store.dse.transition.objectives.Objectives;
+import tools.refinery.store.model.ModelStore;
+import tools.refinery.store.query.ModelQueryAdapter;
+import tools.refinery.store.query.interpreter.QueryInterpreterAdapter;
+import tools.refinery.store.query.view.AnySymbolView;
+import tools.refinery.store.query.view.KeyOnlyView;
+import tools.refinery.store.representation.Symbol;
+import tools.refinery.store.statecoding.StateCoderAdapter;
+import tools.refinery.store.tuple.Tuple;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static tools.refinery.logic.literal.Literals.not;
+import static tools.refinery.store.dse.transition.actions.ActionLiterals.add;
+
+class BestFirstStoreManagerTest {
+	private static final int ITEM_COUNT = 4;
+	private static final int BIN_COUNT = 2;
+
+	private static final Symbol<Boolean> item = Symbol.of("Item", 1);
+	private static final Symbol<Boolean> bin = Symbol.of("Bin", 1);
+	private static final Symbol<Boolean> assigned = Symbol.of("Assigned", 2);
+
+	private static final AnySymbolView itemView = new KeyOnlyView<>(item);
+	private static final AnySymbolView binView = new KeyOnlyView<>(bin);
+	private static final AnySymbolView assignedView = new KeyOnlyView<>(assigned);
+
+	private static final RelationalQuery unassignedItem = Query.of("UnassignedItem", (builder, i) -> builder
+			.clause(
+					itemView.call(i),
+					not(assignedView.call(i, Variable.of()))
+			));
+
+	private static final Rule assignRule = Rule.of("Assign", (builder, i, b) -> builder
+			.clause(
+					itemView.call(i),
+					binView.call(b),
+					not(assignedView.call(i, Variable.of()))
+			)
+			.action(
+					add(assigned, i, b)
+			));
+
+	@ParameterizedTest
+	@ValueSource(ints = {2, 4, 8})
+	@Timeout(value = 60, unit = TimeUnit.SECONDS)
+	void parallelExplorationTerminatesTest(int numberOfWorkers) {
+		var store = createStore(new DummyCriterion(true));
+		int singleWorkerSolutionCount = explore(store, 1);
+		// Each item can be assigned to any of the bins.
+		assertThat(singleWorkerSolutionCount, is(pow(BIN_COUNT, ITEM_COUNT)));
+		// Idle workers must notice that the state space was exhausted even if they never got any state to expand.
+		assertThat(explore(store, numberOfWorkers), is(singleWorkerSolutionCount));
+	}
+
+	@Test
+	@Timeout(value = 60, unit = TimeUnit.SECONDS)
+	void workerExceptionPropagatedTest() {
+		var testThread = Thread.currentThread();
+		Criterion failingCriterion = model -> () -> {
+			if (Thread.currentThread() != testThread) {
+				throw new TestException();
+			}
+			// Slow down the worker on the calling thread to let the other workers pick up states to expand.
+			try {
+				Thread.sleep(10);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException(e);
+			}
+			return true;
+		};
+		var store = createStore(failingCriterion);
+		assertThrows(TestException.class, () -> explore(store, 4));
+	}
+
+	@Test
+	@Timeout(value = 60, unit = TimeUnit.SECONDS)
+	void callingThreadExceptionPropagatedTest() {
+		var testThread = Thread.currentThread();
+		var callCount = new AtomicInteger();
+		var store = createStore(model -> () -> {
+			// Let the calling thread submit the initial state, which starts the other workers.
+			if (Thread.currentThread() == testThread && callCount.incrementAndGet() > 1) {
+				throw new TestException();
+			}
+			return true;
+		});
+		// The other workers must stop even if they are waiting for states to expand.
+		assertThrows(TestException.class, () -> explore(store, 4));
+	}
+
+	private static ModelStore createStore(Criterion checkedCriterion) {
+		return ModelStore.builder()
+				.symbols(item, bin, assigned)
+				.with(QueryInterpreterAdapter.builder())
+				.with(StateCoderAdapter.builder())
+				.with(DesignSpaceExplorationAdapter.builder()
+						.transformations(assignRule)
+						.objectives(Objectives.count(unassignedItem))
+						// Acceptance criteria are checked for every new state in order.
+						.accept(checkedCriterion, Criteria.whenNoMatch(unassignedItem)))
+				.build();
+	}
+
+	private static int explore(ModelStore store, int numberOfWorkers) {
+		try (var model = store.createEmptyModel()) {
+			var itemInterpretation = model.getInterpretation(item);
+			for (int i = 0; i < ITEM_COUNT; i++) {
+				itemInterpretation.put(Tuple.of(i), true);
+			}
+			var binInterpretation = model.getInterpretation(bin);
+			for (int i = 0; i < BIN_COUNT; i++) {
+				binInterpretation.put(Tuple.of(ITEM_COUNT + i), true);
+			}
+			var initialVersion = model.commit();
+			model.getAdapter(ModelQueryAdapter.class).flushChanges();
+			var bestFirst = new BestFirstStoreManager(store, Integer.MAX_VALUE);
+			bestFirst.startExploration(initialVersion, 1, numberOfWorkers);
+			var solutions = bestFirst.getSolutionStore().getSolutions();
+			assertThat(solutions, not(empty()));
+			return solutions.size();
+		}
+	}
+
+	private static int pow(int base, int exponent) {
+		int result = 1;
+		for (int i = 0; i < exponent; i++) {
+			result *= base;
+		}
+		return result;
+	}
+
+	private static class TestException extends RuntimeException {
+	}
+}
@@ -0,0 +1,146 @@
+/*
+ * SPDX-FileCopyrightText: 2025 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.store.dse.transition.statespace.internal;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import tools.refinery.logic.dnf.Query;
+import tools.refinery.logic.dnf.RelationalQuery;
+import tools.refinery.logic.term.Variable;
+import tools.refinery.store.dse.strategy.BestFirstStoreManager;
+import tools.refinery.store.dse.transition.DesignSpaceExplorationAdapter;
+import tools.refinery.store.dse.transition.ObjectiveValue;
+import tools.refinery.store.dse.transition.Rule;
+import tools.refinery.store.dse.transition.VersionWithObjectiveValue;
+import tools.refinery.store.dse.transition.objectives.Criterion;
+import tools.refinery.store.dse.transition.objectives.Objectives;
+import tools.refinery.store.map.Version;
+import tools.refinery.store.model.ModelStore;
+import tools.refinery.store.query.ModelQueryAdapter;
+import tools.refinery.store.query.interpreter.QueryInterpreterAdapter;
+import tools.refinery.store.query.view.AnySymbolView;
+import tools.refinery.store.query.view.KeyOnlyView;
+import tools.refinery.store.representation.Symbol;
+import tools.refinery.store.statecoding.StateCoderAdapter;
+import tools.refinery.store.tuple.Tuple;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static tools.refinery.logic.literal.Literals.not;
+import static tools.refinery.store.dse.transition.actions.ActionLiterals.add;
+
+class ActivationStoreTest {
+	private static final Symbol<Boolean> item = Symbol.of("Item", 1);
+	private static final Symbol<Boolean> bin = Symbol.of("Bin", 1);
+	private static final Symbol<Boolean> assigned = Symbol.of("Assigned", 2);
+
+	private static final AnySymbolView itemView = new KeyOnlyView<>(item);
+	private static final AnySymbolView binView = new KeyOnlyView<>(bin);
+	private static final AnySymbolView assignedView = new KeyOnlyView<>(assigned);
+
+	private static final RelationalQuery unassignedItem = Query.of("UnassignedItem", (builder, i) -> builder
+			.clause(
+					itemView.call(i),
+					not(assignedView.call(i, Variable.of()))
+			));
+
+	private static final Rule assignRule = Rule.of("Assign", (builder, i, b) -> builder
+			.clause(
+					itemView.call(i),
+					binView.call(b),
+					not(assignedView.call(i, Variable.of()))
+			)
+			.action(
+					add(assigned, i, b)
+			));
+
+	@Test
+	@Timeout(value = 60, unit = TimeUnit.SECONDS)
+	void fullyExploredVersionCollectedTest() throws InterruptedException {
+		var explored = new ArrayList<WeakReference<Version>>();
+		// Record every version except the initial one, which is held by the test. None of them are solutions.
+		Criterion recordingCriterion = model -> () -> {
+			if (model.getInterpretation(assigned).getSize() > 0) {
+				explored.add(new WeakReference<>(model.getState()));
+			}
+			return false;
+		};
+		var store = ModelStore.builder()
+				.symbols(item, bin, assigned)
+				.with(QueryInterpreterAdapter.builder())
+				.with(StateCoderAdapter.builder())
+				.with(DesignSpaceExplorationAdapter.builder()
+						.transformations(assignRule)
+						.objectives(Objectives.count(unassignedItem))
+						.accept(recordingCriterion))
+				.build();
+		var bestFirst = new BestFirstStoreManager(store, Integer.MAX_VALUE);
+		try (var model = store.createEmptyModel()) {
+			model.getInterpretation(item).put(Tuple.of(0), true);
+			model.getInterpretation(item).put(Tuple.of(1), true);
+			model.getInterpretation(bin).put(Tuple.of(2), true);
+			model.getInterpretation(bin).put(Tuple.of(3), true);
+			var initialVersion = model.commit();
+			model.getAdapter(ModelQueryAdapter.class).flushChanges();
+			bestFirst.startExploration(initialVersion);
+		}
+		assertTrue(bestFirst.getSolutionStore().getSolutions().isEmpty());
+		assertFalse(explored.isEmpty());
+		// The exploration stores are still reachable through the store manager, but they must not hold any of the
+		// fully explored versions.
+		while (explored.stream().anyMatch(reference -> reference.get() != null)) {
+			System.gc();
+			Thread.sleep(10);
+		}
+		assertTrue(bestFirst.getSolutionStore().getSolutions().isEmpty());
+	}
+
+	@Test
+	void concurrentVisitTest() throws InterruptedException {
+		var released = new ArrayList<VersionWithObjectiveValue>();
+		var store = new ActivationStoreImpl(List.of(), version -> {
+			synchronized (released) {
+				released.add(version);
+			}
+		});
+		var version = createVersion(0);
+		int numberOfActivations = 1000;
+		store.markNewAsVisited(version, new int[]{numberOfActivations});
+		var visited = new AtomicIntegerArray(numberOfActivations);
+		var threads = new ArrayList<Thread>();
+		for (int i = 0; i < 4; i++) {
+			int seed = i;
+			threads.add(Thread.ofPlatform().start(() -> {
+				var random = new Random(seed);
+				while (true) {
+					var result = store.visitActivation(version, 0, random.nextInt(numberOfActivations));
+					if (!result.successfulVisit()) {
+						break;
+					}
+					visited.incrementAndGet(result.activation());
+				}
+			}));
+		}
+		for (var thread : threads) {
+			thread.join();
+		}
+		for (int i = 0; i < numberOfActivations; i++) {
+			assertEquals(1, visited.get(i));
+		}
+		assertEquals(List.of(version), released);
+	}
+
+	private static VersionWithObjectiveValue createVersion(double objective) {
+		return new VersionWithObjectiveValue(new Version() {
+		}, ObjectiveValue.of(objective));
+	}
+}
@@ -6,11 +6,13 @@
 package tools.refinery.store.dse.transition.statespace.internal;
 
 import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Random;
 import java.util.function.Supplier;
@@ -18,12 +20,10 @@ import java.util.stream.Stream;
 
 class ActivationUnitTest {
 	private final static int SMALL_SIZE = 5;
+	private final static int LARGE_SIZE = 100000;
 
 	private static Stream<ActivationStoreEntry> entries() {
-		return Stream.of(
-				new ActivationStoreBitVectorEntry(SMALL_SIZE),
-				new ActivationStoreListEntry(SMALL_SIZE)
-		);
+		return entryFactories().map(Supplier::get);
 	}
 
 	void addTest(ActivationStoreEntry entry, int elementsAdded) {
@@ -122,10 +122,42 @@ class ActivationUnitTest {
 		}
 	}
 
+	@Test
+	void largeFillingTest() {
+		var activations = new VersionActivations(new int[]{SMALL_SIZE, 1000});
+		@SuppressWarnings("squid:S2245")
+		var random = new Random(1);
+		var visited = new HashSet<Integer>();
+		for (int i = 0; i < 1000; i++) {
+			Assertions.assertTrue(visited.add(activations.getAndAddActivationAfter(1, random.nextInt(1000))));
+		}
+		Assertions.assertEquals(0, activations.getNumberOfUnvisitedActivations(1));
+		Assertions.assertEquals(SMALL_SIZE, activations.getNumberOfUnvisitedActivations(0));
+		Assertions.assertThrows(IllegalArgumentException.class, () -> activations.getAndAddActivationAfter(1, 0));
+		Assertions.assertEquals(0, activations.getAndAddActivationAfter(0, 0));
+	}
+
 	private static Stream<Supplier<ActivationStoreEntry>> entryFactories() {
+		// The activations of the tested transformation come after the activations of another transformation. If
+		// there are only a few activations in total, they are stored in a bit vector. Otherwise, they are stored in a
+		// sorted list until enough of them are visited.
 		return Stream.of(
-				() -> new ActivationStoreBitVectorEntry(SMALL_SIZE),
-				() -> new ActivationStoreListEntry(SMALL_SIZE)
+				() -> new ActivationStoreEntry(new VersionActivations(new int[]{3, SMALL_SIZE})),
+				() -> new ActivationStoreEntry(new VersionActivations(new int[]{LARGE_SIZE, SMALL_SIZE}))
 		);
 	}
+
+	private record ActivationStoreEntry(VersionActivations activations) {
+		int getNumberOfVisitedActivations() {
+			return activations.getNumberOfVisitedActivations(1);
+		}
+
+		int getNumberOfUnvisitedActivations() {
+			return activations.getNumberOfUnvisitedActivations(1);
+		}
+
+		int getAndAddActivationAfter(int index) {
+			return activations.getAndAddActivationAfter(1, index);
+		}
+	}
 }
@@ -0,0 +1,44 @@
+/*
+ * SPDX-FileCopyrightText: 2025 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.store.dse.transition.statespace.internal;
+
+import org.junit.jupiter.api.Test;
+import tools.refinery.store.dse.transition.VersionWithObjectiveValue;
+import tools.refinery.store.statecoding.StateCoderResult;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FastEquivalenceClassStoreTest {
+	@Test
+	void wideModelCodeTest() {
+		var store = createStore();
+		// Codes that would have been the same if truncated to 32 bits.
+		assertTrue(store.submit(new StateCoderResult(1L, 7, null)));
+		assertTrue(store.submit(new StateCoderResult(1L << 32 | 1L, 7, null)));
+		assertFalse(store.submit(new StateCoderResult(1L, 7, null)));
+		assertEquals(0, store.getNumberOfModelCodeCollisions());
+	}
+
+	@Test
+	void modelCodeCollisionTest() {
+		var store = createStore();
+		assertTrue(store.submit(new StateCoderResult(1, 7, null)));
+		assertTrue(store.submit(new StateCoderResult(1, 8, null)));
+		assertEquals(1, store.getNumberOfModelCodeCollisions());
+		assertFalse(store.submit(new StateCoderResult(1, 7, null)));
+		assertFalse(store.submit(new StateCoderResult(1, 8, null)));
+		assertEquals(1, store.getNumberOfModelCodeCollisions());
+	}
+
+	private static FastEquivalenceClassStore createStore() {
+		return new FastEquivalenceClassStore(null) {
+			@Override
+			protected void delegate(VersionWithObjectiveValue version, int[] emptyActivations, boolean accept) {
+				// Nothing to delegate to in this test.
+			}
+		};
+	}
+}
@@ -0,0 +1,47 @@
+/*
+ * SPDX-FileCopyrightText: 2025 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.store.dse.transition.statespace.internal;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IndexedPriorityQueueTest {
+	@Test
+	void duplicateTest() {
+		var queue = new IndexedPriorityQueue<Integer>(Comparator.naturalOrder());
+		assertTrue(queue.add(1));
+		assertFalse(queue.add(1));
+		assertEquals(1, queue.size());
+		assertTrue(queue.remove(1));
+		assertFalse(queue.remove(1));
+		assertNull(queue.peek());
+	}
+
+	@Test
+	void randomComparisonTest() {
+		var random = new Random(1);
+		var queue = new IndexedPriorityQueue<Integer>(Comparator.naturalOrder());
+		var reference = new TreeSet<Integer>();
+		for (int step = 0; step < 10000; step++) {
+			int element = random.nextInt(500);
+			if (random.nextBoolean()) {
+				assertEquals(reference.add(element), queue.add(element));
+			} else {
+				assertEquals(reference.remove(element), queue.remove(element));
+			}
+			assertEquals(reference.size(), queue.size());
+			assertEquals(reference.isEmpty() ? null : reference.first(), queue.peek());
+		}
+		var contents = new TreeSet<Integer>();
+		for (int i = 0; i < queue.size(); i++) {
+			contents.add(queue.get(i));
+		}
+		assertEquals(reference, contents);
+	}
+}
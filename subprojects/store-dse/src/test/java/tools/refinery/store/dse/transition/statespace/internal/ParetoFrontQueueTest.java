@@ -0,0 +1,79 @@
+/*
+ * SPDX-FileCopyrightText: 2025 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.store.dse.transition.statespace.internal;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import tools.refinery.store.dse.transition.ObjectiveValue;
+import tools.refinery.store.dse.transition.VersionWithObjectiveValue;
+import tools.refinery.store.map.Version;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParetoFrontQueueTest {
+	@Test
+	void frontTest() {
+		var queue = new ParetoFrontQueue(2);
+		var a = createVersion(1, 5);
+		var b = createVersion(2, 2);
+		var c = createVersion(3, 3);
+		var d = createVersion(5, 1);
+		queue.submit(c);
+		queue.submit(a);
+		queue.submit(b);
+		queue.submit(d);
+		assertEquals(List.of(a, b, d), queue.getFront());
+		assertEquals(b, queue.getBest());
+		assertTrue(queue.getComparator().compare(b, c) < 0);
+		assertEquals(0, queue.getComparator().compare(a, d));
+
+		queue.remove(b);
+		assertEquals(List.of(a, c, d), queue.getFront());
+		assertEquals(3, queue.getSize());
+	}
+
+	@ParameterizedTest
+	@ValueSource(ints = {1, 2, 3})
+	void randomFrontTest(int numberOfObjectives) {
+		var random = new Random(numberOfObjectives);
+		var queue = new ParetoFrontQueue(numberOfObjectives);
+		var contents = new ArrayList<VersionWithObjectiveValue>();
+		for (int step = 0; step < 2000; step++) {
+			if (contents.isEmpty() || random.nextInt(3) != 0) {
+				var values = new double[numberOfObjectives];
+				for (int i = 0; i < numberOfObjectives; i++) {
+					values[i] = random.nextInt(10);
+				}
+				var version = new VersionWithObjectiveValue(new Version() {
+				}, ObjectiveValue.of(values));
+				queue.submit(version);
+				contents.add(version);
+			} else {
+				queue.remove(contents.remove(random.nextInt(contents.size())));
+			}
+			assertEquals(contents.size(), queue.getSize());
+			var expectedFront = new HashSet<VersionWithObjectiveValue>();
+			for (var version : contents) {
+				if (contents.stream().noneMatch(other -> ParetoFrontQueue.dominates(other.objectiveValue(),
+						version.objectiveValue()))) {
+					expectedFront.add(version);
+				}
+			}
+			assertEquals(expectedFront, new HashSet<>(queue.getFront()));
+			if (!contents.isEmpty()) {
+				assertTrue(expectedFront.contains(queue.getBest()));
+			}
+		}
+	}
+
+	private static VersionWithObjectiveValue createVersion(double value0, double value1) {
+		return new VersionWithObjectiveValue(new Version() {
+		}, ObjectiveValue.of(value0, value1));
+	}
+}
@@ -1,5 +1,5 @@
 /*
- * SPDX-FileCopyrightText: 2021-2023 The Refinery Authors <https://refinery.tools/>
+ * SPDX-FileCopyrightText: 2021-2025 The Refinery Authors <https://refinery.tools/>
  *
  * SPDX-License-Identifier: EPL-2.0
  */
@@ -12,6 +12,7 @@ import tools.refinery.logic.dnf.Query;
 import tools.refinery.store.model.Model;
 import tools.refinery.store.model.ModelListener;
 import tools.refinery.store.query.interpreter.QueryInterpreterAdapter;
+import tools.refinery.store.query.interpreter.internal.localsearch.SearchPlanUpdater;
 import tools.refinery.store.query.resultset.AnyResultSet;
 import tools.refinery.store.query.resultset.ResultSet;
 
@@ -22,6 +23,7 @@ public class QueryInterpreterAdapterImpl implements QueryInterpreterAdapter, Mod
 	private final QueryInterpreterStoreAdapterImpl storeAdapter;
 	private final AdvancedInterpreterEngine queryEngine;
 	private final Map<AnyQuery, AnyResultSet> resultSets;
+	private final SearchPlanUpdater searchPlanUpdater;
 	private boolean pendingChanges;
 
 	QueryInterpreterAdapterImpl(Model model, QueryInterpreterStoreAdapterImpl storeAdapter) {
@@ -31,6 +33,7 @@ public class QueryInterpreterAdapterImpl implements QueryInterpreterAdapter, Mod
 		queryEngine = AdvancedInterpreterEngine.createUnmanagedEngine(scope,
 				storeAdapter.getEngineOptions());
 		resultSets = storeAdapter.getValidatedQueries().instantiate(this, queryEngine);
+		searchPlanUpdater = new SearchPlanUpdater(model, queryEngine, storeAdapter.getSymbolViews());
 		model.addListener(this);
 	}
 
@@ -74,7 +77,10 @@ public class QueryInterpreterAdapterImpl implements QueryInterpreterAdapter, Mod
 	@Override
 	public void flushChanges() {
 		queryEngine.flushChanges();
-		pendingChanges = false;
+		if (pendingChanges) {
+			searchPlanUpdater.update();
+			pendingChanges = false;
+		}
 	}
 
 	@Override
@@ -1,5 +1,5 @@
 /*
- * SPDX-FileCopyrightText: 2021-2023 The Refinery Authors <https://refinery.tools/>
+ * SPDX-FileCopyrightText: 2021-2025 The Refinery Authors <https://refinery.tools/>
  *
  * SPDX-License-Identifier: EPL-2.0
  */
@@ -22,7 +22,7 @@ import tools.refinery.logic.rewriter.*;
 import tools.refinery.store.adapter.AbstractModelAdapterBuilder;
 import tools.refinery.store.model.ModelStore;
 import tools.refinery.store.query.interpreter.QueryInterpreterBuilder;
-import tools.refinery.store.query.interpreter.internal.localsearch.FlatCostFunction;
+import tools.refinery.store.query.interpreter.internal.localsearch.RelationalCostFunction;
 import tools.refinery.store.query.interpreter.internal.matcher.RawPatternMatcher;
 import tools.refinery.store.query.interpreter.internal.pquery.Dnf2PQuery;
 
@@ -33,8 +33,8 @@ public class QueryInterpreterBuilderImpl extends AbstractModelAdapterBuilder<Que
 		implements QueryInterpreterBuilder {
 	private InterpreterEngineOptions.Builder engineOptionsBuilder;
 	private QueryEvaluationHint defaultHint = new QueryEvaluationHint(Map.of(
-			// Use a cost function that ignores the initial (empty) model but allows higher arity input keys.
-			LocalSearchHintOptions.PLANNER_COST_FUNCTION, new FlatCostFunction()
+			// Use a cost function that estimates costs from the model but allows higher arity input keys.
+			LocalSearchHintOptions.PLANNER_COST_FUNCTION, new RelationalCostFunction()
 	), (IQueryBackendFactory) null);
 	private final CompositeRewriter rewriter;
 	private final Dnf2PQuery dnf2PQuery = new Dnf2PQuery();
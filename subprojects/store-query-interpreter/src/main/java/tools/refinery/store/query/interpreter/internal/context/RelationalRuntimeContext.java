@@ -1,5 +1,5 @@
 /*
- * SPDX-FileCopyrightText: 2021-2023 The Refinery Authors <https://refinery.tools/>
+ * SPDX-FileCopyrightText: 2021-2025 The Refinery Authors <https://refinery.tools/>
  *
  * SPDX-License-Identifier: EPL-2.0
  */
@@ -104,7 +104,28 @@ public class RelationalRuntimeContext implements IQueryRuntimeContext {
 
 	@Override
 	public Optional<Long> estimateCardinality(IInputKey key, TupleMask groupMask, Accuracy requiredAccuracy) {
-		return Optional.empty();
+		// Symbol views may filter the entries of their interpretation, so we can only provide upper bounds.
+		if (!Accuracy.BEST_UPPER_BOUND.atLeastAsPreciseAs(requiredAccuracy) ||
+				!(key instanceof SymbolViewWrapper wrapper)) {
+			return Optional.empty();
+		}
+		var symbolView = wrapper.getWrappedKey();
+		if (!modelUpdateListener.containsSymbolView(symbolView)) {
+			return Optional.empty();
+		}
+		var symbol = symbolView.getSymbol();
+		var interpretation = model.getInterpretation(symbol);
+		long size = interpretation.getSize();
+		long cardinality = switch (groupMask.getSize()) {
+			case 0 -> Math.min(size, 1);
+			case 1 -> {
+				int slot = groupMask.indices[0];
+				// Function views have an extra slot for the value, which is not indexed.
+				yield slot < symbol.arity() ? interpretation.getAdjacentNodeCount(slot) : size;
+			}
+			default -> size;
+		};
+		return Optional.of(cardinality);
 	}
 
 	@Override
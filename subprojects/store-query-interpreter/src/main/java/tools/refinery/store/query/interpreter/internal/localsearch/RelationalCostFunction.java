@@ -0,0 +1,80 @@
+/*
+ * SPDX-FileCopyrightText: 2025 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.store.query.interpreter.internal.localsearch;
+
+import tools.refinery.interpreter.localsearch.planner.cost.IConstraintEvaluationContext;
+import tools.refinery.interpreter.localsearch.planner.cost.impl.StatisticsBasedConstraintCostFunction;
+import tools.refinery.interpreter.matchers.context.IInputKey;
+import tools.refinery.interpreter.matchers.psystem.basicenumerables.TypeConstraint;
+import tools.refinery.interpreter.matchers.tuple.TupleMask;
+import tools.refinery.interpreter.matchers.util.Accuracy;
+
+import java.util.Optional;
+
+/**
+ * Estimates the cost of search operations from the sizes of the interpretations and their indexes in the model.
+ * <p>
+ * Statistics are read at planning time, so the {@link SearchPlanUpdater} recomputes the search plans whenever the
+ * size of the model changes considerably.
+ */
+public class RelationalCostFunction extends StatisticsBasedConstraintCostFunction {
+	private static final double CHECK_COST = 0.9;
+
+	public RelationalCostFunction() {
+		// No inverse navigation penalty thanks to relational storage.
+		super(0);
+	}
+
+	@Override
+	public Optional<Long> projectionSize(IConstraintEvaluationContext input, IInputKey supplierKey,
+										 TupleMask groupMask, Accuracy requiredAccuracy) {
+		return input.getRuntimeContext().estimateCardinality(supplierKey, groupMask, requiredAccuracy);
+	}
+
+	@Override
+	protected double _calculateCost(TypeConstraint constraint, IConstraintEvaluationContext input) {
+		int arity = constraint.getSupplierKey().getArity();
+		if (arity == 1 || arity == 2) {
+			return super._calculateCost(constraint, input);
+		}
+		// The superclass only supports unary and binary input keys, but function views and higher arity symbols
+		// also give rise to input keys with other arities.
+		return calculateNaryConstraintCost(constraint, input);
+	}
+
+	private double calculateNaryConstraintCost(TypeConstraint constraint, IConstraintEvaluationContext input) {
+		var freeVariables = input.getFreeVariables();
+		if (freeVariables.isEmpty()) {
+			return CHECK_COST;
+		}
+		if (navigatesThroughFunctionalDependency(input, constraint)) {
+			// At most one value for the free variables.
+			return 1.0;
+		}
+		var supplierKey = constraint.getSupplierKey();
+		int arity = supplierKey.getArity();
+		var optionalSize = projectionSize(input, supplierKey, TupleMask.identity(arity), Accuracy.APPROXIMATION);
+		if (optionalSize.isEmpty()) {
+			return DEFAULT_COST;
+		}
+		double size = optionalSize.get();
+		double cost = size;
+		var variablesTuple = constraint.getVariablesTuple();
+		for (int i = 0; i < arity; i++) {
+			if (freeVariables.contains(variablesTuple.get(i))) {
+				continue;
+			}
+			// Amortize the tuples over the nodes in the bound slot.
+			var nodeCount = projectionSize(input, supplierKey, TupleMask.selectSingle(i, arity),
+					Accuracy.APPROXIMATION);
+			if (nodeCount.isPresent()) {
+				long count = nodeCount.get();
+				cost = Math.min(cost, count == 0 ? 0 : size / count);
+			}
+		}
+		return cost;
+	}
+}
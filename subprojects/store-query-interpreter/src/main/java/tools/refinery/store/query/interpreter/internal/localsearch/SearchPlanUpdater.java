@@ -0,0 +1,69 @@
+/*
+ * SPDX-FileCopyrightText: 2025 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.store.query.interpreter.internal.localsearch;
+
+import tools.refinery.interpreter.api.AdvancedInterpreterEngine;
+import tools.refinery.interpreter.localsearch.matcher.integration.LocalSearchBackend;
+import tools.refinery.interpreter.matchers.backend.IQueryBackendFactory;
+import tools.refinery.store.model.AnyInterpretation;
+import tools.refinery.store.model.Model;
+import tools.refinery.store.query.view.AnySymbolView;
+import tools.refinery.store.representation.AnySymbol;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+/**
+ * Recomputes the local search plans when the size of the model changed considerably since planning.
+ * <p>
+ * Plans are created along with the model, which is usually empty at that time. Since the
+ * {@link RelationalCostFunction} relies on the sizes of the interpretations, plans made for a small model may be
+ * arbitrarily bad for a large one.
+ */
+public class SearchPlanUpdater {
+	private static final long MIN_SIZE_CHANGE = 64;
+	private static final long SIZE_CHANGE_FACTOR = 2;
+
+	private final AdvancedInterpreterEngine queryEngine;
+	private final IQueryBackendFactory searchBackendFactory;
+	private final List<AnyInterpretation> interpretations;
+	private long plannedSize;
+
+	public SearchPlanUpdater(Model model, AdvancedInterpreterEngine queryEngine,
+							 Collection<AnySymbolView> symbolViews) {
+		this.queryEngine = queryEngine;
+		searchBackendFactory = queryEngine.getEngineOptions().getDefaultSearchBackendFactory();
+		var symbols = new LinkedHashSet<AnySymbol>(symbolViews.size());
+		for (var symbolView : symbolViews) {
+			symbols.add(symbolView.getSymbol());
+		}
+		interpretations = symbols.stream()
+				.map(model::getInterpretation)
+				.toList();
+		plannedSize = getModelSize();
+	}
+
+	public void update() {
+		long size = getModelSize();
+		if (Math.abs(size - plannedSize) < MIN_SIZE_CHANGE ||
+				(size < SIZE_CHANGE_FACTOR * plannedSize && plannedSize < SIZE_CHANGE_FACTOR * size)) {
+			return;
+		}
+		plannedSize = size;
+		if (queryEngine.getQueryBackend(searchBackendFactory) instanceof LocalSearchBackend localSearchBackend) {
+			localSearchBackend.recomputePlans();
+		}
+	}
+
+	private long getModelSize() {
+		long size = 0;
+		for (var interpretation : interpretations) {
+			size += interpretation.getSize();
+		}
+		return size;
+	}
+}
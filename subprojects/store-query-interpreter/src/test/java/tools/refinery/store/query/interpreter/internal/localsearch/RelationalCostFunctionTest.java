@@ -0,0 +1,141 @@
+/*
+ * SPDX-FileCopyrightText: 2025 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.store.query.interpreter.internal.localsearch;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import tools.refinery.interpreter.localsearch.planner.cost.IConstraintEvaluationContext;
+import tools.refinery.interpreter.matchers.context.IQueryRuntimeContext;
+import tools.refinery.interpreter.matchers.psystem.PBody;
+import tools.refinery.interpreter.matchers.psystem.PVariable;
+import tools.refinery.interpreter.matchers.psystem.analysis.QueryAnalyzer;
+import tools.refinery.interpreter.matchers.psystem.basicenumerables.TypeConstraint;
+import tools.refinery.interpreter.matchers.psystem.queries.PQuery;
+import tools.refinery.interpreter.matchers.tuple.Tuples;
+import tools.refinery.logic.dnf.Query;
+import tools.refinery.store.model.Interpretation;
+import tools.refinery.store.model.Model;
+import tools.refinery.store.model.ModelStore;
+import tools.refinery.store.query.interpreter.QueryInterpreterAdapter;
+import tools.refinery.store.query.interpreter.internal.QueryInterpreterAdapterImpl;
+import tools.refinery.store.query.interpreter.internal.context.RelationalEngineContext;
+import tools.refinery.store.query.view.AnySymbolView;
+import tools.refinery.store.query.view.KeyOnlyView;
+import tools.refinery.store.representation.Symbol;
+import tools.refinery.store.tuple.Tuple;
+
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RelationalCostFunctionTest {
+	private static final Symbol<Boolean> person = Symbol.of("Person", 1);
+	private static final Symbol<Boolean> friend = Symbol.of("friend", 2);
+	private static final Symbol<Boolean> enemy = Symbol.of("enemy", 2);
+	private static final AnySymbolView personView = new KeyOnlyView<>(person);
+	private static final AnySymbolView friendView = new KeyOnlyView<>(friend);
+	private static final AnySymbolView enemyView = new KeyOnlyView<>(enemy);
+
+	private final RelationalCostFunction costFunction = new RelationalCostFunction();
+	private Model model;
+	private QueryInterpreterAdapterImpl adapter;
+	private IQueryRuntimeContext runtimeContext;
+	private PBody body;
+	private PVariable x;
+	private PVariable y;
+
+	@BeforeEach
+	void beforeEach() {
+		// The store only indexes symbol views that appear in some query.
+		var query = Query.of("Rivals", (builder, p1, p2) -> builder.clause(
+				personView.call(p1),
+				friendView.call(p1, p2),
+				enemyView.call(p1, p2)
+		));
+		var store = ModelStore.builder()
+				.symbols(person, friend, enemy)
+				.with(QueryInterpreterAdapter.builder()
+						.queries(query))
+				.build();
+		model = store.createEmptyModel();
+		adapter = (QueryInterpreterAdapterImpl) model.getAdapter(QueryInterpreterAdapter.class);
+		runtimeContext = new RelationalEngineContext(adapter).getQueryRuntimeContext();
+		body = new PBody(mock(PQuery.class));
+		x = body.getOrCreateVariableByName("x");
+		y = body.getOrCreateVariableByName("y");
+	}
+
+	@AfterEach
+	void afterEach() {
+		model.close();
+	}
+
+	@Test
+	void unaryConstraintCostTest() {
+		var personInterpretation = model.getInterpretation(person);
+		for (int i = 0; i < 3; i++) {
+			personInterpretation.put(Tuple.of(i), true);
+		}
+		assertThat(getCost(personView, Set.of(), x), is(4.0));
+		assertThat(getCost(personView, Set.of(x), x), is(0.9));
+	}
+
+	@Test
+	void ordersByCurrentSizesTest() {
+		var friendInterpretation = model.getInterpretation(friend);
+		var enemyInterpretation = model.getInterpretation(enemy);
+		addEdges(friendInterpretation, 10);
+		addEdges(enemyInterpretation, 2);
+		assertThat(getCost(friendView, Set.of(), x, y), is(10.0));
+		assertThat(getCost(enemyView, Set.of(), x, y), is(2.0));
+		assertThat(getCost(enemyView, Set.of(), x, y), lessThan(getCost(friendView, Set.of(), x, y)));
+
+		// Statistics are read at planning time, so growing the model changes the preferred order.
+		addEdges(enemyInterpretation, 20);
+		assertThat(getCost(enemyView, Set.of(), x, y), is(22.0));
+		assertThat(getCost(friendView, Set.of(), x, y), lessThan(getCost(enemyView, Set.of(), x, y)));
+	}
+
+	@Test
+	void amortizedBinaryConstraintCostTest() {
+		var friendInterpretation = model.getInterpretation(friend);
+		// Node 0 has 6 friends, and nodes 1 and 2 have a single friend each.
+		for (int i = 1; i <= 6; i++) {
+			friendInterpretation.put(Tuple.of(0, i), true);
+		}
+		friendInterpretation.put(Tuple.of(1, 0), true);
+		friendInterpretation.put(Tuple.of(2, 0), true);
+		// 8 edges amortized over the 3 source nodes.
+		assertThat(getCost(friendView, Set.of(x), x, y), closeTo(8.0 / 3, 1e-9));
+	}
+
+	private static void addEdges(Interpretation<Boolean> interpretation, int count) {
+		int start = (int) interpretation.getSize();
+		for (int i = start; i < start + count; i++) {
+			interpretation.put(Tuple.of(i, i + 1), true);
+		}
+	}
+
+	private double getCost(AnySymbolView symbolView, Set<PVariable> boundVariables, PVariable... variables) {
+		var inputKey = adapter.getStoreAdapter().getInputKeys().get(symbolView);
+		var constraint = new TypeConstraint(body, Tuples.flatTupleOf((Object[]) variables), inputKey);
+		var freeVariables = Stream.of(variables)
+				.filter(variable -> !boundVariables.contains(variable))
+				.toList();
+		var input = mock(IConstraintEvaluationContext.class);
+		when(input.getConstraint()).thenReturn(constraint);
+		when(input.getFreeVariables()).thenReturn(freeVariables);
+		when(input.getBoundVariables()).thenReturn(boundVariables);
+		when(input.getRuntimeContext()).thenReturn(runtimeContext);
+		when(input.getQueryAnalyzer()).thenReturn(new QueryAnalyzer(runtimeContext.getMetaContext()));
+		return costFunction.apply(input);
+	}
+}
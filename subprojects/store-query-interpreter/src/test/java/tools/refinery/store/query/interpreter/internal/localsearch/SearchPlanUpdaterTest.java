@@ -0,0 +1,107 @@
+/*
+ * SPDX-FileCopyrightText: 2025 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.store.query.interpreter.internal.localsearch;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import tools.refinery.interpreter.api.AdvancedInterpreterEngine;
+import tools.refinery.interpreter.api.InterpreterEngineOptions;
+import tools.refinery.interpreter.localsearch.matcher.integration.LocalSearchBackend;
+import tools.refinery.store.model.Interpretation;
+import tools.refinery.store.model.Model;
+import tools.refinery.store.model.ModelStore;
+import tools.refinery.store.query.view.AnySymbolView;
+import tools.refinery.store.query.view.FilteredView;
+import tools.refinery.store.query.view.KeyOnlyView;
+import tools.refinery.store.representation.Symbol;
+import tools.refinery.store.tuple.Tuple;
+
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+
+class SearchPlanUpdaterTest {
+	private static final Symbol<Integer> friend = Symbol.of("friend", 2, Integer.class, 0);
+	private static final AnySymbolView friendView = new KeyOnlyView<>(friend);
+	private static final AnySymbolView closeFriendView = new FilteredView<>(friend, value -> value > 1);
+
+	private Model model;
+	private Interpretation<Integer> friendInterpretation;
+	private LocalSearchBackend localSearchBackend;
+	private SearchPlanUpdater searchPlanUpdater;
+
+	@BeforeEach
+	void beforeEach() {
+		var store = ModelStore.builder()
+				.symbols(friend)
+				.build();
+		model = store.createEmptyModel();
+		friendInterpretation = model.getInterpretation(friend);
+		localSearchBackend = mock(LocalSearchBackend.class);
+		var queryEngine = mock(AdvancedInterpreterEngine.class);
+		when(queryEngine.getEngineOptions()).thenReturn(InterpreterEngineOptions.getDefault());
+		when(queryEngine.getQueryBackend(any())).thenReturn(localSearchBackend);
+		// Both views read the same interpretation, which must be only counted once.
+		searchPlanUpdater = new SearchPlanUpdater(model, queryEngine, List.of(friendView, closeFriendView));
+	}
+
+	@AfterEach
+	void afterEach() {
+		model.close();
+	}
+
+	@Test
+	void smallChangeTest() {
+		resize(63);
+		searchPlanUpdater.update();
+		verify(localSearchBackend, never()).recomputePlans();
+	}
+
+	@Test
+	void growthTest() {
+		resize(64);
+		searchPlanUpdater.update();
+		verify(localSearchBackend, times(1)).recomputePlans();
+		resize(127);
+		searchPlanUpdater.update();
+		verify(localSearchBackend, times(1)).recomputePlans();
+		resize(128);
+		searchPlanUpdater.update();
+		verify(localSearchBackend, times(2)).recomputePlans();
+	}
+
+	@Test
+	void shrinkTest() {
+		resize(256);
+		searchPlanUpdater.update();
+		verify(localSearchBackend, times(1)).recomputePlans();
+		resize(129);
+		searchPlanUpdater.update();
+		verify(localSearchBackend, times(1)).recomputePlans();
+		resize(128);
+		searchPlanUpdater.update();
+		verify(localSearchBackend, times(2)).recomputePlans();
+	}
+
+	@Test
+	void updateWithoutChangeTest() {
+		resize(100);
+		searchPlanUpdater.update();
+		searchPlanUpdater.update();
+		verify(localSearchBackend, times(1)).recomputePlans();
+	}
+
+	private void resize(int size) {
+		int currentSize = (int) friendInterpretation.getSize();
+		for (int i = currentSize; i < size; i++) {
+			friendInterpretation.put(Tuple.of(i, i + 1), 2);
+		}
+		for (int i = currentSize - 1; i >= size; i--) {
+			friendInterpretation.put(Tuple.of(i, i + 1), 0);
+		}
+	}
+}
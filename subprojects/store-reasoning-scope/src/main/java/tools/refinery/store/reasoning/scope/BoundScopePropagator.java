@@ -1,5 +1,5 @@
 /*
- * SPDX-FileCopyrightText: 2023-2024 The Refinery Authors <https://refinery.tools/>
+ * SPDX-FileCopyrightText: 2023-2025 The Refinery Authors <https://refinery.tools/>
  *
  * SPDX-License-Identifier: EPL-2.0
  */
@@ -8,11 +8,14 @@ package tools.refinery.store.reasoning.scope;
 import com.google.ortools.linearsolver.MPConstraint;
 import com.google.ortools.linearsolver.MPObjective;
 import com.google.ortools.linearsolver.MPSolver;
+import com.google.ortools.linearsolver.MPSolverParameters;
 import com.google.ortools.linearsolver.MPVariable;
 import org.eclipse.collections.api.factory.primitive.IntObjectMaps;
 import org.eclipse.collections.api.factory.primitive.IntSets;
 import org.eclipse.collections.api.map.primitive.MutableIntObjectMap;
+import org.eclipse.collections.api.set.primitive.IntSet;
 import org.eclipse.collections.api.set.primitive.MutableIntSet;
+import org.jetbrains.annotations.Nullable;
 import tools.refinery.logic.term.cardinalityinterval.CardinalityInterval;
 import tools.refinery.logic.term.cardinalityinterval.CardinalityIntervals;
 import tools.refinery.logic.term.uppercardinality.FiniteUpperCardinality;
@@ -22,12 +25,29 @@ import tools.refinery.logic.term.uppercardinality.UpperCardinality;
 import tools.refinery.store.dse.propagation.BoundPropagator;
 import tools.refinery.store.dse.propagation.PropagationRejectedResult;
 import tools.refinery.store.dse.propagation.PropagationResult;
+import tools.refinery.store.map.Version;
 import tools.refinery.store.model.Interpretation;
 import tools.refinery.store.model.Model;
 import tools.refinery.store.model.ModelListener;
 import tools.refinery.store.query.ModelQueryAdapter;
 import tools.refinery.store.tuple.Tuple;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+/**
+ * Propagates the multiplicities of multi-objects by solving linear programs over the type scope constraints.
+ * <p>
+ * The linear program is kept in a single {@link MPSolver} and only the bounds and coefficients that changed are
+ * updated, so that the solver can warm-start from the previous basis. The minimum and maximum of a variable is only
+ * recomputed if it is coupled by some constraint to a changed variable or constraint. Components of the constraint
+ * graph with a single constraint are propagated by {@link IntervalScopePropagator} without calling the solver at
+ * all. Model versions committed at a fixed point of propagation are remembered, and restoring them does not trigger
+ * any solving.
+ */
 class BoundScopePropagator implements BoundPropagator, ModelListener {
 	private final Model model;
 	private final ModelQueryAdapter queryEngine;
@@ -35,20 +55,44 @@ class BoundScopePropagator implements BoundPropagator, ModelListener {
 	private final Interpretation<CardinalityInterval> countInterpretation;
 	private final MPSolver solver;
 	private final MPObjective objective;
+	private final MPSolverParameters solverParameters;
 	private final MutableIntObjectMap<MPVariable> variables = IntObjectMaps.mutable.empty();
 	private final MutableIntSet activeVariables = IntSets.mutable.empty();
+	private final MutableIntSet changedNodeIds = IntSets.mutable.empty();
 	private final TypeScopePropagator[] propagators;
+	private final IntervalScopePropagator intervalPropagator = new IntervalScopePropagator(variables);
+	private final boolean intervalArithmetic;
+	private final Set<Version> propagatedVersions = Collections.newSetFromMap(new WeakHashMap<>());
 	private boolean changed = true;
+	private boolean rejected;
 	private boolean disposed;
 
 	public BoundScopePropagator(Model model, ScopePropagator scopePropagator) {
+		this(model, scopePropagator, true);
+	}
+
+	/**
+	 * Creates a propagator that may skip the interval arithmetic layer and solve every component with the LP solver.
+	 * <p>
+	 * This is only useful to check the results of {@link IntervalScopePropagator} in tests.
+	 *
+	 * @param model              The model to propagate.
+	 * @param scopePropagator    The scope configuration.
+	 * @param intervalArithmetic {@code false} to always call the LP solver.
+	 */
+	BoundScopePropagator(Model model, ScopePropagator scopePropagator, boolean intervalArithmetic) {
 		this.model = model;
+		this.intervalArithmetic = intervalArithmetic;
 		queryEngine = model.getAdapter(ModelQueryAdapter.class);
 		this.scopePropagator = scopePropagator;
 		countInterpretation = model.getInterpretation(scopePropagator.getCountSymbol());
 		solver = MPSolver.createSolver("GLOP");
+		solverParameters = new MPSolverParameters();
 		try {
 			solver.suppressOutput();
+			// Reuse the basis of the previous solution when only bounds and objective coefficients changed.
+			solverParameters.setIntegerParam(MPSolverParameters.IntegerParam.INCREMENTALITY,
+					MPSolverParameters.IncrementalityValues.INCREMENTALITY_ON.swigValue());
 			objective = solver.objective();
 			initializeVariables();
 			countInterpretation.addListener(this::countChanged, true);
@@ -59,6 +103,7 @@ class BoundScopePropagator implements BoundPropagator, ModelListener {
 				propagators[i] = propagatorFactories.get(i).createPropagator(this);
 			}
 		} catch (RuntimeException e) {
+			solverParameters.delete();
 			solver.delete();
 			throw e;
 		}
@@ -86,6 +131,7 @@ class BoundScopePropagator implements BoundPropagator, ModelListener {
 		double upperBound = getUpperBound(interval);
 		var variable = solver.makeNumVar(lowerBound, upperBound, "x" + nodeId);
 		variables.put(nodeId, variable);
+		changedNodeIds.add(nodeId);
 		return variable;
 	}
 
@@ -114,11 +160,11 @@ class BoundScopePropagator implements BoundPropagator, ModelListener {
 		double upperBound = getUpperBound(toValue);
 		if (variable.lb() != lowerBound) {
 			variable.setLb(lowerBound);
-			markAsChanged();
+			markAsChanged(nodeId);
 		}
 		if (variable.ub() != upperBound) {
 			variable.setUb(upperBound);
-			markAsChanged();
+			markAsChanged(nodeId);
 		}
 	}
 
@@ -134,7 +180,7 @@ class BoundScopePropagator implements BoundPropagator, ModelListener {
 			// the variable corresponding to the (previous) multi-object has to stand in for a single object.
 			variable.setBounds(1, 1);
 		}
-		markAsChanged();
+		markAsChanged(nodeId);
 	}
 
 	MPConstraint makeConstraint() {
@@ -160,6 +206,11 @@ class BoundScopePropagator implements BoundPropagator, ModelListener {
 		changed = true;
 	}
 
+	private void markAsChanged(int nodeId) {
+		changedNodeIds.add(nodeId);
+		markAsChanged();
+	}
+
 	@Override
 	public PropagationResult propagateOne() {
 		PropagationResult result = PropagationResult.UNCHANGED;
@@ -180,6 +231,12 @@ class BoundScopePropagator implements BoundPropagator, ModelListener {
 			return PropagationResult.UNCHANGED;
 		}
 		changed = false;
+		var result = propagateAffectedNodes();
+		rejected = result.isRejected();
+		return result;
+	}
+
+	private PropagationResult propagateAffectedNodes() {
 		for (var propagator : propagators) {
 			model.checkCancelled();
 			if (!propagator.updateBounds()) {
@@ -193,27 +250,135 @@ class BoundScopePropagator implements BoundPropagator, ModelListener {
 			}
 		}
 		var result = PropagationResult.UNCHANGED;
-		if (activeVariables.isEmpty()) {
-			return checkEmptiness();
+		for (var component : getAffectedComponents()) {
+			model.checkCancelled();
+			result = result.andThen(propagateComponent(component));
+			if (result.isRejected()) {
+				return result;
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Collects the connected components of the constraint graph whose bounds may have changed since the last
+	 * propagation.
+	 * <p>
+	 * The bounds of a node only depend on the constraints in the connected component that contains it, so only
+	 * components with a changed constraint or a changed variable have to be propagated again. A variable that appears
+	 * in no constraint is bounded only by its own interval, which is already stored in the model.
+	 *
+	 * @return The affected components.
+	 */
+	private List<Component> getAffectedComponents() {
+		var components = new ArrayList<Component>();
+		var visited = new boolean[propagators.length];
+		for (int i = 0; i < propagators.length; i++) {
+			var propagator = propagators[i];
+			if (!visited[i] && (propagator.isConstraintChanged() || propagator.containsAnyNode(changedNodeIds))) {
+				components.add(collectComponent(i, visited));
+			}
+		}
+		changedNodeIds.clear();
+		for (var propagator : propagators) {
+			propagator.clearConstraintChanged();
+		}
+		return components;
+	}
+
+	private Component collectComponent(int start, boolean[] visited) {
+		var members = new ArrayList<TypeScopePropagator>();
+		var nodeIds = IntSets.mutable.empty();
+		visited[start] = true;
+		members.add(propagators[start]);
+		nodeIds.addAll(propagators[start].getNodeIds());
+		boolean grown;
+		do {
+			grown = false;
+			for (int i = 0; i < propagators.length; i++) {
+				var propagator = propagators[i];
+				if (!visited[i] && propagator.containsAnyNode(nodeIds)) {
+					visited[i] = true;
+					members.add(propagator);
+					nodeIds.addAll(propagator.getNodeIds());
+					grown = true;
+				}
+			}
+		} while (grown);
+		return new Component(members, nodeIds);
+	}
+
+	private PropagationResult propagateComponent(Component component) {
+		if (intervalArithmetic) {
+			var result = propagateComponentByIntervals(component);
+			if (result != null) {
+				return result;
+			}
+		}
+		return propagateComponentBySolver(component);
+	}
+
+	private @Nullable PropagationResult propagateComponentByIntervals(Component component) {
+		var members = component.propagators();
+		var sums = new IntervalScopePropagator.Sums[members.size()];
+		for (int i = 0; i < sums.length; i++) {
+			sums[i] = intervalPropagator.computeSums(members.get(i));
+			if (!sums[i].isSatisfiable()) {
+				return createRejectedResult();
+			}
 		}
+		if (sums.length == 1) {
+			// Interval arithmetic is exact for a single constraint, so there is no need to call the LP solver.
+			return propagateExactly(sums[0]);
+		}
+		if (intervalPropagator.isFixed(component.nodeIds())) {
+			// Each constraint is satisfied by the fixed values of its variables, and no bounds can be refined.
+			return PropagationResult.UNCHANGED;
+		}
+		// The component must be propagated by the LP solver.
+		return null;
+	}
+
+	private PropagationResult propagateComponentBySolver(Component component) {
+		var result = PropagationResult.UNCHANGED;
+		boolean solved = false;
 		var iterator = activeVariables.intIterator();
 		while (iterator.hasNext()) {
 			int nodeId = iterator.next();
+			if (!component.nodeIds().contains(nodeId)) {
+				continue;
+			}
 			var variable = variables.get(nodeId);
 			if (variable == null) {
 				throw new AssertionError("Missing active variable: " + nodeId);
 			}
+			solved = true;
 			result = result.andThen(propagateNode(nodeId, variable));
 			if (result.isRejected()) {
 				return result;
 			}
 		}
+		if (!solved) {
+			return checkEmptiness();
+		}
+		return result;
+	}
+
+	private PropagationResult propagateExactly(IntervalScopePropagator.Sums sums) {
+		var result = PropagationResult.UNCHANGED;
+		var iterator = activeVariables.intIterator();
+		while (iterator.hasNext()) {
+			int nodeId = iterator.next();
+			if (sums.propagator().getNodeIds().contains(nodeId)) {
+				result = result.andThen(updateInterval(nodeId, intervalPropagator.getExactBounds(sums, nodeId)));
+			}
+		}
 		return result;
 	}
 
 	private PropagationResult checkEmptiness() {
 		model.checkCancelled();
-		var emptinessCheckingResult = solver.solve();
+		var emptinessCheckingResult = solver.solve(solverParameters);
 		return switch (emptinessCheckingResult) {
 			case OPTIMAL, UNBOUNDED -> PropagationResult.UNCHANGED;
 			case ABNORMAL, INFEASIBLE -> createRejectedResult();
@@ -226,7 +391,7 @@ class BoundScopePropagator implements BoundPropagator, ModelListener {
 		try {
 			model.checkCancelled();
 			objective.setMinimization();
-			var minimizationResult = solver.solve();
+			var minimizationResult = solver.solve(solverParameters);
 			int lowerBound;
 			switch (minimizationResult) {
 			case OPTIMAL -> lowerBound = RoundingUtil.roundUp(objective.value());
@@ -238,9 +403,16 @@ class BoundScopePropagator implements BoundPropagator, ModelListener {
 					.formatted(variable, minimizationResult));
 			}
 
+			if (minimizationResult == MPSolver.ResultStatus.OPTIMAL && objective.value() >= variable.ub()) {
+				// The minimum is already at the upper bound of the variable, so there is no need to solve for the
+				// maximum.
+				return updateInterval(nodeId, CardinalityIntervals.between(lowerBound,
+						UpperCardinalities.atMost(lowerBound)));
+			}
+
 			model.checkCancelled();
 			objective.setMaximization();
-			var maximizationResult = solver.solve();
+			var maximizationResult = solver.solve(solverParameters);
 			UpperCardinality upperBound;
 			switch (maximizationResult) {
 			case OPTIMAL -> upperBound = UpperCardinalities.atMost(RoundingUtil.roundDown(objective.value()));
@@ -251,19 +423,22 @@ class BoundScopePropagator implements BoundPropagator, ModelListener {
 					.formatted(variable, minimizationResult));
 			}
 
-			var newInterval = CardinalityIntervals.between(lowerBound, upperBound);
-			var oldInterval = countInterpretation.put(Tuple.of(nodeId), newInterval);
-			if (newInterval.lowerBound() < oldInterval.lowerBound() ||
-					newInterval.upperBound().compareTo(oldInterval.upperBound()) > 0) {
-				throw new IllegalArgumentException("Failed to refine multiplicity %s of node %d to %s"
-						.formatted(oldInterval, nodeId, newInterval));
-			}
-			return newInterval.equals(oldInterval) ? PropagationResult.UNCHANGED : PropagationResult.PROPAGATED;
+			return updateInterval(nodeId, CardinalityIntervals.between(lowerBound, upperBound));
 		} finally {
 			objective.setCoefficient(variable, 0);
 		}
 	}
 
+	private PropagationResult updateInterval(int nodeId, CardinalityInterval newInterval) {
+		var oldInterval = countInterpretation.put(Tuple.of(nodeId), newInterval);
+		if (newInterval.lowerBound() < oldInterval.lowerBound() ||
+				newInterval.upperBound().compareTo(oldInterval.upperBound()) > 0) {
+			throw new IllegalArgumentException("Failed to refine multiplicity %s of node %d to %s"
+					.formatted(oldInterval, nodeId, newInterval));
+		}
+		return newInterval.equals(oldInterval) ? PropagationResult.UNCHANGED : PropagationResult.PROPAGATED;
+	}
+
 	@Override
 	public PropagationResult checkConcretization() {
 		for (var propagator : propagators) {
@@ -294,6 +469,30 @@ class BoundScopePropagator implements BoundPropagator, ModelListener {
 		}
 	}
 
+	@Override
+	public void afterCommit() {
+		if (!disposed && !changed && !rejected && !queryEngine.hasPendingChanges()) {
+			propagatedVersions.add(model.getState());
+		}
+	}
+
+	@Override
+	public void afterRestore() {
+		if (disposed || !propagatedVersions.contains(model.getState())) {
+			return;
+		}
+		// Bring the constraints up-to-date with the restored state. Because the state was committed at a fixed point
+		// of propagation, the intervals in the model are already the optimal bounds, and there is nothing to solve.
+		queryEngine.flushChanges();
+		for (var propagator : propagators) {
+			propagator.updateBounds();
+			propagator.clearConstraintChanged();
+		}
+		changedNodeIds.clear();
+		changed = false;
+		rejected = false;
+	}
+
 	@Override
 	public void beforeClose() {
 		if (solver == null || disposed) {
@@ -306,7 +505,11 @@ class BoundScopePropagator implements BoundPropagator, ModelListener {
 		for (var variable : variables.values()) {
 			variable.delete();
 		}
+		solverParameters.delete();
 		solver.delete();
 		disposed = true;
 	}
+
+	private record Component(List<TypeScopePropagator> propagators, IntSet nodeIds) {
+	}
 }
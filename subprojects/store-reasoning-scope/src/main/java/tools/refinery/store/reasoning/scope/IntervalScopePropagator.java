@@ -0,0 +1,115 @@
+/*
+ * SPDX-FileCopyrightText: 2025 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.store.reasoning.scope;
+
+import com.google.ortools.linearsolver.MPVariable;
+import org.eclipse.collections.api.map.primitive.MutableIntObjectMap;
+import org.eclipse.collections.api.set.primitive.IntSet;
+import tools.refinery.logic.term.cardinalityinterval.CardinalityInterval;
+import tools.refinery.logic.term.cardinalityinterval.CardinalityIntervals;
+import tools.refinery.logic.term.uppercardinality.UpperCardinalities;
+
+/**
+ * Interval arithmetic over the sums in type scope constraints.
+ * <p>
+ * Each type scope constraint bounds the sum of the multiplicities of some multi-objects. Interval arithmetic can
+ * always detect when the bounds of the multi-objects make a single constraint unsatisfiable. If a multi-object appears
+ * in only a single constraint, the bounds computed by interval arithmetic are also exactly the bounds the LP solver
+ * would find, so the solver is only needed when several constraints share some multi-objects.
+ */
+final class IntervalScopePropagator {
+	private final MutableIntObjectMap<MPVariable> variables;
+
+	IntervalScopePropagator(MutableIntObjectMap<MPVariable> variables) {
+		this.variables = variables;
+	}
+
+	public Sums computeSums(TypeScopePropagator propagator) {
+		double lowerBoundSum = 0;
+		double finiteUpperBoundSum = 0;
+		int unboundedCount = 0;
+		var iterator = propagator.getNodeIds().intIterator();
+		while (iterator.hasNext()) {
+			var variable = getVariable(iterator.next());
+			lowerBoundSum += variable.lb();
+			double upperBound = variable.ub();
+			if (upperBound == Double.POSITIVE_INFINITY) {
+				unboundedCount++;
+			} else {
+				finiteUpperBoundSum += upperBound;
+			}
+		}
+		return new Sums(propagator, lowerBoundSum, finiteUpperBoundSum, unboundedCount);
+	}
+
+	public boolean isFixed(IntSet nodeIds) {
+		var iterator = nodeIds.intIterator();
+		while (iterator.hasNext()) {
+			var variable = getVariable(iterator.next());
+			if (variable.lb() != variable.ub()) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Computes the bounds of a multi-object that appears only in a single constraint.
+	 *
+	 * @param sums   The sums of the bounds of the variables in the constraint.
+	 * @param nodeId The node id of the multi-object.
+	 * @return The new multiplicity of the node.
+	 */
+	public CardinalityInterval getExactBounds(Sums sums, int nodeId) {
+		var variable = getVariable(nodeId);
+		double lowerBound = variable.lb();
+		double upperBound = variable.ub();
+		double otherLowerBoundSum = sums.lowerBoundSum() - lowerBound;
+		double otherUpperBoundSum;
+		if (upperBound == Double.POSITIVE_INFINITY) {
+			otherUpperBoundSum = sums.unboundedCount() > 1 ? Double.POSITIVE_INFINITY :
+					sums.finiteUpperBoundSum();
+		} else {
+			otherUpperBoundSum = sums.unboundedCount() > 0 ? Double.POSITIVE_INFINITY :
+					sums.finiteUpperBoundSum() - upperBound;
+		}
+		var constraint = sums.propagator().constraint;
+		double minimum = Math.max(lowerBound, constraint.lb() - otherUpperBoundSum);
+		double maximum = Math.min(upperBound, constraint.ub() - otherLowerBoundSum);
+		int newLowerBound = RoundingUtil.roundUp(minimum);
+		if (maximum == Double.POSITIVE_INFINITY) {
+			return CardinalityIntervals.atLeast(newLowerBound);
+		}
+		return CardinalityIntervals.between(newLowerBound, UpperCardinalities.atMost(RoundingUtil.roundDown(maximum)));
+	}
+
+	private MPVariable getVariable(int nodeId) {
+		var variable = variables.get(nodeId);
+		if (variable == null) {
+			throw new AssertionError("Missing variable: " + nodeId);
+		}
+		return variable;
+	}
+
+	public record Sums(TypeScopePropagator propagator, double lowerBoundSum, double finiteUpperBoundSum,
+					   int unboundedCount) {
+		/**
+		 * Checks whether the constraint can be satisfied within the bounds of its variables.
+		 * <p>
+		 * Together with checking that the bounds of each variable are consistent, this decides the satisfiability of
+		 * the constraint exactly.
+		 *
+		 * @return {@code true} if the constraint is satisfiable.
+		 */
+		public boolean isSatisfiable() {
+			var constraint = propagator.constraint;
+			if (lowerBoundSum > constraint.ub()) {
+				return false;
+			}
+			return unboundedCount > 0 || finiteUpperBoundSum >= constraint.lb();
+		}
+	}
+}
@@ -1,5 +1,5 @@
 /*
- * SPDX-FileCopyrightText: 2023 The Refinery Authors <https://refinery.tools/>
+ * SPDX-FileCopyrightText: 2023-2025 The Refinery Authors <https://refinery.tools/>
  *
  * SPDX-License-Identifier: EPL-2.0
  */
@@ -22,6 +22,7 @@ public class ScopePropagator implements ModelStoreConfiguration {
 	private final Symbol<CardinalityInterval> countSymbol;
 	private final Map<PartialRelation, CardinalityInterval> scopes = new LinkedHashMap<>();
 	private final List<TypeScopePropagator.Factory> typeScopePropagatorFactories = new ArrayList<>();
+	private boolean intervalArithmetic = true;
 
 	public ScopePropagator() {
 		this(MultiObjectTranslator.COUNT_STORAGE);
@@ -65,6 +66,18 @@ public class ScopePropagator implements ModelStoreConfiguration {
 		return this;
 	}
 
+	/**
+	 * Disables the interval arithmetic shortcut of the propagator so that all bounds are computed by the LP solver.
+	 * <p>
+	 * Only used in tests to compare the results of the two methods.
+	 *
+	 * @return This scope propagator.
+	 */
+	ScopePropagator withoutIntervalArithmetic() {
+		intervalArithmetic = false;
+		return this;
+	}
+
 	@Override
 	public void apply(ModelStoreBuilder storeBuilder) {
 		createTypeScopePropagatorFactories();
@@ -73,7 +86,7 @@ public class ScopePropagator implements ModelStoreConfiguration {
 			factory.configure(storeBuilder);
 		}
 		storeBuilder.getAdapter(PropagationBuilder.class)
-				.propagator(model -> new BoundScopePropagator(model, this));
+				.propagator(model -> new BoundScopePropagator(model, this, intervalArithmetic));
 	}
 
 	private void createTypeScopePropagatorFactories() {
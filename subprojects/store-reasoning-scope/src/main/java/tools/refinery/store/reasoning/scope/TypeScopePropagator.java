@@ -6,6 +6,9 @@
 package tools.refinery.store.reasoning.scope;
 
 import com.google.ortools.linearsolver.MPConstraint;
+import org.eclipse.collections.api.factory.primitive.IntSets;
+import org.eclipse.collections.api.set.primitive.IntSet;
+import org.eclipse.collections.api.set.primitive.MutableIntSet;
 import tools.refinery.logic.dnf.AnyQuery;
 import tools.refinery.logic.dnf.RelationalQuery;
 import tools.refinery.store.dse.transition.objectives.Criterion;
@@ -25,6 +28,8 @@ abstract class TypeScopePropagator {
 	private final CriterionCalculator acceptCalculator;
 	private final PartialRelation type;
 	protected final MPConstraint constraint;
+	private final MutableIntSet nodeIds = IntSets.mutable.empty();
+	private boolean constraintChanged = true;
 	private String unsatisfiableMessage;
 	private String notSatisfiedMessage;
 
@@ -40,8 +45,10 @@ abstract class TypeScopePropagator {
 		constraint.setBounds(0, Double.POSITIVE_INFINITY);
 		var cursor = multiNodes.getAll();
 		while (cursor.move()) {
-			var variable = adapter.getVariable(cursor.getKey().get(0));
+			int nodeId = cursor.getKey().get(0);
+			var variable = adapter.getVariable(nodeId);
 			constraint.setCoefficient(variable, 1);
+			nodeIds.add(nodeId);
 		}
 		allNodes.addListener(this::allChanged);
 		multiNodes.addListener(this::multiChanged);
@@ -50,8 +57,54 @@ abstract class TypeScopePropagator {
 	protected abstract void doUpdateBounds();
 
 	public boolean updateBounds() {
+		double oldLowerBound = constraint.lb();
+		double oldUpperBound = constraint.ub();
 		doUpdateBounds();
-		return constraint.lb() <= constraint.ub();
+		double lowerBound = constraint.lb();
+		double upperBound = constraint.ub();
+		if (oldLowerBound != lowerBound || oldUpperBound != upperBound) {
+			constraintChanged = true;
+		}
+		return lowerBound <= upperBound;
+	}
+
+	/**
+	 * Determines whether the bounds or the variables of the constraint changed since the last call to
+	 * {@link #clearConstraintChanged()}.
+	 *
+	 * @return {@code true} if the constraint has changed.
+	 */
+	public boolean isConstraintChanged() {
+		return constraintChanged;
+	}
+
+	public void clearConstraintChanged() {
+		constraintChanged = false;
+	}
+
+	/**
+	 * Gets the nodes whose variables appear in the constraint.
+	 *
+	 * @return The node ids of the multi-objects of the type.
+	 */
+	public IntSet getNodeIds() {
+		return nodeIds;
+	}
+
+	public boolean containsAnyNode(IntSet otherNodeIds) {
+		IntSet smaller = nodeIds;
+		IntSet larger = otherNodeIds;
+		if (smaller.size() > larger.size()) {
+			smaller = otherNodeIds;
+			larger = nodeIds;
+		}
+		var iterator = smaller.intIterator();
+		while (iterator.hasNext()) {
+			if (larger.contains(iterator.next())) {
+				return true;
+			}
+		}
+		return false;
 	}
 
 	public abstract String getName();
@@ -87,8 +140,16 @@ abstract class TypeScopePropagator {
 	}
 
 	private void multiChanged(Tuple key, Boolean ignoredOldValue, Boolean newValue) {
-		var variable = adapter.getVariable(key.get(0));
-		constraint.setCoefficient(variable, Boolean.TRUE.equals(newValue) ? 1 : 0);
+		int nodeId = key.get(0);
+		var variable = adapter.getVariable(nodeId);
+		if (Boolean.TRUE.equals(newValue)) {
+			constraint.setCoefficient(variable, 1);
+			nodeIds.add(nodeId);
+		} else {
+			constraint.setCoefficient(variable, 0);
+			nodeIds.remove(nodeId);
+		}
+		constraintChanged = true;
 		adapter.markAsChanged();
 	}
 
@@ -0,0 +1,145 @@
+/*
+ * SPDX-FileCopyrightText: 2025 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.store.reasoning.scope;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import tools.refinery.logic.term.cardinalityinterval.CardinalityInterval;
+import tools.refinery.logic.term.cardinalityinterval.CardinalityIntervals;
+import tools.refinery.logic.term.truthvalue.TruthValue;
+import tools.refinery.store.dse.propagation.PropagationAdapter;
+import tools.refinery.store.dse.propagation.PropagationRejectedException;
+import tools.refinery.store.model.Model;
+import tools.refinery.store.model.ModelStore;
+import tools.refinery.store.query.interpreter.QueryInterpreterAdapter;
+import tools.refinery.store.reasoning.ReasoningAdapter;
+import tools.refinery.store.reasoning.ReasoningStoreAdapter;
+import tools.refinery.store.reasoning.representation.PartialRelation;
+import tools.refinery.store.reasoning.seed.ModelSeed;
+import tools.refinery.store.reasoning.translator.PartialRelationTranslator;
+import tools.refinery.store.reasoning.translator.multiobject.MultiObjectTranslator;
+import tools.refinery.store.representation.Symbol;
+import tools.refinery.store.tuple.Tuple;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+/**
+ * Checks that the interval arithmetic shortcut of {@link BoundScopePropagator} computes the same bounds as the LP
+ * solver on the fixtures of {@link MultiObjectTest}.
+ */
+class IntervalScopePropagatorTest {
+	private static final PartialRelation person = new PartialRelation("Person", 1);
+
+	@ParameterizedTest(name = "scope = {0}, nodeCount = {1}, counts = {2}")
+	@MethodSource
+	void sameAsSolverTest(CardinalityInterval scope, int nodeCount, Map<Integer, CardinalityInterval> counts) {
+		var seed = createSeed(nodeCount, counts);
+		var expected = propagate(createStore(new ScopePropagator().withoutIntervalArithmetic().scope(person, scope)),
+				seed, nodeCount);
+		var actual = propagate(createStore(new ScopePropagator().scope(person, scope)), seed, nodeCount);
+		assertThat(actual, is(expected));
+	}
+
+	static Stream<Arguments> sameAsSolverTest() {
+		// Lower and upper bounds for the same type produce two constraints over the same nodes, which are always
+		// solved by the LP solver. One-sided scopes produce a single constraint, which is propagated by intervals.
+		var scopes = List.of(CardinalityIntervals.atLeast(5), CardinalityIntervals.atMost(15),
+				CardinalityIntervals.between(5, 15));
+		var fixtures = List.of(
+				Arguments.of(4, Map.of(0, CardinalityIntervals.SET)),
+				Arguments.of(4, Map.of(0, CardinalityIntervals.between(5, 20))),
+				Arguments.of(21, Map.of(0, CardinalityIntervals.SET)),
+				Arguments.of(10, Map.of()),
+				Arguments.of(2, Map.of()),
+				Arguments.of(4, Map.of(0, CardinalityIntervals.atLeast(20))),
+				Arguments.of(4, Map.of(0, CardinalityIntervals.atMost(1))),
+				Arguments.of(5, Map.of(0, CardinalityIntervals.SET, 1, CardinalityIntervals.SET)),
+				Arguments.of(5, Map.of(0, CardinalityIntervals.between(7, 20), 1, CardinalityIntervals.atMost(11))),
+				Arguments.of(5, Map.of(0, CardinalityIntervals.between(7, 20), 1, CardinalityIntervals.exactly(11))),
+				Arguments.of(3, Map.of(0, CardinalityIntervals.LONE, 1, CardinalityIntervals.atMost(2))),
+				Arguments.of(5, Map.of(0, CardinalityIntervals.LONE, 1, CardinalityIntervals.SET))
+		);
+		return scopes.stream().flatMap(scope -> fixtures.stream().map(fixture -> {
+			var arguments = fixture.get();
+			return Arguments.of(scope, arguments[0], arguments[1]);
+		}));
+	}
+
+	private static ModelStore createStore(ScopePropagator scopePropagator) {
+		return ModelStore.builder()
+				.with(QueryInterpreterAdapter.builder())
+				.with(PropagationAdapter.builder())
+				.with(ReasoningAdapter.builder())
+				.with(new MultiObjectTranslator())
+				.with(PartialRelationTranslator.of(person)
+						.symbol(Symbol.of("Person", 1, TruthValue.class, TruthValue.FALSE)))
+				.with(scopePropagator)
+				.build();
+	}
+
+	private static ModelSeed createSeed(int nodeCount, Map<Integer, CardinalityInterval> counts) {
+		return ModelSeed.builder(nodeCount)
+				.seed(MultiObjectTranslator.COUNT_SYMBOL, builder -> {
+					builder.reducedValue(CardinalityIntervals.ONE);
+					counts.forEach((nodeId, count) -> builder.put(Tuple.of(nodeId), count));
+				})
+				.seed(person, builder -> builder.reducedValue(TruthValue.TRUE))
+				.build();
+	}
+
+	/**
+	 * Propagates the seed, then turns each multi-object into a single object one by one and propagates again.
+	 *
+	 * @return The multiplicities of the nodes after each propagation, or {@code null} after a rejected propagation.
+	 */
+	private static List<List<CardinalityInterval>> propagate(ModelStore store, ModelSeed seed, int nodeCount) {
+		var steps = new ArrayList<List<CardinalityInterval>>();
+		Model model;
+		try {
+			model = store.getAdapter(ReasoningStoreAdapter.class).createInitialModel(seed);
+		} catch (PropagationRejectedException e) {
+			steps.add(null);
+			return steps;
+		}
+		try (model) {
+			var countStorage = model.getInterpretation(MultiObjectTranslator.COUNT_STORAGE);
+			var propagationAdapter = model.getAdapter(PropagationAdapter.class);
+			steps.add(getCounts(model, nodeCount));
+			for (int i = 0; i < nodeCount; i++) {
+				var key = Tuple.of(i);
+				var count = countStorage.get(key);
+				// Only refine multi-objects that may stand for a single object.
+				if (count == null || count.equals(CardinalityIntervals.ONE) ||
+						!count.meet(CardinalityIntervals.ONE).equals(CardinalityIntervals.ONE)) {
+					continue;
+				}
+				countStorage.put(key, CardinalityIntervals.ONE);
+				if (propagationAdapter.propagate().isRejected()) {
+					steps.add(null);
+					return steps;
+				}
+				steps.add(getCounts(model, nodeCount));
+			}
+		}
+		return steps;
+	}
+
+	private static List<CardinalityInterval> getCounts(Model model, int nodeCount) {
+		var countStorage = model.getInterpretation(MultiObjectTranslator.COUNT_STORAGE);
+		var counts = new ArrayList<CardinalityInterval>(nodeCount);
+		for (int i = 0; i < nodeCount; i++) {
+			counts.add(countStorage.get(Tuple.of(i)));
+		}
+		return counts;
+	}
+}
@@ -219,6 +219,29 @@ class MultiObjectTest {
 		assertThat(propagate(), is(PropagationResult.UNCHANGED));
 	}
 
+	@Test
+	void restorePropagatedVersionTest() {
+		createModel(ModelSeed.builder(5)
+				.seed(MultiObjectTranslator.COUNT_SYMBOL, builder -> builder
+						.reducedValue(CardinalityIntervals.ONE)
+						.put(Tuple.of(0), CardinalityIntervals.LONE)
+						.put(Tuple.of(1), CardinalityIntervals.SET))
+				.seed(person, builder -> builder.reducedValue(TruthValue.TRUE))
+				.build());
+		var initialVersion = model.commit();
+		countStorage.put(Tuple.of(0), CardinalityIntervals.ONE);
+		assertThat(propagate(), is(PropagationResult.PROPAGATED));
+		var refinedVersion = model.commit();
+		model.restore(initialVersion);
+		assertThat(propagate(), is(PropagationResult.UNCHANGED));
+		assertThat(countStorage.get(Tuple.of(1)), is(CardinalityIntervals.between(1, 12)));
+		model.restore(refinedVersion);
+		assertThat(propagate(), is(PropagationResult.UNCHANGED));
+		assertThat(countStorage.get(Tuple.of(1)), is(CardinalityIntervals.between(1, 11)));
+		countStorage.put(Tuple.of(1), CardinalityIntervals.ONE);
+		assertThat(propagate(), is(PropagationResult.UNCHANGED));
+	}
+
 	private void createModel(ModelSeed modelSeed) {
 		model = store.getAdapter(ReasoningStoreAdapter.class).createInitialModel(modelSeed);
 		countStorage = model.getInterpretation(MultiObjectTranslator.COUNT_STORAGE);
@@ -0,0 +1,71 @@
+/*
+ * SPDX-FileCopyrightText: 2025 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.store.reasoning.smt;
+
+import tools.refinery.logic.term.DataVariable;
+import tools.refinery.logic.term.Term;
+import tools.refinery.logic.term.intinterval.IntInterval;
+import tools.refinery.logic.term.realinterval.RealInterval;
+import tools.refinery.store.reasoning.representation.PartialFunction;
+import tools.refinery.store.reasoning.representation.PartialRelation;
+import tools.refinery.store.reasoning.translator.TranslationException;
+
+import java.util.Map;
+
+/**
+ * A condition that must hold for the attributes of every object that must be an instance of a type.
+ *
+ * @param name       The name of the constraint used in error messages.
+ * @param domain     The unary relation whose instances must satisfy the condition.
+ * @param attributes The attribute of the instance represented by each variable of the condition. Variables of type
+ *                   {@link Integer} must be bound to {@link IntInterval} attributes, while variables of type
+ *                   {@link Double} must be bound to {@link RealInterval} attributes.
+ * @param condition  The condition to satisfy.
+ */
+public record AttributeConstraint(String name, PartialRelation domain,
+								  Map<DataVariable<?>, PartialFunction<?, ?>> attributes, Term<Boolean> condition) {
+	public AttributeConstraint {
+		if (domain.arity() != 1) {
+			throw new TranslationException(domain, "Only types with arity 1 may have attribute constraints, " +
+					"got %s with arity %d".formatted(domain, domain.arity()));
+		}
+		attributes = Map.copyOf(attributes);
+		for (var entry : attributes.entrySet()) {
+			var variable = entry.getKey();
+			var attribute = entry.getValue();
+			if (attribute.arity() != 1) {
+				throw new TranslationException(attribute, "Expected attribute %s to have arity 1, got %d"
+						.formatted(attribute, attribute.arity()));
+			}
+			var abstractType = attribute.abstractDomain().abstractType();
+			var expectedType = getConcreteType(abstractType);
+			if (expectedType == null) {
+				throw new TranslationException(attribute, "Attribute %s with values of type %s is not supported"
+						.formatted(attribute, abstractType.getName()));
+			}
+			if (!expectedType.equals(variable.getType())) {
+				throw new IllegalArgumentException("Expected variable %s bound to %s to have type %s, got %s"
+						.formatted(variable, attribute, expectedType.getName(), variable.getType().getName()));
+			}
+		}
+		for (var variable : condition.getVariables()) {
+			if (!(variable instanceof DataVariable<?> dataVariable) || !attributes.containsKey(dataVariable)) {
+				throw new IllegalArgumentException("Variable %s of attribute constraint %s is not bound to an attribute"
+						.formatted(variable, name));
+			}
+		}
+	}
+
+	static Class<?> getConcreteType(Class<?> abstractType) {
+		if (IntInterval.class.equals(abstractType)) {
+			return Integer.class;
+		}
+		if (RealInterval.class.equals(abstractType)) {
+			return Double.class;
+		}
+		return null;
+	}
+}
@@ -0,0 +1,375 @@
+/*
+ * SPDX-FileCopyrightText: 2025 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.store.reasoning.smt;
+
+import com.microsoft.z3.*;
+import tools.refinery.logic.AbstractValue;
+import tools.refinery.logic.term.AnyDataVariable;
+import tools.refinery.logic.term.intinterval.IntBound;
+import tools.refinery.logic.term.intinterval.IntInterval;
+import tools.refinery.logic.term.realinterval.RealBound;
+import tools.refinery.logic.term.realinterval.RealInterval;
+import tools.refinery.logic.term.truthvalue.TruthValue;
+import tools.refinery.store.dse.propagation.BoundPropagator;
+import tools.refinery.store.dse.propagation.PropagationRejectedResult;
+import tools.refinery.store.dse.propagation.PropagationResult;
+import tools.refinery.store.map.Version;
+import tools.refinery.store.model.Model;
+import tools.refinery.store.model.ModelListener;
+import tools.refinery.store.query.ModelQueryAdapter;
+import tools.refinery.store.reasoning.ReasoningAdapter;
+import tools.refinery.store.reasoning.interpretation.PartialInterpretation;
+import tools.refinery.store.reasoning.literal.Concreteness;
+import tools.refinery.store.reasoning.representation.PartialFunction;
+import tools.refinery.store.tuple.Tuple;
+
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+class BoundSmtPropagator implements BoundPropagator, ModelListener {
+	private static final long CANCELLATION_POLL_INTERVAL_MILLIS = 100;
+
+	private static final ScheduledExecutorService CANCELLATION_WATCHDOG = Executors.newSingleThreadScheduledExecutor(
+			runnable -> {
+				var thread = new Thread(runnable, "refinery-smt-cancellation-watchdog");
+				thread.setDaemon(true);
+				return thread;
+			});
+
+	private final Model model;
+	private final ModelQueryAdapter queryEngine;
+	private final SmtPropagator smtPropagator;
+	private final List<AttributeConstraint> constraints;
+	private final Context context;
+	private final Solver solver;
+	private final Z3TermTranslator translator;
+	private final Map<AttributeKey, Expr<?>> constants = new HashMap<>();
+	private final Set<InstanceKey> instances = new HashSet<>();
+	private final int[] instanceCounts;
+	private final Map<AttributeKey, AbstractValue<?, ?>> assertedValues = new HashMap<>();
+	private final List<UndoEntry> undoLog = new ArrayList<>();
+	private final List<Scope> scopes = new ArrayList<>();
+	private List<PartialInterpretation<TruthValue, Boolean>> domainInterpretations;
+	private Map<PartialFunction<?, ?>, PartialInterpretation<?, ?>> attributeInterpretations;
+	private int currentNodeId;
+	private Map<? extends AnyDataVariable, PartialFunction<?, ?>> currentAttributes;
+	private boolean checkNeeded = true;
+	private boolean satisfiable = true;
+	private boolean closed;
+
+	public BoundSmtPropagator(Model model, SmtPropagator smtPropagator) {
+		this.model = model;
+		queryEngine = model.getAdapter(ModelQueryAdapter.class);
+		this.smtPropagator = smtPropagator;
+		constraints = smtPropagator.getConstraints();
+		instanceCounts = new int[constraints.size()];
+		context = new Context();
+		try {
+			solver = context.mkSolver();
+			var params = context.mkParams();
+			params.add("timeout", (int) Math.min(smtPropagator.getTimeoutMillis(), Integer.MAX_VALUE));
+			solver.setParameters(params);
+			translator = new Z3TermTranslator(context, this::getVariableConstant);
+		} catch (RuntimeException e) {
+			context.close();
+			throw e;
+		}
+		model.addListener(this);
+	}
+
+	@Override
+	public PropagationResult propagateOne() {
+		if (closed) {
+			return PropagationResult.UNCHANGED;
+		}
+		queryEngine.flushChanges();
+		if (!assertChanges()) {
+			// Some facts became less precise without restoring the model, so they can't be retracted by popping.
+			rebuild();
+			if (!assertChanges()) {
+				throw new IllegalStateException("Failed to assert attribute constraints");
+			}
+		}
+		if (checkNeeded) {
+			model.checkCancelled();
+			// Treat {@code UNKNOWN} as satisfiable, because we may only reject models that are surely inconsistent.
+			// The solver also returns {@code UNKNOWN} if it times out or gets interrupted.
+			satisfiable = check() != Status.UNSATISFIABLE;
+			// Report the cancellation if the solver was interrupted because of it.
+			model.checkCancelled();
+			checkNeeded = false;
+		}
+		if (satisfiable) {
+			return PropagationResult.UNCHANGED;
+		}
+		return new PropagationRejectedResult(smtPropagator, "Attribute constraints are unsatisfiable.");
+	}
+
+	private Status check() {
+		// Z3 can't poll our cancellation token, so we interrupt it from another thread if the model gets cancelled.
+		var watchdog = CANCELLATION_WATCHDOG.scheduleWithFixedDelay(() -> {
+			if (isCancelled()) {
+				context.interrupt();
+			}
+		}, CANCELLATION_POLL_INTERVAL_MILLIS, CANCELLATION_POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+		try {
+			return solver.check();
+		} finally {
+			watchdog.cancel(false);
+		}
+	}
+
+	private boolean isCancelled() {
+		try {
+			model.checkCancelled();
+			return false;
+		} catch (RuntimeException e) {
+			return true;
+		}
+	}
+
+	private boolean assertChanges() {
+		initializeInterpretations();
+		for (int i = 0; i < instanceCounts.length; i++) {
+			if (!assertInstances(i)) {
+				return false;
+			}
+		}
+		for (var instance : instances) {
+			model.checkCancelled();
+			var constraint = constraints.get(instance.constraintIndex());
+			for (var attribute : constraint.attributes().values()) {
+				if (!assertValue(new AttributeKey(attribute, instance.nodeId()))) {
+					return false;
+				}
+			}
+		}
+		return true;
+	}
+
+	private boolean assertInstances(int constraintIndex) {
+		var constraint = constraints.get(constraintIndex);
+		var cursor = domainInterpretations.get(constraintIndex).getAll();
+		int count = 0;
+		while (cursor.move()) {
+			if (!cursor.getValue().must()) {
+				continue;
+			}
+			count++;
+			int nodeId = cursor.getKey().get(0);
+			var instance = new InstanceKey(constraintIndex, nodeId);
+			if (instances.add(instance)) {
+				instanceCounts[constraintIndex]++;
+				undoLog.add(new InstanceAdded(instance));
+				currentNodeId = nodeId;
+				currentAttributes = constraint.attributes();
+				try {
+					solver.add(translator.translateBool(constraint.condition()));
+				} finally {
+					currentAttributes = null;
+				}
+				checkNeeded = true;
+			}
+		}
+		// If an object stopped being an instance of the domain, we have to retract its constraint.
+		return count == instanceCounts[constraintIndex];
+	}
+
+	private boolean assertValue(AttributeKey key) {
+		var interpretation = attributeInterpretations.get(key.attribute());
+		AbstractValue<?, ?> value = interpretation.get(Tuple.of(key.nodeId()));
+		var oldValue = assertedValues.get(key);
+		if (Objects.equals(value, oldValue)) {
+			return true;
+		}
+		if (oldValue != null && !refines(value, oldValue)) {
+			return false;
+		}
+		var constant = getConstant(key);
+		if (value.isError()) {
+			solver.add(context.mkFalse());
+		} else {
+			switch (value) {
+			case IntInterval(var lowerBound, var upperBound) -> {
+				if (lowerBound instanceof IntBound.Finite(int finiteLowerBound)) {
+					solver.add(context.mkGe(Z3TermTranslator.arith(constant), context.mkInt(finiteLowerBound)));
+				}
+				if (upperBound instanceof IntBound.Finite(int finiteUpperBound)) {
+					solver.add(context.mkLe(Z3TermTranslator.arith(constant), context.mkInt(finiteUpperBound)));
+				}
+			}
+			case RealInterval(var lowerBound, var upperBound) -> {
+				if (lowerBound instanceof RealBound.Finite(var finiteLowerBound)) {
+					solver.add(context.mkGe(Z3TermTranslator.arith(constant), translator.mkReal(finiteLowerBound)));
+				}
+				if (upperBound instanceof RealBound.Finite(var finiteUpperBound)) {
+					solver.add(context.mkLe(Z3TermTranslator.arith(constant), translator.mkReal(finiteUpperBound)));
+				}
+			}
+			default -> throw new IllegalArgumentException("Unsupported attribute value: " + value);
+			}
+		}
+		assertedValues.put(key, value);
+		undoLog.add(new ValueAsserted(key, oldValue));
+		checkNeeded = true;
+		return true;
+	}
+
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	private static boolean refines(AbstractValue<?, ?> value, AbstractValue<?, ?> oldValue) {
+		// Both values come from the same partial function, so they have the same type.
+		return ((AbstractValue) value).meet(oldValue).equals(value);
+	}
+
+	private Expr<?> getVariableConstant(AnyDataVariable variable) {
+		if (currentAttributes == null) {
+			throw new IllegalStateException("Not translating an attribute constraint");
+		}
+		var attribute = currentAttributes.get(variable);
+		if (attribute == null) {
+			throw new IllegalArgumentException("Variable %s is not bound to an attribute".formatted(variable));
+		}
+		return getConstant(new AttributeKey(attribute, currentNodeId));
+	}
+
+	private Expr<?> getConstant(AttributeKey key) {
+		return constants.computeIfAbsent(key, ignored -> {
+			var attribute = key.attribute();
+			var name = "%s(%d)".formatted(attribute.name(), key.nodeId());
+			var concreteType = AttributeConstraint.getConcreteType(attribute.abstractDomain().abstractType());
+			if (Integer.class.equals(concreteType)) {
+				return context.mkIntConst(name);
+			}
+			return context.mkRealConst(name);
+		});
+	}
+
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	private void initializeInterpretations() {
+		if (domainInterpretations != null) {
+			return;
+		}
+		var reasoningAdapter = model.getAdapter(ReasoningAdapter.class);
+		var mutableDomainInterpretations = new ArrayList<PartialInterpretation<TruthValue, Boolean>>(
+				constraints.size());
+		var mutableAttributeInterpretations = new HashMap<PartialFunction<?, ?>, PartialInterpretation<?, ?>>();
+		for (var constraint : constraints) {
+			mutableDomainInterpretations.add(reasoningAdapter.getPartialInterpretation(Concreteness.PARTIAL,
+					constraint.domain()));
+			for (var attribute : constraint.attributes().values()) {
+				mutableAttributeInterpretations.computeIfAbsent(attribute, ignored ->
+						reasoningAdapter.getPartialInterpretation(Concreteness.PARTIAL, (PartialFunction) attribute));
+			}
+		}
+		domainInterpretations = mutableDomainInterpretations;
+		attributeInterpretations = mutableAttributeInterpretations;
+	}
+
+	@Override
+	public void afterCommit() {
+		if (closed) {
+			return;
+		}
+		solver.push();
+		scopes.add(new Scope(model.getState(), undoLog.size()));
+	}
+
+	@Override
+	public void beforeRestore(Version state) {
+		if (closed) {
+			return;
+		}
+		int index = scopes.size() - 1;
+		while (index >= 0 && scopes.get(index).version() != state) {
+			index--;
+		}
+		if (index < 0) {
+			// The restored version is not an ancestor of the current one, so we have to start from scratch.
+			rebuild();
+			return;
+		}
+		// Discard the facts asserted after the restored version was committed, but keep a scope for the facts
+		// asserted before the next commit.
+		solver.pop(scopes.size() - index);
+		solver.push();
+		scopes.subList(index + 1, scopes.size()).clear();
+		undo(scopes.get(index).undoLogSize());
+		checkNeeded = true;
+	}
+
+	@Override
+	public void afterRestore() {
+		if (closed || (!scopes.isEmpty() && scopes.getLast().version() == model.getState())) {
+			return;
+		}
+		// We had to rebuild the solver, so we assert the facts of the restored version and register a scope for it.
+		// Thus, restoring the same version again (e.g., to explore its next child) can pop back to this scope instead
+		// of rebuilding the solver again.
+		queryEngine.flushChanges();
+		if (!assertChanges()) {
+			throw new IllegalStateException("Failed to assert attribute constraints");
+		}
+		solver.push();
+		scopes.add(new Scope(model.getState(), undoLog.size()));
+	}
+
+	private void undo(int undoLogSize) {
+		for (int i = undoLog.size() - 1; i >= undoLogSize; i--) {
+			switch (undoLog.remove(i)) {
+			case InstanceAdded(var instance) -> {
+				instances.remove(instance);
+				instanceCounts[instance.constraintIndex()]--;
+			}
+			case ValueAsserted(var key, var oldValue) -> {
+				if (oldValue == null) {
+					assertedValues.remove(key);
+				} else {
+					assertedValues.put(key, oldValue);
+				}
+			}
+			}
+		}
+	}
+
+	private void rebuild() {
+		solver.reset();
+		scopes.clear();
+		instances.clear();
+		Arrays.fill(instanceCounts, 0);
+		assertedValues.clear();
+		undoLog.clear();
+		checkNeeded = true;
+	}
+
+	@Override
+	public void beforeClose() {
+		if (closed) {
+			return;
+		}
+		context.close();
+		closed = true;
+	}
+
+	private record AttributeKey(PartialFunction<?, ?> attribute, int nodeId) {
+	}
+
+	private record InstanceKey(int constraintIndex, int nodeId) {
+	}
+
+	private record Scope(Version version, int undoLogSize) {
+	}
+
+	private sealed interface UndoEntry permits InstanceAdded, ValueAsserted {
+	}
+
+	private record InstanceAdded(InstanceKey instance) implements UndoEntry {
+	}
+
+	private record ValueAsserted(AttributeKey key, AbstractValue<?, ?> oldValue) implements UndoEntry {
+	}
+}
@@ -1,19 +1,90 @@
 /*
- * SPDX-FileCopyrightText: 2023 The Refinery Authors <https://refinery.tools/>
+ * SPDX-FileCopyrightText: 2023-2025 The Refinery Authors <https://refinery.tools/>
  *
  * SPDX-License-Identifier: EPL-2.0
  */
 package tools.refinery.store.reasoning.smt;
 
-import com.microsoft.z3.Context;
+import tools.refinery.logic.term.DataVariable;
+import tools.refinery.logic.term.Term;
+import tools.refinery.store.dse.propagation.PropagationBuilder;
+import tools.refinery.store.model.ModelStoreBuilder;
+import tools.refinery.store.model.ModelStoreConfiguration;
+import tools.refinery.store.reasoning.representation.PartialFunction;
+import tools.refinery.store.reasoning.representation.PartialRelation;
 import tools.refinery.z3.Z3SolverLoader;
 
-public class SmtPropagator {
-	public void propagate() {
-		Z3SolverLoader.loadNativeLibraries();
-		try (var context = new Context()) {
-			var solver = context.mkSolver();
-			solver.check();
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rejects partial models whose {@code int} and {@code real} attributes can't satisfy the given
+ * {@link AttributeConstraint attribute constraints}.
+ * <p>
+ * The attribute constraints of every object that must be an instance of the constraint domain and the current bounds
+ * of the attributes are asserted in a Z3 solver. Solver scopes are pushed on model commits and restores, and popped on
+ * restores to an ancestor version, so only the facts that changed since the last commit have to be asserted again.
+ * <p>
+ * If the solver can't decide the constraints before the {@link #timeout(long, TimeUnit) timeout} or the model gets
+ * cancelled, the model is not rejected.
+ */
+public class SmtPropagator implements ModelStoreConfiguration {
+	private static final long DEFAULT_TIMEOUT_MILLIS = 10_000;
+
+	private final List<AttributeConstraint> constraints = new ArrayList<>();
+	private long timeoutMillis = DEFAULT_TIMEOUT_MILLIS;
+
+	public SmtPropagator constraint(AttributeConstraint constraint) {
+		constraints.add(constraint);
+		return this;
+	}
+
+	public SmtPropagator constraint(String name, PartialRelation domain,
+									Map<DataVariable<?>, PartialFunction<?, ?>> attributes,
+									Term<Boolean> condition) {
+		return constraint(new AttributeConstraint(name, domain, attributes, condition));
+	}
+
+	public SmtPropagator constraints(Collection<AttributeConstraint> constraints) {
+		for (var constraint : constraints) {
+			constraint(constraint);
+		}
+		return this;
+	}
+
+	/**
+	 * Sets the time limit of a single satisfiability check.
+	 *
+	 * @param timeout  The time limit.
+	 * @param timeUnit The unit of {@code timeout}.
+	 * @return This propagator.
+	 */
+	public SmtPropagator timeout(long timeout, TimeUnit timeUnit) {
+		if (timeout <= 0) {
+			throw new IllegalArgumentException("Timeout must be positive, got: " + timeout);
+		}
+		timeoutMillis = timeUnit.toMillis(timeout);
+		return this;
+	}
+
+	@Override
+	public void apply(ModelStoreBuilder storeBuilder) {
+		if (constraints.isEmpty()) {
+			return;
 		}
+		Z3SolverLoader.loadNativeLibraries();
+		storeBuilder.getAdapter(PropagationBuilder.class)
+				.propagator(model -> new BoundSmtPropagator(model, this));
+	}
+
+	List<AttributeConstraint> getConstraints() {
+		return constraints;
+	}
+
+	long getTimeoutMillis() {
+		return timeoutMillis;
 	}
 }
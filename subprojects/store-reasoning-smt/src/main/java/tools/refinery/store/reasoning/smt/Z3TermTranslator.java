@@ -0,0 +1,155 @@
+/*
+ * SPDX-FileCopyrightText: 2025 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.store.reasoning.smt;
+
+import com.microsoft.z3.*;
+import tools.refinery.logic.term.AnyDataVariable;
+import tools.refinery.logic.term.ConstantTerm;
+import tools.refinery.logic.term.DataVariable;
+import tools.refinery.logic.term.Term;
+import tools.refinery.logic.term.bool.BoolAndTerm;
+import tools.refinery.logic.term.bool.BoolNotTerm;
+import tools.refinery.logic.term.bool.BoolOrTerm;
+import tools.refinery.logic.term.bool.BoolXorTerm;
+import tools.refinery.logic.term.comparable.*;
+import tools.refinery.logic.term.int_.*;
+import tools.refinery.logic.term.real.*;
+
+import java.math.BigDecimal;
+import java.util.function.Function;
+
+/**
+ * Translates terms over {@link Integer}, {@link Double}, and {@link Boolean} values to Z3 expressions.
+ * <p>
+ * Integer division is not supported, because it is truncating in Java but flooring in Z3.
+ */
+class Z3TermTranslator {
+	private final Context context;
+	private final Function<AnyDataVariable, Expr<?>> variableTranslator;
+
+	public Z3TermTranslator(Context context, Function<AnyDataVariable, Expr<?>> variableTranslator) {
+		this.context = context;
+		this.variableTranslator = variableTranslator;
+	}
+
+	public BoolExpr translateBool(Term<Boolean> term) {
+		return switch (term) {
+			case ConstantTerm<Boolean> constantTerm -> context.mkBool(constantTerm.getValue());
+			case DataVariable<Boolean> variable -> (BoolExpr) variableTranslator.apply(variable);
+			case BoolNotTerm notTerm -> context.mkNot(translateBool(notTerm.getBody()));
+			case BoolAndTerm andTerm -> context.mkAnd(translateBool(andTerm.getLeft()),
+					translateBool(andTerm.getRight()));
+			case BoolOrTerm orTerm -> context.mkOr(translateBool(orTerm.getLeft()), translateBool(orTerm.getRight()));
+			case BoolXorTerm xorTerm -> context.mkXor(translateBool(xorTerm.getLeft()),
+					translateBool(xorTerm.getRight()));
+			case ComparisonTerm<?> comparisonTerm -> translateComparison(comparisonTerm);
+			default -> throw unsupported(term);
+		};
+	}
+
+	private BoolExpr translateComparison(ComparisonTerm<?> term) {
+		var argumentType = term.getArgumentType();
+		Expr<?> left;
+		Expr<?> right;
+		if (Integer.class.equals(argumentType)) {
+			left = translateInt(cast(term.getLeft()));
+			right = translateInt(cast(term.getRight()));
+		} else if (Double.class.equals(argumentType)) {
+			left = translateReal(cast(term.getLeft()));
+			right = translateReal(cast(term.getRight()));
+		} else if (Boolean.class.equals(argumentType) && (term instanceof EqTerm<?> || term instanceof NotEqTerm<?>)) {
+			left = translateBool(cast(term.getLeft()));
+			right = translateBool(cast(term.getRight()));
+		} else {
+			throw unsupported(term);
+		}
+		return switch (term) {
+			case EqTerm<?> ignored -> context.mkEq(left, right);
+			case NotEqTerm<?> ignored -> context.mkNot(context.mkEq(left, right));
+			case LessTerm<?> ignored -> context.mkLt(arith(left), arith(right));
+			case LessEqTerm<?> ignored -> context.mkLe(arith(left), arith(right));
+			case GreaterTerm<?> ignored -> context.mkGt(arith(left), arith(right));
+			case GreaterEqTerm<?> ignored -> context.mkGe(arith(left), arith(right));
+			default -> throw unsupported(term);
+		};
+	}
+
+	@SuppressWarnings("unchecked")
+	public ArithExpr<IntSort> translateInt(Term<Integer> term) {
+		return switch (term) {
+			case ConstantTerm<Integer> constantTerm -> context.mkInt(constantTerm.getValue());
+			case DataVariable<Integer> variable -> (ArithExpr<IntSort>) variableTranslator.apply(variable);
+			case IntPlusTerm plusTerm -> translateInt(plusTerm.getBody());
+			case IntMinusTerm minusTerm -> context.mkUnaryMinus(translateInt(minusTerm.getBody()));
+			case IntAddTerm addTerm -> context.mkAdd(translateInt(addTerm.getLeft()),
+					translateInt(addTerm.getRight()));
+			case IntSubTerm subTerm -> context.mkSub(translateInt(subTerm.getLeft()),
+					translateInt(subTerm.getRight()));
+			case IntMulTerm mulTerm -> context.mkMul(translateInt(mulTerm.getLeft()),
+					translateInt(mulTerm.getRight()));
+			case IntMinTerm minTerm -> min(translateInt(minTerm.getLeft()), translateInt(minTerm.getRight()));
+			case IntMaxTerm maxTerm -> max(translateInt(maxTerm.getLeft()), translateInt(maxTerm.getRight()));
+			default -> throw unsupported(term);
+		};
+	}
+
+	@SuppressWarnings("unchecked")
+	public ArithExpr<RealSort> translateReal(Term<Double> term) {
+		return switch (term) {
+			case ConstantTerm<Double> constantTerm -> mkReal(constantTerm.getValue());
+			case DataVariable<Double> variable -> (ArithExpr<RealSort>) variableTranslator.apply(variable);
+			case IntToRealTerm toRealTerm -> context.mkInt2Real(translateInt(toRealTerm.getBody()));
+			case RealPlusTerm plusTerm -> translateReal(plusTerm.getBody());
+			case RealMinusTerm minusTerm -> context.mkUnaryMinus(translateReal(minusTerm.getBody()));
+			case RealAddTerm addTerm -> context.mkAdd(translateReal(addTerm.getLeft()),
+					translateReal(addTerm.getRight()));
+			case RealSubTerm subTerm -> context.mkSub(translateReal(subTerm.getLeft()),
+					translateReal(subTerm.getRight()));
+			case RealMulTerm mulTerm -> context.mkMul(translateReal(mulTerm.getLeft()),
+					translateReal(mulTerm.getRight()));
+			case RealDivTerm divTerm -> context.mkDiv(translateReal(divTerm.getLeft()),
+					translateReal(divTerm.getRight()));
+			case RealMinTerm minTerm -> min(translateReal(minTerm.getLeft()), translateReal(minTerm.getRight()));
+			case RealMaxTerm maxTerm -> max(translateReal(maxTerm.getLeft()), translateReal(maxTerm.getRight()));
+			default -> throw unsupported(term);
+		};
+	}
+
+	public ArithExpr<RealSort> mkReal(double value) {
+		if (!Double.isFinite(value)) {
+			throw new IllegalArgumentException("Cannot translate non-finite value " + value);
+		}
+		return mkReal(BigDecimal.valueOf(value));
+	}
+
+	public ArithExpr<RealSort> mkReal(BigDecimal value) {
+		return context.mkReal(value.toPlainString());
+	}
+
+	@SuppressWarnings("unchecked")
+	private <R extends ArithSort> ArithExpr<R> min(ArithExpr<R> left, ArithExpr<R> right) {
+		return (ArithExpr<R>) context.mkITE(context.mkLe(left, right), left, right);
+	}
+
+	@SuppressWarnings("unchecked")
+	private <R extends ArithSort> ArithExpr<R> max(ArithExpr<R> left, ArithExpr<R> right) {
+		return (ArithExpr<R>) context.mkITE(context.mkGe(left, right), left, right);
+	}
+
+	@SuppressWarnings("unchecked")
+	static ArithExpr<? extends ArithSort> arith(Expr<?> expr) {
+		return (ArithExpr<? extends ArithSort>) expr;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <T> Term<T> cast(Term<?> term) {
+		return (Term<T>) term;
+	}
+
+	private static IllegalArgumentException unsupported(Term<?> term) {
+		return new IllegalArgumentException("Term %s is not supported by the SMT propagator".formatted(term));
+	}
+}
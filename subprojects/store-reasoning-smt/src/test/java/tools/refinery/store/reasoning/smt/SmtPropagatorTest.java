@@ -0,0 +1,158 @@
+/*
+ * SPDX-FileCopyrightText: 2025 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.store.reasoning.smt;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import tools.refinery.logic.term.DataVariable;
+import tools.refinery.logic.term.Variable;
+import tools.refinery.logic.term.bool.BoolTerms;
+import tools.refinery.logic.term.cardinalityinterval.CardinalityIntervals;
+import tools.refinery.logic.term.intinterval.IntBound;
+import tools.refinery.logic.term.intinterval.IntInterval;
+import tools.refinery.logic.term.intinterval.IntIntervalDomain;
+import tools.refinery.logic.term.truthvalue.TruthValue;
+import tools.refinery.store.dse.propagation.PropagationAdapter;
+import tools.refinery.store.dse.propagation.PropagationRejectedException;
+import tools.refinery.store.dse.propagation.PropagationResult;
+import tools.refinery.store.model.Model;
+import tools.refinery.store.model.ModelStore;
+import tools.refinery.store.query.interpreter.QueryInterpreterAdapter;
+import tools.refinery.store.reasoning.ReasoningAdapter;
+import tools.refinery.store.reasoning.ReasoningStoreAdapter;
+import tools.refinery.store.reasoning.representation.PartialFunction;
+import tools.refinery.store.reasoning.representation.PartialRelation;
+import tools.refinery.store.reasoning.seed.ModelSeed;
+import tools.refinery.store.reasoning.translator.PartialRelationTranslator;
+import tools.refinery.store.reasoning.translator.attribute.AttributeInfo;
+import tools.refinery.store.reasoning.translator.attribute.AttributeTranslator;
+import tools.refinery.store.reasoning.translator.multiobject.MultiObjectTranslator;
+import tools.refinery.store.representation.Symbol;
+import tools.refinery.store.tuple.Tuple;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static tools.refinery.logic.term.int_.IntTerms.*;
+
+class SmtPropagatorTest {
+	private static final PartialRelation person = new PartialRelation("Person", 1);
+	private static final PartialFunction<IntInterval, Integer> birthYear = new PartialFunction<>("birthYear", 1,
+			IntIntervalDomain.INSTANCE);
+	private static final PartialFunction<IntInterval, Integer> deathYear = new PartialFunction<>("deathYear", 1,
+			IntIntervalDomain.INSTANCE);
+
+	private ModelStore store;
+	private Model model;
+
+	@BeforeEach
+	void beforeEach() {
+		DataVariable<Integer> birth = Variable.of("birth", Integer.class);
+		DataVariable<Integer> death = Variable.of("death", Integer.class);
+		store = ModelStore.builder()
+				.with(QueryInterpreterAdapter.builder())
+				.with(PropagationAdapter.builder())
+				.with(ReasoningAdapter.builder())
+				.with(new MultiObjectTranslator())
+				.with(PartialRelationTranslator.of(person)
+						.symbol(Symbol.of("Person", 1, TruthValue.class, TruthValue.FALSE)))
+				.with(new AttributeTranslator<>(birthYear, new AttributeInfo(person)))
+				.with(new AttributeTranslator<>(deathYear, new AttributeInfo(person)))
+				.with(new SmtPropagator()
+						.constraint("lifespan", person, Map.of(birth, birthYear, death, deathYear), BoolTerms.and(
+								lessEq(birth, death),
+								lessEq(sub(death, birth), constant(120))
+						)))
+				.build();
+		model = null;
+	}
+
+	@AfterEach
+	void afterEach() {
+		if (model != null) {
+			model.close();
+		}
+	}
+
+	@Test
+	void satisfiableTest() {
+		createModel(IntInterval.of(1900, IntBound.Infinite.POSITIVE_INFINITY), IntInterval.of(1950));
+		assertEquals(PropagationResult.UNCHANGED, propagate());
+	}
+
+	@Test
+	void unsatisfiableTest() {
+		var seed = createSeed(IntInterval.of(1800, 1820), IntInterval.of(1950, 2000));
+		assertThrows(PropagationRejectedException.class,
+				() -> store.getAdapter(ReasoningStoreAdapter.class).createInitialModel(seed).close());
+	}
+
+	@Test
+	void restoreTest() {
+		createModel(IntInterval.of(1900, 1950), IntInterval.UNKNOWN);
+		var initialVersion = model.commit();
+		var refiner = model.getAdapter(ReasoningAdapter.class).getRefiner(deathYear);
+		refiner.merge(Tuple.of(0), IntInterval.of(1800, 1899));
+		assertTrue(propagate().isRejected());
+		model.restore(initialVersion);
+		assertEquals(PropagationResult.UNCHANGED, propagate());
+		refiner.merge(Tuple.of(0), IntInterval.of(2000));
+		assertEquals(PropagationResult.UNCHANGED, propagate());
+	}
+
+	@Test
+	void restoreSiblingTest() {
+		createModel(IntInterval.of(1900, 1950), IntInterval.UNKNOWN);
+		var initialVersion = model.commit();
+		var refiner = model.getAdapter(ReasoningAdapter.class).getRefiner(deathYear);
+		refiner.merge(Tuple.of(0), IntInterval.of(1960, 1970));
+		assertEquals(PropagationResult.UNCHANGED, propagate());
+		var firstChild = model.commit();
+		// Restoring a version that is not an ancestor of the current one rebuilds the solver.
+		model.restore(initialVersion);
+		model.restore(firstChild);
+		model.restore(initialVersion);
+		refiner.merge(Tuple.of(0), IntInterval.of(1800, 1899));
+		assertTrue(propagate().isRejected());
+		model.restore(initialVersion);
+		assertEquals(PropagationResult.UNCHANGED, propagate());
+		refiner.merge(Tuple.of(0), IntInterval.of(2000));
+		assertEquals(PropagationResult.UNCHANGED, propagate());
+		model.commit();
+		model.restore(firstChild);
+		assertEquals(PropagationResult.UNCHANGED, propagate());
+		refiner.merge(Tuple.of(0), IntInterval.of(1800, 1899));
+		assertTrue(propagate().isRejected());
+	}
+
+	@Test
+	void invalidTimeoutTest() {
+		var propagator = new SmtPropagator();
+		assertThrows(IllegalArgumentException.class, () -> propagator.timeout(0, TimeUnit.SECONDS));
+	}
+
+	private void createModel(IntInterval birthYearValue, IntInterval deathYearValue) {
+		model = store.getAdapter(ReasoningStoreAdapter.class).createInitialModel(createSeed(birthYearValue,
+				deathYearValue));
+	}
+
+	private static ModelSeed createSeed(IntInterval birthYearValue, IntInterval deathYearValue) {
+		return ModelSeed.builder(1)
+				.seed(MultiObjectTranslator.COUNT_SYMBOL, builder -> builder.reducedValue(CardinalityIntervals.ONE))
+				.seed(person, builder -> builder.reducedValue(TruthValue.TRUE))
+				.seed(birthYear, builder -> builder.put(Tuple.of(0), birthYearValue))
+				.seed(deathYear, builder -> builder.put(Tuple.of(0), deathYearValue))
+				.build();
+	}
+
+	private PropagationResult propagate() {
+		return model.getAdapter(PropagationAdapter.class).propagate();
+	}
+}
@@ -6,12 +6,14 @@
 package tools.refinery.store.reasoning.interpretation;
 
 import tools.refinery.store.map.Cursor;
+import tools.refinery.store.model.Interpretation;
 import tools.refinery.store.model.Model;
 import tools.refinery.store.query.ModelQueryAdapter;
 import tools.refinery.store.reasoning.ReasoningAdapter;
 import tools.refinery.store.reasoning.literal.Concreteness;
 import tools.refinery.store.reasoning.representation.PartialSymbol;
 import tools.refinery.store.reasoning.translator.MissingInterpretation;
+import tools.refinery.store.statecoding.StateCodeCalculator;
 import tools.refinery.store.statecoding.StateCodeCalculatorFactory;
 import tools.refinery.store.statecoding.StateCoderResult;
 import tools.refinery.store.statecoding.neighborhood.AbstractNeighborhoodCalculator;
@@ -64,7 +66,18 @@ public class PartialNeighborhoodCalculator extends AbstractNeighborhoodCalculato
 	}
 
 	public static StateCodeCalculatorFactory factory(Concreteness concreteness, int depth) {
-		return (model, interpretations, individuals) -> new PartialNeighborhoodCalculator(model, individuals,
-				concreteness, depth);
+		return new StateCodeCalculatorFactory() {
+			@Override
+			public StateCodeCalculator create(Model model, List<? extends Interpretation<?>> interpretations,
+											  IndividualsSet individuals) {
+				return new PartialNeighborhoodCalculator(model, individuals, concreteness, depth);
+			}
+
+			@Override
+			public boolean requiresModelAdapters() {
+				// Partial interpretations are provided by the {@link ReasoningAdapter}.
+				return true;
+			}
+		};
 	}
 }
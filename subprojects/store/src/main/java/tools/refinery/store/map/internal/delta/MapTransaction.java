@@ -10,7 +10,113 @@ import tools.refinery.store.map.Version;
 import java.util.Arrays;
 import java.util.Objects;
 
-public record MapTransaction<K, V>(MapDelta<K, V>[] deltas, MapTransaction<K, V> parent, int depth) implements Version {
+/**
+ * A committed transaction in a delta-based map store.
+ * <p>
+ * Besides the link to its parent, each transaction stores a skip pointer {@code jump} to an ancestor, which is chosen
+ * according to the skew-binary scheme so that any ancestor (and the common ancestor of two transactions) can be
+ * reached in a number of steps logarithmic in the depth. Some transactions also store a {@code snapshot} of the whole
+ * map content, which lets a map restore a deep version without replaying every transaction from the root.
+ *
+ * @param deltas     The changes made by this transaction.
+ * @param parent     The previous transaction, or {@code null} if this is the first transaction.
+ * @param depth      The number of ancestors of this transaction.
+ * @param jump       The skip pointer to an ancestor, or {@code null} if this is the first transaction.
+ * @param deltaCount The total number of deltas in this transaction and all of its ancestors.
+ * @param checkpoint The closest strict ancestor with a snapshot, or {@code null} if there is none.
+ * @param snapshot   The content of the map after this transaction as deltas from the empty map, or {@code null} if
+ *                   this transaction is not a checkpoint.
+ * @param <K>        The type of keys.
+ * @param <V>        The type of values.
+ */
+public record MapTransaction<K, V>(MapDelta<K, V>[] deltas, MapTransaction<K, V> parent, int depth,
+								   MapTransaction<K, V> jump, long deltaCount, MapTransaction<K, V> checkpoint,
+								   MapDelta<K, V>[] snapshot) implements Version {
+	public MapTransaction(MapDelta<K, V>[] deltas, MapTransaction<K, V> parent, MapDelta<K, V>[] snapshot) {
+		this(deltas, parent, parent == null ? 0 : parent.depth() + 1, computeJump(parent),
+				(parent == null ? 0 : parent.deltaCount()) + deltas.length,
+				parent == null ? null : parent.getNearestCheckpoint(), snapshot);
+	}
+
+	private static <K, V> MapTransaction<K, V> computeJump(MapTransaction<K, V> parent) {
+		if (parent == null) {
+			return null;
+		}
+		var parentJump = parent.jump();
+		if (parentJump == null) {
+			return parent;
+		}
+		var parentJumpJump = parentJump.jump();
+		int parentJumpJumpDepth = parentJumpJump == null ? 0 : parentJumpJump.depth();
+		if (parent.depth() - parentJump.depth() == parentJump.depth() - parentJumpJumpDepth) {
+			return parentJumpJump == null ? parentJump : parentJumpJump;
+		}
+		return parent;
+	}
+
+	/**
+	 * Returns the closest transaction with a snapshot among this transaction and its ancestors.
+	 *
+	 * @return The closest checkpoint, or {@code null} if there is none.
+	 */
+	public MapTransaction<K, V> getNearestCheckpoint() {
+		return snapshot == null ? checkpoint : this;
+	}
+
+	/**
+	 * Returns the ancestor of this transaction at the given depth in a logarithmic number of steps.
+	 *
+	 * @param targetDepth The depth of the ancestor.
+	 * @return The ancestor, or this transaction if {@code targetDepth} is equal to its depth.
+	 */
+	public MapTransaction<K, V> getAncestor(int targetDepth) {
+		if (targetDepth < 0 || targetDepth > depth) {
+			throw new IllegalArgumentException("No ancestor at depth %d for transaction at depth %d"
+					.formatted(targetDepth, depth));
+		}
+		var transaction = this;
+		while (transaction.depth() > targetDepth) {
+			var transactionJump = transaction.jump();
+			if (transactionJump != null && transactionJump.depth() >= targetDepth) {
+				transaction = transactionJump;
+			} else {
+				transaction = transaction.parent();
+			}
+		}
+		return transaction;
+	}
+
+	/**
+	 * Finds the closest common ancestor of two transactions in a logarithmic number of steps.
+	 *
+	 * @param first  The first transaction, or {@code null}.
+	 * @param second The second transaction, or {@code null}.
+	 * @param <K>    The type of keys.
+	 * @param <V>    The type of values.
+	 * @return The common ancestor, or {@code null} if the transactions do not share any ancestor.
+	 */
+	public static <K, V> MapTransaction<K, V> getCommonAncestor(MapTransaction<K, V> first,
+																MapTransaction<K, V> second) {
+		if (first == null || second == null) {
+			return null;
+		}
+		if (first.depth() > second.depth()) {
+			first = first.getAncestor(second.depth());
+		} else if (second.depth() > first.depth()) {
+			second = second.getAncestor(first.depth());
+		}
+		while (first != second) {
+			// Skip pointers only depend on the depth, so both jumps lead to the same depth.
+			if (first.jump() != second.jump()) {
+				first = first.jump();
+				second = second.jump();
+			} else {
+				first = first.parent();
+				second = second.parent();
+			}
+		}
+		return first;
+	}
 
 	@Override
 	public int hashCode() {
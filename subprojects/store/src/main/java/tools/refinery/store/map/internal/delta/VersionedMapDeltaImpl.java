@@ -39,7 +39,7 @@ public class VersionedMapDeltaImpl<K, V> implements VersionedMap<K, V> {
 	@Override
 	public Version commit() {
 		MapDelta<K, V>[] deltas = uncommittedStore.extractAndDeleteDeltas();
-		final MapTransaction<K,V> committedTransaction = this.store.appendTransaction(deltas, previous);
+		final MapTransaction<K,V> committedTransaction = this.store.appendTransaction(deltas, previous, current);
 		this.previous = committedTransaction;
 		return committedTransaction;
 	}
@@ -52,7 +52,16 @@ public class VersionedMapDeltaImpl<K, V> implements VersionedMap<K, V> {
 			backward(uncommitted);
 		}
 
-		// 2. get common ancestor
+		// 2. jump to a checkpoint if it is cheaper than walking through the common ancestor
+		final MapTransaction<K, V> target = this.store.getState(state);
+		if (target == this.previous) {
+			return;
+		}
+		if (target != null && restoreFromCheckpoint(target)) {
+			return;
+		}
+
+		// 3. get common ancestor
 		final MapTransaction<K,V> parent;
 		List<MapDelta<K, V>[]> forward = new ArrayList<>();
 		if (this.previous == null) {
@@ -67,6 +76,31 @@ public class VersionedMapDeltaImpl<K, V> implements VersionedMap<K, V> {
 		this.previous = parent;
 	}
 
+	private boolean restoreFromCheckpoint(MapTransaction<K, V> target) {
+		final MapTransaction<K, V> checkpoint = target.getNearestCheckpoint();
+		if (checkpoint == null) {
+			return false;
+		}
+		final MapTransaction<K, V> commonAncestor = MapTransaction.getCommonAncestor(this.previous, target);
+		long pathCost = getDeltaCount(this.previous) + target.deltaCount() - 2 * getDeltaCount(commonAncestor);
+		long checkpointCost = current.size() + checkpoint.snapshot().length + target.deltaCount() -
+				checkpoint.deltaCount();
+		if (checkpointCost >= pathCost) {
+			return false;
+		}
+		current.clear();
+		forward(checkpoint.snapshot());
+		List<MapDelta<K, V>[]> forward = new ArrayList<>();
+		this.store.getPath(checkpoint, target, new ArrayList<>(), forward);
+		this.forward(forward);
+		this.previous = target;
+		return true;
+	}
+
+	private static long getDeltaCount(MapTransaction<?, ?> transaction) {
+		return transaction == null ? 0 : transaction.deltaCount();
+	}
+
 	protected void forward(List<MapDelta<K, V>[]> changes) {
 		for (int i = changes.size() - 1; i >= 0; i--) {
 			forward(changes.get(i));
@@ -226,6 +260,9 @@ public class VersionedMapDeltaImpl<K, V> implements VersionedMap<K, V> {
 				if(parent.depth() != transaction.depth()-1) {
 					throw new IllegalStateException("Parent depths are inconsistent!");
 				}
+				if(transaction.jump() == null || transaction.jump().depth() >= transaction.depth()) {
+					throw new IllegalStateException("Skip pointer does not point to an ancestor!");
+				}
 			} else {
 				if(transaction.depth() != 0) {
 					throw new IllegalArgumentException("Root depth is not 0!");
@@ -13,6 +13,11 @@ import tools.refinery.store.map.VersionedMapStore;
 import java.util.*;
 
 public class VersionedMapStoreDeltaImpl<K, V> implements VersionedMapStore<K, V> {
+	/**
+	 * The minimal number of deltas between checkpoints. Small maps would otherwise be copied at almost every commit.
+	 */
+	static final int MINIMUM_CHECKPOINT_DISTANCE = 64;
+
 	// Configuration
 	protected final boolean summarizeChanges;
 
@@ -37,21 +42,51 @@ public class VersionedMapStoreDeltaImpl<K, V> implements VersionedMapStore<K, V>
 	}
 
 	public MapTransaction<K, V> appendTransaction(MapDelta<K, V>[] deltas, MapTransaction<K, V> previous) {
+		return appendTransaction(deltas, previous, null);
+	}
+
+	/**
+	 * Appends a new transaction and creates a checkpoint with a snapshot of the map content if enough deltas were
+	 * committed since the last checkpoint.
+	 * <p>
+	 * A checkpoint is only created when the number of deltas since the previous checkpoint is at least the size of
+	 * the map, so snapshots take up at most as much memory as the deltas themselves.
+	 *
+	 * @param deltas   The changes to commit, or {@code null} if there were no changes.
+	 * @param previous The parent transaction.
+	 * @param content  The content of the map after the changes, or {@code null} if no snapshot should be taken.
+	 * @return The new transaction, or {@code previous} if there were no changes.
+	 */
+	public MapTransaction<K, V> appendTransaction(MapDelta<K, V>[] deltas, MapTransaction<K, V> previous,
+												  Map<K, V> content) {
 		if (deltas == null) {
 			return previous;
-		} else {
-			final int depth;
-			if(previous != null) {
-				depth = previous.depth()+1;
-			} else {
-				depth = 0;
+		}
+		MapDelta<K, V>[] snapshot = null;
+		if (content != null) {
+			long deltaCount = (previous == null ? 0 : previous.deltaCount()) + deltas.length;
+			var checkpoint = previous == null ? null : previous.getNearestCheckpoint();
+			long deltasSinceCheckpoint = deltaCount - (checkpoint == null ? 0 : checkpoint.deltaCount());
+			if (deltasSinceCheckpoint >= Math.max(content.size(), MINIMUM_CHECKPOINT_DISTANCE)) {
+				snapshot = createSnapshot(content);
 			}
-			return new MapTransaction<>(deltas, previous, depth);
 		}
+		return new MapTransaction<>(deltas, previous, snapshot);
+	}
+
+	private MapDelta<K, V>[] createSnapshot(Map<K, V> content) {
+		@SuppressWarnings("unchecked")
+		MapDelta<K, V>[] snapshot = new MapDelta[content.size()];
+		int i = 0;
+		for (var entry : content.entrySet()) {
+			snapshot[i] = new MapDelta<>(entry.getKey(), defaultValue, entry.getValue());
+			i++;
+		}
+		return snapshot;
 	}
 
 	@SuppressWarnings("unchecked")
-	private MapTransaction<K, V> getState(Version state) {
+	MapTransaction<K, V> getState(Version state) {
 		return (MapTransaction<K, V>) state;
 	}
 
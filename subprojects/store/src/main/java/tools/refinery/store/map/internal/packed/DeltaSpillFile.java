@@ -0,0 +1,138 @@
+/*
+ * SPDX-FileCopyrightText: 2025 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.store.map.internal.packed;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * An append-only, memory-mapped temporary file holding the deltas of cold transactions.
+ * <p>
+ * The file is mapped in fixed size segments and no record crosses a segment boundary, so records can be read with
+ * absolute {@link MappedByteBuffer} accessors without any locking. Each change is stored as its packed key followed by
+ * the dictionary identifiers of its old and new values.
+ */
+class DeltaSpillFile implements AutoCloseable {
+	static final int SEGMENT_SIZE = 64 * 1024 * 1024;
+	static final int DELTA_SIZE = Long.BYTES + 2 * Integer.BYTES;
+
+	private final FileChannel channel;
+	private final List<MappedByteBuffer> segments = new ArrayList<>();
+	private long end;
+
+	DeltaSpillFile(Path directory) {
+		try {
+			var path = Files.createTempFile(directory, "refinery-deltas-", ".bin");
+			channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE,
+					StandardOpenOption.DELETE_ON_CLOSE);
+		} catch (IOException e) {
+			throw new UncheckedIOException("Failed to create delta spill file in " + directory, e);
+		}
+	}
+
+	static boolean canSpill(int size) {
+		return size > 0 && (long) size * DELTA_SIZE <= SEGMENT_SIZE;
+	}
+
+	/**
+	 * Appends deltas to the file.
+	 *
+	 * @param deltas     The deltas to write.
+	 * @param dictionary The dictionary to encode values with.
+	 * @return The offset of the written record.
+	 */
+	synchronized long write(PackedDeltas<?> deltas, ValueDictionary dictionary) {
+		int length = deltas.size() * DELTA_SIZE;
+		int segmentIndex = (int) (end / SEGMENT_SIZE);
+		int position = (int) (end % SEGMENT_SIZE);
+		if (position + length > SEGMENT_SIZE) {
+			segmentIndex++;
+			position = 0;
+		}
+		var segment = getSegment(segmentIndex);
+		var keys = deltas.keys();
+		var oldValues = deltas.oldValues();
+		var newValues = deltas.newValues();
+		int index = position;
+		for (int i = 0; i < keys.length; i++) {
+			segment.putLong(index, keys[i]);
+			segment.putInt(index + Long.BYTES, dictionary.encode(oldValues[i]));
+			segment.putInt(index + Long.BYTES + Integer.BYTES, dictionary.encode(newValues[i]));
+			index += DELTA_SIZE;
+		}
+		long offset = (long) segmentIndex * SEGMENT_SIZE + position;
+		end = offset + length;
+		return offset;
+	}
+
+	private MappedByteBuffer getSegment(int segmentIndex) {
+		while (segments.size() <= segmentIndex) {
+			try {
+				segments.add(channel.map(FileChannel.MapMode.READ_WRITE, (long) segments.size() * SEGMENT_SIZE,
+						SEGMENT_SIZE));
+			} catch (IOException e) {
+				throw new UncheckedIOException("Failed to map delta spill file", e);
+			}
+		}
+		return segments.get(segmentIndex);
+	}
+
+	/**
+	 * Reads back deltas written by {@link #write(PackedDeltas, ValueDictionary)}.
+	 * <p>
+	 * The caller must make sure that the write of the record happens-before this call, e.g., by publishing the
+	 * offset through a {@code volatile} field.
+	 *
+	 * @param offset     The offset of the record.
+	 * @param size       The number of changes in the record.
+	 * @param dictionary The dictionary to decode values with.
+	 * @param <V>        The type of values.
+	 * @return The decoded deltas.
+	 */
+	<V> PackedDeltas<V> read(long offset, int size, ValueDictionary dictionary) {
+		MappedByteBuffer segment;
+		synchronized (this) {
+			segment = segments.get((int) (offset / SEGMENT_SIZE));
+		}
+		var keys = new long[size];
+		V[] oldValues = newValueArray(size);
+		V[] newValues = newValueArray(size);
+		int index = (int) (offset % SEGMENT_SIZE);
+		for (int i = 0; i < size; i++) {
+			keys[i] = segment.getLong(index);
+			oldValues[i] = decode(dictionary, segment.getInt(index + Long.BYTES));
+			newValues[i] = decode(dictionary, segment.getInt(index + Long.BYTES + Integer.BYTES));
+			index += DELTA_SIZE;
+		}
+		return new PackedDeltas<>(keys, oldValues, newValues);
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <V> V[] newValueArray(int length) {
+		return (V[]) new Object[length];
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <V> V decode(ValueDictionary dictionary, int id) {
+		return (V) dictionary.decode(id);
+	}
+
+	@Override
+	public void close() {
+		try {
+			channel.close();
+		} catch (IOException e) {
+			throw new UncheckedIOException("Failed to close delta spill file", e);
+		}
+	}
+}
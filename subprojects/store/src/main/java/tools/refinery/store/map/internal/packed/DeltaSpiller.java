@@ -0,0 +1,73 @@
+/*
+ * SPDX-FileCopyrightText: 2025 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.store.map.internal.packed;
+
+import java.lang.ref.Cleaner;
+import java.lang.ref.WeakReference;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Queue;
+
+/**
+ * Keeps the number of committed changes held on the heap by {@link VersionedMapStorePackedImpl} instances under a
+ * budget by paging the deltas of the oldest transactions out to a memory-mapped {@link DeltaSpillFile}.
+ * <p>
+ * Spilled transactions are faulted back in transparently whenever their deltas are needed to restore a version or to
+ * compute a diff. A single spiller may be shared by all stores of a model store.
+ */
+public class DeltaSpiller {
+	private static final Cleaner CLEANER = Cleaner.create();
+
+	private final long maxDeltasInMemory;
+	private final DeltaSpillFile file;
+	private final ValueDictionary dictionary = new ValueDictionary();
+	private final Queue<Entry> inMemoryTransactions = new ArrayDeque<>();
+	private long deltasInMemory;
+
+	public DeltaSpiller(Path directory, long maxDeltasInMemory) {
+		if (maxDeltasInMemory < 0) {
+			throw new IllegalArgumentException("Maximum number of deltas in memory must not be negative, got " +
+					maxDeltasInMemory);
+		}
+		this.maxDeltasInMemory = maxDeltasInMemory;
+		file = new DeltaSpillFile(directory);
+		// Release the file when no transaction can refer to it anymore.
+		CLEANER.register(this, file::close);
+	}
+
+	public long getMaxDeltasInMemory() {
+		return maxDeltasInMemory;
+	}
+
+	synchronized void register(PackedMapTransaction<?> transaction) {
+		int size = transaction.size();
+		inMemoryTransactions.add(new Entry(new WeakReference<>(transaction), size));
+		deltasInMemory += size;
+		while (deltasInMemory > maxDeltasInMemory) {
+			var entry = inMemoryTransactions.poll();
+			if (entry == null) {
+				break;
+			}
+			deltasInMemory -= entry.size();
+			var coldTransaction = entry.transaction().get();
+			// Transactions that were garbage collected don't need to be spilled.
+			if (coldTransaction != null && DeltaSpillFile.canSpill(entry.size())) {
+				coldTransaction.spill(this);
+			}
+		}
+	}
+
+	long write(PackedDeltas<?> deltas) {
+		return file.write(deltas, dictionary);
+	}
+
+	<V> PackedDeltas<V> read(long offset, int size) {
+		return file.read(offset, size, dictionary);
+	}
+
+	private record Entry(WeakReference<PackedMapTransaction<?>> transaction, int size) {
+	}
+}
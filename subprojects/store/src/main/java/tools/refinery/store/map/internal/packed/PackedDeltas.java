@@ -0,0 +1,20 @@
+/*
+ * SPDX-FileCopyrightText: 2025 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.store.map.internal.packed;
+
+/**
+ * Changes of a map with packed keys stored in parallel arrays, so that no object is allocated per change.
+ *
+ * @param keys      The packed keys of the changed entries.
+ * @param oldValues The values before the changes.
+ * @param newValues The values after the changes.
+ * @param <V>       The type of values.
+ */
+public record PackedDeltas<V>(long[] keys, V[] oldValues, V[] newValues) {
+	public int size() {
+		return keys.length;
+	}
+}
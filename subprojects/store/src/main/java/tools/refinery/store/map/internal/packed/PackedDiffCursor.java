@@ -0,0 +1,112 @@
+/*
+ * SPDX-FileCopyrightText: 2025 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.store.map.internal.packed;
+
+import tools.refinery.store.map.AnyVersionedMap;
+import tools.refinery.store.map.DiffCursor;
+import tools.refinery.store.tuple.Tuple;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Iterates over the changes between two versions of a map with packed keys.
+ * <p>
+ * Backward transactions are undone from the last change to the first, then forward transactions are replayed from the
+ * oldest to the newest. Keys are only unpacked into {@link Tuple} instances when {@link #getKey()} is called.
+ *
+ * @param <V> The type of values.
+ */
+public class PackedDiffCursor<V> implements DiffCursor<Tuple, V> {
+	private final int arity;
+	private final List<PackedDeltas<V>> backwardTransactions;
+	private final List<PackedDeltas<V>> forwardTransactions;
+	private boolean forward;
+	private boolean terminated;
+	private PackedDeltas<V> currentDeltas;
+	private int listIndex;
+	private int arrayIndex;
+	private Tuple key;
+
+	public PackedDiffCursor(int arity, List<PackedDeltas<V>> backwardTransactions,
+							List<PackedDeltas<V>> forwardTransactions) {
+		this.arity = arity;
+		this.backwardTransactions = backwardTransactions;
+		this.forwardTransactions = forwardTransactions;
+	}
+
+	@Override
+	public Tuple getKey() {
+		if (key == null && currentDeltas != null) {
+			key = PackedTuples.unpack(currentDeltas.keys()[arrayIndex], arity);
+		}
+		return key;
+	}
+
+	@Override
+	public V getValue() {
+		return getToValue();
+	}
+
+	@Override
+	public V getFromValue() {
+		return forward ? currentDeltas.oldValues()[arrayIndex] : currentDeltas.newValues()[arrayIndex];
+	}
+
+	@Override
+	public V getToValue() {
+		return forward ? currentDeltas.newValues()[arrayIndex] : currentDeltas.oldValues()[arrayIndex];
+	}
+
+	@Override
+	public boolean isTerminated() {
+		return terminated;
+	}
+
+	@Override
+	public boolean move() {
+		if (terminated) {
+			return false;
+		}
+		key = null;
+		while (true) {
+			if (!forward) {
+				if (currentDeltas != null && arrayIndex > 0) {
+					arrayIndex--;
+					return true;
+				}
+				if (listIndex < backwardTransactions.size()) {
+					currentDeltas = backwardTransactions.get(listIndex);
+					listIndex++;
+					arrayIndex = currentDeltas.size();
+				} else {
+					forward = true;
+					currentDeltas = null;
+					listIndex = forwardTransactions.size();
+				}
+			} else {
+				if (currentDeltas != null && arrayIndex + 1 < currentDeltas.size()) {
+					arrayIndex++;
+					return true;
+				}
+				if (listIndex > 0) {
+					listIndex--;
+					currentDeltas = forwardTransactions.get(listIndex);
+					arrayIndex = -1;
+				} else {
+					terminated = true;
+					currentDeltas = null;
+					return false;
+				}
+			}
+		}
+	}
+
+	@Override
+	public Set<AnyVersionedMap> getDependingMaps() {
+		return Set.of();
+	}
+}
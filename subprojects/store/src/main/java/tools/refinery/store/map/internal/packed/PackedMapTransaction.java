@@ -0,0 +1,76 @@
+/*
+ * SPDX-FileCopyrightText: 2025 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.store.map.internal.packed;
+
+import tools.refinery.store.map.Version;
+
+/**
+ * A committed transaction in a {@link VersionedMapStorePackedImpl}.
+ * <p>
+ * Every transaction is a distinct version, so we rely on reference equality instead of comparing the (possibly long)
+ * chains of parents.
+ * <p>
+ * The deltas of cold transactions may be paged out by a {@link DeltaSpiller}, in which case {@link #getDeltas()}
+ * reads them back from the spill file.
+ */
+public final class PackedMapTransaction<V> implements Version {
+	private static final long NOT_SPILLED = -1;
+
+	private final PackedMapTransaction<V> parent;
+	private final int depth;
+	private final int size;
+	private volatile PackedDeltas<V> deltas;
+	private DeltaSpiller spiller;
+	private volatile long spillOffset = NOT_SPILLED;
+
+	public PackedMapTransaction(PackedDeltas<V> deltas, PackedMapTransaction<V> parent) {
+		this.deltas = deltas;
+		this.parent = parent;
+		depth = parent == null ? 0 : parent.depth + 1;
+		size = deltas.size();
+	}
+
+	public PackedDeltas<V> getDeltas() {
+		var inMemoryDeltas = deltas;
+		if (inMemoryDeltas != null) {
+			return inMemoryDeltas;
+		}
+		// Reading the volatile deltas field as null guarantees that spiller and spillOffset are visible.
+		return spiller.read(spillOffset, size);
+	}
+
+	public PackedMapTransaction<V> getParent() {
+		return parent;
+	}
+
+	public int getDepth() {
+		return depth;
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public boolean isSpilled() {
+		return spillOffset != NOT_SPILLED;
+	}
+
+	void spill(DeltaSpiller deltaSpiller) {
+		var inMemoryDeltas = deltas;
+		if (inMemoryDeltas == null) {
+			return;
+		}
+		spiller = deltaSpiller;
+		spillOffset = deltaSpiller.write(inMemoryDeltas);
+		// Only drop the deltas after the offset was published.
+		deltas = null;
+	}
+
+	@Override
+	public String toString() {
+		return "PackedMapTransaction " + depth + " " + size;
+	}
+}
@@ -0,0 +1,46 @@
+/*
+ * SPDX-FileCopyrightText: 2025 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.store.map.internal.packed;
+
+import tools.refinery.store.tuple.Tuple;
+
+/**
+ * Converts between unary and binary tuples and their representation as a single {@code long} value.
+ */
+public final class PackedTuples {
+	private PackedTuples() {
+		throw new IllegalStateException("This is a static utility class and should not be instantiated directly");
+	}
+
+	public static boolean isPackable(int arity) {
+		return arity == 1 || arity == 2;
+	}
+
+	public static long pack(int element) {
+		return element;
+	}
+
+	public static long pack(int source, int target) {
+		return ((long) source << Integer.SIZE) | Integer.toUnsignedLong(target);
+	}
+
+	public static long pack(Tuple tuple) {
+		return switch (tuple.getSize()) {
+			case 1 -> pack(tuple.get(0));
+			case 2 -> pack(tuple.get(0), tuple.get(1));
+			default -> throw new IllegalArgumentException("Only unary and binary tuples can be packed, got " + tuple);
+		};
+	}
+
+	public static Tuple unpack(long packedTuple, int arity) {
+		return switch (arity) {
+			case 1 -> Tuple.of((int) packedTuple);
+			case 2 -> Tuple.of((int) (packedTuple >>> Integer.SIZE), (int) packedTuple);
+			default -> throw new IllegalArgumentException("Only unary and binary tuples can be packed, got arity " +
+					arity);
+		};
+	}
+}
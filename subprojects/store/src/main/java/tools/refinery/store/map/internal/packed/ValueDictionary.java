@@ -0,0 +1,42 @@
+/*
+ * SPDX-FileCopyrightText: 2025 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.store.map.internal.packed;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Assigns dense {@code int} identifiers to map values, so that spilled deltas can refer to them with a fixed width.
+ * <p>
+ * Values are never removed from the dictionary, because spilled deltas may refer to them at any time. Therefore,
+ * {@link tools.refinery.store.model.ModelStoreBuilder#deltaSpilling(java.nio.file.Path, long)} only spills symbols
+ * with values from a finite domain (e.g., truth values), which keeps the dictionary bounded.
+ */
+class ValueDictionary {
+	static final int NULL_ID = -1;
+
+	private final Map<Object, Integer> ids = new HashMap<>();
+	private final List<Object> values = new ArrayList<>();
+
+	synchronized int encode(Object value) {
+		if (value == null) {
+			return NULL_ID;
+		}
+		var id = ids.get(value);
+		if (id == null) {
+			id = values.size();
+			values.add(value);
+			ids.put(value, id);
+		}
+		return id;
+	}
+
+	synchronized Object decode(int id) {
+		return id == NULL_ID ? null : values.get(id);
+	}
+}
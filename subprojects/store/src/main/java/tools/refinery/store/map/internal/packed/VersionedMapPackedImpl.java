@@ -0,0 +1,291 @@
+/*
+ * SPDX-FileCopyrightText: 2025 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.store.map.internal.packed;
+
+import org.eclipse.collections.api.factory.primitive.LongObjectMaps;
+import org.eclipse.collections.api.iterator.MutableLongIterator;
+import org.eclipse.collections.api.map.primitive.MutableLongObjectMap;
+import tools.refinery.store.map.*;
+import tools.refinery.store.tuple.Tuple;
+
+import java.util.*;
+
+/**
+ * A delta-based versioned map with unary or binary {@link Tuple} keys, which stores every key as a packed
+ * {@code long} value.
+ * <p>
+ * Besides the {@link VersionedMap} interface, the {@link #get(long)} and {@link #put(long, Object)} methods let callers
+ * access the map without allocating a {@link Tuple}.
+ *
+ * @param <V> The type of values.
+ */
+public class VersionedMapPackedImpl<V> implements VersionedMap<Tuple, V> {
+	private static final int INITIAL_UNCOMMITTED_CAPACITY = 16;
+
+	private final VersionedMapStorePackedImpl<V> store;
+	private final int arity;
+	private final V defaultValue;
+	private final MutableLongObjectMap<V> current = LongObjectMaps.mutable.empty();
+	private long[] uncommittedKeys = new long[INITIAL_UNCOMMITTED_CAPACITY];
+	private V[] uncommittedOldValues = newValueArray(INITIAL_UNCOMMITTED_CAPACITY);
+	private V[] uncommittedNewValues = newValueArray(INITIAL_UNCOMMITTED_CAPACITY);
+	private int uncommittedSize;
+	private PackedMapTransaction<V> previous;
+
+	VersionedMapPackedImpl(VersionedMapStorePackedImpl<V> store, int arity, V defaultValue) {
+		this.store = store;
+		this.arity = arity;
+		this.defaultValue = defaultValue;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <V> V[] newValueArray(int length) {
+		return (V[]) new Object[length];
+	}
+
+	@Override
+	public V getDefaultValue() {
+		return defaultValue;
+	}
+
+	public int getArity() {
+		return arity;
+	}
+
+	private long checkAndPack(Tuple key) {
+		if (key.getSize() != arity) {
+			throw new IllegalArgumentException("Expected a key of arity %d, got %s".formatted(arity, key));
+		}
+		return PackedTuples.pack(key);
+	}
+
+	@Override
+	public V get(Tuple key) {
+		return get(checkAndPack(key));
+	}
+
+	public V get(long packedKey) {
+		return current.getIfAbsent(packedKey, defaultValue);
+	}
+
+	@Override
+	public V put(Tuple key, V value) {
+		return put(checkAndPack(key), value);
+	}
+
+	public V put(long packedKey, V value) {
+		var oldValue = setCurrent(packedKey, value);
+		if (!Objects.equals(oldValue, value)) {
+			addUncommitted(packedKey, oldValue, value);
+		}
+		return oldValue;
+	}
+
+	private V setCurrent(long packedKey, V value) {
+		V oldValue;
+		if (Objects.equals(value, defaultValue)) {
+			oldValue = current.remove(packedKey);
+		} else {
+			oldValue = current.put(packedKey, value);
+		}
+		return oldValue == null ? defaultValue : oldValue;
+	}
+
+	private void addUncommitted(long packedKey, V oldValue, V newValue) {
+		if (uncommittedSize == uncommittedKeys.length) {
+			int newCapacity = uncommittedSize * 2;
+			uncommittedKeys = Arrays.copyOf(uncommittedKeys, newCapacity);
+			uncommittedOldValues = Arrays.copyOf(uncommittedOldValues, newCapacity);
+			uncommittedNewValues = Arrays.copyOf(uncommittedNewValues, newCapacity);
+		}
+		uncommittedKeys[uncommittedSize] = packedKey;
+		uncommittedOldValues[uncommittedSize] = oldValue;
+		uncommittedNewValues[uncommittedSize] = newValue;
+		uncommittedSize++;
+	}
+
+	private PackedDeltas<V> getUncommittedDeltas() {
+		if (uncommittedSize == 0) {
+			return null;
+		}
+		return new PackedDeltas<>(Arrays.copyOf(uncommittedKeys, uncommittedSize),
+				Arrays.copyOf(uncommittedOldValues, uncommittedSize),
+				Arrays.copyOf(uncommittedNewValues, uncommittedSize));
+	}
+
+	private void clearUncommitted() {
+		Arrays.fill(uncommittedOldValues, 0, uncommittedSize, null);
+		Arrays.fill(uncommittedNewValues, 0, uncommittedSize, null);
+		uncommittedSize = 0;
+	}
+
+	@Override
+	public Cursor<Tuple, V> getAll() {
+		return new PackedCursor();
+	}
+
+	@Override
+	public void putAll(Cursor<Tuple, V> cursor) {
+		if (cursor.getDependingMaps().contains(this)) {
+			List<Tuple> keys = new ArrayList<>();
+			List<V> values = new ArrayList<>();
+			while (cursor.move()) {
+				keys.add(cursor.getKey());
+				values.add(cursor.getValue());
+			}
+			for (int i = 0; i < keys.size(); i++) {
+				put(keys.get(i), values.get(i));
+			}
+		} else {
+			while (cursor.move()) {
+				put(cursor.getKey(), cursor.getValue());
+			}
+		}
+	}
+
+	@Override
+	public long getSize() {
+		return current.size();
+	}
+
+	@Override
+	public Version commit() {
+		var deltas = getUncommittedDeltas();
+		if (deltas != null) {
+			clearUncommitted();
+			previous = new PackedMapTransaction<>(deltas, previous);
+			store.registerTransaction(previous);
+		}
+		return previous;
+	}
+
+	@Override
+	public void restore(Version state) {
+		// 1. restore uncommitted states
+		for (int i = uncommittedSize - 1; i >= 0; i--) {
+			setCurrent(uncommittedKeys[i], uncommittedOldValues[i]);
+		}
+		clearUncommitted();
+
+		// 2. walk to the target through the common ancestor
+		var target = store.getState(state);
+		List<PackedDeltas<V>> backward = new ArrayList<>();
+		List<PackedDeltas<V>> forward = new ArrayList<>();
+		store.getPath(previous, target, backward, forward);
+		for (var deltas : backward) {
+			var keys = deltas.keys();
+			var oldValues = deltas.oldValues();
+			for (int i = keys.length - 1; i >= 0; i--) {
+				setCurrent(keys[i], oldValues[i]);
+			}
+		}
+		for (int i = forward.size() - 1; i >= 0; i--) {
+			var deltas = forward.get(i);
+			var keys = deltas.keys();
+			var newValues = deltas.newValues();
+			for (int j = 0; j < keys.length; j++) {
+				setCurrent(keys[j], newValues[j]);
+			}
+		}
+		previous = target;
+	}
+
+	@Override
+	public DiffCursor<Tuple, V> getDiffCursor(Version state) {
+		List<PackedDeltas<V>> backward = new ArrayList<>();
+		List<PackedDeltas<V>> forward = new ArrayList<>();
+		var uncommitted = getUncommittedDeltas();
+		if (uncommitted != null) {
+			backward.add(uncommitted);
+		}
+		store.getPath(previous, store.getState(state), backward, forward);
+		return new PackedDiffCursor<>(arity, backward, forward);
+	}
+
+	@Override
+	public int contentHashCode(ContentHashCode mode) {
+		return current.hashCode();
+	}
+
+	@Override
+	public boolean contentEquals(AnyVersionedMap other) {
+		if (other instanceof VersionedMapPackedImpl<?> packed) {
+			if (packed == this) {
+				return true;
+			}
+			return arity == packed.arity && Objects.equals(defaultValue, packed.defaultValue) &&
+					current.equals(packed.current);
+		} else {
+			throw new UnsupportedOperationException("Comparing different map implementations is ineffective.");
+		}
+	}
+
+	@Override
+	public void checkIntegrity() {
+		var iterator = current.keySet().longIterator();
+		while (iterator.hasNext()) {
+			var value = current.get(iterator.next());
+			if (value == null) {
+				throw new IllegalStateException("null value stored in map!");
+			} else if (Objects.equals(value, defaultValue)) {
+				throw new IllegalStateException("Default value stored in map!");
+			}
+		}
+		var transaction = previous;
+		while (transaction != null) {
+			var parent = transaction.getParent();
+			int expectedDepth = parent == null ? 0 : parent.getDepth() + 1;
+			if (transaction.getDepth() != expectedDepth) {
+				throw new IllegalStateException("Parent depths are inconsistent!");
+			}
+			transaction = parent;
+		}
+	}
+
+	private class PackedCursor implements Cursor<Tuple, V> {
+		private final MutableLongIterator iterator = current.keySet().longIterator();
+		private boolean terminated;
+		private long packedKey;
+		private Tuple key;
+		private V value;
+
+		@Override
+		public Tuple getKey() {
+			if (key == null && value != null) {
+				key = PackedTuples.unpack(packedKey, arity);
+			}
+			return key;
+		}
+
+		@Override
+		public V getValue() {
+			return value;
+		}
+
+		@Override
+		public boolean isTerminated() {
+			return terminated;
+		}
+
+		@Override
+		public boolean move() {
+			key = null;
+			terminated = !iterator.hasNext();
+			if (terminated) {
+				value = null;
+			} else {
+				packedKey = iterator.next();
+				value = current.get(packedKey);
+			}
+			return !terminated;
+		}
+
+		@Override
+		public Set<AnyVersionedMap> getDependingMaps() {
+			return Set.of(VersionedMapPackedImpl.this);
+		}
+	}
+}
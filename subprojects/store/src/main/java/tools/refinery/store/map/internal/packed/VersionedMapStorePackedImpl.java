@@ -0,0 +1,100 @@
+/*
+ * SPDX-FileCopyrightText: 2025 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.store.map.internal.packed;
+
+import tools.refinery.store.map.DiffCursor;
+import tools.refinery.store.map.Version;
+import tools.refinery.store.map.VersionedMap;
+import tools.refinery.store.map.VersionedMapStore;
+import tools.refinery.store.tuple.Tuple;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A delta-based store for unary or binary relations, which keeps keys as packed {@code long} values instead of
+ * {@link Tuple} instances both in maps and in committed transactions.
+ *
+ * @param <V> The type of values.
+ */
+public class VersionedMapStorePackedImpl<V> implements VersionedMapStore<Tuple, V> {
+	private final int arity;
+	private final V defaultValue;
+	private final DeltaSpiller spiller;
+
+	public VersionedMapStorePackedImpl(int arity, V defaultValue) {
+		this(arity, defaultValue, null);
+	}
+
+	/**
+	 * Creates a store that pages out cold transactions.
+	 *
+	 * @param arity        The arity of keys.
+	 * @param defaultValue The default value of maps.
+	 * @param spiller      The spiller that keeps committed deltas under its heap budget, or {@code null} to keep all
+	 *                     deltas on the heap.
+	 */
+	public VersionedMapStorePackedImpl(int arity, V defaultValue, DeltaSpiller spiller) {
+		if (!PackedTuples.isPackable(arity)) {
+			throw new IllegalArgumentException("Only unary and binary relations can have packed keys, got arity " +
+					arity);
+		}
+		this.arity = arity;
+		this.defaultValue = defaultValue;
+		this.spiller = spiller;
+	}
+
+	public int getArity() {
+		return arity;
+	}
+
+	@Override
+	public VersionedMap<Tuple, V> createMap() {
+		return new VersionedMapPackedImpl<>(this, arity, defaultValue);
+	}
+
+	@Override
+	public VersionedMap<Tuple, V> createMap(Version state) {
+		var result = new VersionedMapPackedImpl<>(this, arity, defaultValue);
+		result.restore(state);
+		return result;
+	}
+
+	void registerTransaction(PackedMapTransaction<V> transaction) {
+		if (spiller != null) {
+			spiller.register(transaction);
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	PackedMapTransaction<V> getState(Version state) {
+		return (PackedMapTransaction<V>) state;
+	}
+
+	void getPath(PackedMapTransaction<V> from, PackedMapTransaction<V> to, List<PackedDeltas<V>> backwardTransactions,
+				 List<PackedDeltas<V>> forwardTransactions) {
+		var fromTransaction = from;
+		var toTransaction = to;
+		while (fromTransaction != toTransaction) {
+			if (fromTransaction == null ||
+					(toTransaction != null && fromTransaction.getDepth() < toTransaction.getDepth())) {
+				forwardTransactions.add(toTransaction.getDeltas());
+				toTransaction = toTransaction.getParent();
+			} else {
+				backwardTransactions.add(fromTransaction.getDeltas());
+				fromTransaction = fromTransaction.getParent();
+			}
+		}
+	}
+
+	@Override
+	public DiffCursor<Tuple, V> getDiffCursor(Version fromState, Version toState) {
+		List<PackedDeltas<V>> backwardTransactions = new ArrayList<>();
+		List<PackedDeltas<V>> forwardTransactions = new ArrayList<>();
+		getPath(getState(fromState), getState(toState), backwardTransactions, forwardTransactions);
+		return new PackedDiffCursor<>(arity, backwardTransactions, forwardTransactions);
+	}
+}
@@ -6,7 +6,6 @@
 package tools.refinery.store.map.internal.state;
 
 import java.util.Arrays;
-import java.util.Map;
 
 import tools.refinery.store.map.ContinuousHashProvider;
 import tools.refinery.store.map.Version;
@@ -48,7 +47,7 @@ public class ImmutableNode<K, V> extends Node<K, V> implements Version {
 	 *              available.
 	 * @return an immutable version of the input node.
 	 */
-	static <K, V> ImmutableNode<K, V> constructImmutable(MutableNode<K, V> node, Map<Node<K, V>, ImmutableNode<K, V>> cache) {
+	static <K, V> ImmutableNode<K, V> constructImmutable(MutableNode<K, V> node, NodeCache<K, V> cache) {
 		// 1. try to return from cache
 		if (cache != null) {
 			ImmutableNode<K, V> cachedResult = cache.get(node);
@@ -93,9 +92,9 @@ public class ImmutableNode<K, V> extends Node<K, V> implements Version {
 		final int resultHash = node.hashCode();
 		var newImmutable = new ImmutableNode<K, V>(resultDataMap, resultNodeMap, resultContent, resultHash);
 
-		// 3. save new immutable.
+		// 3. save new immutable, unless another thread has saved an equal one in the meantime.
 		if (cache != null) {
-			cache.put(newImmutable, newImmutable);
+			return cache.intern(newImmutable);
 		}
 		return newImmutable;
 	}
@@ -203,7 +202,7 @@ public class ImmutableNode<K, V> extends Node<K, V> implements Version {
 	}
 
 	@Override
-	public ImmutableNode<K, V> toImmutable(Map<Node<K, V>, ImmutableNode<K, V>> cache) {
+	public ImmutableNode<K, V> toImmutable(NodeCache<K, V> cache) {
 		return this;
 	}
 
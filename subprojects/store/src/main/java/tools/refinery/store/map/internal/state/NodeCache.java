@@ -0,0 +1,83 @@
+/*
+ * SPDX-FileCopyrightText: 2025 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.store.map.internal.state;
+
+import java.lang.ref.WeakReference;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * A thread-safe cache of immutable nodes shared by the maps of one or more stores.
+ * <p>
+ * The cache is split into stripes by node hash code, and each stripe has its own lock. This way concurrent commits
+ * only contend when they intern nodes in the same stripe. If version freeing is enabled, the cache holds both keys and
+ * values weakly, so nodes that are no longer reachable from any version can be garbage collected.
+ *
+ * @param <K> The type of keys.
+ * @param <V> The type of values.
+ */
+public class NodeCache<K, V> {
+	private static final int STRIPE_COUNT = 64;
+
+	private final boolean weak;
+	private final Map<Node<K, V>, Object>[] stripes;
+
+	@SuppressWarnings("unchecked")
+	public NodeCache(boolean weak) {
+		this.weak = weak;
+		stripes = new Map[STRIPE_COUNT];
+		for (int i = 0; i < STRIPE_COUNT; i++) {
+			stripes[i] = weak ? new WeakHashMap<>() : new HashMap<>();
+		}
+	}
+
+	private Map<Node<K, V>, Object> getStripe(Node<K, V> node) {
+		int hash = node.hashCode();
+		return stripes[(hash ^ (hash >>> 16)) & (STRIPE_COUNT - 1)];
+	}
+
+	/**
+	 * Finds an immutable node equal to the given (mutable or immutable) node.
+	 *
+	 * @param node The node to look up.
+	 * @return The cached immutable node, or {@code null} if there is none.
+	 */
+	public ImmutableNode<K, V> get(Node<K, V> node) {
+		var stripe = getStripe(node);
+		synchronized (stripe) {
+			return unwrap(stripe.get(node));
+		}
+	}
+
+	/**
+	 * Adds an immutable node to the cache unless an equal node is already present.
+	 *
+	 * @param node The node to add.
+	 * @return The node that is present in the cache after the call, which may have been added concurrently by another
+	 * thread.
+	 */
+	public ImmutableNode<K, V> intern(ImmutableNode<K, V> node) {
+		var stripe = getStripe(node);
+		synchronized (stripe) {
+			var existing = unwrap(stripe.get(node));
+			if (existing != null) {
+				return existing;
+			}
+			// Values of a weak cache must not reference their keys strongly, or they would never be collected.
+			stripe.put(node, weak ? new WeakReference<>(node) : node);
+			return node;
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private ImmutableNode<K, V> unwrap(Object value) {
+		if (value instanceof WeakReference<?> reference) {
+			return (ImmutableNode<K, V>) reference.get();
+		}
+		return (ImmutableNode<K, V>) value;
+	}
+}
@@ -1,5 +1,5 @@
 /*
- * SPDX-FileCopyrightText: 2021-2023 The Refinery Authors <https://refinery.tools/>
+ * SPDX-FileCopyrightText: 2021-2025 The Refinery Authors <https://refinery.tools/>
  *
  * SPDX-License-Identifier: EPL-2.0
  */
@@ -15,4 +15,12 @@ public sealed interface AnyInterpretation permits Interpretation {
 	long getSize();
 
 	int getAdjacentSize(int slot, int node);
+
+	/**
+	 * Gets the number of distinct nodes that appear at the given position of the keys with non-default values.
+	 *
+	 * @param slot The position in the key.
+	 * @return The number of nodes adjacent to at least one key.
+	 */
+	int getAdjacentNodeCount(int slot);
 }
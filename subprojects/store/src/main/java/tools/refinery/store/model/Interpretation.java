@@ -17,12 +17,58 @@ public non-sealed interface Interpretation<T> extends AnyInterpretation {
 
 	T get(Tuple key);
 
+	/**
+	 * Gets the value of a unary symbol. Implementations may avoid allocating a {@link Tuple} for the key.
+	 *
+	 * @param element The element.
+	 * @return The value associated with the element.
+	 */
+	default T get(int element) {
+		return get(Tuple.of(element));
+	}
+
+	/**
+	 * Gets the value of a binary symbol. Implementations may avoid allocating a {@link Tuple} for the key.
+	 *
+	 * @param source The first element of the key.
+	 * @param target The second element of the key.
+	 * @return The value associated with the key.
+	 */
+	default T get(int source, int target) {
+		return get(Tuple.of(source, target));
+	}
+
 	Cursor<Tuple, T> getAll();
 
 	Cursor<Tuple, T> getAdjacent(int slot, int node);
 
 	T put(Tuple key, T value);
 
+	/**
+	 * Sets the value of a unary symbol. Implementations may avoid allocating a {@link Tuple} for the key unless the
+	 * value changes.
+	 *
+	 * @param element The element.
+	 * @param value   The new value.
+	 * @return The previous value associated with the element.
+	 */
+	default T put(int element, T value) {
+		return put(Tuple.of(element), value);
+	}
+
+	/**
+	 * Sets the value of a binary symbol. Implementations may avoid allocating a {@link Tuple} for the key unless the
+	 * value changes.
+	 *
+	 * @param source The first element of the key.
+	 * @param target The second element of the key.
+	 * @param value  The new value.
+	 * @return The previous value associated with the key.
+	 */
+	default T put(int source, int target, T value) {
+		return put(Tuple.of(source, target), value);
+	}
+
 	void putAll(Cursor<Tuple, T> cursor);
 
 	DiffCursor<Tuple, T> getDiffCursor(Version to);
@@ -22,6 +22,18 @@ public interface ModelStore {
 
 	Model createModelForState(Version state);
 
+	/**
+	 * Creates a read-only model for the given state without instantiating any model adapters.
+	 * <p>
+	 * Bare models are cheap to create and are suitable for reading the interpretations of stored states, e.g., for
+	 * comparing states with each other. Modifying or committing a bare model throws an
+	 * {@link UnsupportedOperationException}.
+	 *
+	 * @param state The state to create the model for.
+	 * @return The bare model.
+	 */
+	Model createBareModelForState(Version state);
+
 	ModelDiffCursor getDiffCursor(Version from, Version to);
 
 	<T extends ModelStoreAdapter> Optional<T> tryGetAdapter(Class<? extends T> adapterType);
@@ -1,15 +1,17 @@
 /*
- * SPDX-FileCopyrightText: 2021-2023 The Refinery Authors <https://refinery.tools/>
+ * SPDX-FileCopyrightText: 2021-2025 The Refinery Authors <https://refinery.tools/>
  *
  * SPDX-License-Identifier: EPL-2.0
  */
 package tools.refinery.store.model;
 
 import tools.refinery.store.adapter.ModelAdapterBuilder;
+import tools.refinery.store.map.VersionedMapStoreFactoryBuilder.StoreStrategy;
 import tools.refinery.store.representation.AnySymbol;
 import tools.refinery.store.representation.Symbol;
 import tools.refinery.store.util.CancellationToken;
 
+import java.nio.file.Path;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
@@ -32,6 +34,57 @@ public interface ModelStoreBuilder {
 
 	<T> ModelStoreBuilder symbol(Symbol<T> symbol);
 
+	/**
+	 * Sets the policy that chooses the versioned map store backend for symbols without an explicit
+	 * {@link #storeStrategy(AnySymbol, StoreStrategy)} hint.
+	 * <p>
+	 * If no policy is set, every symbol is stored in a delta-based store.
+	 *
+	 * @param storeStrategyPolicy The store strategy policy.
+	 * @return This builder.
+	 */
+	ModelStoreBuilder storeStrategyPolicy(StoreStrategyPolicy storeStrategyPolicy);
+
+	/**
+	 * Declares which versioned map store backend should be used for a symbol, overriding the
+	 * {@link #storeStrategyPolicy(StoreStrategyPolicy)}.
+	 *
+	 * @param symbol        The symbol. It is also added to the store if it was not added before.
+	 * @param storeStrategy The backend to use for the symbol.
+	 * @return This builder.
+	 */
+	ModelStoreBuilder storeStrategy(AnySymbol symbol, StoreStrategy storeStrategy);
+
+	/**
+	 * Enables or disables packed keys for unary and binary symbols that use {@link StoreStrategy#DELTA}.
+	 * <p>
+	 * If enabled, such symbols are stored in delta-based stores that keep their keys as primitive {@code long}
+	 * values, and the {@link Interpretation#get(int, int)} and {@link Interpretation#put(int, int, Object)} overloads
+	 * (and their unary counterparts) do not allocate tuples. Packed keys are disabled by default.
+	 *
+	 * @param packedKeys Whether to use packed keys.
+	 * @return This builder.
+	 */
+	ModelStoreBuilder packedKeys(boolean packedKeys);
+
+	/**
+	 * Pages out the committed changes of symbols with {@link #packedKeys(boolean) packed keys} to a memory-mapped
+	 * temporary file once more than {@code maxDeltasInMemory} changes are held on the heap.
+	 * <p>
+	 * The changes of the oldest commits are paged out first, and are read back transparently whenever a model is
+	 * restored to a version or a diff is computed that needs them. The file is deleted when the model store is garbage
+	 * collected.
+	 * <p>
+	 * Only the changes of symbols with {@link Boolean} or {@code enum} values can be paged out, because paged out
+	 * values are kept in a dictionary on the heap. Building the model store fails if any other symbol with packed keys
+	 * uses the {@link StoreStrategy#DELTA DELTA} store strategy.
+	 *
+	 * @param directory         The directory to create the temporary file in.
+	 * @param maxDeltasInMemory The maximum number of committed changes kept on the heap.
+	 * @return This builder.
+	 */
+	ModelStoreBuilder deltaSpilling(Path directory, long maxDeltasInMemory);
+
 	ModelStoreBuilder with(ModelAdapterBuilder adapterBuilder);
 
 	ModelStoreBuilder with(ModelStoreConfiguration configuration);
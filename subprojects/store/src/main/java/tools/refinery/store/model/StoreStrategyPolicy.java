@@ -0,0 +1,44 @@
+/*
+ * SPDX-FileCopyrightText: 2025 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.store.model;
+
+import tools.refinery.store.map.VersionedMapStoreFactoryBuilder.StoreStrategy;
+import tools.refinery.store.representation.AnySymbol;
+
+/**
+ * Chooses the versioned map store backend for each symbol of a {@link ModelStore}.
+ * <p>
+ * Delta-based stores are cheap for small relations that change in small steps, while state-based stores share
+ * nodes between versions and are better suited for large relations that are frequently diffed.
+ */
+@FunctionalInterface
+public interface StoreStrategyPolicy {
+	/**
+	 * Stores every symbol in a delta-based store.
+	 */
+	StoreStrategyPolicy DELTA = symbol -> StoreStrategy.DELTA;
+
+	/**
+	 * Stores every symbol in a state-based store.
+	 */
+	StoreStrategyPolicy STATE = symbol -> StoreStrategy.STATE;
+
+	StoreStrategy getStrategy(AnySymbol symbol);
+
+	/**
+	 * Stores symbols with at least the given arity in state-based stores and all other symbols in delta-based stores.
+	 *
+	 * @param minimumStateArity The smallest arity of symbols to store in state-based stores.
+	 * @return The store strategy policy.
+	 */
+	static StoreStrategyPolicy byArity(int minimumStateArity) {
+		if (minimumStateArity < 0) {
+			throw new IllegalArgumentException("Minimum arity must not be negative, got %d instead"
+					.formatted(minimumStateArity));
+		}
+		return symbol -> symbol.arity() >= minimumStateArity ? StoreStrategy.STATE : StoreStrategy.DELTA;
+	}
+}
@@ -1,5 +1,5 @@
 /*
- * SPDX-FileCopyrightText: 2023 The Refinery Authors <https://refinery.tools/>
+ * SPDX-FileCopyrightText: 2023-2025 The Refinery Authors <https://refinery.tools/>
  *
  * SPDX-License-Identifier: EPL-2.0
  */
@@ -62,12 +62,19 @@ class BaseIndexer<T> {
 		}
 	}
 
-	private MutableMap<Tuple, T> getAdjacentMap(int slot, int node) {
+	private MutableIntObjectMap<MutableMap<Tuple, T>> getMap(int slot) {
 		if (slot < 0 || slot >= maps.length) {
 			throw new IllegalArgumentException("Invalid index: " + slot);
 		}
-		var map = maps[slot];
-		return map.get(node);
+		return maps[slot];
+	}
+
+	private MutableMap<Tuple, T> getAdjacentMap(int slot, int node) {
+		return getMap(slot).get(node);
+	}
+
+	public int getAdjacentNodeCount(int slot) {
+		return getMap(slot).size();
 	}
 
 	public int getAdjacentSize(int slot, int node) {
@@ -1,5 +1,5 @@
 /*
- * SPDX-FileCopyrightText: 2023 The Refinery Authors <https://refinery.tools/>
+ * SPDX-FileCopyrightText: 2023-2025 The Refinery Authors <https://refinery.tools/>
  *
  * SPDX-License-Identifier: EPL-2.0
  */
@@ -30,6 +30,11 @@ class IndexedVersionedInterpretation<T> extends VersionedInterpretation<T> {
 		return indexer.getAdjacentSize(slot, node);
 	}
 
+	@Override
+	public int getAdjacentNodeCount(int slot) {
+		return indexer.getAdjacentNodeCount(slot);
+	}
+
 	@Override
 	protected boolean shouldNotifyRestoreListeners() {
 		// Always call the {@code valueChanged} method to update the index.
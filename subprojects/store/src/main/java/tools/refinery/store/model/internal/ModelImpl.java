@@ -23,15 +23,17 @@ public class ModelImpl implements Model {
 	private final List<ModelAdapter> adapters;
 	private final List<ModelListener> listeners = new ArrayList<>();
 	private final CancellationToken cancellationToken;
+	private final boolean readOnly;
 	private boolean uncommittedChanges;
 	private ModelAction pendingAction = ModelAction.NONE;
 	private Version restoringToState = null;
 
-	ModelImpl(ModelStoreImpl store, Version state, int adapterCount) {
+	ModelImpl(ModelStoreImpl store, Version state, int adapterCount, boolean readOnly) {
 		this.store = store;
 		this.state = state;
 		adapters = new ArrayList<>(adapterCount);
 		cancellationToken = store.getCancellationToken();
+		this.readOnly = readOnly;
 	}
 
 	void setInterpretations(LinkedHashMap<? extends AnySymbol, ? extends VersionedInterpretation<?>> interpretations) {
@@ -76,6 +78,9 @@ public class ModelImpl implements Model {
 	}
 
 	void markAsChanged() {
+		if (readOnly) {
+			throw new UnsupportedOperationException("Cannot modify a read-only model");
+		}
 		if (!uncommittedChanges) {
 			uncommittedChanges = true;
 		}
@@ -93,6 +98,9 @@ public class ModelImpl implements Model {
 	@Override
 	public Version commit() {
 		checkCancelled();
+		if (readOnly) {
+			throw new UnsupportedOperationException("Cannot commit a read-only model");
+		}
 		if (hasPendingAction()) {
 			throw pendingActionError("commit");
 		}
@@ -1,5 +1,5 @@
 /*
- * SPDX-FileCopyrightText: 2021-2023 The Refinery Authors <https://refinery.tools/>
+ * SPDX-FileCopyrightText: 2021-2025 The Refinery Authors <https://refinery.tools/>
  *
  * SPDX-License-Identifier: EPL-2.0
  */
@@ -9,15 +9,17 @@ import tools.refinery.store.adapter.AdapterUtils;
 import tools.refinery.store.adapter.ModelAdapterBuilder;
 import tools.refinery.store.map.VersionedMapStore;
 import tools.refinery.store.map.VersionedMapStoreFactory;
-import tools.refinery.store.map.VersionedMapStoreFactoryBuilder;
-import tools.refinery.store.model.ModelStore;
-import tools.refinery.store.model.ModelStoreBuilder;
-import tools.refinery.store.model.ModelStoreConfiguration;
+import tools.refinery.store.map.VersionedMapStoreFactoryBuilder.StoreStrategy;
+import tools.refinery.store.map.internal.packed.DeltaSpiller;
+import tools.refinery.store.map.internal.packed.PackedTuples;
+import tools.refinery.store.map.internal.packed.VersionedMapStorePackedImpl;
+import tools.refinery.store.model.*;
 import tools.refinery.store.representation.AnySymbol;
 import tools.refinery.store.representation.Symbol;
 import tools.refinery.store.tuple.Tuple;
 import tools.refinery.store.util.CancellationToken;
 
+import java.nio.file.Path;
 import java.util.*;
 
 public class ModelStoreBuilderImpl implements ModelStoreBuilder {
@@ -25,6 +27,11 @@ public class ModelStoreBuilderImpl implements ModelStoreBuilder {
 	private final LinkedHashSet<AnySymbol> allSymbols = new LinkedHashSet<>();
 	private final LinkedHashMap<SymbolEquivalenceClass<?>, List<AnySymbol>> equivalenceClasses = new LinkedHashMap<>();
 	private final List<ModelAdapterBuilder> adapters = new ArrayList<>();
+	private final Map<AnySymbol, StoreStrategy> storeStrategies = new HashMap<>();
+	private StoreStrategyPolicy storeStrategyPolicy;
+	private boolean packedKeys;
+	private Path deltaSpillDirectory;
+	private long maxDeltasInMemory;
 
 	@Override
 	public ModelStoreBuilder cancellationToken(CancellationToken cancellationToken) {
@@ -51,6 +58,51 @@ public class ModelStoreBuilderImpl implements ModelStoreBuilder {
 		return this;
 	}
 
+	@Override
+	public ModelStoreBuilder storeStrategyPolicy(StoreStrategyPolicy storeStrategyPolicy) {
+		if (this.storeStrategyPolicy != null) {
+			throw new IllegalStateException("Store strategy policy was already set");
+		}
+		if (storeStrategyPolicy == null) {
+			throw new IllegalArgumentException("Store strategy policy must not be null");
+		}
+		this.storeStrategyPolicy = storeStrategyPolicy;
+		return this;
+	}
+
+	@Override
+	public ModelStoreBuilder storeStrategy(AnySymbol symbol, StoreStrategy storeStrategy) {
+		if (storeStrategy == null) {
+			throw new IllegalArgumentException("Store strategy must not be null");
+		}
+		var oldStoreStrategy = storeStrategies.put(symbol, storeStrategy);
+		if (oldStoreStrategy != null && oldStoreStrategy != storeStrategy) {
+			throw new IllegalArgumentException("Conflicting store strategies %s and %s for symbol %s"
+					.formatted(oldStoreStrategy, storeStrategy, symbol));
+		}
+		return symbol(symbol);
+	}
+
+	@Override
+	public ModelStoreBuilder packedKeys(boolean packedKeys) {
+		this.packedKeys = packedKeys;
+		return this;
+	}
+
+	@Override
+	public ModelStoreBuilder deltaSpilling(Path directory, long maxDeltasInMemory) {
+		if (directory == null) {
+			throw new IllegalArgumentException("Delta spill directory must not be null");
+		}
+		if (maxDeltasInMemory < 0) {
+			throw new IllegalArgumentException("Maximum number of deltas in memory must not be negative, got " +
+					maxDeltasInMemory);
+		}
+		deltaSpillDirectory = directory;
+		this.maxDeltasInMemory = maxDeltasInMemory;
+		return this;
+	}
+
 	@Override
 	public ModelStoreBuilder with(ModelAdapterBuilder adapterBuilder) {
 		for (var existingAdapter : adapters) {
@@ -85,9 +137,25 @@ public class ModelStoreBuilderImpl implements ModelStoreBuilder {
 		for (int i = adapters.size() - 1; i >= 0; i--) {
 			adapters.get(i).configure(this);
 		}
+		if (deltaSpillDirectory != null && !packedKeys) {
+			throw new IllegalStateException("Delta spilling requires packed keys");
+		}
+		var spiller = deltaSpillDirectory == null ? null : new DeltaSpiller(deltaSpillDirectory, maxDeltasInMemory);
 		var stores = new LinkedHashMap<AnySymbol, VersionedMapStore<Tuple, ?>>(allSymbols.size());
+		var policy = storeStrategyPolicy == null ? StoreStrategyPolicy.DELTA : storeStrategyPolicy;
 		for (var entry : equivalenceClasses.entrySet()) {
-			createStores(stores, entry.getKey(), entry.getValue());
+			// Only symbols with the same backend may share a store group.
+			var symbolsByStrategy = new EnumMap<StoreStrategy, List<AnySymbol>>(StoreStrategy.class);
+			for (var symbol : entry.getValue()) {
+				var strategy = storeStrategies.get(symbol);
+				if (strategy == null) {
+					strategy = policy.getStrategy(symbol);
+				}
+				symbolsByStrategy.computeIfAbsent(strategy, ignored -> new ArrayList<>()).add(symbol);
+			}
+			for (var strategyEntry : symbolsByStrategy.entrySet()) {
+				createStores(stores, entry.getKey(), strategyEntry.getKey(), strategyEntry.getValue(), spiller);
+			}
 		}
 		var modelStore = new ModelStoreImpl(stores, adapters.size(), cancellationToken == null ?
 				CancellationToken.NONE : cancellationToken);
@@ -99,16 +167,37 @@ public class ModelStoreBuilderImpl implements ModelStoreBuilder {
 	}
 
 	private <T> void createStores(Map<AnySymbol, VersionedMapStore<Tuple, ?>> stores,
-								  SymbolEquivalenceClass<T> equivalenceClass, List<AnySymbol> symbols) {
+								  SymbolEquivalenceClass<T> equivalenceClass, StoreStrategy strategy,
+								  List<AnySymbol> symbols, DeltaSpiller spiller) {
 		int size = symbols.size();
-		VersionedMapStoreFactory<Tuple, T> mapFactory = VersionedMapStore
+		if (packedKeys && strategy == StoreStrategy.DELTA && PackedTuples.isPackable(equivalenceClass.arity())) {
+			if (spiller != null && !hasFiniteDomain(equivalenceClass.valueType())) {
+				throw new IllegalStateException(("Cannot spill the deltas of %s with values of type %s, because " +
+						"they are not from a finite domain. Use the STATE store strategy for them instead.")
+						.formatted(symbols, equivalenceClass.valueType().getName()));
+			}
+			for (var symbol : symbols) {
+				stores.put(symbol, new VersionedMapStorePackedImpl<>(equivalenceClass.arity(),
+						equivalenceClass.defaultValue(), spiller));
+			}
+			return;
+		}
+		var mapFactoryBuilder = VersionedMapStore
 				.<Tuple, T>builder()
-				.strategy(VersionedMapStoreFactoryBuilder.StoreStrategy.DELTA)
-				.defaultValue(equivalenceClass.defaultValue())
-				.build();
+				.strategy(strategy)
+				.defaultValue(equivalenceClass.defaultValue());
+		if (strategy == StoreStrategy.STATE) {
+			mapFactoryBuilder.stateBasedHashProvider(TupleHashProvider.INSTANCE);
+		}
+		VersionedMapStoreFactory<Tuple, T> mapFactory = mapFactoryBuilder.build();
 		var storeGroup = mapFactory.createGroup(size);
 		for (int i = 0; i < size; i++) {
 			stores.put(symbols.get(i), storeGroup.get(i));
 		}
 	}
+
+	private static boolean hasFiniteDomain(Class<?> valueType) {
+		// Spilled values are interned in a dictionary that is never cleared, so it must not grow without bound.
+		return valueType == Boolean.class || valueType.isEnum();
+	}
 }
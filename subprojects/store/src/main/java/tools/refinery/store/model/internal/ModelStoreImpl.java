@@ -45,13 +45,13 @@ public class ModelStoreImpl implements ModelStore {
 		return null;
 	}
 
-	private ModelImpl createModelWithoutInterpretations(Version state) {
-		return new ModelImpl(this, state, adapters.size());
+	private ModelImpl createModelWithoutInterpretations(Version state, boolean readOnly) {
+		return new ModelImpl(this, state, readOnly ? 0 : adapters.size(), readOnly);
 	}
 
 	@Override
 	public ModelImpl createEmptyModel() {
-		var model = createModelWithoutInterpretations(null);
+		var model = createModelWithoutInterpretations(null, false);
 		try {
 			var interpretations = LinkedHashMap.<AnySymbol, VersionedInterpretation<?>>newLinkedHashMap(stores.size());
 			for (var entry : this.stores.entrySet()) {
@@ -69,7 +69,16 @@ public class ModelStoreImpl implements ModelStore {
 
 	@Override
 	public synchronized ModelImpl createModelForState(Version state) {
-		var model = createModelWithoutInterpretations(state);
+		return createModelForState(state, false);
+	}
+
+	@Override
+	public synchronized ModelImpl createBareModelForState(Version state) {
+		return createModelForState(state, true);
+	}
+
+	private ModelImpl createModelForState(Version state, boolean bare) {
+		var model = createModelWithoutInterpretations(state, bare);
 		try {
 			var interpretations = LinkedHashMap.<AnySymbol, VersionedInterpretation<?>>newLinkedHashMap(stores.size());
 			int i = 0;
@@ -84,7 +93,9 @@ public class ModelStoreImpl implements ModelStore {
 			}
 
 			model.setInterpretations(interpretations);
-			adaptModel(model);
+			if (!bare) {
+				adaptModel(model);
+			}
 		} catch (RuntimeException e) {
 			model.close();
 			throw e;
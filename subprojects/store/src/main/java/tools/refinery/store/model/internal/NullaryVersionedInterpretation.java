@@ -1,5 +1,5 @@
 /*
- * SPDX-FileCopyrightText: 2023 The Refinery Authors <https://refinery.tools/>
+ * SPDX-FileCopyrightText: 2023-2025 The Refinery Authors <https://refinery.tools/>
  *
  * SPDX-License-Identifier: EPL-2.0
  */
@@ -24,4 +24,9 @@ class NullaryVersionedInterpretation<T> extends VersionedInterpretation<T> {
 	public int getAdjacentSize(int slot, int node) {
 		throw new IllegalArgumentException("Invalid index: " + slot);
 	}
+
+	@Override
+	public int getAdjacentNodeCount(int slot) {
+		throw new IllegalArgumentException("Invalid index: " + slot);
+	}
 }
@@ -1,5 +1,5 @@
 /*
- * SPDX-FileCopyrightText: 2023 The Refinery Authors <https://refinery.tools/>
+ * SPDX-FileCopyrightText: 2023-2025 The Refinery Authors <https://refinery.tools/>
  *
  * SPDX-License-Identifier: EPL-2.0
  */
@@ -38,11 +38,16 @@ class UnaryVersionedInterpretation<T> extends VersionedInterpretation<T> {
 	@Override
 	public int getAdjacentSize(int slot, int node) {
 		validateSlot(slot);
-		var key = Tuple.of(node);
-		var value = get(key);
+		var value = get(node);
 		if (Objects.equals(value, getSymbol().defaultValue())) {
 			return 0;
 		}
 		return 1;
 	}
+
+	@Override
+	public int getAdjacentNodeCount(int slot) {
+		validateSlot(slot);
+		return (int) getSize();
+	}
 }
@@ -1,11 +1,13 @@
 /*
- * SPDX-FileCopyrightText: 2021-2023 The Refinery Authors <https://refinery.tools/>
+ * SPDX-FileCopyrightText: 2021-2025 The Refinery Authors <https://refinery.tools/>
  *
  * SPDX-License-Identifier: EPL-2.0
  */
 package tools.refinery.store.model.internal;
 
 import tools.refinery.store.map.*;
+import tools.refinery.store.map.internal.packed.PackedTuples;
+import tools.refinery.store.map.internal.packed.VersionedMapPackedImpl;
 import tools.refinery.store.model.Interpretation;
 import tools.refinery.store.model.InterpretationListener;
 import tools.refinery.store.model.Model;
@@ -15,18 +17,26 @@ import tools.refinery.store.tuple.Tuple;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 
 public abstract class VersionedInterpretation<T> implements Interpretation<T> {
 	private final ModelImpl model;
 	private final Symbol<T> symbol;
 	private final VersionedMap<Tuple, T> map;
+	// Same as {@code map} if it supports access by packed keys, {@code null} otherwise.
+	private final VersionedMapPackedImpl<T> packedMap;
 	private final List<InterpretationListener<T>> listeners = new ArrayList<>();
 	private final List<InterpretationListener<T>> restoreListeners = new ArrayList<>();
+	private Version version;
+	// Whether {@code version} is the current state of {@code map}, i.e., there were no changes since the last commit
+	// or restore.
+	private boolean versionUpToDate;
 
 	protected VersionedInterpretation(ModelImpl model, Symbol<T> symbol, VersionedMap<Tuple, T> map) {
 		this.model = model;
 		this.symbol = symbol;
 		this.map = map;
+		packedMap = map instanceof VersionedMapPackedImpl<T> packed ? packed : null;
 	}
 
 	@Override
@@ -57,6 +67,31 @@ public abstract class VersionedInterpretation<T> implements Interpretation<T> {
 		return map.get(key);
 	}
 
+	private void checkArity(int arity) {
+		if (symbol.arity() != arity) {
+			throw new IllegalArgumentException("Key for %s must have arity %s, got %s"
+					.formatted(symbol, symbol.arity(), arity));
+		}
+	}
+
+	@Override
+	public T get(int element) {
+		checkArity(1);
+		if (packedMap == null) {
+			return map.get(Tuple.of(element));
+		}
+		return packedMap.get(PackedTuples.pack(element));
+	}
+
+	@Override
+	public T get(int source, int target) {
+		checkArity(2);
+		if (packedMap == null) {
+			return map.get(Tuple.of(source, target));
+		}
+		return packedMap.get(PackedTuples.pack(source, target));
+	}
+
 	@Override
 	public Cursor<Tuple, T> getAll() {
 		return map.getAll();
@@ -77,8 +112,42 @@ public abstract class VersionedInterpretation<T> implements Interpretation<T> {
 		checkKey(key);
 		model.checkCancelled();
 		model.markAsChanged();
+		versionUpToDate = false;
 		var oldValue = map.put(key, value);
-		valueChanged(key, oldValue, value, false);
+		// Like when restoring a version, only notify the listeners about actual changes.
+		if (!Objects.equals(oldValue, value)) {
+			valueChanged(key, oldValue, value, false);
+		}
+		return oldValue;
+	}
+
+	@Override
+	public T put(int element, T value) {
+		checkArity(1);
+		if (packedMap == null) {
+			return put(Tuple.of(element), value);
+		}
+		return putPacked(PackedTuples.pack(element), value);
+	}
+
+	@Override
+	public T put(int source, int target, T value) {
+		checkArity(2);
+		if (packedMap == null) {
+			return put(Tuple.of(source, target), value);
+		}
+		return putPacked(PackedTuples.pack(source, target), value);
+	}
+
+	private T putPacked(long packedKey, T value) {
+		model.checkCancelled();
+		model.markAsChanged();
+		versionUpToDate = false;
+		var oldValue = packedMap.put(packedKey, value);
+		// Only allocate a tuple for listeners if the value actually changed, just like in {@link #put(Tuple, Object)}.
+		if (!Objects.equals(oldValue, value)) {
+			valueChanged(PackedTuples.unpack(packedKey, symbol.arity()), oldValue, value, false);
+		}
 		return oldValue;
 	}
 
@@ -111,7 +180,11 @@ public abstract class VersionedInterpretation<T> implements Interpretation<T> {
 	}
 
 	Version commit() {
-		return map.commit();
+		if (!versionUpToDate) {
+			version = map.commit();
+			versionUpToDate = true;
+		}
+		return version;
 	}
 
 	protected boolean shouldNotifyRestoreListeners() {
@@ -119,6 +192,11 @@ public abstract class VersionedInterpretation<T> implements Interpretation<T> {
 	}
 
 	public void restore(Version state) {
+		// Versions may be costly to compare by {@code equals}, but the same internal version object is reused by
+		// every model version where this interpretation has not changed.
+		if (versionUpToDate && version == state) {
+			return;
+		}
 		if (shouldNotifyRestoreListeners()) {
 			var diffCursor = getDiffCursor(state);
 			while (diffCursor.move()) {
@@ -126,6 +204,8 @@ public abstract class VersionedInterpretation<T> implements Interpretation<T> {
 			}
 		}
 		map.restore(state);
+		version = state;
+		versionUpToDate = true;
 	}
 
 	@Override
@@ -154,7 +234,10 @@ public abstract class VersionedInterpretation<T> implements Interpretation<T> {
 		@SuppressWarnings("unchecked")
 		var typedSymbol = (Symbol<T>) symbol;
 		var map = store.createMap(state);
-		return of(model, typedSymbol, map);
+		var interpretation = of(model, typedSymbol, map);
+		interpretation.version = state;
+		interpretation.versionUpToDate = true;
+		return interpretation;
 	}
 
 	private static <T> VersionedInterpretation<T> of(ModelImpl model, Symbol<T> typedSymbol,
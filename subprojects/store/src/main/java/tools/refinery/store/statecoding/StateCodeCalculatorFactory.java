@@ -14,4 +14,17 @@ import java.util.List;
 public interface StateCodeCalculatorFactory {
 	StateCodeCalculator create(Model model, List<? extends Interpretation<?>> interpretations,
                                IndividualsSet individuals);
+
+	/**
+	 * Determines whether the created calculators need the model adapters of the model.
+	 * <p>
+	 * Calculators that only read the interpretations passed to
+	 * {@link #create(Model, List, IndividualsSet)} can also be used with bare models created by
+	 * {@link tools.refinery.store.model.ModelStore#createBareModelForState(tools.refinery.store.map.Version)}.
+	 *
+	 * @return {@code true} if the created calculators access model adapters.
+	 */
+	default boolean requiresModelAdapters() {
+		return false;
+	}
 }
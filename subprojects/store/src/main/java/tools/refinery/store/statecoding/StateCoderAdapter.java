@@ -10,7 +10,7 @@ import tools.refinery.store.statecoding.internal.StateCoderBuilderImpl;
 
 public interface StateCoderAdapter extends ModelAdapter {
 	StateCoderResult calculateStateCode();
-	default int calculateModelCode() {
+	default long calculateModelCode() {
 		return calculateStateCode().modelCode();
 	}
 	default ObjectCode calculateObjectCode() {
@@ -1,9 +1,23 @@
 /*
- * SPDX-FileCopyrightText: 2023 The Refinery Authors <https://refinery.tools/>
+ * SPDX-FileCopyrightText: 2023-2025 The Refinery Authors <https://refinery.tools/>
  *
  * SPDX-License-Identifier: EPL-2.0
  */
 package tools.refinery.store.statecoding;
 
-public record StateCoderResult(int modelCode, ObjectCode objectCode) {
+/**
+ * The result of calculating the state code of a model.
+ * <p>
+ * The {@code modelCode} and the {@code modelCodeCheck} together form a 128-bit code. Isomorphic models always have the
+ * same codes. Stores of visited states may index states by the {@code modelCode} only and use the
+ * {@code modelCodeCheck} to tell apart states whose {@code modelCode} collides.
+ *
+ * @param modelCode      The primary 64-bit code of the model.
+ * @param modelCodeCheck A secondary 64-bit code of the model calculated independently of {@code modelCode}.
+ * @param objectCode     The codes of the individual objects in the model.
+ */
+public record StateCoderResult(long modelCode, long modelCodeCheck, ObjectCode objectCode) {
+	public StateCoderResult(long modelCode, ObjectCode objectCode) {
+		this(modelCode, 0, objectCode);
+	}
 }
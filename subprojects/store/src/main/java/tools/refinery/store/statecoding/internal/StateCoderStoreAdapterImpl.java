@@ -7,17 +7,20 @@ package tools.refinery.store.statecoding.internal;
 
 import org.eclipse.collections.api.set.primitive.IntSet;
 import tools.refinery.store.map.Version;
+import tools.refinery.store.model.Interpretation;
 import tools.refinery.store.model.Model;
 import tools.refinery.store.model.ModelStore;
 import tools.refinery.store.representation.Symbol;
 import tools.refinery.store.statecoding.StateCodeCalculatorFactory;
 import tools.refinery.store.statecoding.StateCoderAdapter;
+import tools.refinery.store.statecoding.StateCoderResult;
 import tools.refinery.store.statecoding.StateCoderStoreAdapter;
 import tools.refinery.store.statecoding.StateEquivalenceChecker;
 import tools.refinery.store.statecoding.neighborhood.IndividualsSet;
 import tools.refinery.store.statecoding.neighborhood.IndividualsArray;
 
 import java.util.Collection;
+import java.util.List;
 import java.util.Objects;
 
 public class StateCoderStoreAdapterImpl implements StateCoderStoreAdapter {
@@ -51,20 +54,33 @@ public class StateCoderStoreAdapterImpl implements StateCoderStoreAdapter {
 		if (Objects.equals(v1, v2)) {
 			return StateEquivalenceChecker.EquivalenceResult.ISOMORPHIC;
 		}
-		var model1 = this.getStore().createModelForState(v1);
-		var model2 = this.getStore().createModelForState(v2);
+		try (var model1 = createModelForEquivalence(v1); var model2 = createModelForEquivalence(v2)) {
+			var i1 = symbols.stream().map(model1::getInterpretation).toList();
+			var i2 = symbols.stream().map(model2::getInterpretation).toList();
 
-		var s1 = model1.getAdapter(StateCoderAdapter.class).calculateStateCode();
-		var s2 = model2.getAdapter(StateCoderAdapter.class).calculateStateCode();
+			var s1 = calculateStateCode(model1, i1);
+			var s2 = calculateStateCode(model2, i2);
 
-		if (s1.modelCode() != s2.modelCode()) {
-			return StateEquivalenceChecker.EquivalenceResult.DIFFERENT;
+			if (s1.modelCode() != s2.modelCode() || s1.modelCodeCheck() != s2.modelCodeCheck()) {
+				return StateEquivalenceChecker.EquivalenceResult.DIFFERENT;
+			}
+
+			return equivalenceChecker.constructMorphism(individuals, i1, s1.objectCode(), i2, s2.objectCode());
 		}
+	}
 
-		var i1 = symbols.stream().map(model1::getInterpretation).toList();
-		var i2 = symbols.stream().map(model2::getInterpretation).toList();
+	private Model createModelForEquivalence(Version version) {
+		// Avoid constructing model adapters (e.g., query engines) if we only have to read interpretations.
+		if (codeCalculatorFactory.requiresModelAdapters()) {
+			return store.createModelForState(version);
+		}
+		return store.createBareModelForState(version);
+	}
 
-		return equivalenceChecker.constructMorphism(individuals, i1, s1.objectCode(), i2, s2.objectCode());
+	private StateCoderResult calculateStateCode(Model model, List<? extends Interpretation<?>> interpretations) {
+		return model.tryGetAdapter(StateCoderAdapter.class)
+				.map(StateCoderAdapter::calculateStateCode)
+				.orElseGet(() -> codeCalculatorFactory.create(model, interpretations, individuals).calculateCodes());
 	}
 
 	@Override
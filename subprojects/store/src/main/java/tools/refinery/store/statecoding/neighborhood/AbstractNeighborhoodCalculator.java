@@ -19,6 +19,7 @@ import java.util.*;
 public abstract class AbstractNeighborhoodCalculator<T> implements StateCodeCalculator {
 	private static final long MURMUR64_MAGIC_VALUE = 0xc6a4a7935bd1e995L;
 	private static final int MURMUR64_SHIFT = 47;
+	private static final long CHECK_SEED = 0x9e3779b97f4a7c15L;
 
 	private final Model model;
 	private final IndividualsSet individuals;
@@ -68,11 +69,18 @@ public abstract class AbstractNeighborhoodCalculator<T> implements StateCodeCalc
 			rounds++;
 		} while (rounds <= depth && rounds <= previousObjectCode.getEffectiveSize());
 
-		long result = calculateLastSum(previousObjectCode);
-		return new StateCoderResult((int) result, previousObjectCode);
+		return createResult(previousObjectCode);
 	}
 
-	private void ensureInitialized() {
+	protected int getDepth() {
+		return depth;
+	}
+
+	protected StateCoderResult createResult(ObjectCodeImpl codes) {
+		return new StateCoderResult(calculateLastSum(codes), calculateCheckSum(codes), codes);
+	}
+
+	protected void ensureInitialized() {
 		if (impactValues != null) {
 			return;
 		}
@@ -117,7 +125,38 @@ public abstract class AbstractNeighborhoodCalculator<T> implements StateCodeCalc
 		return murmur64Finish(result);
 	}
 
-	private void constructNextObjectCodes(ObjectCodeImpl previous, ObjectCodeImpl next) {
+	/**
+	 * Calculates a secondary model code that is independent of {@link #calculateLastSum(ObjectCode)}, so that
+	 * collisions of the primary code can be detected.
+	 * <p>
+	 * Instead of summing the object codes, we sum a scrambled version of each object code, which is still independent
+	 * of the order of objects. Scrambling keeps the code {@code 0} of missing objects unchanged, so they don't
+	 * contribute to the sum.
+	 */
+	private long calculateCheckSum(ObjectCode codes) {
+		long result = CHECK_SEED;
+		for (var nullImpactValue : nullImpactValues) {
+			result = murmur64Scramble(Objects.hashCode(getNullValue(nullImpactValue)) ^ CHECK_SEED, result);
+		}
+
+		long accum = 0;
+		for (int i = 0; i < codes.getSize(); i++) {
+			accum += murmur64Finish(codes.get(i));
+		}
+		result = murmur64Scramble(accum, result);
+
+		return murmur64Finish(result);
+	}
+
+	protected Set<T> getImpactedInterpretations() {
+		return impactValues.keySet();
+	}
+
+	protected long[] getImpactValue(T interpretation) {
+		return impactValues.get(interpretation);
+	}
+
+	protected void constructNextObjectCodes(ObjectCodeImpl previous, ObjectCodeImpl next) {
 		for (var impactValueEntry : this.impactValues.entrySet()) {
 			model.checkCancelled();
 			var interpretation = impactValueEntry.getKey();
@@ -190,6 +229,14 @@ public abstract class AbstractNeighborhoodCalculator<T> implements StateCodeCalc
 		}
 	}
 
+	protected long getTupleHash(Tuple tuple, Object value, ObjectCode objectCodeImpl) {
+		return switch (tuple.getSize()) {
+			case 1 -> getTupleHash1(tuple, value, objectCodeImpl);
+			case 2 -> getTupleHash2(tuple, value, objectCodeImpl);
+			default -> getTupleHashN(tuple, value, objectCodeImpl);
+		};
+	}
+
 	protected long getTupleHash1(Tuple tuple, Object value, ObjectCode objectCodeImpl) {
 		long result = murmur64Scramble(Objects.hashCode(value), 0);
 		result = murmur64Scramble(objectCodeImpl.get(tuple.get(0)), result);
@@ -0,0 +1,204 @@
+/*
+ * SPDX-FileCopyrightText: 2025 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.store.statecoding.neighborhood;
+
+import org.eclipse.collections.api.factory.primitive.IntSets;
+import org.eclipse.collections.api.set.primitive.IntSet;
+import org.eclipse.collections.api.set.primitive.MutableIntSet;
+import tools.refinery.store.model.Interpretation;
+import tools.refinery.store.model.Model;
+import tools.refinery.store.model.ModelListener;
+import tools.refinery.store.statecoding.StateCodeCalculatorFactory;
+import tools.refinery.store.statecoding.StateCoderResult;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A neighborhood calculator that only recomputes the object codes in the neighborhood of the tuples changed since the
+ * previous calculation.
+ * <p>
+ * The object codes of every round are retained between calculations. Changes are collected by interpretation
+ * listeners, and the code of an object in a given round is only recomputed if the object appears in a changed tuple,
+ * or if the code of one of its neighbors has changed in the previous round. The results are the same as the results
+ * of {@link NeighborhoodCalculator} with the same depth.
+ * <p>
+ * Restoring the model falls back to a full recalculation, because interpretation listeners are not notified about the
+ * changes caused by a restore.
+ */
+public class IncrementalNeighborhoodCalculator extends NeighborhoodCalculator implements ModelListener {
+	/**
+	 * Recalculate every object code if more than {@code 1/FULL_RECALCULATION_RATIO} of the objects have changed.
+	 */
+	private static final int FULL_RECALCULATION_RATIO = 4;
+
+	private final List<ObjectCodeImpl> roundCodes = new ArrayList<>();
+	private final MutableIntSet changedObjects = IntSets.mutable.empty();
+	private boolean fullRecalculationNeeded = true;
+	private int validRounds;
+
+	protected IncrementalNeighborhoodCalculator(Model model, List<? extends Interpretation<?>> interpretations,
+												IndividualsSet individuals, int depth) {
+		super(model, interpretations, individuals, depth);
+		for (var interpretation : getInterpretations()) {
+			if (getArity(interpretation) > 0) {
+				listenToChanges(interpretation);
+			}
+		}
+		model.addListener(this);
+	}
+
+	private <T> void listenToChanges(Interpretation<T> interpretation) {
+		interpretation.addListener((key, fromValue, toValue, restoring) -> {
+			if (fullRecalculationNeeded) {
+				return;
+			}
+			for (int i = 0; i < key.getSize(); i++) {
+				changedObjects.add(key.get(i));
+			}
+		}, false);
+	}
+
+	@Override
+	public void afterRestore() {
+		fullRecalculationNeeded = true;
+		changedObjects.clear();
+	}
+
+	@Override
+	public StateCoderResult calculateCodes() {
+		getModel().checkCancelled();
+		ensureInitialized();
+		StateCoderResult result;
+		if (fullRecalculationNeeded || (long) changedObjects.size() * FULL_RECALCULATION_RATIO >
+				getRoundCode(validRounds).getEffectiveSize()) {
+			result = calculateAllRounds();
+		} else {
+			result = updateRounds();
+		}
+		fullRecalculationNeeded = false;
+		changedObjects.clear();
+		return result;
+	}
+
+	private ObjectCodeImpl getRoundCode(int round) {
+		while (roundCodes.size() <= round) {
+			roundCodes.add(new ObjectCodeImpl());
+		}
+		return roundCodes.get(round);
+	}
+
+	private ObjectCodeImpl getInitialCode() {
+		if (roundCodes.isEmpty()) {
+			initializeWithIndividuals(getRoundCode(0));
+		}
+		return roundCodes.getFirst();
+	}
+
+	private StateCoderResult calculateAllRounds() {
+		var previous = getInitialCode();
+		int rounds = 0;
+		do {
+			getModel().checkCancelled();
+			var next = getRoundCode(rounds + 1);
+			next.clear();
+			constructNextObjectCodes(previous, next);
+			previous = next;
+			rounds++;
+		} while (rounds <= getDepth() && rounds <= previous.getEffectiveSize());
+		validRounds = rounds;
+		return createResult(previous);
+	}
+
+	private StateCoderResult updateRounds() {
+		var previous = getInitialCode();
+		IntSet toUpdate = changedObjects;
+		boolean recalculateRound = false;
+		int rounds = 0;
+		do {
+			getModel().checkCancelled();
+			var next = getRoundCode(rounds + 1);
+			// Rounds beyond the previous calculation hold stale codes and must be recalculated completely, along with
+			// every round that depends on them.
+			recalculateRound |= rounds + 1 > validRounds;
+			if (recalculateRound) {
+				next.clear();
+				constructNextObjectCodes(previous, next);
+			} else {
+				toUpdate = updateObjectCodes(previous, next, toUpdate);
+			}
+			previous = next;
+			rounds++;
+		} while (rounds <= getDepth() && rounds <= previous.getEffectiveSize());
+		validRounds = rounds;
+		return createResult(previous);
+	}
+
+	private IntSet updateObjectCodes(ObjectCodeImpl previous, ObjectCodeImpl next, IntSet toUpdate) {
+		var nextToUpdate = IntSets.mutable.withAll(changedObjects);
+		toUpdate.forEach(object -> {
+			long code = calculateObjectCode(object, previous);
+			if (code == next.get(object)) {
+				return;
+			}
+			if (code == 0) {
+				next.reset(object);
+			} else {
+				next.set(object, code);
+			}
+			// Every tuple containing the object will have a different hash in the next round.
+			nextToUpdate.add(object);
+			addNeighbors(object, nextToUpdate);
+		});
+		return nextToUpdate;
+	}
+
+	private long calculateObjectCode(int object, ObjectCodeImpl previous) {
+		long code = 0;
+		for (var interpretation : getImpactedInterpretations()) {
+			long[] impactValue = getImpactValue(interpretation);
+			for (int slot = 0; slot < impactValue.length; slot++) {
+				var cursor = interpretation.getAdjacent(slot, object);
+				while (cursor.move()) {
+					long tupleHash = getTupleHash(cursor.getKey(), cursor.getValue(), previous);
+					code += tupleHash * impactValue[slot];
+					// Match {@link ObjectCodeImpl#set(int, long)}, which never stores 0 for objects with tuples.
+					if (code == 0) {
+						code = 1;
+					}
+				}
+			}
+		}
+		return code;
+	}
+
+	private void addNeighbors(int object, MutableIntSet neighbors) {
+		for (var interpretation : getImpactedInterpretations()) {
+			int arity = getArity(interpretation);
+			if (arity < 2) {
+				continue;
+			}
+			for (int slot = 0; slot < arity; slot++) {
+				var cursor = interpretation.getAdjacent(slot, object);
+				while (cursor.move()) {
+					var tuple = cursor.getKey();
+					for (int i = 0; i < arity; i++) {
+						neighbors.add(tuple.get(i));
+					}
+				}
+			}
+		}
+	}
+
+	public static StateCodeCalculatorFactory factory(int depth) {
+		return (model, interpretations, individuals) -> new IncrementalNeighborhoodCalculator(model,
+				interpretations, individuals, depth);
+	}
+
+	public static StateCodeCalculatorFactory factory() {
+		return factory(DEFAULT_DEPTH);
+	}
+}
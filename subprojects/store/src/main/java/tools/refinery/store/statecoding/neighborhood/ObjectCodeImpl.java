@@ -71,6 +71,13 @@ public class ObjectCodeImpl implements ObjectCode {
 		vector[object] = valueToPut;
 	}
 
+	public void reset(int object) {
+		if (object < vector.length && vector[object] != 0) {
+			effectiveSize--;
+			vector[object] = 0;
+		}
+	}
+
 	public int getSize() {
 		return this.size;
 	}
@@ -6,12 +6,20 @@
 package tools.refinery.store.map.tests;
 
 import org.junit.jupiter.api.Test;
+import tools.refinery.store.map.Version;
+import tools.refinery.store.map.VersionedMap;
 import tools.refinery.store.map.VersionedMapStore;
+import tools.refinery.store.map.internal.delta.MapDelta;
+import tools.refinery.store.map.internal.delta.MapTransaction;
 import tools.refinery.store.map.internal.state.VersionedMapStoreStateImpl;
 import tools.refinery.store.model.TupleHashProvider;
 import tools.refinery.store.tuple.Tuple;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
 
 class MapUnitTests {
 	@Test
@@ -94,4 +102,97 @@ class MapUnitTests {
 		map.restore(version2);
 		assertEquals(0,map.getSize());
 	}
+
+	@Test
+	void deltaDeepRestoreTest() {
+		VersionedMapStore<Integer, String> store =
+				VersionedMapStore.<Integer, String>builder().defaultValue("x").build().createOne();
+		var map = store.createMap();
+		var versions = new ArrayList<Version>();
+		var contents = new ArrayList<Map<Integer, String>>();
+		var expected = new HashMap<Integer, String>();
+		for (int i = 0; i < 600; i++) {
+			int key = i % 17;
+			String value = i % 5 == 0 ? "x" : "v" + i;
+			map.put(key, value);
+			if (value.equals("x")) {
+				expected.remove(key);
+			} else {
+				expected.put(key, value);
+			}
+			versions.add(map.commit());
+			contents.add(new HashMap<>(expected));
+		}
+		map.restore(versions.get(300));
+		for (int i = 0; i < 600; i++) {
+			map.put(1000 + i, "b" + i);
+			map.commit();
+		}
+		for (int i : new int[]{599, 3, 450, 0, 301, 599}) {
+			map.restore(versions.get(i));
+			assertContent(contents.get(i), map);
+			assertContent(contents.get(i), store.createMap(versions.get(i)));
+		}
+		map.checkIntegrity();
+	}
+
+	@Test
+	void commonAncestorTest() {
+		MapTransaction<Integer, String> root = new MapTransaction<>(new MapDelta[0], null, null);
+		MapTransaction<Integer, String> first = root;
+		for (int i = 0; i < 100; i++) {
+			first = new MapTransaction<>(new MapDelta[0], first, null);
+		}
+		MapTransaction<Integer, String> second = first;
+		for (int i = 0; i < 37; i++) {
+			second = new MapTransaction<>(new MapDelta[0], second, null);
+		}
+		MapTransaction<Integer, String> branch = first;
+		for (int i = 0; i < 250; i++) {
+			branch = new MapTransaction<>(new MapDelta[0], branch, null);
+		}
+		assertSame(first, MapTransaction.getCommonAncestor(second, branch));
+		assertSame(first, MapTransaction.getCommonAncestor(branch, first));
+		assertSame(root, branch.getAncestor(0));
+		assertEquals(200, branch.getAncestor(200).depth());
+		MapTransaction<Integer, String> otherRoot = new MapTransaction<>(new MapDelta[0], null, null);
+		assertNull(MapTransaction.getCommonAncestor(otherRoot, branch));
+	}
+
+	@Test
+	void concurrentStateCommitTest() throws InterruptedException {
+		VersionedMapStore<Tuple, Boolean> store = new VersionedMapStoreStateImpl<>(TupleHashProvider.INSTANCE, false);
+		int threadCount = 8;
+		var versions = new Version[threadCount];
+		var threads = new Thread[threadCount];
+		for (int i = 0; i < threadCount; i++) {
+			int threadIndex = i;
+			threads[i] = new Thread(() -> {
+				var map = store.createMap();
+				for (int j = 0; j < 1000; j++) {
+					map.put(Tuple.of(j, j % 7), true);
+					if (j % 100 == 0) {
+						map.commit();
+					}
+				}
+				versions[threadIndex] = map.commit();
+			});
+			threads[i].start();
+		}
+		for (var thread : threads) {
+			thread.join();
+		}
+		for (int i = 1; i < threadCount; i++) {
+			// Equal content committed concurrently is deduplicated by the shared node cache.
+			assertSame(versions[0], versions[i]);
+		}
+		assertEquals(1000, store.createMap(versions[0]).getSize());
+	}
+
+	private static void assertContent(Map<Integer, String> expected, VersionedMap<Integer, String> map) {
+		assertEquals(expected.size(), map.getSize());
+		for (var entry : expected.entrySet()) {
+			assertEquals(entry.getValue(), map.get(entry.getKey()));
+		}
+	}
 }
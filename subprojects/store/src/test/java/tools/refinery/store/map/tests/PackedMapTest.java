@@ -0,0 +1,123 @@
+/*
+ * SPDX-FileCopyrightText: 2025 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.store.map.tests;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import tools.refinery.store.map.DiffCursor;
+import tools.refinery.store.map.Version;
+import tools.refinery.store.map.VersionedMap;
+import tools.refinery.store.map.VersionedMapStore;
+import tools.refinery.store.map.internal.packed.DeltaSpiller;
+import tools.refinery.store.map.internal.packed.PackedMapTransaction;
+import tools.refinery.store.map.internal.packed.PackedTuples;
+import tools.refinery.store.map.internal.packed.VersionedMapPackedImpl;
+import tools.refinery.store.map.internal.packed.VersionedMapStorePackedImpl;
+import tools.refinery.store.tuple.Tuple;
+
+import java.nio.file.Path;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PackedMapTest {
+	@Test
+	void packTest() {
+		assertEquals(Tuple.of(7), PackedTuples.unpack(PackedTuples.pack(7), 1));
+		assertEquals(Tuple.of(3, 5), PackedTuples.unpack(PackedTuples.pack(3, 5), 2));
+		assertEquals(Tuple.of(Integer.MAX_VALUE, 0),
+				PackedTuples.unpack(PackedTuples.pack(Tuple.of(Integer.MAX_VALUE, 0)), 2));
+		assertThrows(IllegalArgumentException.class, () -> PackedTuples.pack(Tuple.of(1, 2, 3)));
+	}
+
+	@Test
+	void packedAccessTest() {
+		var store = new VersionedMapStorePackedImpl<>(2, "x");
+		var map = (VersionedMapPackedImpl<String>) store.createMap();
+		assertEquals("x", map.put(PackedTuples.pack(1, 2), "a"));
+		assertEquals("a", map.get(Tuple.of(1, 2)));
+		assertEquals("a", map.put(Tuple.of(1, 2), "x"));
+		assertEquals(0, map.getSize());
+		assertThrows(IllegalArgumentException.class, () -> map.get(Tuple.of(1)));
+	}
+
+	@ParameterizedTest
+	@ValueSource(ints = {1, 2})
+	void randomComparisonTest(int arity) {
+		randomComparison(arity, new VersionedMapStorePackedImpl<>(arity, "x"));
+	}
+
+	@ParameterizedTest
+	@ValueSource(ints = {1, 2})
+	void spilledRandomComparisonTest(int arity, @TempDir Path directory) {
+		var spiller = new DeltaSpiller(directory, 20);
+		var versions = randomComparison(arity, new VersionedMapStorePackedImpl<>(arity, "x", spiller));
+		var first = (PackedMapTransaction<?>) versions.get(0);
+		var last = (PackedMapTransaction<?>) versions.get(versions.size() - 1);
+		assertTrue(first.isSpilled());
+		assertFalse(last.isSpilled());
+	}
+
+	private static List<Version> randomComparison(int arity, VersionedMapStorePackedImpl<String> packedStore) {
+		var random = new Random(arity);
+		VersionedMapStore<Tuple, String> referenceStore =
+				VersionedMapStore.<Tuple, String>builder().defaultValue("x").build().createOne();
+		var packedMap = packedStore.createMap();
+		var referenceMap = referenceStore.createMap();
+		var packedVersions = new ArrayList<Version>();
+		var referenceVersions = new ArrayList<Version>();
+		String[] values = {"x", "a", "b"};
+		for (int step = 0; step < 2000; step++) {
+			var key = arity == 1 ? Tuple.of(random.nextInt(20)) : Tuple.of(random.nextInt(8), random.nextInt(8));
+			var value = values[random.nextInt(values.length)];
+			assertEquals(referenceMap.put(key, value), packedMap.put(key, value));
+			if (step % 10 == 9) {
+				packedVersions.add(packedMap.commit());
+				referenceVersions.add(referenceMap.commit());
+			}
+			if (step % 50 == 49) {
+				int index = random.nextInt(packedVersions.size());
+				assertSameDiff(referenceMap.getDiffCursor(referenceVersions.get(index)),
+						packedMap.getDiffCursor(packedVersions.get(index)));
+				packedMap.restore(packedVersions.get(index));
+				referenceMap.restore(referenceVersions.get(index));
+			}
+			assertSameContent(referenceMap, packedMap);
+		}
+		packedMap.checkIntegrity();
+		int index = random.nextInt(packedVersions.size());
+		assertSameContent(referenceStore.createMap(referenceVersions.get(index)),
+				packedStore.createMap(packedVersions.get(index)));
+		return packedVersions;
+	}
+
+	private static void assertSameContent(VersionedMap<Tuple, String> expected, VersionedMap<Tuple, String> actual) {
+		assertEquals(expected.getSize(), actual.getSize());
+		var cursor = actual.getAll();
+		while (cursor.move()) {
+			assertEquals(expected.get(cursor.getKey()), cursor.getValue());
+		}
+	}
+
+	private static void assertSameDiff(DiffCursor<Tuple, String> expected, DiffCursor<Tuple, String> actual) {
+		assertEquals(collectDiff(expected), collectDiff(actual));
+	}
+
+	private static Map<Tuple, List<String>> collectDiff(DiffCursor<Tuple, String> cursor) {
+		// Keep the first from value and the last to value of each key to compare the net effect of the diffs.
+		var result = new HashMap<Tuple, List<String>>();
+		while (cursor.move()) {
+			var fromValue = cursor.getFromValue();
+			var toValue = cursor.getToValue();
+			result.compute(cursor.getKey(), (key, oldValue) -> oldValue == null ? List.of(fromValue, toValue) :
+					List.of(oldValue.get(0), toValue));
+		}
+		result.values().removeIf(fromAndTo -> fromAndTo.get(0).equals(fromAndTo.get(1)));
+		return result;
+	}
+}
@@ -1,17 +1,28 @@
 /*
- * SPDX-FileCopyrightText: 2021-2023 The Refinery Authors <https://refinery.tools/>
+ * SPDX-FileCopyrightText: 2021-2025 The Refinery Authors <https://refinery.tools/>
  *
  * SPDX-License-Identifier: EPL-2.0
  */
 package tools.refinery.store.model.tests;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 import tools.refinery.store.map.Version;
+import tools.refinery.store.map.VersionedMapStoreFactoryBuilder.StoreStrategy;
 import tools.refinery.store.model.Model;
 import tools.refinery.store.model.ModelStore;
+import tools.refinery.store.model.StoreStrategyPolicy;
+import tools.refinery.store.model.internal.ModelVersion;
 import tools.refinery.store.representation.Symbol;
+import tools.refinery.store.statecoding.StateCoderAdapter;
 import tools.refinery.store.tuple.Tuple;
 
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class ModelTest {
@@ -164,4 +175,265 @@ class ModelTest {
 			assertTrue(friendInterpretation.get(Tuple.of(0, 2)));
 		}
 	}
+
+	@Test
+	void bareModelTest() {
+		var store = ModelStore.builder()
+				.symbols(person, friend)
+				.with(StateCoderAdapter.builder())
+				.build();
+		Version state;
+		try (var model = store.createEmptyModel()) {
+			model.getInterpretation(person).put(Tuple.of(0), true);
+			model.getInterpretation(friend).put(Tuple.of(0, 1), true);
+			state = model.commit();
+		}
+		try (var bareModel = store.createBareModelForState(state)) {
+			assertEquals(state, bareModel.getState());
+			assertTrue(bareModel.tryGetAdapter(StateCoderAdapter.class).isEmpty());
+
+			var personInterpretation = bareModel.getInterpretation(person);
+			var friendInterpretation = bareModel.getInterpretation(friend);
+			assertTrue(personInterpretation.get(Tuple.of(0)));
+			assertTrue(friendInterpretation.get(Tuple.of(0, 1)));
+			assertEquals(1, friendInterpretation.getAdjacentSize(0, 0));
+
+			var tuple = Tuple.of(1);
+			assertThrows(UnsupportedOperationException.class, () -> personInterpretation.put(tuple, true));
+			assertThrows(UnsupportedOperationException.class, bareModel::commit);
+		}
+	}
+
+	@Test
+	void unchangedInterpretationVersionReuseTest() {
+		var store = ModelStore.builder().symbols(person, friend).build();
+		try (var model = store.createEmptyModel()) {
+			var personInterpretation = model.getInterpretation(person);
+			var friendInterpretation = model.getInterpretation(friend);
+
+			personInterpretation.put(Tuple.of(0), true);
+			friendInterpretation.put(Tuple.of(0, 1), true);
+			Version state1 = model.commit();
+
+			personInterpretation.put(Tuple.of(1), true);
+			Version state2 = model.commit();
+
+			assertNotSame(ModelVersion.getInternalVersion(state1, 0), ModelVersion.getInternalVersion(state2, 0));
+			assertSame(ModelVersion.getInternalVersion(state1, 1), ModelVersion.getInternalVersion(state2, 1));
+
+			model.restore(state1);
+			assertFalse(personInterpretation.get(Tuple.of(1)));
+			assertTrue(friendInterpretation.get(Tuple.of(0, 1)));
+
+			model.restore(state2);
+			assertTrue(personInterpretation.get(Tuple.of(1)));
+			assertTrue(friendInterpretation.get(Tuple.of(0, 1)));
+		}
+	}
+
+	@Test
+	void mixedStoreStrategyTest() {
+		var store = ModelStore.builder()
+				.storeStrategyPolicy(StoreStrategyPolicy.byArity(2))
+				.storeStrategy(person, StoreStrategy.STATE)
+				.symbols(age, friend)
+				.build();
+		try (var model = store.createEmptyModel()) {
+			var personInterpretation = model.getInterpretation(person);
+			var ageInterpretation = model.getInterpretation(age);
+			var friendInterpretation = model.getInterpretation(friend);
+
+			personInterpretation.put(Tuple.of(0), true);
+			ageInterpretation.put(Tuple.of(0), 3);
+			friendInterpretation.put(Tuple.of(0, 1), true);
+			Version state1 = model.commit();
+
+			personInterpretation.put(Tuple.of(1), true);
+			ageInterpretation.put(Tuple.of(0), 4);
+			friendInterpretation.put(Tuple.of(0, 1), false);
+			Version state2 = model.commit();
+
+			var friendDiff = model.getDiffCursor(state1).getCursor(friend);
+			assertTrue(friendDiff.move());
+			assertEquals(Tuple.of(0, 1), friendDiff.getKey());
+			assertTrue(friendDiff.getToValue());
+			assertFalse(friendDiff.move());
+
+			model.restore(state1);
+			assertFalse(personInterpretation.get(Tuple.of(1)));
+			assertEquals(3, ageInterpretation.get(Tuple.of(0)));
+			assertTrue(friendInterpretation.get(Tuple.of(0, 1)));
+
+			model.restore(state2);
+			assertTrue(personInterpretation.get(Tuple.of(1)));
+			assertEquals(4, ageInterpretation.get(Tuple.of(0)));
+			assertFalse(friendInterpretation.get(Tuple.of(0, 1)));
+		}
+	}
+
+	@Test
+	void conflictingStoreStrategyTest() {
+		var builder = ModelStore.builder().storeStrategy(person, StoreStrategy.STATE);
+		assertThrows(IllegalArgumentException.class, () -> builder.storeStrategy(person, StoreStrategy.DELTA));
+	}
+
+	@Test
+	void nullStoreStrategyPolicyTest() {
+		var builder = ModelStore.builder();
+		assertThrows(IllegalArgumentException.class, () -> builder.storeStrategyPolicy(null));
+	}
+
+	@Test
+	void packedKeysTest() {
+		var store = ModelStore.builder().packedKeys(true).symbols(person, age, friend).build();
+		try (var model = store.createEmptyModel()) {
+			var personInterpretation = model.getInterpretation(person);
+			var ageInterpretation = model.getInterpretation(age);
+			var friendInterpretation = model.getInterpretation(friend);
+			var changes = new ArrayList<Tuple>();
+			friendInterpretation.addListener((key, fromValue, toValue, restoring) -> changes.add(key), true);
+
+			personInterpretation.put(0, true);
+			ageInterpretation.put(0, 3);
+			friendInterpretation.put(0, 1, true);
+			friendInterpretation.put(0, 1, true);
+			assertEquals(List.of(Tuple.of(0, 1)), changes);
+			Version state1 = model.commit();
+
+			friendInterpretation.put(Tuple.of(1, 0), true);
+			friendInterpretation.put(0, 1, false);
+			assertTrue(friendInterpretation.get(1, 0));
+			assertFalse(friendInterpretation.get(Tuple.of(0, 1)));
+			assertEquals(1, friendInterpretation.getAdjacentSize(0, 1));
+			assertThrows(IllegalArgumentException.class, () -> friendInterpretation.get(0));
+
+			model.restore(state1);
+			assertTrue(personInterpretation.get(0));
+			assertEquals(3, ageInterpretation.get(Tuple.of(0)));
+			assertTrue(friendInterpretation.get(0, 1));
+			assertFalse(friendInterpretation.get(1, 0));
+			assertEquals(1, friendInterpretation.getAdjacentSize(0, 0));
+			assertEquals(0, friendInterpretation.getAdjacentSize(0, 1));
+		}
+	}
+
+	@Test
+	void adjacentNodeCountTest() {
+		var store = ModelStore.builder().symbols(person, friend).build();
+		try (var model = store.createEmptyModel()) {
+			var personInterpretation = model.getInterpretation(person);
+			var friendInterpretation = model.getInterpretation(friend);
+
+			personInterpretation.put(0, true);
+			personInterpretation.put(1, true);
+			friendInterpretation.put(0, 1, true);
+			friendInterpretation.put(0, 2, true);
+			friendInterpretation.put(1, 2, true);
+			assertEquals(2, personInterpretation.getAdjacentNodeCount(0));
+			assertEquals(2, friendInterpretation.getAdjacentNodeCount(0));
+			assertEquals(2, friendInterpretation.getAdjacentNodeCount(1));
+			Version state1 = model.commit();
+
+			friendInterpretation.put(1, 2, false);
+			assertEquals(1, friendInterpretation.getAdjacentNodeCount(0));
+			assertEquals(2, friendInterpretation.getAdjacentNodeCount(1));
+			assertThrows(IllegalArgumentException.class, () -> friendInterpretation.getAdjacentNodeCount(2));
+
+			model.restore(state1);
+			assertEquals(2, friendInterpretation.getAdjacentNodeCount(0));
+		}
+	}
+
+	@ParameterizedTest(name = "packedKeys = {0}")
+	@ValueSource(booleans = {false, true})
+	void listenerNotifiedOnlyOnChangeTest(boolean packedKeys) {
+		var store = ModelStore.builder().packedKeys(packedKeys).symbols(person, friend).build();
+		try (var model = store.createEmptyModel()) {
+			var personInterpretation = model.getInterpretation(person);
+			var friendInterpretation = model.getInterpretation(friend);
+			var changes = new ArrayList<String>();
+			personInterpretation.addListener((key, fromValue, toValue, restoring) ->
+					changes.add(key + ": " + fromValue + " -> " + toValue), false);
+			friendInterpretation.addListener((key, fromValue, toValue, restoring) ->
+					changes.add(key + ": " + fromValue + " -> " + toValue), false);
+
+			personInterpretation.put(Tuple.of(0), true);
+			personInterpretation.put(Tuple.of(0), true);
+			personInterpretation.put(0, true);
+			personInterpretation.put(1, false);
+			friendInterpretation.put(0, 1, true);
+			friendInterpretation.put(0, 1, true);
+			friendInterpretation.put(Tuple.of(0, 1), true);
+			friendInterpretation.put(Tuple.of(1, 0), false);
+			friendInterpretation.put(Tuple.of(0, 1), false);
+			friendInterpretation.put(0, 1, false);
+
+			assertEquals(List.of(
+					Tuple.of(0) + ": false -> true",
+					Tuple.of(0, 1) + ": false -> true",
+					Tuple.of(0, 1) + ": true -> false"
+			), changes);
+		}
+	}
+
+	@Test
+	void deltaSpillingTest(@TempDir Path directory) {
+		var store = ModelStore.builder().packedKeys(true).deltaSpilling(directory, 0).symbols(person, friend).build();
+		try (var model = store.createEmptyModel()) {
+			var friendInterpretation = model.getInterpretation(friend);
+			friendInterpretation.put(0, 1, true);
+			Version state1 = model.commit();
+			friendInterpretation.put(1, 0, true);
+			Version state2 = model.commit();
+
+			model.restore(state1);
+			assertTrue(friendInterpretation.get(0, 1));
+			assertFalse(friendInterpretation.get(1, 0));
+			model.restore(state2);
+			assertTrue(friendInterpretation.get(1, 0));
+		}
+	}
+
+	@Test
+	void deltaSpillingIntValuedSymbolTest(@TempDir Path directory) {
+		var builder = ModelStore.builder().packedKeys(true).deltaSpilling(directory, 0).symbols(person, age);
+		// Spilled values are never released, so only symbols with finite domains can be spilled.
+		assertThrows(IllegalStateException.class, builder::build);
+	}
+
+	@Test
+	void deltaSpillingIntValuedSymbolWithStateStrategyTest(@TempDir Path directory) {
+		var store = ModelStore.builder()
+				.packedKeys(true)
+				.deltaSpilling(directory, 0)
+				.symbols(person, age)
+				.storeStrategy(age, StoreStrategy.STATE)
+				.build();
+		try (var model = store.createEmptyModel()) {
+			var personInterpretation = model.getInterpretation(person);
+			var ageInterpretation = model.getInterpretation(age);
+			personInterpretation.put(0, true);
+			ageInterpretation.put(Tuple.of(0), 3);
+			Version state1 = model.commit();
+			personInterpretation.put(1, true);
+			ageInterpretation.put(Tuple.of(0), 4);
+			ageInterpretation.put(Tuple.of(1), 1);
+			Version state2 = model.commit();
+
+			model.restore(state1);
+			assertFalse(personInterpretation.get(1));
+			assertEquals(3, ageInterpretation.get(Tuple.of(0)));
+			assertNull(ageInterpretation.get(Tuple.of(1)));
+			model.restore(state2);
+			assertTrue(personInterpretation.get(1));
+			assertEquals(4, ageInterpretation.get(Tuple.of(0)));
+			assertEquals(1, ageInterpretation.get(Tuple.of(1)));
+		}
+	}
+
+	@Test
+	void deltaSpillingWithoutPackedKeysTest(@TempDir Path directory) {
+		var builder = ModelStore.builder().deltaSpilling(directory, 0).symbols(person, friend);
+		assertThrows(IllegalStateException.class, builder::build);
+	}
 }
@@ -0,0 +1,96 @@
+/*
+ * SPDX-FileCopyrightText: 2025 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.store.statecoding;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import tools.refinery.store.map.Version;
+import tools.refinery.store.model.Model;
+import tools.refinery.store.model.ModelStore;
+import tools.refinery.store.representation.Symbol;
+import tools.refinery.store.statecoding.neighborhood.IncrementalNeighborhoodCalculator;
+import tools.refinery.store.statecoding.neighborhood.NeighborhoodCalculator;
+import tools.refinery.store.tuple.Tuple;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class IncrementalStateCoderTest {
+	private static final int NODE_COUNT = 20;
+
+	Symbol<Boolean> person = new Symbol<>("Person", 1, Boolean.class, false);
+	Symbol<Integer> age = new Symbol<>("age", 1, Integer.class, null);
+	Symbol<Boolean> friend = new Symbol<>("friend", 2, Boolean.class, false);
+	Symbol<Boolean> parents = new Symbol<>("parents", 3, Boolean.class, false);
+	Symbol<Integer> population = new Symbol<>("population", 0, Integer.class, 0);
+
+	private Model createModel(StateCodeCalculatorFactory factory) {
+		var store = ModelStore.builder()
+				.symbols(person, age, friend, parents, population)
+				.with(StateCoderAdapter.builder()
+						.individual(Tuple.of(0))
+						.stateCodeCalculatorFactory(factory))
+				.build();
+		return store.createEmptyModel();
+	}
+
+	@ParameterizedTest
+	@ValueSource(longs = {1, 2, 3, 4, 5})
+	void incrementalCodesTest(long seed) {
+		var incrementalModel = createModel(IncrementalNeighborhoodCalculator.factory());
+		var fullModel = createModel(NeighborhoodCalculator.factory());
+		var incrementalCoder = incrementalModel.getAdapter(StateCoderAdapter.class);
+		var fullCoder = fullModel.getAdapter(StateCoderAdapter.class);
+		var random = new Random(seed);
+		List<Version> incrementalVersions = new ArrayList<>();
+		List<Version> fullVersions = new ArrayList<>();
+
+		for (int step = 0; step < 100; step++) {
+			int changes = 1 + random.nextInt(3);
+			for (int i = 0; i < changes; i++) {
+				long operationSeed = random.nextLong();
+				randomChange(incrementalModel, new Random(operationSeed));
+				randomChange(fullModel, new Random(operationSeed));
+			}
+			assertSameCodes(fullCoder.calculateStateCode(), incrementalCoder.calculateStateCode());
+			if (random.nextInt(5) == 0) {
+				incrementalVersions.add(incrementalModel.commit());
+				fullVersions.add(fullModel.commit());
+			}
+			if (!incrementalVersions.isEmpty() && random.nextInt(10) == 0) {
+				int index = random.nextInt(incrementalVersions.size());
+				incrementalModel.restore(incrementalVersions.get(index));
+				fullModel.restore(fullVersions.get(index));
+				assertSameCodes(fullCoder.calculateStateCode(), incrementalCoder.calculateStateCode());
+			}
+		}
+	}
+
+	private void randomChange(Model model, Random random) {
+		int a = random.nextInt(NODE_COUNT);
+		int b = random.nextInt(NODE_COUNT);
+		int c = random.nextInt(NODE_COUNT);
+		boolean value = random.nextBoolean();
+		switch (random.nextInt(5)) {
+		case 0 -> model.getInterpretation(person).put(Tuple.of(a), value);
+		case 1 -> model.getInterpretation(age).put(Tuple.of(a), value ? b : null);
+		case 2 -> model.getInterpretation(friend).put(Tuple.of(a, b), value);
+		case 3 -> model.getInterpretation(parents).put(Tuple.of(a, b, c), value);
+		default -> model.getInterpretation(population).put(Tuple.of(), a);
+		}
+	}
+
+	private void assertSameCodes(StateCoderResult expected, StateCoderResult actual) {
+		assertEquals(expected.modelCode(), actual.modelCode());
+		assertEquals(expected.modelCodeCheck(), actual.modelCodeCheck());
+		for (int i = 0; i < NODE_COUNT; i++) {
+			assertEquals(expected.objectCode().get(i), actual.objectCode().get(i));
+		}
+	}
+}
@@ -79,12 +79,12 @@ class StateCoderUnitTest {
 		assertEquals(hashOf0, stateCoder.calculateModelCode());
 
 		populationI.put(Tuple.of(), 1);
-		int code1 = stateCoder.calculateModelCode();
+		long code1 = stateCoder.calculateModelCode();
 
 		assertNotEquals(hashOf0, stateCoder.calculateModelCode());
 
 		populationI.put(Tuple.of(), 2);
-		int code2 = stateCoder.calculateModelCode();
+		long code2 = stateCoder.calculateModelCode();
 
 		assertNotEquals(code1, code2);
 
@@ -102,12 +102,12 @@ class StateCoderUnitTest {
 		assertEquals(0, stateCoder.calculateModelCode());
 
 		personI.put(Tuple.of(1), true);
-		int code1 = stateCoder.calculateModelCode();
+		long code1 = stateCoder.calculateModelCode();
 
 		assertNotEquals(0, stateCoder.calculateModelCode());
 
 		personI.put(Tuple.of(2), true);
-		int code2 = stateCoder.calculateModelCode();
+		long code2 = stateCoder.calculateModelCode();
 
 		assertNotEquals(code1, code2);
 
@@ -125,17 +125,17 @@ class StateCoderUnitTest {
 		assertEquals(0, stateCoder.calculateModelCode());
 
 		ageI.put(Tuple.of(1), 4);
-		int code0 = stateCoder.calculateModelCode();
+		long code0 = stateCoder.calculateModelCode();
 
 		assertNotEquals(0, code0);
 
 		ageI.put(Tuple.of(1), 5);
-		int code1 = stateCoder.calculateModelCode();
+		long code1 = stateCoder.calculateModelCode();
 
 		assertNotEquals(code0, code1);
 
 		ageI.put(Tuple.of(2), 5);
-		int code2 = stateCoder.calculateModelCode();
+		long code2 = stateCoder.calculateModelCode();
 
 		assertNotEquals(code1, code2);
 
@@ -153,17 +153,17 @@ class StateCoderUnitTest {
 		assertEquals(0, stateCoder.calculateModelCode());
 
 		friendI.put(Tuple.of(1, 2), true);
-		int code1 = stateCoder.calculateModelCode();
+		long code1 = stateCoder.calculateModelCode();
 
 		assertNotEquals(0, code1);
 
 		friendI.put(Tuple.of(2, 1), true);
-		int code2 = stateCoder.calculateModelCode();
+		long code2 = stateCoder.calculateModelCode();
 
 		assertNotEquals(code1, code2);
 
 		friendI.put(Tuple.of(1, 2), false);
-		int code3 = stateCoder.calculateModelCode();
+		long code3 = stateCoder.calculateModelCode();
 
 		assertEquals(code1, code3);
 	}
@@ -178,17 +178,17 @@ class StateCoderUnitTest {
 		assertEquals(0, stateCoder.calculateModelCode());
 
 		parentsI.put(Tuple.of(3, 1, 2), true);
-		int code1 = stateCoder.calculateModelCode();
+		long code1 = stateCoder.calculateModelCode();
 
 		assertNotEquals(0, code1);
 
 		parentsI.put(Tuple.of(4, 1, 2), true);
-		int code2 = stateCoder.calculateModelCode();
+		long code2 = stateCoder.calculateModelCode();
 
 		assertNotEquals(code1, code2);
 
 		parentsI.put(Tuple.of(3, 1, 2), false);
-		int code3 = stateCoder.calculateModelCode();
+		long code3 = stateCoder.calculateModelCode();
 
 		assertEquals(code1, code3);
 	}